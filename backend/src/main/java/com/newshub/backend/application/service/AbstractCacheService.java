@@ -0,0 +1,187 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.infrastructure.utils.CachedValue;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * getOrLoad on top of the plain get/set/delete of each backend: per-key single-flight within
+ * the node, stale-while-revalidate with probabilistic early refresh, and an optional lock
+ * hook so only one node recomputes a key.
+ */
+@Slf4j
+public abstract class AbstractCacheService implements CacheService {
+
+    protected static final String LOCAL_TOKEN = "local";
+
+    // Result of a background refresh that found another node holding the lock
+    private static final Object NOT_LOADED = new Object();
+
+    // Extra physical lifetime, as a fraction of the TTL, during which a stale value is still served
+    @Value("${app.cache.loader.stale-ratio:1.0}")
+    private double staleRatio;
+
+    @Value("${app.cache.loader.early-refresh-beta:1.0}")
+    private double earlyRefreshBeta;
+
+    // How long a miss waits for another node holding the lock before loading anyway (ms)
+    @Value("${app.cache.loader.lock-wait:2000}")
+    private long lockWaitMillis;
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final ThreadPoolExecutor refresher = new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(256), r -> {
+                Thread t = new Thread(r, "cache-refresh");
+                t.setDaemon(true);
+                return t;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder staleServed = new LongAdder();
+    private final LongAdder earlyRefreshes = new LongAdder();
+    private final LongAdder lockWaits = new LongAdder();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getOrLoad(String key, long timeout, TimeUnit unit, Supplier<T> loader) {
+        Object cached = get(key);
+        if (cached instanceof CachedValue entry) {
+            long now = System.currentTimeMillis();
+            if (entry.shouldRefresh(now, earlyRefreshBeta)) {
+                if (entry.isStale(now)) {
+                    staleServed.increment();
+                } else {
+                    earlyRefreshes.increment();
+                }
+                refreshAsync(key, timeout, unit, loader);
+            }
+            return (T) entry.getValue();
+        }
+        return (T) loadCoalesced(key, timeout, unit, loader, true);
+    }
+
+    /**
+     * Cluster-wide lock for recomputing a key. Returns a token, or null if another node holds it.
+     */
+    protected String tryLock(String key) {
+        return LOCAL_TOKEN;
+    }
+
+    protected void unlock(String key, String token) {
+    }
+
+    protected Map<String, Object> getLoaderStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("loads", loads.sum());
+        stats.put("coalesced", coalesced.sum());
+        stats.put("staleServed", staleServed.sum());
+        stats.put("earlyRefreshes", earlyRefreshes.sum());
+        stats.put("lockWaits", lockWaits.sum());
+        stats.put("inFlight", inFlight.size());
+        return stats;
+    }
+
+    private void refreshAsync(String key, long timeout, TimeUnit unit, Supplier<?> loader) {
+        if (inFlight.containsKey(key)) {
+            return;
+        }
+        refresher.execute(() -> {
+            try {
+                loadCoalesced(key, timeout, unit, loader, false);
+            } catch (Exception e) {
+                log.warn("Background refresh of {} failed: {}", key, e.getMessage());
+            }
+        });
+    }
+
+    private Object loadCoalesced(String key, long timeout, TimeUnit unit, Supplier<?> loader, boolean waitForOwner) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.increment();
+            Object value;
+            try {
+                value = existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException re ? re : e;
+            }
+            if (value == NOT_LOADED && waitForOwner) {
+                // Joined a refresh that gave way to another node; a miss still needs a value
+                return loadCoalesced(key, timeout, unit, loader, true);
+            }
+            return value;
+        }
+        Object value;
+        try {
+            value = loadLocked(key, timeout, unit, loader, waitForOwner);
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        // Removed first, so a joiner that has to retry cannot find this future again
+        inFlight.remove(key, mine);
+        mine.complete(value);
+        return value;
+    }
+
+    private Object loadLocked(String key, long timeout, TimeUnit unit, Supplier<?> loader, boolean waitForOwner) {
+        String token = tryLock(key);
+        if (token == null) {
+            if (!waitForOwner) {
+                // A refresh is already running on another node; keep serving the stale value
+                return NOT_LOADED;
+            }
+            lockWaits.increment();
+            Object published = awaitOtherNode(key);
+            if (published != null) {
+                return published;
+            }
+        }
+        try {
+            long start = System.currentTimeMillis();
+            Object value = loader.get();
+            loads.increment();
+            if (value != null) {
+                long now = System.currentTimeMillis();
+                long ttlMillis = unit.toMillis(timeout);
+                long physical = ttlMillis + (long) (ttlMillis * staleRatio);
+                set(key, new CachedValue(value, now + ttlMillis, now - start), physical, TimeUnit.MILLISECONDS);
+            }
+            return value;
+        } finally {
+            if (token != null) {
+                unlock(key, token);
+            }
+        }
+    }
+
+    private Object awaitOtherNode(String key) {
+        long deadline = System.currentTimeMillis() + lockWaitMillis;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            if (get(key) instanceof CachedValue entry) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -1,13 +1,21 @@
 package com.newshub.backend.application.service;
 
-import com.newshub.backend.domain.model.Settings;
+import com.newshub.backend.domain.model.ArticleChangedEvent;
+import com.newshub.backend.domain.model.ArticlePublishedEvent;
+import com.newshub.backend.domain.model.ArticlesDeletedEvent;
 import com.newshub.backend.domain.model.User;
 import com.newshub.backend.infrastructure.persistence.ArticleMapper;
-import com.newshub.backend.infrastructure.persistence.SettingsMapper;
 import com.newshub.backend.infrastructure.persistence.UserMapper;
 import com.newshub.backend.infrastructure.persistence.CommentMapper;
+import com.newshub.backend.infrastructure.config.RedisBrokerRelay;
+import com.newshub.backend.infrastructure.config.WebSocketOutboundBatcher;
+import com.newshub.backend.infrastructure.security.PrincipalCache;
+import com.newshub.backend.infrastructure.utils.InvertedIndex;
+import com.newshub.backend.infrastructure.utils.SearchTokenizer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.HashMap;
 import java.util.List;
@@ -23,7 +31,7 @@ public class AdminService {
     private ArticleMapper articleMapper;
 
     @Autowired
-    private SettingsMapper settingsMapper;
+    private SettingsService settingsService;
 
     @Autowired
     private CommentMapper commentMapper;
@@ -34,26 +42,94 @@ public class AdminService {
     @Autowired
     private com.newshub.backend.infrastructure.persistence.CategoryMapper categoryMapper;
 
+    @Autowired
+    private ViewCounterService viewCounterService;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private UrlDedupFilter urlDedupFilter;
+
+    @Autowired
+    private RssCrawlerEngine rssCrawlerEngine;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private UnreadCounterService unreadCounterService;
+
+    @Autowired
+    private WebSocketOutboundBatcher outboundBatcher;
+
+    @Autowired
+    private ArticlePushService articlePushService;
+
+    @Autowired
+    private NewsStreamService newsStreamService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired(required = false)
+    private RedisBrokerRelay brokerRelay;
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Autowired
+    private DataCleanupService dataCleanupService;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private SuggestService suggestService;
+
+    @Autowired
+    private RelatedService relatedService;
+
+    @Autowired
+    private CategoryFeedService categoryFeedService;
+
+    @Autowired
+    private NearDuplicateService nearDuplicateService;
+
     public Map<String, Object> getDashboardStats() {
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalUsers", userMapper.count());
-        stats.put("totalArticles", articleMapper.count());
-        stats.put("totalVisits", articleMapper.sumViews());
-        stats.put("todayComments", commentMapper.countToday());
-        
-        // Add charts data
-        stats.put("articleTrend", articleMapper.countByDate(7));
-        stats.put("commentTrend", commentMapper.countByDate(7));
-        stats.put("categoryDistribution", articleMapper.countByCategory());
-        stats.put("visitsByCategory", articleMapper.sumViewsByCategory());
+        return dashboardStatsService.getDashboardStats();
+    }
 
-        // Add recent activity
-        stats.put("recentArticles", articleMapper.findPaged(0, 5, null, null, null, null, null));
-        stats.put("recentComments", commentMapper.findAllPaged(0, 5));
+    public Map<String, Object> getRuntimeMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("viewCounter", viewCounterService.getStats());
+        metrics.put("urlDedup", urlDedupFilter.getStats());
+        metrics.put("crawler", rssCrawlerEngine.getStats());
+        metrics.put("cache", cacheService.getStats());
+        metrics.put("trending", trendingService.getStats());
+        metrics.put("unreadCounters", unreadCounterService.getStats());
+        Map<String, Object> websocket = new HashMap<>(outboundBatcher.getStats());
+        websocket.put("relay", brokerRelay != null ? brokerRelay.getStats() : Map.of("mode", "simple"));
+        metrics.put("websocket", websocket);
+        Map<String, Object> push = new HashMap<>(articlePushService.getStats());
+        push.put("sse", newsStreamService.getStats());
+        metrics.put("articlePush", push);
+        metrics.put("dashboardStats", dashboardStatsService.getStats());
+        metrics.put("retention", dataCleanupService.getStats());
+        metrics.put("settings", settingsService.getStats());
+        metrics.put("search", searchIndexService.getStats());
+        metrics.put("suggest", suggestService.getStats());
+        metrics.put("related", relatedService.getStats());
+        metrics.put("categoryFeeds", categoryFeedService.getStats());
+        metrics.put("nearDuplicates", nearDuplicateService.getStats());
+        return metrics;
+    }
 
-        stats.put("topArticlesByViews", articleMapper.findTrending(5));
-        
-        return stats;
+    public void rebuildSearchIndex() {
+        searchIndexService.rebuild();
     }
 
     public List<User> getAllUsers() {
@@ -62,28 +138,20 @@ public class AdminService {
 
     public void deleteUser(Long id) {
         userMapper.deleteById(id);
+        principalCache.invalidateUserId(id);
     }
 
     public void updateUserRole(Long id, String role) {
         userMapper.updateRole(id, role);
+        principalCache.invalidateUserId(id);
     }
 
     public Map<String, String> getSettings() {
-        List<Settings> settingsList = settingsMapper.findAll();
-        Map<String, String> settingsMap = new HashMap<>();
-        for (Settings s : settingsList) {
-            settingsMap.put(s.getKey(), s.getValue());
-        }
-        return settingsMap;
+        return settingsService.getAll();
     }
 
     public void updateSettings(Map<String, String> newSettings) {
-        for (Map.Entry<String, String> entry : newSettings.entrySet()) {
-            Settings settings = new Settings();
-            settings.setKey(entry.getKey());
-            settings.setValue(entry.getValue());
-            settingsMapper.save(settings);
-        }
+        settingsService.update(newSettings);
     }
 
     public Map<String, Object> getCommentsPaged(int page, int size) {
@@ -97,7 +165,11 @@ public class AdminService {
     }
 
     public void deleteComment(Long id) {
-        commentMapper.deleteById(id);
+        com.newshub.backend.domain.model.Comment comment = commentMapper.findById(id);
+        if (commentMapper.deleteById(id) > 0 && comment != null) {
+            cacheService.delete(CommentService.firstPageKey(comment.getArticleId()));
+            dashboardStatsService.onCommentDeleted(comment.getCreatedAt());
+        }
     }
 
     public Map<String, Object> getArticlesPaged(int page, int size, String keyword, String startDate, String endDate, String sortField, String sortOrder) {
@@ -117,16 +189,79 @@ public class AdminService {
             dbSortOrder = "DESC";
         }
 
+        Map<String, Object> result = searchArticlesPaged(offset, size, keyword, startDate, endDate,
+                dbSortField != null && "ASC".equals(dbSortOrder));
+        if (result != null) {
+            return result;
+        }
+
         java.util.List<com.newshub.backend.domain.model.Article> list = articleMapper.findPaged(offset, size, keyword, startDate, endDate, dbSortField, dbSortOrder);
         long total = articleMapper.countByKeyword(keyword, startDate, endDate);
-        Map<String, Object> result = new HashMap<>();
+        result = new HashMap<>();
         result.put("items", list);
         result.put("total", total);
         return result;
     }
 
+    // Keyword filtering through the search index instead of a LIKE scan; null when it cannot serve the query
+    private Map<String, Object> searchArticlesPaged(int offset, int size, String keyword, String startDate,
+                                                    String endDate, boolean oldestFirst) {
+        if (keyword == null || !searchIndexService.isReady()) {
+            return null;
+        }
+        List<String> terms = SearchTokenizer.tokenize(keyword);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        java.time.LocalDateTime from;
+        java.time.LocalDateTime to;
+        try {
+            from = parseFilterDate(startDate);
+            to = parseFilterDate(endDate);
+        } catch (java.time.format.DateTimeParseException e) {
+            return null;
+        }
+        InvertedIndex.Hits hits = searchIndexService.searchTitles(terms, from, to, oldestFirst, offset, size);
+        List<com.newshub.backend.domain.model.Article> items = new java.util.ArrayList<>(hits.ids().length);
+        if (hits.ids().length > 0) {
+            List<Long> ids = java.util.Arrays.stream(hits.ids()).boxed().toList();
+            Map<Long, com.newshub.backend.domain.model.Article> rows = new HashMap<>();
+            for (com.newshub.backend.domain.model.Article a : articleMapper.findByIdsWithCategory(ids)) {
+                rows.put(a.getId(), a);
+            }
+            for (Long id : ids) {
+                if (rows.containsKey(id)) {
+                    items.add(rows.get(id));
+                } else {
+                    searchIndexService.evict(id);
+                }
+            }
+        }
+        Map<String, Object> result = new HashMap<>();
+        result.put("items", items);
+        result.put("total", hits.total());
+        return result;
+    }
+
+    private static java.time.LocalDateTime parseFilterDate(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String v = value.trim();
+        return v.length() == 10
+                ? java.time.LocalDate.parse(v).atStartOfDay()
+                : java.time.LocalDateTime.parse(v.replace(' ', 'T'));
+    }
+
     public void deleteArticle(Long id) {
-        articleMapper.deleteById(id);
+        com.newshub.backend.domain.model.Article existing = articleMapper.findById(id);
+        if (existing != null) {
+            // Announced before the DELETE cascades into the comments; index listeners wait for the commit
+            transactionTemplate.executeWithoutResult(status -> {
+                eventPublisher.publishEvent(ArticlesDeletedEvent.of(List.of(existing)));
+                articleMapper.deleteById(id);
+            });
+        }
         clearNewsCache(id);
     }
 
@@ -134,19 +269,30 @@ public class AdminService {
         if (article.getPublishTime() == null) {
             article.setPublishTime(java.time.LocalDateTime.now());
         }
+        if (article.getSourceUrl() != null) {
+            article.setSourceUrlHash(UrlDedupFilter.hash(article.getSourceUrl()));
+        }
         articleMapper.insert(article);
+        urlDedupFilter.add(article.getId(), article.getSourceUrl());
         clearNewsCache(article.getId());
+        if (article.getStatus() == null || "PUBLISHED".equals(article.getStatus())) {
+            eventPublisher.publishEvent(ArticlePublishedEvent.from(article));
+        } else {
+            eventPublisher.publishEvent(ArticleChangedEvent.created(article));
+        }
     }
 
     public void updateArticle(com.newshub.backend.domain.model.Article article) {
+        com.newshub.backend.domain.model.Article before = articleMapper.findById(article.getId());
         articleMapper.update(article);
         clearNewsCache(article.getId());
+        if (before != null) {
+            eventPublisher.publishEvent(ArticleChangedEvent.updated(before, article));
+        }
     }
 
     private void clearNewsCache(Long articleId) {
-        cacheService.delete("news:latest:1");
-        cacheService.delete("news:latest:5");
-        cacheService.delete("news:latest:10");
+        cacheService.delete(NewsService.KEY_LATEST_HEAD);
         if (articleId != null) {
             cacheService.delete("news:article:" + articleId);
         }
@@ -0,0 +1,172 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.domain.model.Article;
+import com.newshub.backend.domain.model.ArticleChangedEvent;
+import com.newshub.backend.domain.model.ArticlePublishedEvent;
+import com.newshub.backend.infrastructure.persistence.ArticleMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Shared write path for crawled articles: sanitize, dedupe by source URL, hold back
+ * near duplicates of stories already stored, and store a whole batch with one lookup
+ * and one multi-row insert.
+ */
+@Service
+@Slf4j
+public class ArticleIngestService {
+
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>");
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Autowired
+    private UrlDedupFilter urlDedupFilter;
+
+    @Autowired
+    private CacheService cacheService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private NearDuplicateService nearDuplicateService;
+
+    @Value("${app.kafka.ingest.insert-chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Returns the articles that were actually inserted, with generated ids.
+     */
+    public List<Article> ingest(List<Article> batch) {
+        Map<String, Article> byUrl = new LinkedHashMap<>();
+        List<Article> toInsert = new ArrayList<>();
+        for (Article article : batch) {
+            sanitize(article);
+            if (article.getSourceUrl() != null) {
+                article.setSourceUrlHash(UrlDedupFilter.hash(article.getSourceUrl()));
+            }
+            if (article.getSourceUrl() == null) {
+                toInsert.add(article);
+            } else {
+                Article first = byUrl.putIfAbsent(article.getSourceUrl(), article);
+                if (first != null) {
+                    NearDuplicateService.fillMissing(first, article);
+                    log.debug("Duplicate news merged within batch: {}", article.getSourceUrl());
+                }
+            }
+        }
+
+        // Only URLs the filter cannot rule out go to the DB
+        List<String> urls = new ArrayList<>();
+        for (String url : byUrl.keySet()) {
+            if (urlDedupFilter.mightContain(url)) {
+                urls.add(url);
+            }
+        }
+        Set<String> existing = new HashSet<>();
+        for (int i = 0; i < urls.size(); i += chunkSize) {
+            existing.addAll(articleMapper.findExistingSourceUrls(urls.subList(i, Math.min(i + chunkSize, urls.size()))));
+        }
+        urlDedupFilter.recordConfirmed(urls.size(), existing.size());
+        for (Map.Entry<String, Article> e : byUrl.entrySet()) {
+            if (existing.contains(e.getKey())) {
+                log.debug("Duplicate news skipped: {}", e.getKey());
+            } else {
+                toInsert.add(e.getValue());
+            }
+        }
+
+        // The same story under another URL
+        NearDuplicateService.Result near = nearDuplicateService.filter(toInsert);
+        toInsert = near.kept();
+
+        // All chunks and merges or none: a failed batch is redelivered whole, and none of its URLs
+        // are in the filters yet
+        List<Article> rows = toInsert;
+        Set<Long> merged = new HashSet<>();
+        toInsert = transactionTemplate.execute(status -> {
+            merged.addAll(nearDuplicateService.applyMerges(near.merges()));
+            List<Article> stored = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i += chunkSize) {
+                List<Article> chunk = rows.subList(i, Math.min(i + chunkSize, rows.size()));
+                Object savepoint = status.createSavepoint();
+                try {
+                    articleMapper.insertBatch(chunk);
+                    status.releaseSavepoint(savepoint);
+                    stored.addAll(chunk);
+                    continue;
+                } catch (DuplicateKeyException e) {
+                    // A URL was stored since the lookup (another node, or two variants of one URL);
+                    // redo the chunk one row at a time, skipping only the conflicting rows
+                    status.rollbackToSavepoint(savepoint);
+                }
+                for (Article article : chunk) {
+                    article.setId(null);
+                    articleMapper.insertIfAbsent(article);
+                    if (article.getSourceUrlHash() == null
+                            || Objects.equals(article.getId(), articleMapper.findIdBySourceUrlHash(article.getSourceUrlHash()))) {
+                        stored.add(article);
+                    } else {
+                        log.debug("Duplicate news skipped on insert: {}", article.getSourceUrl());
+                    }
+                }
+            }
+            return stored;
+        });
+        nearDuplicateService.rememberHeldBack(near.heldBack());
+        for (Article article : toInsert) {
+            urlDedupFilter.add(article.getId(), article.getSourceUrl());
+        }
+        if (!toInsert.isEmpty() || !merged.isEmpty()) {
+            // One eviction per batch rather than per article
+            cacheService.delete(NewsService.KEY_LATEST_HEAD);
+        }
+        for (Long id : merged) {
+            onMerged(id);
+        }
+        if (!toInsert.isEmpty()) {
+            log.info("Saved {} of {} crawled articles to DB", toInsert.size(), batch.size());
+            for (Article article : toInsert) {
+                eventPublisher.publishEvent(ArticlePublishedEvent.from(article));
+            }
+        }
+        return toInsert;
+    }
+
+    // A stored article took a summary or cover image from a near duplicate
+    private void onMerged(Long id) {
+        cacheService.delete("news:article:" + id);
+        eventPublisher.publishEvent(ArticleChangedEvent.merged(id));
+    }
+
+    private void sanitize(Article article) {
+        // Sanitize Summary (Defensive coding to handle legacy/bad messages in queue)
+        if (article.getSummary() != null) {
+            String cleanSummary = HTML_TAG.matcher(article.getSummary()).replaceAll("").trim();
+            // Truncate to avoid database errors (assuming VARCHAR(255))
+            if (cleanSummary.length() > 250) {
+                cleanSummary = cleanSummary.substring(0, 247) + "...";
+            }
+            article.setSummary(cleanSummary);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.domain.model.ArticleChangedEvent;
+import com.newshub.backend.domain.model.ArticlePublishedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Announces newly published articles to feed clients. Events are buffered and sent at most once
+ * per push interval as one frame per topic (newest first), so a crawler burst of hundreds of
+ * inserts costs each subscriber one message. SSE clients receive the same frames through
+ * NewsStreamService.
+ */
+@Service
+@Slf4j
+public class ArticlePushService {
+
+    public static final String TOPIC_LATEST = "/topic/news/latest";
+    public static final String TOPIC_CATEGORY = "/topic/news/category/";
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Value("${app.news.push.enabled:true}")
+    private boolean enabled;
+
+    // Oldest events are dropped past this; clients fall back to a refetch when they see a gap
+    @Value("${app.news.push.max-buffered:1000}")
+    private int maxBuffered;
+
+    private final ConcurrentLinkedQueue<ArticlePublishedEvent> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger buffered = new AtomicInteger();
+
+    private final AtomicLong eventsIn = new AtomicLong();
+    private final AtomicLong framesOut = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    @EventListener
+    public void onPublished(ArticlePublishedEvent event) {
+        if (!enabled || event.getId() == null) {
+            return;
+        }
+        eventsIn.incrementAndGet();
+        buffer.add(event);
+        if (buffered.incrementAndGet() > maxBuffered && buffer.poll() != null) {
+            buffered.decrementAndGet();
+            dropped.incrementAndGet();
+        }
+    }
+
+    @EventListener
+    public void onChanged(ArticleChangedEvent event) {
+        if (event.isPublishing()) {
+            onPublished(ArticlePublishedEvent.from(event.getAfter()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.news.push.interval:1000}")
+    public void flush() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        List<ArticlePublishedEvent> events = new ArrayList<>();
+        ArticlePublishedEvent e;
+        while ((e = buffer.poll()) != null) {
+            buffered.decrementAndGet();
+            events.add(e);
+        }
+        events.sort(Comparator.comparing(ArticlePublishedEvent::getPublishTime).reversed());
+
+        Map<Long, List<ArticlePublishedEvent>> byCategory = new LinkedHashMap<>();
+        for (ArticlePublishedEvent event : events) {
+            if (event.getCategoryId() != null) {
+                byCategory.computeIfAbsent(event.getCategoryId(), k -> new ArrayList<>()).add(event);
+            }
+        }
+        try {
+            messagingTemplate.convertAndSend(TOPIC_LATEST, events);
+            framesOut.incrementAndGet();
+            for (Map.Entry<Long, List<ArticlePublishedEvent>> entry : byCategory.entrySet()) {
+                messagingTemplate.convertAndSend(TOPIC_CATEGORY + entry.getKey(), entry.getValue());
+                framesOut.incrementAndGet();
+            }
+        } catch (Exception ex) {
+            log.warn("Failed to push {} published articles: {}", events.size(), ex.getMessage());
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("eventsIn", eventsIn.get());
+        stats.put("framesOut", framesOut.get());
+        stats.put("dropped", dropped.get());
+        stats.put("buffered", buffered.get());
+        return stats;
+    }
+}
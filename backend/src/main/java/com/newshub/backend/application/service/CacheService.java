@@ -1,10 +1,48 @@
 package com.newshub.backend.application.service;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public interface CacheService {
     void set(String key, Object value, long timeout, TimeUnit unit);
     Object get(String key);
     void delete(String key);
-}
 
+    /**
+     * Returns the cached value or computes it once per key, even under concurrent misses.
+     * Keys written here hold a CachedValue envelope and should only be read through getOrLoad.
+     */
+    <T> T getOrLoad(String key, long timeout, TimeUnit unit, Supplier<T> loader);
+
+    /**
+     * Plain numeric counters, kept apart from cached objects so they can be updated atomically.
+     */
+    void setCounter(String key, long value, long timeout, TimeUnit unit);
+
+    /**
+     * Adds delta to an existing counter and returns the new value; returns null and creates
+     * nothing when the counter is absent, so a cold counter is never seeded with a partial value.
+     */
+    Long incrementIfPresent(String key, long delta);
+
+    /**
+     * Current values in key order, with null for absent counters.
+     */
+    List<Long> getCounters(List<String> keys);
+
+    /**
+     * Calls the listener with the key whenever another node deletes or overwrites a key starting
+     * with keyPrefix, so state a node keeps in memory can follow changes made elsewhere.
+     * Single-node backends never call it.
+     */
+    default void addInvalidationListener(String keyPrefix, Consumer<String> listener) {
+    }
+
+    default Map<String, Object> getStats() {
+        return Collections.emptyMap();
+    }
+}
@@ -0,0 +1,310 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.domain.model.Article;
+import com.newshub.backend.domain.model.ArticleChangedEvent;
+import com.newshub.backend.domain.model.ArticlePublishedEvent;
+import com.newshub.backend.domain.model.ArticleSummary;
+import com.newshub.backend.domain.model.ArticlesDeletedEvent;
+import com.newshub.backend.domain.model.Category;
+import com.newshub.backend.infrastructure.persistence.ArticleMapper;
+import com.newshub.backend.infrastructure.persistence.CategoryMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Newest published articles per category, held in memory so category tabs never sort in MySQL.
+ * Each category keeps an immutable array of at most window summaries in feed order
+ * (publish_time DESC, id DESC) behind an AtomicReference: readers take the array without
+ * locking, writers build a changed copy and install it with compareAndSet, retrying if another
+ * writer got there first. An array is loaded on first use and then kept current by the ingest
+ * and admin paths of this node; other nodes hear about a change through the cache invalidation
+ * channel and drop their copy, so their next read reloads it. Reads past the end of a partial
+ * array continue with a keyset query.
+ */
+@Service
+@Slf4j
+public class CategoryFeedService {
+
+    // Deleting news:category-feed:{categoryId} tells the other nodes to reload that feed
+    private static final String KEY_FEED = "news:category-feed:";
+    private static final Comparator<ArticleSummary> FEED_ORDER = Comparator
+            .comparing(ArticleSummary::getPublishTime, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(ArticleSummary::getId, Comparator.reverseOrder());
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Autowired
+    private CategoryMapper categoryMapper;
+
+    @Autowired
+    private CacheService cacheService;
+
+    @Value("${app.category-feed.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.category-feed.window:200}")
+    private int window;
+
+    // complete: the array holds every published article of the category
+    private record Feed(ArticleSummary[] items, boolean complete) {
+    }
+
+    private final ConcurrentHashMap<Long, AtomicReference<Feed>> feeds = new ConcurrentHashMap<>();
+    // Bumped before every change to a category, so a load that raced with one is not kept
+    private final ConcurrentHashMap<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    private final AtomicLong memoryReads = new AtomicLong();
+    private final AtomicLong keysetReads = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong casRetries = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        cacheService.addInvalidationListener(KEY_FEED, key -> {
+            try {
+                Long categoryId = Long.parseLong(key.substring(KEY_FEED.length()));
+                version(categoryId).incrementAndGet();
+                feeds.remove(categoryId);
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring malformed category feed invalidation {}", key);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            for (Category c : categoryMapper.findAll()) {
+                load(c.getId());
+            }
+            log.info("Category feeds loaded for {} categories", feeds.size());
+        } catch (Exception e) {
+            log.warn("Category feed warm-up failed, feeds load on first use: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Up to size articles of the category that sort after position (null for the newest).
+     */
+    public List<ArticleSummary> page(Long categoryId, FeedCursor position, int size) {
+        if (!enabled) {
+            keysetReads.incrementAndGet();
+            return position == null
+                    ? articleMapper.findByCategoryBefore(categoryId, null, null, size)
+                    : articleMapper.findByCategoryBefore(categoryId, position.publishTime(), position.id(), size);
+        }
+        AtomicReference<Feed> ref = feeds.get(categoryId);
+        Feed feed = ref != null ? ref.get() : load(categoryId);
+        if (feed == null) {
+            return List.of();
+        }
+        ArticleSummary[] items = feed.items();
+        int start = position == null ? 0 : indexAfter(items, position);
+        int end = Math.min(start + size, items.length);
+        List<ArticleSummary> page = new ArrayList<>(Math.min(size, window));
+        page.addAll(Arrays.asList(items).subList(Math.min(start, end), end));
+        if (page.size() == size || feed.complete()) {
+            memoryReads.incrementAndGet();
+            return page;
+        }
+        // Past the end of the window: continue from its last article, or from the cursor if that is further down
+        keysetReads.incrementAndGet();
+        FeedCursor from = !page.isEmpty() ? FeedCursor.after(page.get(page.size() - 1))
+                : position != null ? position
+                : items.length > 0 ? FeedCursor.after(items[items.length - 1]) : null;
+        page.addAll(from == null
+                ? articleMapper.findByCategoryBefore(categoryId, null, null, size - page.size())
+                : articleMapper.findByCategoryBefore(categoryId, from.publishTime(), from.id(), size - page.size()));
+        return page;
+    }
+
+    @EventListener
+    public void onPublished(ArticlePublishedEvent event) {
+        Article a = event.getArticle();
+        if (!enabled || a.getId() == null || a.getCategoryId() == null || a.getPublishTime() == null) {
+            return;
+        }
+        List<ArticleSummary> added = List.of(ArticleSummary.from(a));
+        update(a.getCategoryId(), feed -> insert(feed, added));
+        announce(a.getCategoryId());
+    }
+
+    /**
+     * Re-reads an article created or edited here, from the category it was in before the edit
+     * as well as the one it is in now.
+     */
+    @EventListener
+    public void onChanged(ArticleChangedEvent event) {
+        Long articleId = event.getId();
+        Long previousCategoryId = event.getPreviousCategoryId();
+        if (!enabled || articleId == null) {
+            return;
+        }
+        ArticleSummary current = articleMapper.findSummaryById(articleId);
+        Set<Long> touched = new HashSet<>();
+        if (previousCategoryId != null) {
+            touched.add(previousCategoryId);
+        }
+        if (current != null && current.getCategoryId() != null) {
+            touched.add(current.getCategoryId());
+        }
+        for (Long categoryId : touched) {
+            update(categoryId, feed -> {
+                Feed without = remove(feed, Set.of(articleId));
+                boolean belongs = current != null && current.getPublishTime() != null
+                        && categoryId.equals(current.getCategoryId());
+                return belongs ? insert(without, List.of(current)) : without;
+            });
+            announce(categoryId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeleted(ArticlesDeletedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Map<Long, Set<Long>> byCategory = new HashMap<>();
+        for (Article a : event.getArticles()) {
+            if (a.getCategoryId() != null) {
+                byCategory.computeIfAbsent(a.getCategoryId(), k -> new HashSet<>()).add(a.getId());
+            }
+        }
+        for (Map.Entry<Long, Set<Long>> e : byCategory.entrySet()) {
+            update(e.getKey(), feed -> remove(feed, e.getValue()));
+            announce(e.getKey());
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("window", window);
+        stats.put("categories", feeds.size());
+        stats.put("memoryReads", memoryReads.get());
+        stats.put("keysetReads", keysetReads.get());
+        stats.put("loads", loads.get());
+        stats.put("casRetries", casRetries.get());
+        int articles = 0;
+        for (AtomicReference<Feed> ref : feeds.values()) {
+            articles += ref.get().items().length;
+        }
+        stats.put("articles", articles);
+        return stats;
+    }
+
+    // --- internals ---
+
+    // Null for an id that is not a category; nothing is kept for it, so made-up ids cannot grow the maps
+    private Feed load(Long categoryId) {
+        if (categoryMapper.findById(categoryId) == null) {
+            return null;
+        }
+        AtomicLong version = version(categoryId);
+        long seen = version.get();
+        List<ArticleSummary> rows = articleMapper.findByCategoryBefore(categoryId, null, null, window);
+        Feed feed = new Feed(rows.toArray(new ArticleSummary[0]), rows.size() < window);
+        loads.incrementAndGet();
+        AtomicReference<Feed> ref = new AtomicReference<>(feed);
+        feeds.put(categoryId, ref);
+        // A change that slipped in after the query could be missing; let the next read load again
+        if (version.get() != seen) {
+            feeds.remove(categoryId, ref);
+        }
+        return feed;
+    }
+
+    // Applies change to the category's feed if this node holds one
+    private void update(Long categoryId, UnaryOperator<Feed> change) {
+        version(categoryId).incrementAndGet();
+        AtomicReference<Feed> ref = feeds.get(categoryId);
+        if (ref == null) {
+            return;
+        }
+        while (true) {
+            Feed before = ref.get();
+            if (ref.compareAndSet(before, change.apply(before))) {
+                return;
+            }
+            casRetries.incrementAndGet();
+        }
+    }
+
+    private Feed insert(Feed feed, List<ArticleSummary> added) {
+        List<ArticleSummary> merged = new ArrayList<>(feed.items().length + added.size());
+        Set<Long> ids = new HashSet<>();
+        for (ArticleSummary a : added) {
+            ids.add(a.getId());
+        }
+        for (ArticleSummary a : feed.items()) {
+            if (!ids.contains(a.getId())) {
+                merged.add(a);
+            }
+        }
+        ArticleSummary last = feed.items().length > 0 ? feed.items()[feed.items().length - 1] : null;
+        for (ArticleSummary a : added) {
+            // Older than the window's last article in a partial feed: it belongs to the keyset part
+            if (feed.complete() || last == null || FEED_ORDER.compare(a, last) < 0) {
+                merged.add(a);
+            }
+        }
+        merged.sort(FEED_ORDER);
+        if (merged.size() <= window) {
+            return new Feed(merged.toArray(new ArticleSummary[0]), feed.complete());
+        }
+        return new Feed(merged.subList(0, window).toArray(new ArticleSummary[0]), false);
+    }
+
+    // A partial feed stays partial: the keyset query picks up after its new last article
+    private static Feed remove(Feed feed, Set<Long> ids) {
+        ArticleSummary[] kept = Arrays.stream(feed.items())
+                .filter(a -> !ids.contains(a.getId()))
+                .toArray(ArticleSummary[]::new);
+        return kept.length == feed.items().length ? feed : new Feed(kept, feed.complete());
+    }
+
+    private void announce(Long categoryId) {
+        cacheService.delete(KEY_FEED + categoryId);
+    }
+
+    private AtomicLong version(Long categoryId) {
+        return versions.computeIfAbsent(categoryId, k -> new AtomicLong());
+    }
+
+    // First position in the feed-ordered array that sorts after the cursor
+    private static int indexAfter(ArticleSummary[] items, FeedCursor position) {
+        int lo = 0, hi = items.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (position.isBefore(items[mid])) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+}
@@ -2,26 +2,120 @@ package com.newshub.backend.application.service;
 
 import com.newshub.backend.infrastructure.persistence.CommentMapper;
 import com.newshub.backend.domain.model.Comment;
+import com.newshub.backend.interfaces.dto.CursorPage;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class CommentService {
 
+    private static final String KEY_FIRST_PAGE = "comments:first:";
+    private static final int MAX_PAGE_SIZE = 50;
+
     @Autowired
     private CommentMapper commentMapper;
 
-    public List<Comment> getCommentsByArticleId(Long articleId) {
-        return commentMapper.findByArticleId(articleId);
+    @Autowired
+    private CacheService cacheService;
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    // Threads cached per article for the first page; smaller pages are sliced from it
+    @Value("${app.comments.first-page-size:20}")
+    private int firstPageSize;
+
+    @Value("${app.comments.replies-per-thread:3}")
+    private int repliesPerThread;
+
+    @Value("${app.comments.first-page-ttl:300000}")
+    private long firstPageTtlMillis;
+
+    public static String firstPageKey(Long articleId) {
+        return KEY_FIRST_PAGE + articleId;
+    }
+
+    /**
+     * Top-level comments newest first, each with its oldest replies and total reply count.
+     */
+    public CursorPage<Comment> getCommentThreads(Long articleId, String cursor, int pageSize) {
+        int size = Math.min(Math.max(pageSize, 1), MAX_PAGE_SIZE);
+        CommentCursor after = cursor == null || cursor.isEmpty() ? null : CommentCursor.decode(cursor);
+        List<Comment> threads;
+        if (after == null && size <= firstPageSize) {
+            // One extra thread tells whether a second page exists
+            threads = cacheService.getOrLoad(firstPageKey(articleId), firstPageTtlMillis, TimeUnit.MILLISECONDS,
+                    () -> loadThreads(articleId, null, firstPageSize + 1));
+        } else {
+            threads = loadThreads(articleId, after, size + 1);
+        }
+        return page(threads, size);
+    }
+
+    /**
+     * Replies to one comment oldest first, for expanding a thread past its first replies.
+     */
+    public CursorPage<Comment> getReplies(Long parentId, String cursor, int pageSize) {
+        int size = Math.min(Math.max(pageSize, 1), MAX_PAGE_SIZE);
+        CommentCursor after = cursor == null || cursor.isEmpty() ? null : CommentCursor.decode(cursor);
+        List<Comment> replies = commentMapper.findRepliesAfter(parentId,
+                after == null ? null : after.createdAt(), after == null ? null : after.id(), size + 1);
+        return page(replies, size);
     }
 
     public Comment addComment(Comment comment) {
         comment.setCreatedAt(LocalDateTime.now());
         commentMapper.insert(comment);
+        cacheService.delete(firstPageKey(comment.getArticleId()));
+        dashboardStatsService.onCommentAdded(comment);
         return comment;
     }
-}
 
+    private List<Comment> loadThreads(Long articleId, CommentCursor before, int limit) {
+        List<Comment> threads = commentMapper.findThreadsBefore(articleId,
+                before == null ? null : before.createdAt(), before == null ? null : before.id(), limit);
+        if (threads.isEmpty()) {
+            return threads;
+        }
+        List<Long> ids = new ArrayList<>(threads.size());
+        Map<Long, Comment> byId = new HashMap<>();
+        for (Comment c : threads) {
+            ids.add(c.getId());
+            byId.put(c.getId(), c);
+            c.setReplies(new ArrayList<>());
+            c.setReplyCount(0L);
+        }
+        for (Map<String, Object> row : commentMapper.countReplies(ids)) {
+            Comment parent = byId.get(((Number) row.get("parent")).longValue());
+            if (parent != null) {
+                parent.setReplyCount(((Number) row.get("count")).longValue());
+            }
+        }
+        if (repliesPerThread > 0) {
+            for (Comment reply : commentMapper.findFirstReplies(ids, repliesPerThread)) {
+                Comment parent = byId.get(reply.getParentId());
+                if (parent != null) {
+                    parent.getReplies().add(reply);
+                }
+            }
+        }
+        return threads;
+    }
+
+    // Items were fetched with one extra row to detect a following page
+    private static CursorPage<Comment> page(List<Comment> items, int size) {
+        if (items.size() <= size) {
+            return new CursorPage<>(items, null);
+        }
+        List<Comment> slice = items.subList(0, size);
+        return new CursorPage<>(slice, CommentCursor.after(slice.get(size - 1)).encode());
+    }
+}
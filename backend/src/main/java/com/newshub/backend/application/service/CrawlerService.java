@@ -29,6 +29,9 @@ public class CrawlerService {
     @Autowired
     private ArticleMapper articleMapper;
 
+    @Autowired
+    private RssCrawlerEngine rssCrawlerEngine;
+
     // Data cleanup is now handled by DataCleanupService
 
 
@@ -38,8 +41,16 @@ public class CrawlerService {
     @Value("${app.crawler.python-command:python3}")
     private String pythonCommand;
 
+    @Value("${app.crawler.engine:java}")
+    private String engine;
+
     @Scheduled(fixedRateString = "${app.crawler.interval}")
     public void crawlNews() {
+        if (!"python".equalsIgnoreCase(engine)) {
+            log.info("Triggering Java RSS crawler...");
+            rssCrawlerEngine.crawlAll();
+            return;
+        }
         log.info("Triggering Python crawler...");
         try {
             // Run Python script
@@ -0,0 +1,272 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.domain.model.Article;
+import com.newshub.backend.domain.model.ArticleChangedEvent;
+import com.newshub.backend.domain.model.ArticlePublishedEvent;
+import com.newshub.backend.domain.model.ArticleViewDelta;
+import com.newshub.backend.domain.model.ArticlesDeletedEvent;
+import com.newshub.backend.domain.model.Comment;
+import com.newshub.backend.infrastructure.persistence.ArticleMapper;
+import com.newshub.backend.infrastructure.persistence.CommentMapper;
+import com.newshub.backend.infrastructure.persistence.StatsMapper;
+import com.newshub.backend.infrastructure.persistence.UserMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Admin dashboard numbers without full-table aggregates on the request path. Per-day article
+ * and comment counts and per-category article/view totals live in rollup tables that are
+ * adjusted from the article events as writers go, deletes included, inside the deleting
+ * transaction so their comments are still there to count. A nightly rebuild recomputes the
+ * recent days from the base tables to correct any drift. The remaining live queries are small
+ * index-backed LIMITs, run in parallel, and the assembled payload is cached for a few seconds.
+ */
+@Service
+@Slf4j
+public class DashboardStatsService {
+
+    private static final String KEY_DASHBOARD = "admin:dashboard";
+    private static final int TREND_DAYS = 7;
+
+    @Autowired
+    private StatsMapper statsMapper;
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Autowired
+    private CommentMapper commentMapper;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private CacheService cacheService;
+
+    @Value("${app.stats.dashboard-ttl:15000}")
+    private long dashboardTtlMillis;
+
+    @Value("${app.stats.query-threads:4}")
+    private int queryThreads;
+
+    // Days of stats_daily recomputed by each rebuild
+    @Value("${app.stats.rebuild-days:30}")
+    private int rebuildDays;
+
+    private ThreadPoolExecutor queryExecutor;
+    private volatile long lastRebuildMillis;
+
+    @PostConstruct
+    public void init() {
+        // CallerRunsPolicy: a burst of dashboard loads degrades to sequential queries, never fails
+        queryExecutor = new ThreadPoolExecutor(queryThreads, queryThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(64), r -> new Thread(r, "dashboard-query"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        queryExecutor.shutdown();
+    }
+
+    public Map<String, Object> getDashboardStats() {
+        return cacheService.getOrLoad(KEY_DASHBOARD, dashboardTtlMillis, TimeUnit.MILLISECONDS, this::load);
+    }
+
+    // --- incremental updates; failures are logged and left to the next rebuild ---
+
+    @EventListener
+    public void onPublished(ArticlePublishedEvent event) {
+        onArticleAdded(event.getArticle());
+    }
+
+    @EventListener
+    public void onChanged(ArticleChangedEvent event) {
+        if (event.isCreated()) {
+            onArticleAdded(event.getAfter());
+        } else if (event.getBefore() != null && event.getAfter() != null) {
+            onArticleUpdated(event.getBefore(), event.getAfter());
+        }
+    }
+
+    /**
+     * Runs in the deleting transaction before the rows go, while their comments are still there to
+     * count (they go with the rows, ON DELETE CASCADE).
+     */
+    @EventListener
+    public void onDeleting(ArticlesDeletedEvent event) {
+        Map<Long, long[]> byCategory = new HashMap<>();
+        Map<LocalDate, Long> byDay = new HashMap<>();
+        for (Article a : event.getArticles()) {
+            long[] totals = byCategory.computeIfAbsent(categoryOf(a), k -> new long[2]);
+            totals[0]++;
+            totals[1] += a.getViews() == null ? 0 : a.getViews();
+            byDay.merge(dayOf(a.getPublishTime()), 1L, Long::sum);
+        }
+        apply(() -> {
+            byCategory.forEach((category, t) -> statsMapper.addCategory(category, -t[0], -t[1]));
+            byDay.forEach((day, n) -> statsMapper.addDaily(day, StatsMapper.METRIC_ARTICLES, -n));
+            for (Map<String, Object> row : statsMapper.countCommentsByDateForArticles(event.getIds())) {
+                statsMapper.addDaily(LocalDate.parse((String) row.get("date")), StatsMapper.METRIC_COMMENTS,
+                        -((Number) row.get("count")).longValue());
+            }
+        });
+    }
+
+    private void onArticleAdded(Article a) {
+        apply(() -> {
+            statsMapper.addCategory(categoryOf(a), 1, 0);
+            statsMapper.addDaily(dayOf(a.getPublishTime()), StatsMapper.METRIC_ARTICLES, 1);
+        });
+    }
+
+    private void onArticleUpdated(Article before, Article after) {
+        long beforeCategory = categoryOf(before);
+        long afterCategory = categoryOf(after);
+        LocalDate beforeDay = dayOf(before.getPublishTime());
+        LocalDate afterDay = dayOf(after.getPublishTime() != null ? after.getPublishTime() : before.getPublishTime());
+        if (beforeCategory == afterCategory && beforeDay.equals(afterDay)) {
+            return;
+        }
+        apply(() -> {
+            long views = before.getViews() == null ? 0 : before.getViews();
+            if (beforeCategory != afterCategory) {
+                statsMapper.addCategory(beforeCategory, -1, -views);
+                statsMapper.addCategory(afterCategory, 1, views);
+            }
+            if (!beforeDay.equals(afterDay)) {
+                statsMapper.addDaily(beforeDay, StatsMapper.METRIC_ARTICLES, -1);
+                statsMapper.addDaily(afterDay, StatsMapper.METRIC_ARTICLES, 1);
+            }
+        });
+    }
+
+    public void onViewsFlushed(List<ArticleViewDelta> deltas) {
+        apply(() -> statsMapper.addViews(deltas));
+    }
+
+    public void onCommentAdded(Comment comment) {
+        apply(() -> statsMapper.addDaily(dayOf(comment.getCreatedAt()), StatsMapper.METRIC_COMMENTS, 1));
+    }
+
+    public void onCommentDeleted(LocalDateTime createdAt) {
+        apply(() -> statsMapper.addDaily(dayOf(createdAt), StatsMapper.METRIC_COMMENTS, -1));
+    }
+
+    // --- rebuild ---
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        try {
+            if (statsMapper.countCategoryRows() == 0) {
+                rebuild();
+            }
+        } catch (Exception e) {
+            log.error("Dashboard stats bootstrap failed", e);
+        }
+    }
+
+    @Scheduled(cron = "${app.stats.rebuild-cron:0 30 3 * * ?}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        LocalDate since = LocalDate.now().minusDays(rebuildDays);
+        statsMapper.rebuildCategories();
+        statsMapper.clearEmptyCategories();
+        statsMapper.clearDailySince(since);
+        statsMapper.rebuildDailyArticles(since);
+        statsMapper.rebuildDailyComments(since);
+        cacheService.delete(KEY_DASHBOARD);
+        lastRebuildMillis = System.currentTimeMillis() - start;
+        log.info("Dashboard stats rebuilt in {} ms", lastRebuildMillis);
+    }
+
+    private Map<String, Object> load() {
+        CompletableFuture<Long> users = async(userMapper::count);
+        CompletableFuture<Map<String, Object>> totals = async(statsMapper::findTotals);
+        CompletableFuture<List<Map<String, Object>>> categories = async(statsMapper::findCategoryTotals);
+        CompletableFuture<List<Map<String, Object>>> articleTrend =
+                async(() -> statsMapper.findDaily(StatsMapper.METRIC_ARTICLES, TREND_DAYS));
+        CompletableFuture<List<Map<String, Object>>> commentTrend =
+                async(() -> statsMapper.findDaily(StatsMapper.METRIC_COMMENTS, TREND_DAYS));
+        CompletableFuture<?> recentArticles = async(() -> articleMapper.findPaged(0, 5, null, null, null, null, null));
+        CompletableFuture<?> recentComments = async(() -> commentMapper.findAllPaged(0, 5));
+        CompletableFuture<?> topArticles = async(() -> articleMapper.findTrending(5));
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalUsers", users.join());
+        stats.put("totalArticles", ((Number) totals.join().get("articles")).longValue());
+        stats.put("totalVisits", ((Number) totals.join().get("views")).longValue());
+
+        String today = LocalDate.now().toString();
+        long todayComments = 0;
+        for (Map<String, Object> row : commentTrend.join()) {
+            if (today.equals(row.get("date"))) {
+                todayComments = ((Number) row.get("count")).longValue();
+            }
+        }
+        stats.put("todayComments", todayComments);
+        stats.put("articleTrend", articleTrend.join());
+        stats.put("commentTrend", commentTrend.join());
+
+        List<Map<String, Object>> distribution = new ArrayList<>();
+        List<Map<String, Object>> visits = new ArrayList<>();
+        for (Map<String, Object> row : categories.join()) {
+            distribution.add(Map.of("name", row.get("name"), "value", row.get("articles")));
+            visits.add(Map.of("name", row.get("name"), "value", row.get("views")));
+        }
+        stats.put("categoryDistribution", distribution);
+        stats.put("visitsByCategory", visits);
+
+        stats.put("recentArticles", recentArticles.join());
+        stats.put("recentComments", recentComments.join());
+        stats.put("topArticlesByViews", topArticles.join());
+        return stats;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("lastRebuildMillis", lastRebuildMillis);
+        stats.put("activeQueries", queryExecutor.getActiveCount());
+        stats.put("queuedQueries", queryExecutor.getQueue().size());
+        return stats;
+    }
+
+    private <T> CompletableFuture<T> async(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(query, queryExecutor);
+    }
+
+    private void apply(Runnable update) {
+        try {
+            update.run();
+        } catch (Exception e) {
+            log.warn("Dashboard stats update failed, the next rebuild will correct it: {}", e.getMessage());
+        }
+    }
+
+    private static long categoryOf(Article article) {
+        return article.getCategoryId() == null ? 0L : article.getCategoryId();
+    }
+
+    private static LocalDate dayOf(LocalDateTime time) {
+        return (time != null ? time : LocalDateTime.now()).toLocalDate();
+    }
+}
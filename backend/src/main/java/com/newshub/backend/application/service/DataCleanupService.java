@@ -1,13 +1,31 @@
 package com.newshub.backend.application.service;
 
+import com.newshub.backend.domain.model.Article;
+import com.newshub.backend.domain.model.ArticlesDeletedEvent;
 import com.newshub.backend.infrastructure.persistence.ArticleMapper;
-import com.newshub.backend.infrastructure.persistence.SettingsMapper;
-import com.newshub.backend.domain.model.Settings;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Article retention. Expired rows are deleted in primary-key windows of chunk-size ids, each its
+ * own short statement (and cascade into comments, favorites and article_tags), with a pause
+ * between chunks so the cleanup never holds long locks or builds a huge undo log. Each chunk is
+ * announced as an {@link ArticlesDeletedEvent} in its transaction, so the dashboard rollups, the
+ * in-memory indexes, trending and the URL dedup filter follow it, and its cached pages are dropped.
+ */
 @Service
 @Slf4j
 public class DataCleanupService {
@@ -16,25 +34,115 @@ public class DataCleanupService {
     private ArticleMapper articleMapper;
 
     @Autowired
-    private SettingsMapper settingsMapper;
+    private SettingsService settingsService;
+
+    @Autowired
+    private CacheService cacheService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.retention.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.retention.pause:50}")
+    private long pauseMillis;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    // Progress of the current or last run
+    private volatile LocalDateTime lastStartedAt;
+    private volatile long lastDurationMillis;
+    private volatile long deletedRows;
+    private volatile long chunks;
+    private volatile long cursorId;
+    private volatile long targetId;
+    private volatile String lastError;
 
     // Run every day at midnight
     @Scheduled(cron = "0 0 0 * * ?")
     public void cleanupOldNews() {
-        log.info("Starting data retention cleanup task...");
-        
-        int days = 3; // Default
-        Settings retentionSetting = settingsMapper.findByKey("retention_days");
-        if (retentionSetting != null) {
-            try {
-                days = Integer.parseInt(retentionSetting.getValue());
-            } catch (NumberFormatException e) {
-                log.warn("Invalid retention_days value, using default: 3");
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Retention cleanup already running, skipping");
+            return;
+        }
+        try {
+            log.info("Starting data retention cleanup task...");
+            int days = settingsService.getInt("retention_days", 3);
+            LocalDateTime cutoff = LocalDate.now().minusDays(days).atStartOfDay();
+            long deleted = deleteBefore(cutoff);
+            log.info("Deleted {} old articles (older than {} days) in {} chunks, {} ms.",
+                    deleted, days, chunks, lastDurationMillis);
+        } catch (Exception e) {
+            lastError = e.getMessage();
+            log.error("Retention cleanup failed at id {}", cursorId, e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("running", running.get());
+        stats.put("lastStartedAt", lastStartedAt);
+        stats.put("lastDurationMillis", lastDurationMillis);
+        stats.put("deletedRows", deletedRows);
+        stats.put("chunks", chunks);
+        stats.put("cursorId", cursorId);
+        stats.put("targetId", targetId);
+        stats.put("lastError", lastError);
+        return stats;
+    }
+
+    private long deleteBefore(LocalDateTime cutoff) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        lastStartedAt = LocalDateTime.now();
+        deletedRows = 0;
+        chunks = 0;
+        lastError = null;
+
+        Long maxId = articleMapper.findMaxIdCreatedBefore(cutoff);
+        Long minId = articleMapper.findMinId();
+        if (maxId == null || minId == null) {
+            lastDurationMillis = System.currentTimeMillis() - start;
+            return 0;
+        }
+        targetId = maxId;
+        for (long from = minId; from <= maxId; from += chunkSize) {
+            cursorId = from;
+            List<Article> expired = articleMapper.findExpiredInRange(from, from + chunkSize, cutoff);
+            if (expired.isEmpty()) {
+                continue;
+            }
+            List<Long> ids = new ArrayList<>(expired.size());
+            for (Article a : expired) {
+                ids.add(a.getId());
             }
+            deletedRows += transactionTemplate.execute(status -> {
+                eventPublisher.publishEvent(ArticlesDeletedEvent.of(expired));
+                return articleMapper.deleteByIds(ids);
+            });
+            chunks++;
+            evict(expired);
+            if (pauseMillis > 0) {
+                Thread.sleep(pauseMillis);
+            }
+        }
+        cursorId = maxId;
+        if (deletedRows > 0) {
+            cacheService.delete(NewsService.KEY_LATEST_HEAD);
         }
-        
-        int deletedCount = articleMapper.deleteOldArticles(days);
-        log.info("Deleted {} old articles (older than {} days).", deletedCount, days);
+        lastDurationMillis = System.currentTimeMillis() - start;
+        return deletedRows;
     }
-}
 
+    private void evict(List<Article> deleted) {
+        for (Article a : deleted) {
+            cacheService.delete("news:article:" + a.getId());
+            cacheService.delete(CommentService.firstPageKey(a.getId()));
+        }
+    }
+}
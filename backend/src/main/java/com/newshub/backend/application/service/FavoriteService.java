@@ -1,6 +1,6 @@
 package com.newshub.backend.application.service;
 
-import com.newshub.backend.domain.model.Article;
+import com.newshub.backend.domain.model.ArticleSummary;
 import com.newshub.backend.infrastructure.persistence.FavoriteMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -18,12 +18,16 @@ public class FavoriteService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private TrendingService trendingService;
+
     public Map<String, Boolean> toggleFavorite(Long userId, Long articleId) {
         boolean exists = favoriteMapper.isFavorite(userId, articleId);
         if (exists) {
             favoriteMapper.removeFavorite(userId, articleId);
         } else {
             favoriteMapper.addFavorite(userId, articleId);
+            trendingService.recordFavorite(articleId);
             // Send notification to user
             notificationService.createNotification(
                 userId, 
@@ -45,7 +49,7 @@ public class FavoriteService {
         return result;
     }
 
-    public List<Article> getFavorites(Long userId) {
+    public List<ArticleSummary> getFavorites(Long userId) {
         return favoriteMapper.findFavoritesByUserId(userId);
     }
 }
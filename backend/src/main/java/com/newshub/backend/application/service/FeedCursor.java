@@ -0,0 +1,40 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.domain.model.ArticleSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in a publish_time DESC, id DESC feed.
+ */
+public record FeedCursor(LocalDateTime publishTime, Long id) {
+
+    public static FeedCursor after(ArticleSummary last) {
+        return new FeedCursor(last.getPublishTime(), last.getId());
+    }
+
+    public String encode() {
+        String raw = publishTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static FeedCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            return new FeedCursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * True if the article sorts strictly after this cursor in the feed.
+     */
+    public boolean isBefore(ArticleSummary article) {
+        int cmp = article.getPublishTime().compareTo(publishTime);
+        return cmp < 0 || (cmp == 0 && article.getId() < id);
+    }
+}
@@ -2,52 +2,71 @@ package com.newshub.backend.application.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.newshub.backend.infrastructure.persistence.ArticleMapper;
 import com.newshub.backend.domain.model.Article;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.stereotype.Service;
 import org.springframework.context.annotation.Profile;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Service
 @Slf4j
 @Profile("!local")
 public class KafkaConsumerService {
 
     @Autowired
-    private ArticleMapper articleMapper;
+    private ArticleIngestService articleIngestService;
     
     @Autowired
     private ObjectMapper objectMapper;
 
-    @KafkaListener(topics = "news-crawler-topic", groupId = "news-crawler-group-v2")
-    public void consumeNews(String message) {
+    // Batch mode (default): offsets are committed only after the whole batch has been written
+    @KafkaListener(id = "news-ingest-batch", topics = "news-crawler-topic", groupId = "news-crawler-group-v2",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            autoStartup = "${app.kafka.ingest.batch-enabled:true}")
+    public void consumeNewsBatch(List<String> messages) {
+        List<Article> articles = new ArrayList<>(messages.size());
+        List<Integer> offsets = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            try {
+                articles.add(objectMapper.readValue(messages.get(i), Article.class));
+                offsets.add(i);
+            } catch (JsonProcessingException e) {
+                log.error("Error deserializing article", e);
+            }
+        }
+        if (articles.isEmpty()) {
+            return;
+        }
         try {
-            Article article = objectMapper.readValue(message, Article.class);
-            
-            // Sanitize Summary (Defensive coding to handle legacy/bad messages in queue)
-            if (article.getSummary() != null) {
-                String rawSummary = article.getSummary();
-                // Basic HTML tag stripping
-                String cleanSummary = rawSummary.replaceAll("<[^>]*>", "").trim();
-                // Truncate to avoid database errors (assuming VARCHAR(255))
-                if (cleanSummary.length() > 250) {
-                    cleanSummary = cleanSummary.substring(0, 247) + "...";
+            articleIngestService.ingest(articles);
+        } catch (RuntimeException e) {
+            // The batch was rolled back; store record by record to find the one that fails. The
+            // error handler commits the records before it and retries from it, then skips it.
+            log.warn("Batch of {} articles failed, retrying one by one: {}", articles.size(), e.getMessage());
+            for (int i = 0; i < articles.size(); i++) {
+                try {
+                    articleIngestService.ingest(List.of(articles.get(i)));
+                } catch (RuntimeException failed) {
+                    throw new BatchListenerFailedException("Failed to store article " + articles.get(i).getSourceUrl(),
+                            failed, offsets.get(i));
                 }
-                article.setSummary(cleanSummary);
-            }
-            
-            // Check deduplication
-            if (articleMapper.countBySourceUrl(article.getSourceUrl()) == 0) {
-                articleMapper.insert(article);
-                log.info("Saved news to DB: {}", article.getTitle());
-            } else {
-                log.debug("Duplicate news skipped: {}", article.getSourceUrl());
             }
+        }
+    }
+
+    @KafkaListener(id = "news-ingest", topics = "news-crawler-topic", groupId = "news-crawler-group-v2",
+            autoStartup = "#{!${app.kafka.ingest.batch-enabled:true}}")
+    public void consumeNews(String message) {
+        try {
+            Article article = objectMapper.readValue(message, Article.class);
+            articleIngestService.ingest(List.of(article));
         } catch (JsonProcessingException e) {
             log.error("Error deserializing article", e);
         }
     }
 }
-
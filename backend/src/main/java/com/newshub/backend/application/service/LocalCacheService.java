@@ -1,22 +1,34 @@
 package com.newshub.backend.application.service;
 
+import com.newshub.backend.infrastructure.utils.NearCache;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 @Service
 @Profile("local")
-public class LocalCacheService implements CacheService {
+public class LocalCacheService extends AbstractCacheService {
 
-    private final Map<String, Object> cache = new ConcurrentHashMap<>();
+    private final NearCache cache;
+
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    private record Counter(long value, long expiresAt) {
+    }
+
+    public LocalCacheService(@Value("${app.cache.near.max-bytes:67108864}") long maxBytes) {
+        this.cache = new NearCache(maxBytes);
+    }
 
     @Override
     public void set(String key, Object value, long timeout, TimeUnit unit) {
-        cache.put(key, value);
-        // Expiration not implemented for simplicity in local mode
+        cache.put(key, value, unit.toMillis(timeout));
     }
 
     @Override
@@ -27,6 +39,35 @@ public class LocalCacheService implements CacheService {
     @Override
     public void delete(String key) {
         cache.remove(key);
+        counters.remove(key);
+    }
+
+    @Override
+    public void setCounter(String key, long value, long timeout, TimeUnit unit) {
+        counters.put(key, new Counter(value, System.currentTimeMillis() + unit.toMillis(timeout)));
     }
-}
 
+    @Override
+    public Long incrementIfPresent(String key, long delta) {
+        long now = System.currentTimeMillis();
+        Counter updated = counters.computeIfPresent(key,
+                (k, c) -> c.expiresAt() <= now ? null : new Counter(c.value() + delta, c.expiresAt()));
+        return updated == null ? null : updated.value();
+    }
+
+    @Override
+    public List<Long> getCounters(List<String> keys) {
+        long now = System.currentTimeMillis();
+        List<Long> values = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            Counter c = counters.get(key);
+            values.add(c == null || c.expiresAt() <= now ? null : c.value());
+        }
+        return values;
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        return Map.of("local", cache.getStats(), "loader", getLoaderStats());
+    }
+}
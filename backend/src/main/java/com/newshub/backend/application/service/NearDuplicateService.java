@@ -0,0 +1,480 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.domain.model.Article;
+import com.newshub.backend.domain.model.ArticleChangedEvent;
+import com.newshub.backend.domain.model.ArticlePublishedEvent;
+import com.newshub.backend.domain.model.ArticleSummary;
+import com.newshub.backend.domain.model.ArticlesDeletedEvent;
+import com.newshub.backend.infrastructure.persistence.ArticleMapper;
+import com.newshub.backend.infrastructure.utils.LongHashSet;
+import com.newshub.backend.infrastructure.utils.SearchTokenizer;
+import com.newshub.backend.infrastructure.utils.SimHashIndex;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ingest stage that catches the same story published again under another URL, e.g. one wire
+ * report carried by several outlets. Every published article in the window gets a 64-bit
+ * SimHash of its title and summary terms (the search tokenizer's words and CJK bigrams, title
+ * terms weighted up), and a crawled article within max-distance bits of one already stored, or
+ * of an earlier one in the same batch, is a near duplicate. The policy decides what happens to
+ * it: merge (not stored; the kept article takes its summary and cover image where it has none),
+ * drop (not stored) or log (stored anyway, only counted). Articles written on other nodes are
+ * picked up by tailing new ids, the same way as the related-articles index; matches are checked
+ * against the DB before they count, so a fingerprint of an article deleted elsewhere never
+ * keeps a new one out. Feeds list the same items on every poll, so the source URLs of held-back
+ * duplicates are remembered and skipped without another check. filter itself writes nothing:
+ * the caller applies the merges in its insert transaction and remembers the held-back URLs
+ * once that commits, so a batch that fails and is redelivered is judged again from scratch.
+ */
+@Service
+@Slf4j
+public class NearDuplicateService {
+
+    public enum Policy { MERGE, DROP, LOG }
+
+    /**
+     * kept: the articles to store. merges: fields to fill in on stored articles, for applyMerges.
+     * heldBack: source URLs of the duplicates not stored, for rememberHeldBack.
+     */
+    public record Result(List<Article> kept, List<Merge> merges, List<String> heldBack) {
+    }
+
+    /**
+     * A stored article and the duplicate's summary and cover image, filled in where it has none.
+     */
+    public record Merge(Long id, String summary, String coverImage) {
+    }
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Value("${app.dedup.near.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.dedup.near.policy:merge}")
+    private String policyName;
+
+    @Value("${app.dedup.near.max-distance:9}")
+    private int maxDistance;
+
+    @Value("${app.dedup.near.window:259200000}")
+    private long windowMillis;
+
+    @Value("${app.dedup.near.min-terms:10}")
+    private int minTerms;
+
+    @Value("${app.dedup.near.title-weight:2}")
+    private int titleWeight;
+
+    // Source URLs of held-back duplicates remembered; the set starts over when it is full
+    @Value("${app.dedup.near.held-back-urls:50000}")
+    private int maxHeldBackUrls;
+
+    @Value("${app.dedup.near.sync-batch:1000}")
+    private int syncBatch;
+
+    @Value("${app.dedup.near.commit-lag:5000}")
+    private long commitLagMillis;
+
+    private Policy policy = Policy.MERGE;
+    private volatile SimHashIndex index;
+    private volatile boolean ready;
+
+    // Highest id below which every row has been seen
+    private volatile long syncedId;
+
+    private final Object heldBackLock = new Object();
+    private LongHashSet heldBack = new LongHashSet(1024);
+
+    private volatile long rebuildMillis;
+    private final AtomicLong checked = new AtomicLong();
+    private final AtomicLong tooShort = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong inBatch = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong merged = new AtomicLong();
+    private final AtomicLong fieldsFilled = new AtomicLong();
+    private final AtomicLong staleMatches = new AtomicLong();
+    private final AtomicLong repeats = new AtomicLong();
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong lookupNanos = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        // Keep the in-batch check on the threshold the index actually uses
+        maxDistance = Math.max(1, Math.min(maxDistance, SimHashIndex.MAX_DISTANCE));
+        try {
+            policy = Policy.valueOf(policyName.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            log.warn("Unknown near-duplicate policy '{}', using merge", policyName);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        // The startup scan reads the whole window; keep it off the startup path
+        Thread builder = new Thread(this::rebuild, "near-duplicate-index-build");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            Long watermark = articleMapper.findMaxIdCreatedBefore(LocalDateTime.now().minus(commitLagMillis, ChronoUnit.MILLIS));
+            SimHashIndex fresh = new SimHashIndex(maxDistance, 1024);
+            articleMapper.scanPublishedSince(windowStart(), ctx -> add(fresh, ctx.getResultObject()));
+            // Lay each bucket out contiguously before lookups start
+            fresh.compact();
+            index = fresh;
+            syncedId = watermark == null ? 0 : watermark;
+            ready = true;
+            rebuildMillis = System.currentTimeMillis() - start;
+            log.info("Near-duplicate index built from {} articles in {} ms", fresh.size(), rebuildMillis);
+        } catch (Exception e) {
+            log.error("Near-duplicate index build failed, ingest only checks within each batch", e);
+        }
+    }
+
+    /**
+     * Splits crawled articles into the ones to store and near duplicates, applying the policy
+     * to the latter. Articles too short to fingerprint are always kept.
+     */
+    public Result filter(List<Article> candidates) {
+        if (!enabled || candidates.isEmpty()) {
+            return new Result(candidates, List.of(), List.of());
+        }
+        candidates = skipHeldBack(candidates);
+        int n = candidates.size();
+        long[] fingerprints = new long[n];
+        boolean[] fingerprinted = new boolean[n];
+        long[] matches = new long[n];
+        Set<Long> matchIds = new HashSet<>();
+        SimHashIndex current = ready ? index : null;
+        for (int i = 0; i < n; i++) {
+            matches[i] = -1;
+            Map<String, Integer> features = features(candidates.get(i));
+            if (features.size() < minTerms) {
+                tooShort.incrementAndGet();
+                continue;
+            }
+            fingerprints[i] = SimHashIndex.fingerprint(features);
+            fingerprinted[i] = true;
+            if (current != null) {
+                long start = System.nanoTime();
+                matches[i] = current.nearest(fingerprints[i]);
+                lookupNanos.addAndGet(System.nanoTime() - start);
+                lookups.incrementAndGet();
+                if (matches[i] >= 0) {
+                    matchIds.add(matches[i]);
+                }
+            }
+        }
+        checked.addAndGet(n);
+
+        // Only still-published articles count; the rest are fingerprints of rows gone on another node
+        Map<Long, ArticleSummary> stored = new HashMap<>();
+        if (!matchIds.isEmpty()) {
+            for (ArticleSummary a : articleMapper.findSummariesByIds(new ArrayList<>(matchIds))) {
+                stored.put(a.getId(), a);
+            }
+            for (Long id : matchIds) {
+                if (!stored.containsKey(id)) {
+                    current.remove(id);
+                    staleMatches.incrementAndGet();
+                }
+            }
+        }
+
+        List<Article> kept = new ArrayList<>(n);
+        List<Integer> keptFingerprinted = new ArrayList<>();
+        List<Merge> merges = new ArrayList<>();
+        List<String> heldBackUrls = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            Article article = candidates.get(i);
+            if (!fingerprinted[i]) {
+                kept.add(article);
+                continue;
+            }
+            Article earlier = null;
+            for (int j : keptFingerprinted) {
+                if (SimHashIndex.distance(fingerprints[i], fingerprints[j]) <= maxDistance) {
+                    earlier = candidates.get(j);
+                    break;
+                }
+            }
+            ArticleSummary original = earlier == null ? stored.get(matches[i]) : null;
+            if (earlier == null && original == null) {
+                kept.add(article);
+                keptFingerprinted.add(i);
+                continue;
+            }
+            duplicates.incrementAndGet();
+            if (earlier != null) {
+                inBatch.incrementAndGet();
+            }
+            log.debug("Near duplicate of {}: {}", earlier != null ? earlier.getSourceUrl() : original.getId(),
+                    article.getSourceUrl());
+            switch (policy) {
+                case LOG -> {
+                    kept.add(article);
+                    keptFingerprinted.add(i);
+                }
+                case DROP -> {
+                    dropped.incrementAndGet();
+                    addHeldBack(heldBackUrls, article);
+                }
+                case MERGE -> {
+                    merged.incrementAndGet();
+                    addHeldBack(heldBackUrls, article);
+                    if (earlier != null) {
+                        fillMissing(earlier, article);
+                    } else if (hasMissing(original, article)) {
+                        merges.add(new Merge(original.getId(), article.getSummary(), article.getCoverImage()));
+                    }
+                }
+            }
+        }
+        return new Result(kept, merges, heldBackUrls);
+    }
+
+    /**
+     * Fills in the merged fields and returns the ids of the articles that changed. Runs in the
+     * caller's transaction; an article whose fields were filled in by an earlier delivery of the
+     * same batch, or that is gone, does not change again.
+     */
+    public Set<Long> applyMerges(List<Merge> merges) {
+        Set<Long> changed = new HashSet<>();
+        for (Merge m : merges) {
+            if (articleMapper.fillMissingFields(m.id(), m.summary(), m.coverImage()) > 0) {
+                fieldsFilled.incrementAndGet();
+                changed.add(m.id());
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Remembers the source URLs of held-back duplicates once their batch is committed.
+     */
+    public void rememberHeldBack(List<String> urls) {
+        if (urls.isEmpty()) {
+            return;
+        }
+        synchronized (heldBackLock) {
+            for (String url : urls) {
+                if (heldBack.size() >= maxHeldBackUrls) {
+                    heldBack = new LongHashSet(1024);
+                }
+                heldBack.add(UrlDedupFilter.hash(url));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.dedup.near.sync-interval:5000}")
+    public void sync() {
+        if (!ready) {
+            return;
+        }
+        try {
+            SimHashIndex current = index;
+            tail(current);
+            current.removeOlderThan(toEpochMillis(windowStart()));
+            int tombstones = current.tombstones();
+            if (tombstones > 1000 && tombstones > current.size()) {
+                current.compact();
+            }
+        } catch (Exception e) {
+            log.warn("Near-duplicate index sync failed: {}", e.getMessage());
+        }
+    }
+
+    // --- changes made on this node ---
+
+    @EventListener
+    public void onPublished(ArticlePublishedEvent event) {
+        Article a = event.getArticle();
+        if (ready && a.getId() != null) {
+            add(index, a);
+        }
+    }
+
+    /**
+     * Re-reads an edited article; one that is unpublished or left the window drops out.
+     */
+    @EventListener
+    public void onChanged(ArticleChangedEvent event) {
+        if (!ready || event.getId() == null) {
+            return;
+        }
+        SimHashIndex current = index;
+        List<Article> found = articleMapper.findSearchFieldsByIds(List.of(event.getId()));
+        if (found.isEmpty()) {
+            current.remove(event.getId());
+        } else {
+            add(current, found.get(0));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeleted(ArticlesDeletedEvent event) {
+        if (!ready) {
+            return;
+        }
+        SimHashIndex current = index;
+        for (Long id : event.getIds()) {
+            current.remove(id);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("ready", ready);
+        stats.put("policy", policy.name().toLowerCase(Locale.ROOT));
+        stats.put("rebuildMillis", rebuildMillis);
+        stats.put("syncedId", syncedId);
+        stats.put("checked", checked.get());
+        stats.put("tooShort", tooShort.get());
+        stats.put("duplicates", duplicates.get());
+        stats.put("inBatch", inBatch.get());
+        stats.put("dropped", dropped.get());
+        stats.put("merged", merged.get());
+        stats.put("fieldsFilled", fieldsFilled.get());
+        stats.put("staleMatches", staleMatches.get());
+        stats.put("repeats", repeats.get());
+        synchronized (heldBackLock) {
+            stats.put("heldBackUrls", heldBack.size());
+        }
+        // Rows that would have been inserted without this stage
+        stats.put("savedRows", dropped.get() + merged.get());
+        long lookupCount = lookups.get();
+        stats.put("lookups", lookupCount);
+        stats.put("avgLookupMicros", lookupCount == 0 ? 0.0 : lookupNanos.get() / 1000.0 / lookupCount);
+        SimHashIndex current = index;
+        if (current != null) {
+            stats.put("index", current.getStats());
+        }
+        return stats;
+    }
+
+    // --- internals ---
+
+    private List<Article> skipHeldBack(List<Article> candidates) {
+        List<Article> fresh = new ArrayList<>(candidates.size());
+        synchronized (heldBackLock) {
+            for (Article a : candidates) {
+                if (a.getSourceUrl() != null && heldBack.contains(UrlDedupFilter.hash(a.getSourceUrl()))) {
+                    repeats.incrementAndGet();
+                } else {
+                    fresh.add(a);
+                }
+            }
+        }
+        return fresh;
+    }
+
+    private static void addHeldBack(List<String> urls, Article article) {
+        if (article.getSourceUrl() != null) {
+            urls.add(article.getSourceUrl());
+        }
+    }
+
+    private Map<String, Integer> features(Article a) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String term : SearchTokenizer.tokenize(a.getTitle())) {
+            weights.merge(term, titleWeight, Integer::sum);
+        }
+        for (String term : SearchTokenizer.tokenize(a.getSummary())) {
+            weights.merge(term, 1, Integer::sum);
+        }
+        return weights;
+    }
+
+    // Gives the kept article of a batch what the duplicate has and it lacks
+    static void fillMissing(Article kept, Article duplicate) {
+        if (isBlank(kept.getSummary()) && !isBlank(duplicate.getSummary())) {
+            kept.setSummary(duplicate.getSummary());
+        }
+        if (isBlank(kept.getCoverImage()) && !isBlank(duplicate.getCoverImage())) {
+            kept.setCoverImage(duplicate.getCoverImage());
+        }
+    }
+
+    // True if the duplicate has a field the stored article lacks
+    private static boolean hasMissing(ArticleSummary original, Article duplicate) {
+        return isBlank(original.getSummary()) && !isBlank(duplicate.getSummary())
+                || isBlank(original.getCoverImage()) && !isBlank(duplicate.getCoverImage());
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+
+    private void tail(SimHashIndex current) {
+        while (true) {
+            List<Article> batch = articleMapper.findSearchFieldsAfter(syncedId, syncBatch);
+            LocalDateTime committed = LocalDateTime.now().minus(commitLagMillis, ChronoUnit.MILLIS);
+            boolean advancing = true;
+            for (Article a : batch) {
+                if (!current.contains(a.getId())) {
+                    add(current, a);
+                }
+                // Stop the watermark at the first row that a slower transaction could still precede
+                if (advancing && a.getCreatedAt() != null && a.getCreatedAt().isBefore(committed)) {
+                    syncedId = a.getId();
+                } else {
+                    advancing = false;
+                }
+            }
+            if (batch.size() < syncBatch || !advancing) {
+                return;
+            }
+        }
+    }
+
+    private void add(SimHashIndex target, Article a) {
+        boolean published = a.getStatus() == null || "PUBLISHED".equals(a.getStatus());
+        LocalDateTime publishTime = a.getPublishTime() == null ? LocalDateTime.now() : a.getPublishTime();
+        Map<String, Integer> features = published && !publishTime.isBefore(windowStart()) ? features(a) : Map.of();
+        if (features.size() < minTerms) {
+            target.remove(a.getId());
+            return;
+        }
+        target.add(a.getId(), SimHashIndex.fingerprint(features), toEpochMillis(publishTime));
+    }
+
+    private LocalDateTime windowStart() {
+        return LocalDateTime.now().minus(windowMillis, ChronoUnit.MILLIS);
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
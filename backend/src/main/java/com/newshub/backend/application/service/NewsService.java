@@ -2,10 +2,24 @@ package com.newshub.backend.application.service;
 
 import com.newshub.backend.infrastructure.persistence.ArticleMapper;
 import com.newshub.backend.domain.model.Article;
+import com.newshub.backend.domain.model.ArticleSummary;
+import com.newshub.backend.infrastructure.utils.InvertedIndex;
+import com.newshub.backend.infrastructure.utils.SearchHighlighter;
+import com.newshub.backend.infrastructure.utils.SearchTokenizer;
+import com.newshub.backend.interfaces.dto.CursorPage;
+import com.newshub.backend.interfaces.dto.SearchPage;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 @Service
@@ -17,42 +31,106 @@ public class NewsService {
     @Autowired
     private CacheService cacheService;
 
-    private static final String KEY_LATEST_NEWS = "news:latest";
+    @Autowired
+    private ViewCounterService viewCounterService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private SuggestService suggestService;
+
+    @Autowired
+    private RelatedService relatedService;
+
+    @Autowired
+    private CategoryFeedService categoryFeedService;
+
+    public static final String KEY_LATEST_HEAD = "news:latest:head";
     private static final String KEY_ARTICLE_PREFIX = "news:article:";
+    public static final String KEY_RELATED_PREFIX = "news:related:";
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_PAGE_SIZE = 50;
+    private static final int SUMMARY_FRAGMENT = 120;
 
-    public List<Article> getLatestNews(int page, int pageSize) {
-        int offset = (page - 1) * pageSize;
-        String key = KEY_LATEST_NEWS + ":" + page + ":" + pageSize;
-        
-        // Try to get from cache
-        List<Article> cachedNews = (List<Article>) cacheService.get(key);
-        if (cachedNews != null) {
-            return cachedNews;
-        }
+    // Number of newest articles cached as one list; pages and cursors inside it never hit the DB
+    @Value("${app.news.head-window:200}")
+    private int headWindow;
+
+    // Related articles cached per article as one list; smaller limits are sliced from it
+    @Value("${app.related.cache-size:10}")
+    private int relatedCacheSize;
+
+    @Value("${app.related.cache-ttl:600000}")
+    private long relatedCacheTtlMillis;
 
-        // Get from DB
-        List<Article> news = articleMapper.findLatest(pageSize, offset);
-        
-        // Cache for 5 minutes (Short TTL for high concurrency "latest" updates)
-        if (news != null && !news.isEmpty()) {
-            cacheService.set(key, news, 5, TimeUnit.MINUTES);
+    public List<ArticleSummary> getLatestNews(int page, int pageSize) {
+        int size = clampPageSize(pageSize);
+        int offset = (Math.max(page, 1) - 1) * size;
+
+        if (offset + size <= headWindow) {
+            List<ArticleSummary> head = getLatestHead();
+            return head.subList(Math.min(offset, head.size()), Math.min(offset + size, head.size()));
         }
-        
-        return news;
+
+        // Deep offset pages are rare (the cursor endpoint is the scalable path) and not cached
+        return articleMapper.findLatest(size, offset);
     }
 
-    public List<Article> getDailyHighlights(int limit) {
-        String key = "news:daily-highlights:" + limit;
-        List<Article> cachedHighlights = (List<Article>) cacheService.get(key);
-        if (cachedHighlights != null) {
-            return cachedHighlights;
+    /**
+     * Keyset page of the latest feed. A null cursor starts at the newest article.
+     */
+    public CursorPage<ArticleSummary> getLatestByCursor(String cursor, int pageSize) {
+        int size = clampPageSize(pageSize);
+        FeedCursor position = cursor == null || cursor.isBlank() ? null : FeedCursor.decode(cursor);
+
+        List<ArticleSummary> head = getLatestHead();
+        int start = position == null ? 0 : indexAfter(head, position);
+        List<ArticleSummary> items;
+        if (start + size <= head.size() || head.size() < headWindow) {
+            // Fully inside the head window, or the window already holds the whole feed
+            items = head.subList(Math.min(start, head.size()), Math.min(start + size, head.size()));
+        } else {
+            items = position == null
+                    ? articleMapper.findLatest(size, 0)
+                    : articleMapper.findLatestBefore(position.publishTime(), position.id(), size);
         }
 
-        List<Article> highlights = articleMapper.findDailyHighlights(limit);
-        if (highlights != null && !highlights.isEmpty()) {
-            cacheService.set(key, highlights, 30, TimeUnit.MINUTES); // Cache for 30 minutes
+        String next = items.size() < size ? null : FeedCursor.after(items.get(items.size() - 1)).encode();
+        return new CursorPage<>(items, next);
+    }
+
+    private List<ArticleSummary> getLatestHead() {
+        // Cache for 5 minutes (Short TTL for high concurrency "latest" updates); ingest also evicts it
+        return cacheService.getOrLoad(KEY_LATEST_HEAD, 5, TimeUnit.MINUTES,
+                () -> articleMapper.findLatestBefore(null, null, headWindow));
+    }
+
+    // First position in the (publish_time DESC, id DESC) ordered head that sorts after the cursor
+    private static int indexAfter(List<ArticleSummary> head, FeedCursor position) {
+        int lo = 0, hi = head.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (position.isBefore(head.get(mid))) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
         }
-        return highlights;
+        return lo;
+    }
+
+    private static int clampPageSize(int pageSize) {
+        return Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+    }
+
+    public List<ArticleSummary> getDailyHighlights(int limit) {
+        // Cache for 30 minutes
+        return cacheService.getOrLoad("news:daily-highlights:" + limit, 30, TimeUnit.MINUTES,
+                () -> articleMapper.findDailyHighlights(limit));
     }
 
     public int getTotalPublishedArticlesCount() {
@@ -60,55 +138,135 @@ public class NewsService {
     }
 
     public Article getArticleById(Long id) {
-        String key = KEY_ARTICLE_PREFIX + id;
-        Article cachedArticle = (Article) cacheService.get(key);
-        if (cachedArticle != null) {
-            articleMapper.incrementViews(id);
-            Long v = cachedArticle.getViews();
-            cachedArticle.setViews(v == null ? 1L : v + 1);
-            cacheService.set(key, cachedArticle, 1, TimeUnit.HOURS);
-            return cachedArticle;
+        Article article = cacheService.getOrLoad(KEY_ARTICLE_PREFIX + id, 1, TimeUnit.HOURS, () -> {
+            viewCounterService.rebase(id);
+            return articleMapper.findById(id);
+        });
+        if (article == null) {
+            return null;
         }
 
-        Article article = articleMapper.findById(id);
-        if (article != null) {
-            articleMapper.incrementViews(id);
-            Long v = article.getViews();
-            article.setViews(v == null ? 1L : v + 1);
-            cacheService.set(key, article, 1, TimeUnit.HOURS);
+        // Views are counted write-behind and merged at read time; the cached Article is never rewritten
+        viewCounterService.recordView(id);
+        // Drafts and archived articles are readable by id but never trend
+        if ("PUBLISHED".equals(article.getStatus())) {
+            trendingService.recordView(ArticleSummary.from(article));
         }
+        Article view = new Article();
+        BeanUtils.copyProperties(article, view);
+        long base = article.getViews() == null ? 0L : article.getViews();
+        view.setViews(base + viewCounterService.unseenViews(id));
+        return view;
+    }
 
-        return article;
+    public List<ArticleSummary> getNewsByCategory(Long categoryId, int limit) {
+        return categoryFeedService.page(categoryId, null, clampPageSize(limit));
     }
 
-    public List<Article> getNewsByCategory(Long categoryId, int limit) {
-        return articleMapper.findByCategory(categoryId, limit);
+    /**
+     * Keyset page of one category. A null cursor starts at the newest article.
+     */
+    public CursorPage<ArticleSummary> getCategoryByCursor(Long categoryId, String cursor, int pageSize) {
+        int size = clampPageSize(pageSize);
+        FeedCursor position = cursor == null || cursor.isBlank() ? null : FeedCursor.decode(cursor);
+        List<ArticleSummary> items = categoryFeedService.page(categoryId, position, size);
+        String next = items.size() < size ? null : FeedCursor.after(items.get(items.size() - 1)).encode();
+        return new CursorPage<>(items, next);
     }
 
-    public List<Article> getRelatedArticles(Long articleId, int limit) {
-        Article article = articleMapper.findById(articleId);
-        if (article == null) {
-            return List.of();
+    public List<ArticleSummary> getRelatedArticles(Long articleId, int limit) {
+        List<ArticleSummary> related = cacheService.getOrLoad(KEY_RELATED_PREFIX + articleId, relatedCacheTtlMillis,
+                TimeUnit.MILLISECONDS, () -> loadRelated(articleId));
+        return related.subList(0, Math.min(Math.max(limit, 0), related.size()));
+    }
+
+    // Most similar articles first, topped up with the newest of the same category for articles the index has little for
+    private List<ArticleSummary> loadRelated(Long articleId) {
+        List<ArticleSummary> related = new ArrayList<>(relatedCacheSize);
+        long[] similar = relatedService.similar(articleId, relatedCacheSize);
+        if (similar.length > 0) {
+            Map<Long, ArticleSummary> rows = new HashMap<>();
+            for (ArticleSummary a : articleMapper.findSummariesByIds(Arrays.stream(similar).boxed().toList())) {
+                rows.put(a.getId(), a);
+            }
+            for (long id : similar) {
+                ArticleSummary a = rows.get(id);
+                if (a != null) {
+                    related.add(a);
+                }
+            }
+        }
+        if (related.size() < relatedCacheSize) {
+            Long categoryId = articleMapper.findCategoryIdById(articleId);
+            if (categoryId != null) {
+                Set<Long> seen = new HashSet<>();
+                related.forEach(a -> seen.add(a.getId()));
+                for (ArticleSummary a : articleMapper.findRelated(categoryId, articleId, relatedCacheSize)) {
+                    if (related.size() < relatedCacheSize && seen.add(a.getId())) {
+                        related.add(a);
+                    }
+                }
+            }
         }
-        return articleMapper.findRelated(article.getCategoryId(), articleId, limit);
+        return related;
     }
 
-    public List<Article> searchArticles(String keyword) {
-        return articleMapper.search(keyword);
+    public SearchPage<ArticleSummary> searchArticles(String keyword, int page, int pageSize) {
+        int size = Math.min(Math.max(pageSize, 1), MAX_SEARCH_PAGE_SIZE);
+        int current = Math.max(page, 1);
+        List<String> terms = SearchTokenizer.tokenize(keyword);
+        if (terms.isEmpty()) {
+            return new SearchPage<>(List.of(), 0, current, size);
+        }
+        if (!searchIndexService.isReady()) {
+            // MySQL FULLTEXT until the index is built: first page only
+            List<ArticleSummary> items = current == 1 ? articleMapper.search(keyword) : List.of();
+            if (!items.isEmpty()) {
+                suggestService.recordQuery(keyword);
+            }
+            return new SearchPage<>(highlight(items, terms), items.size(), current, size);
+        }
+        InvertedIndex.Hits hits = searchIndexService.searchPublished(terms, (current - 1) * size, size);
+        if (current == 1 && hits.total() > 0) {
+            suggestService.recordQuery(keyword);
+        }
+        List<ArticleSummary> items = new ArrayList<>(hits.ids().length);
+        if (hits.ids().length > 0) {
+            List<Long> ids = Arrays.stream(hits.ids()).boxed().toList();
+            Map<Long, ArticleSummary> rows = new HashMap<>();
+            for (ArticleSummary a : articleMapper.findSummariesByIds(ids)) {
+                rows.put(a.getId(), a);
+            }
+            for (Long id : ids) {
+                ArticleSummary a = rows.get(id);
+                if (a != null) {
+                    items.add(a);
+                } else {
+                    searchIndexService.evict(id);
+                }
+            }
+        }
+        return new SearchPage<>(highlight(items, terms), hits.total(), current, size);
     }
 
-    public List<Article> getTrendingNews(int limit) {
-        String key = "news:trending:" + limit;
-        List<Article> cachedNews = (List<Article>) cacheService.get(key);
-        if (cachedNews != null) {
-            return cachedNews;
+    private static List<ArticleSummary> highlight(List<ArticleSummary> items, List<String> terms) {
+        for (ArticleSummary a : items) {
+            a.setTitleHighlight(SearchHighlighter.highlight(a.getTitle(), terms, 0));
+            a.setSummaryHighlight(SearchHighlighter.highlight(a.getSummary(), terms, SUMMARY_FRAGMENT));
         }
+        return items;
+    }
 
-        List<Article> news = articleMapper.findTrending(limit);
-        if (news != null && !news.isEmpty()) {
-            cacheService.set(key, news, 10, TimeUnit.MINUTES); // Cache for 10 minutes
+    public List<ArticleSummary> getTrendingNews(int limit, Long categoryId) {
+        if (trendingService.isReady()) {
+            return trendingService.getTrending(limit, categoryId);
         }
-        return news;
+        // Until the in-memory ranking is built: all-time views, or the newest in a category
+        if (categoryId != null) {
+            return categoryFeedService.page(categoryId, null, clampPageSize(limit));
+        }
+        // Cache for 10 minutes
+        return cacheService.getOrLoad("news:trending:" + limit, 10, TimeUnit.MINUTES,
+                () -> articleMapper.findTrending(limit));
     }
 }
-
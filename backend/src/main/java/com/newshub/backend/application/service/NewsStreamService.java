@@ -0,0 +1,258 @@
+package com.newshub.backend.application.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-sent events view of the article push topics. It taps the broker channel rather than
+ * the push service, so frames relayed from other nodes reach this node's SSE clients too.
+ * Every client has its own bounded frame queue drained by the sender pool, so a client whose
+ * socket stops accepting data only holds up itself; once its queue is full or its current write
+ * has been blocked longer than send-time-limit it is disconnected.
+ */
+@Service
+@Slf4j
+public class NewsStreamService implements ChannelInterceptor {
+
+    private static final String TOPIC_PREFIX = "/topic/news/";
+    // Scope key for clients following every category
+    private static final long ALL = 0L;
+
+    @Value("${app.news.stream.max-clients:5000}")
+    private int maxClients;
+
+    @Value("${app.news.stream.timeout:1800000}")
+    private long timeoutMillis;
+
+    @Value("${app.news.stream.send-threads:4}")
+    private int sendThreads;
+
+    @Value("${app.news.stream.client-queue:64}")
+    private int clientQueue;
+
+    @Value("${app.news.stream.send-time-limit:10000}")
+    private long sendTimeLimitMillis;
+
+    private final Map<Long, Set<Client>> emitters = new ConcurrentHashMap<>();
+    private final AtomicInteger clients = new AtomicInteger();
+    private final AtomicLong slowClientsClosed = new AtomicLong();
+
+    // Writes happen off the broker and Redis listener threads; each client is queued at most once
+    private ThreadPoolExecutor sender;
+
+    @PostConstruct
+    public void init() {
+        sender = new ThreadPoolExecutor(sendThreads, sendThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), r -> new Thread(r, "news-sse"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        emitters.values().forEach(set -> set.forEach(client -> client.emitter.complete()));
+    }
+
+    public SseEmitter subscribe(Long categoryId) {
+        if (clients.incrementAndGet() > maxClients) {
+            clients.decrementAndGet();
+            throw new IllegalStateException("Too many stream clients, try again later");
+        }
+        long scope = categoryId == null ? ALL : categoryId;
+        SseEmitter emitter = newEmitter();
+        Set<Client> set = emitters.computeIfAbsent(scope, k -> ConcurrentHashMap.newKeySet());
+        Client client = new Client(emitter, set);
+        set.add(client);
+        emitter.onCompletion(client::remove);
+        emitter.onTimeout(client::remove);
+        emitter.onError(e -> client.remove());
+        return emitter;
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    @Override
+    public void postSend(Message<?> message, MessageChannel channel, boolean sent) {
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (!sent || destination == null || !destination.startsWith(TOPIC_PREFIX) || clients.get() == 0) {
+            return;
+        }
+        Long scope = scopeOf(destination);
+        Set<Client> set = scope == null ? null : emitters.get(scope);
+        if (set == null || set.isEmpty() || !(message.getPayload() instanceof byte[] body)) {
+            return;
+        }
+        // Encode once; a builder must not be built again per client
+        Set<ResponseBodyEmitter.DataWithMediaType> data = SseEmitter.event().name("articles")
+                .data(new String(body, StandardCharsets.UTF_8), MediaType.APPLICATION_JSON).build();
+        for (Client client : set) {
+            client.offer(data, false);
+        }
+    }
+
+    // Keeps idle connections open through proxies and weeds out dead and stalled clients
+    @Scheduled(fixedDelayString = "${app.news.stream.heartbeat:30000}")
+    public void heartbeat() {
+        if (clients.get() == 0) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        for (Set<Client> set : emitters.values()) {
+            for (Client client : set) {
+                client.offer(ping, true);
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        int queued = 0;
+        for (Set<Client> set : emitters.values()) {
+            for (Client client : set) {
+                queued += client.queued();
+            }
+        }
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("clients", clients.get());
+        stats.put("scopes", emitters.size());
+        stats.put("queuedFrames", queued);
+        stats.put("slowClientsClosed", slowClientsClosed.get());
+        return stats;
+    }
+
+    private final class Client {
+
+        private final SseEmitter emitter;
+        private final Set<Client> scope;
+
+        // Guarded by this
+        private final ArrayDeque<Set<ResponseBodyEmitter.DataWithMediaType>> queue = new ArrayDeque<>();
+        private boolean scheduled;
+        private boolean closed;
+
+        private volatile long sendStartedAt;
+
+        Client(SseEmitter emitter, Set<Client> scope) {
+            this.emitter = emitter;
+            this.scope = scope;
+        }
+
+        // A keep-alive is skipped when frames are already waiting; they keep the connection alive just as well
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> data, boolean keepAlive) {
+            long started = sendStartedAt;
+            boolean schedule = false;
+            boolean slow = false;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (queue.size() >= clientQueue
+                        || started != 0 && System.currentTimeMillis() - started > sendTimeLimitMillis) {
+                    closed = true;
+                    queue.clear();
+                    slow = true;
+                } else if (!keepAlive || queue.isEmpty() && started == 0) {
+                    queue.add(data);
+                    schedule = !scheduled;
+                    scheduled = true;
+                }
+            }
+            if (slow) {
+                slowClientsClosed.incrementAndGet();
+                log.warn("Closing slow SSE client: frame queue or send time limit exceeded");
+                close(null);
+            } else if (schedule) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down
+                }
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Set<ResponseBodyEmitter.DataWithMediaType> data;
+                synchronized (this) {
+                    data = closed ? null : queue.poll();
+                    if (data == null) {
+                        scheduled = false;
+                        return;
+                    }
+                }
+                sendStartedAt = System.currentTimeMillis();
+                try {
+                    emitter.send(data);
+                } catch (IOException | IllegalStateException e) {
+                    close(e);
+                    return;
+                } finally {
+                    sendStartedAt = 0;
+                }
+            }
+        }
+
+        synchronized int queued() {
+            return queue.size();
+        }
+
+        private void close(Throwable error) {
+            synchronized (this) {
+                closed = true;
+                queue.clear();
+            }
+            remove();
+            if (error != null) {
+                emitter.completeWithError(error);
+            } else {
+                emitter.complete();
+            }
+        }
+
+        // Idempotent; called from the emitter callbacks as well
+        void remove() {
+            if (scope.remove(this)) {
+                clients.decrementAndGet();
+            }
+        }
+    }
+
+    private static Long scopeOf(String destination) {
+        if (destination.equals(ArticlePushService.TOPIC_LATEST)) {
+            return ALL;
+        }
+        if (destination.startsWith(ArticlePushService.TOPIC_CATEGORY)) {
+            try {
+                return Long.valueOf(destination.substring(ArticlePushService.TOPIC_CATEGORY.length()));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,194 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.domain.model.BroadcastJob;
+import com.newshub.backend.domain.model.Notification;
+import com.newshub.backend.infrastructure.persistence.NotificationMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends notifications to many users. Global announcements are stored once as a broadcast row;
+ * explicit user lists are fanned out off the request thread in chunks, each written with one
+ * multi-row INSERT and pushed over WebSocket by a small bounded publisher pool.
+ */
+@Service
+@Slf4j
+public class NotificationBroadcastService {
+
+    public static final String BROADCAST_TOPIC = "/topic/notifications/broadcast";
+
+    @Autowired
+    private NotificationMapper notificationMapper;
+
+    @Autowired
+    private UnreadCounterService unreadCounterService;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Value("${app.notifications.broadcast.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.notifications.broadcast.publish-threads:2}")
+    private int publishThreads;
+
+    @Value("${app.notifications.broadcast.max-queued-jobs:4}")
+    private int maxQueuedJobs;
+
+    @Value("${app.notifications.broadcast.retained-jobs:100}")
+    private int retainedJobs;
+
+    private ThreadPoolExecutor jobExecutor;
+    private ThreadPoolExecutor publishExecutor;
+
+    // Most recent jobs for progress polling; oldest dropped first
+    private Map<String, BroadcastJob> jobs;
+
+    @PostConstruct
+    public void init() {
+        jobExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueuedJobs), r -> new Thread(r, "notification-broadcast"));
+        // CallerRunsPolicy pushes back on the job thread when publishing falls behind
+        publishExecutor = new ThreadPoolExecutor(publishThreads, publishThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(8), r -> new Thread(r, "notification-publish"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        jobs = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, BroadcastJob> eldest) {
+                return size() > retainedJobs;
+            }
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdown();
+        publishExecutor.shutdown();
+    }
+
+    /**
+     * Global announcement: one broadcast row and one WebSocket message, no per-user fan-out.
+     * Per-user read state lives in notification_watermarks.
+     */
+    public BroadcastJob broadcastToAll(String title, String content, String type) {
+        BroadcastJob job = newJob(title);
+        try {
+            Notification notification = new Notification();
+            notification.setTitle(title);
+            notification.setContent(content);
+            notification.setType(type);
+            notificationMapper.insertBroadcast(notification);
+
+            // Clients see broadcasts under negated ids, matching NotificationMapper.findByUserId
+            job.setBroadcastId(notification.getId());
+            // Every user's unread total moves with this one shared counter
+            unreadCounterService.onBroadcast();
+            notification.setId(-notification.getId());
+            notification.setIsRead(false);
+            notification.setCreatedAt(LocalDateTime.now());
+            messagingTemplate.convertAndSend(BROADCAST_TOPIC, notification);
+            job.setStatus("COMPLETED");
+        } catch (RuntimeException e) {
+            job.setStatus("FAILED");
+            job.setError(e.getMessage());
+            throw e;
+        } finally {
+            job.setFinishedAt(LocalDateTime.now());
+        }
+        return job;
+    }
+
+    /**
+     * Queues a fan-out of personal notifications to the given users.
+     */
+    public BroadcastJob submit(String title, String content, String type, List<Long> userIds) {
+        BroadcastJob job = newJob(title);
+        job.setTotalUsers(userIds.size());
+        try {
+            jobExecutor.execute(() -> run(job, title, content, type, userIds));
+        } catch (RejectedExecutionException e) {
+            job.setStatus("FAILED");
+            job.setError("Too many broadcasts queued");
+            job.setFinishedAt(LocalDateTime.now());
+            throw new IllegalStateException("Too many broadcasts queued, try again later");
+        }
+        return job;
+    }
+
+    public BroadcastJob getJob(String id) {
+        synchronized (jobs) {
+            return jobs.get(id);
+        }
+    }
+
+    private BroadcastJob newJob(String title) {
+        BroadcastJob job = new BroadcastJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setTitle(title);
+        job.setStatus("QUEUED");
+        job.setCreatedAt(LocalDateTime.now());
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+        }
+        return job;
+    }
+
+    private void run(BroadcastJob job, String title, String content, String type, List<Long> userIds) {
+        job.setStatus("RUNNING");
+        long start = System.currentTimeMillis();
+        try {
+            for (int i = 0; i < userIds.size(); i += chunkSize) {
+                deliver(job, userIds.subList(i, Math.min(i + chunkSize, userIds.size())), title, content, type);
+            }
+            job.setStatus("COMPLETED");
+            log.info("Broadcast {} delivered to {} users in {} ms", job.getId(), job.getProcessedUsers(),
+                    System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            job.setStatus("FAILED");
+            job.setError(e.getMessage());
+            log.error("Broadcast {} failed after {} users", job.getId(), job.getProcessedUsers(), e);
+        } finally {
+            job.setFinishedAt(LocalDateTime.now());
+        }
+    }
+
+    private void deliver(BroadcastJob job, List<Long> userIds, String title, String content, String type) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> batch = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            Notification n = new Notification();
+            n.setUserId(userId);
+            n.setTitle(title);
+            n.setContent(content);
+            n.setType(type);
+            n.setIsRead(false);
+            n.setCreatedAt(now);
+            batch.add(n);
+        }
+        notificationMapper.insertBatch(batch);
+
+        publishExecutor.execute(() -> {
+            for (Notification n : batch) {
+                messagingTemplate.convertAndSend("/topic/notifications/" + n.getUserId(), n);
+                unreadCounterService.onCreated(n.getUserId());
+            }
+        });
+        job.setProcessedUsers(job.getProcessedUsers() + batch.size());
+    }
+}
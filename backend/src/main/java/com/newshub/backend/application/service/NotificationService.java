@@ -1,9 +1,8 @@
 package com.newshub.backend.application.service;
 
+import com.newshub.backend.domain.model.BroadcastJob;
 import com.newshub.backend.domain.model.Notification;
-import com.newshub.backend.domain.model.User;
 import com.newshub.backend.infrastructure.persistence.NotificationMapper;
-import com.newshub.backend.infrastructure.persistence.UserMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
@@ -17,7 +16,10 @@ public class NotificationService {
     private NotificationMapper notificationMapper;
 
     @Autowired
-    private UserMapper userMapper;
+    private NotificationBroadcastService broadcastService;
+
+    @Autowired
+    private UnreadCounterService unreadCounterService;
 
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
@@ -26,16 +28,29 @@ public class NotificationService {
         return notificationMapper.findByUserId(userId);
     }
 
-    public int getUnreadCount(Long userId) {
-        return notificationMapper.countUnread(userId);
+    public long getUnreadCount(Long userId) {
+        return unreadCounterService.getUnreadCount(userId);
     }
 
     public void markAsRead(Long id, Long userId) {
-        notificationMapper.markAsRead(id, userId);
+        if (id < 0) {
+            // Broadcasts are exposed with negated ids. Capped at the latest one, so a made-up id
+            // cannot mark broadcasts that are not sent yet as read
+            long broadcastId = Math.min(-id, notificationMapper.findLatestBroadcastId());
+            if (broadcastId > 0) {
+                notificationMapper.advanceWatermark(userId, broadcastId);
+                unreadCounterService.refresh(userId);
+            }
+        } else if (notificationMapper.markAsRead(id, userId) > 0) {
+            unreadCounterService.onRead(userId);
+        }
     }
 
     public void markAllAsRead(Long userId) {
         notificationMapper.markAllAsRead(userId);
+        long latestBroadcastId = notificationMapper.findLatestBroadcastId();
+        notificationMapper.advanceWatermark(userId, latestBroadcastId);
+        unreadCounterService.onAllRead(userId, latestBroadcastId);
     }
 
     public void createNotification(Long userId, String title, String content, String type, Long relatedId) {
@@ -51,19 +66,19 @@ public class NotificationService {
         // Send notification via WebSocket
         // Topic: /topic/notifications/{userId}
         messagingTemplate.convertAndSend("/topic/notifications/" + userId, notification);
+        unreadCounterService.onCreated(userId);
     }
 
-    public void sendNotificationToAllUsers(String title, String content, String type) {
-        List<User> users = userMapper.findAll();
-        for (User user : users) {
-            createNotification(user.getId(), title, content, type, null);
-        }
+    public BroadcastJob sendNotificationToAllUsers(String title, String content, String type) {
+        return broadcastService.broadcastToAll(title, content, type);
     }
 
-    public void sendNotificationToUsers(List<Long> userIds, String title, String content, String type) {
-        for (Long userId : userIds) {
-            createNotification(userId, title, content, type, null);
-        }
+    public BroadcastJob sendNotificationToUsers(List<Long> userIds, String title, String content, String type) {
+        return broadcastService.submit(title, content, type, List.copyOf(userIds));
+    }
+
+    public BroadcastJob getBroadcastJob(String jobId) {
+        return broadcastService.getJob(jobId);
     }
 
     public List<Notification> getAllNotifications() {
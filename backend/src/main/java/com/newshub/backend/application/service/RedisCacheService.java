@@ -1,19 +1,43 @@
 package com.newshub.backend.application.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 @Service
 @Profile("!local")
-public class RedisCacheService implements CacheService {
+public class RedisCacheService extends AbstractCacheService {
 
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
 
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Value("${app.cache.loader.distributed-lock:true}")
+    private boolean distributedLock;
+
+    @Value("${app.cache.loader.lock-ttl:10000}")
+    private long lockTtlMillis;
+
+    private static final DefaultRedisScript<Long> INCR_IF_PRESENT_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('exists', KEYS[1]) == 1 then return redis.call('incrby', KEYS[1], ARGV[1]) else return nil end",
+            Long.class);
+
+    // Only the owner's token may release the lock
+    private static final DefaultRedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
     @Override
     public void set(String key, Object value, long timeout, TimeUnit unit) {
         redisTemplate.opsForValue().set(key, value, timeout, unit);
@@ -28,5 +52,45 @@ public class RedisCacheService implements CacheService {
     public void delete(String key) {
         redisTemplate.delete(key);
     }
-}
 
+    // Counters are plain decimal strings so Redis can INCRBY them regardless of the value codec
+    @Override
+    public void setCounter(String key, long value, long timeout, TimeUnit unit) {
+        stringRedisTemplate.opsForValue().set(key, Long.toString(value), timeout, unit);
+    }
+
+    @Override
+    public Long incrementIfPresent(String key, long delta) {
+        return stringRedisTemplate.execute(INCR_IF_PRESENT_SCRIPT, List.of(key), Long.toString(delta));
+    }
+
+    @Override
+    public List<Long> getCounters(List<String> keys) {
+        List<String> raw = stringRedisTemplate.opsForValue().multiGet(keys);
+        List<Long> values = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            String v = raw == null ? null : raw.get(i);
+            values.add(v == null ? null : Long.valueOf(v));
+        }
+        return values;
+    }
+
+    @Override
+    public String tryLock(String key) {
+        if (!distributedLock) {
+            return LOCAL_TOKEN;
+        }
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = stringRedisTemplate.opsForValue()
+                .setIfAbsent("lock:" + key, token, lockTtlMillis, TimeUnit.MILLISECONDS);
+        return Boolean.TRUE.equals(acquired) ? token : null;
+    }
+
+    @Override
+    public void unlock(String key, String token) {
+        if (LOCAL_TOKEN.equals(token)) {
+            return;
+        }
+        stringRedisTemplate.execute(UNLOCK_SCRIPT, List.of("lock:" + key), token);
+    }
+}
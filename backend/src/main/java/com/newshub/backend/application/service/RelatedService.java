@@ -0,0 +1,248 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.domain.model.Article;
+import com.newshub.backend.domain.model.ArticleChangedEvent;
+import com.newshub.backend.domain.model.ArticlePublishedEvent;
+import com.newshub.backend.domain.model.ArticlesDeletedEvent;
+import com.newshub.backend.infrastructure.persistence.ArticleMapper;
+import com.newshub.backend.infrastructure.utils.MinHashIndex;
+import com.newshub.backend.infrastructure.utils.SearchTokenizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content similarity for related articles. Each published article in the window gets a
+ * MinHash signature over its title and summary terms (the search tokenizer's words and CJK
+ * bigrams) when it is ingested, and neighbours are looked up through LSH buckets. Articles
+ * written on other nodes are picked up by tailing new ids, the same way as the search index;
+ * edits and deletes made elsewhere are not replayed, and NewsService drops neighbours that are
+ * no longer published when it loads them.
+ */
+@Service
+@Slf4j
+public class RelatedService {
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Autowired
+    private CacheService cacheService;
+
+    @Value("${app.related.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.related.bands:24}")
+    private int bands;
+
+    @Value("${app.related.rows:2}")
+    private int rows;
+
+    @Value("${app.related.window:1209600000}")
+    private long windowMillis;
+
+    @Value("${app.related.min-similarity:0.15}")
+    private double minSimilarity;
+
+    @Value("${app.related.max-similarity:0.85}")
+    private double maxSimilarity;
+
+    @Value("${app.related.max-candidates:2000}")
+    private int maxCandidates;
+
+    @Value("${app.related.sync-batch:1000}")
+    private int syncBatch;
+
+    @Value("${app.related.commit-lag:5000}")
+    private long commitLagMillis;
+
+    private volatile MinHashIndex index;
+    private volatile boolean ready;
+
+    // Highest id below which every row has been seen
+    private volatile long syncedId;
+
+    private volatile long rebuildMillis;
+    private final AtomicLong indexedBatches = new AtomicLong();
+    private final AtomicLong indexedBatchMillis = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        // The startup scan reads the whole window; keep it off the startup path
+        Thread builder = new Thread(this::rebuild, "related-index-build");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            Long watermark = articleMapper.findMaxIdCreatedBefore(LocalDateTime.now().minus(commitLagMillis, ChronoUnit.MILLIS));
+            MinHashIndex fresh = new MinHashIndex(bands, rows, 1024);
+            articleMapper.scanPublishedSince(windowStart(), ctx -> add(fresh, ctx.getResultObject()));
+            index = fresh;
+            syncedId = watermark == null ? 0 : watermark;
+            ready = true;
+            rebuildMillis = System.currentTimeMillis() - start;
+            log.info("Related-articles index built from {} articles in {} ms", fresh.size(), rebuildMillis);
+        } catch (Exception e) {
+            log.error("Related-articles index build failed, related articles fall back to the category", e);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Ids of the most similar articles, best first; empty if the article is not indexed (too
+     * old, no terms, or the index is not ready).
+     */
+    public long[] similar(Long articleId, int limit) {
+        if (!ready || articleId == null) {
+            return new long[0];
+        }
+        return index.similar(articleId, limit, minSimilarity, maxSimilarity, maxCandidates);
+    }
+
+    @Scheduled(fixedDelayString = "${app.related.sync-interval:5000}")
+    public void sync() {
+        if (!ready) {
+            return;
+        }
+        try {
+            MinHashIndex current = index;
+            tail(current);
+            current.removePublishedBefore(toEpochMillis(windowStart()));
+            int tombstones = current.tombstones();
+            if (tombstones > 1000 && tombstones > current.size()) {
+                current.compact();
+            }
+        } catch (Exception e) {
+            log.warn("Related-articles sync failed: {}", e.getMessage());
+        }
+    }
+
+    // --- changes made on this node ---
+
+    @EventListener
+    public void onPublished(ArticlePublishedEvent event) {
+        Article a = event.getArticle();
+        if (!ready || a.getId() == null) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        add(index, a);
+        indexedBatches.incrementAndGet();
+        indexedBatchMillis.addAndGet(System.currentTimeMillis() - start);
+    }
+
+    /**
+     * An article was created or edited here: re-read it and drop its cached neighbours.
+     */
+    @EventListener
+    public void onChanged(ArticleChangedEvent event) {
+        Long articleId = event.getId();
+        if (!ready || articleId == null) {
+            return;
+        }
+        MinHashIndex current = index;
+        List<Article> found = articleMapper.findSearchFieldsByIds(List.of(articleId));
+        if (found.isEmpty()) {
+            current.remove(articleId);
+        } else {
+            add(current, found.get(0));
+        }
+        cacheService.delete(NewsService.KEY_RELATED_PREFIX + articleId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeleted(ArticlesDeletedEvent event) {
+        for (Long id : event.getIds()) {
+            if (ready) {
+                index.remove(id);
+            }
+            cacheService.delete(NewsService.KEY_RELATED_PREFIX + id);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("ready", ready);
+        stats.put("rebuildMillis", rebuildMillis);
+        stats.put("syncedId", syncedId);
+        stats.put("indexedBatches", indexedBatches.get());
+        stats.put("indexedBatchMillis", indexedBatchMillis.get());
+        MinHashIndex current = index;
+        if (current != null) {
+            stats.put("index", current.getStats());
+        }
+        return stats;
+    }
+
+    // --- internals ---
+
+    private void tail(MinHashIndex current) {
+        while (true) {
+            List<Article> batch = articleMapper.findSearchFieldsAfter(syncedId, syncBatch);
+            LocalDateTime committed = LocalDateTime.now().minus(commitLagMillis, ChronoUnit.MILLIS);
+            boolean advancing = true;
+            for (Article a : batch) {
+                if (!current.contains(a.getId())) {
+                    add(current, a);
+                }
+                // Stop the watermark at the first row that a slower transaction could still precede
+                if (advancing && a.getCreatedAt() != null && a.getCreatedAt().isBefore(committed)) {
+                    syncedId = a.getId();
+                } else {
+                    advancing = false;
+                }
+            }
+            if (batch.size() < syncBatch || !advancing) {
+                return;
+            }
+        }
+    }
+
+    private void add(MinHashIndex target, Article a) {
+        boolean published = a.getStatus() == null || "PUBLISHED".equals(a.getStatus());
+        LocalDateTime publishTime = a.getPublishTime() == null ? LocalDateTime.now() : a.getPublishTime();
+        if (!published || publishTime.isBefore(windowStart())) {
+            target.remove(a.getId());
+            return;
+        }
+        Set<String> terms = new HashSet<>(SearchTokenizer.tokenize(a.getTitle()));
+        terms.addAll(SearchTokenizer.tokenize(a.getSummary()));
+        target.add(a.getId(), target.signature(terms), toEpochMillis(publishTime));
+    }
+
+    private LocalDateTime windowStart() {
+        return LocalDateTime.now().minus(windowMillis, ChronoUnit.MILLIS);
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
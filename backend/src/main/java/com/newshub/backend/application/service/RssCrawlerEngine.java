@@ -0,0 +1,327 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.domain.model.Article;
+import com.newshub.backend.infrastructure.config.CrawlerProperties;
+import com.newshub.backend.infrastructure.persistence.ArticleMapper;
+import com.rometools.rome.feed.synd.SyndEntry;
+import com.rometools.rome.feed.synd.SyndFeed;
+import com.rometools.rome.io.SyndFeedInput;
+import com.rometools.rome.io.XmlReader;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Entities;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * In-process replacement for crawler-python/main.py: fetches the configured RSS feeds
+ * concurrently, extracts article bodies with Jsoup and hands them to the NewsProducer.
+ */
+@Service
+@Slf4j
+public class RssCrawlerEngine {
+
+    private static final List<String> COVER_BLACKLIST = List.of("logo", "icon", "avatar", "blank", "spacer", "gif",
+            "share", "arrow", "button", "ad", "peopleindex", "dyz", "common", "footer", "header", "1x1", "transparent");
+    private static final Pattern EDITOR_LINE = Pattern.compile("<p>\\s*[(（]?\\s*(责编|责任编辑|来源)[:：].*?[)）]?\\s*</p>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern TRAILING_DATE = Pattern.compile("<p>\\s*\\d{4}[年-]\\d{1,2}[月-]\\d{1,2}日?\\s*(\\d{1,2}:\\d{1,2})?[^<]*</p>\\s*$");
+    private static final Charset GB18030 = Charset.forName("GB18030");
+
+    @Autowired
+    private CrawlerProperties properties;
+
+    @Autowired
+    private NewsProducer newsProducer;
+
+    @Autowired
+    private UrlDedupFilter urlDedupFilter;
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    private volatile HttpClient httpClient;
+    private volatile ExecutorService executor;
+
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+    // Conditional GET validators per feed URL: [ETag, Last-Modified]
+    private final Map<String, String[]> validators = new ConcurrentHashMap<>();
+
+    private final AtomicInteger notModified = new AtomicInteger();
+    private final AtomicInteger produced = new AtomicInteger();
+
+    public void crawlAll() {
+        init();
+        long start = System.currentTimeMillis();
+        notModified.set(0);
+        produced.set(0);
+
+        ConcurrentLinkedQueue<CompletableFuture<Void>> entryTasks = new ConcurrentLinkedQueue<>();
+        List<CompletableFuture<Void>> feedTasks = new ArrayList<>();
+        for (CrawlerProperties.Feed feed : properties.getFeeds()) {
+            feedTasks.add(CompletableFuture.runAsync(() -> crawlFeed(feed, entryTasks), executor));
+        }
+        // Feed tasks never block on their entries, so the pool cannot starve itself
+        CompletableFuture.allOf(feedTasks.toArray(new CompletableFuture[0])).join();
+        CompletableFuture.allOf(entryTasks.toArray(new CompletableFuture[0])).join();
+
+        log.info("Java crawler finished in {} ms: {} feeds, {} unchanged (304), {} articles produced",
+                System.currentTimeMillis() - start, feedTasks.size(), notModified.get(), produced.get());
+    }
+
+    private void crawlFeed(CrawlerProperties.Feed feed, ConcurrentLinkedQueue<CompletableFuture<Void>> entryTasks) {
+        try {
+            HttpRequest.Builder builder = request(feed.getUrl());
+            String[] known = validators.get(feed.getUrl());
+            if (known != null) {
+                if (known[0] != null) {
+                    builder.header("If-None-Match", known[0]);
+                }
+                if (known[1] != null) {
+                    builder.header("If-Modified-Since", known[1]);
+                }
+            }
+
+            HttpResponse<InputStream> response = withHostPermit(feed.getUrl(),
+                    () -> httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream()));
+            if (response.statusCode() == 304) {
+                response.body().close();
+                notModified.incrementAndGet();
+                log.debug("Feed unchanged: {}", feed.getUrl());
+                return;
+            }
+            if (response.statusCode() != 200) {
+                response.body().close();
+                log.warn("Feed {} returned HTTP {}", feed.getUrl(), response.statusCode());
+                return;
+            }
+
+            // Parse straight from the response stream; XmlReader honours the declared charset
+            SyndFeed syndFeed;
+            String contentType = response.headers().firstValue("Content-Type").orElse(null);
+            try (InputStream body = response.body(); XmlReader reader = new XmlReader(body, contentType)) {
+                syndFeed = new SyndFeedInput().build(reader);
+            }
+            String[] received = {
+                    response.headers().firstValue("ETag").orElse(null),
+                    response.headers().firstValue("Last-Modified").orElse(null)};
+
+            List<CompletableFuture<Boolean>> entries = new ArrayList<>();
+            for (SyndEntry entry : syndFeed.getEntries()) {
+                String link = entry.getLink();
+                if (link == null || link.isBlank() || isKnown(link)) {
+                    continue;
+                }
+                entries.add(CompletableFuture.supplyAsync(() -> crawlEntry(feed, entry, link), executor));
+            }
+            // A 304 next run would skip every entry, so the validators are only kept once none
+            // of them failed; otherwise the next run fetches the feed again and retries them
+            entryTasks.add(CompletableFuture.allOf(entries.toArray(new CompletableFuture[0])).thenRun(() -> {
+                if (entries.stream().allMatch(CompletableFuture::join)) {
+                    validators.put(feed.getUrl(), received);
+                } else {
+                    validators.remove(feed.getUrl());
+                    log.warn("Some entries of feed {} failed; it will be fetched in full next run", feed.getUrl());
+                }
+            }));
+        } catch (Exception e) {
+            log.error("Error crawling feed {}: {}", feed.getUrl(), e.getMessage());
+        }
+    }
+
+    /**
+     * False if the entry should be tried again: an I/O or producer error, a 5xx or a 429.
+     * Other statuses and pages without article text are final.
+     */
+    private boolean crawlEntry(CrawlerProperties.Feed feed, SyndEntry entry, String link) {
+        try {
+            HttpResponse<byte[]> response = withHostPermit(link,
+                    () -> httpClient.send(request(link).build(), HttpResponse.BodyHandlers.ofByteArray()));
+            if (response.statusCode() != 200) {
+                log.debug("Article {} returned HTTP {}", link, response.statusCode());
+                return response.statusCode() < 500 && response.statusCode() != 429;
+            }
+            Article article = extract(decode(response.body()), link, entry, feed);
+            if (article != null) {
+                newsProducer.sendNews(article);
+                produced.incrementAndGet();
+            }
+            return true;
+        } catch (Exception e) {
+            log.error("Error extracting {}: {}", link, e.getMessage());
+            return false;
+        }
+    }
+
+    private Article extract(String html, String url, SyndEntry entry, CrawlerProperties.Feed feed) {
+        Document doc = Jsoup.parse(html, url);
+
+        // Main content = the element whose direct <p> children carry the most text
+        Map<Element, Integer> textByParent = new LinkedHashMap<>();
+        for (Element p : doc.select("p")) {
+            Element parent = p.parent();
+            if (parent != null) {
+                textByParent.merge(parent, p.text().trim().length(), Integer::sum);
+            }
+        }
+        Element main = textByParent.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse(null);
+        if (main == null) {
+            return null;
+        }
+
+        StringBuilder content = new StringBuilder();
+        StringBuilder text = new StringBuilder();
+        for (Element p : main.children()) {
+            if (!"p".equals(p.tagName())) {
+                continue;
+            }
+            String pText = p.text().trim();
+            if (!pText.isEmpty()) {
+                content.append("<p>").append(Entities.escape(pText)).append("</p>\n");
+                text.append(pText).append(' ');
+            }
+        }
+        if (text.length() < 300) {
+            log.debug("[SKIP] {} - Text len: {}", url, text.length());
+            return null;
+        }
+        String contentHtml = EDITOR_LINE.matcher(content.toString().trim()).replaceAll("");
+        contentHtml = TRAILING_DATE.matcher(contentHtml).replaceAll("");
+
+        String title = doc.select("meta[property=og:title]").attr("content");
+        if (title.isBlank()) {
+            title = entry.getTitle() != null ? entry.getTitle().trim() : doc.title();
+        }
+
+        String summary = text.toString().trim();
+        if (summary.length() > 250) {
+            summary = summary.substring(0, 247) + "...";
+        }
+
+        Article article = new Article();
+        article.setTitle(title.isBlank() ? url : title);
+        article.setSummary(summary);
+        article.setContent(contentHtml);
+        article.setCoverImage(findCover(main));
+        article.setAuthorId(1L);
+        article.setCategoryId(feed.getCategoryId());
+        article.setSourceUrl(url);
+        article.setSourceName(feed.getSource() != null ? feed.getSource() : "NewsHub");
+        article.setPublishTime(entry.getPublishedDate() != null
+                ? LocalDateTime.ofInstant(entry.getPublishedDate().toInstant(), ZoneId.systemDefault())
+                : LocalDateTime.now());
+        article.setStatus("PUBLISHED");
+        return article;
+    }
+
+    private String findCover(Element main) {
+        for (Element img : main.select("img[src]")) {
+            String src = img.absUrl("src");
+            String lower = src.toLowerCase(Locale.ROOT);
+            if (!src.isEmpty() && COVER_BLACKLIST.stream().noneMatch(lower::contains)) {
+                return src;
+            }
+        }
+        return null;
+    }
+
+    // Same order as the Python crawler: strict UTF-8, then GB18030
+    private String decode(byte[] body) {
+        try {
+            return StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(body))
+                    .toString();
+        } catch (CharacterCodingException e) {
+            return new String(body, GB18030);
+        }
+    }
+
+    // Skip the page fetch entirely for links that are already stored
+    private boolean isKnown(String link) {
+        return urlDedupFilter.mightContain(link) && articleMapper.countBySourceUrl(link) > 0;
+    }
+
+    private HttpRequest.Builder request(String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofMillis(properties.getTimeoutMs()))
+                .header("User-Agent", properties.getUserAgent())
+                .GET();
+    }
+
+    private interface HttpCall<T> {
+        HttpResponse<T> call() throws Exception;
+    }
+
+    private <T> HttpResponse<T> withHostPermit(String url, HttpCall<T> call) throws Exception {
+        String host = URI.create(url).getHost();
+        Semaphore permits = hostPermits.computeIfAbsent(host == null ? "" : host,
+                h -> new Semaphore(properties.getMaxPerHost()));
+        permits.acquire();
+        try {
+            return call.call();
+        } finally {
+            permits.release();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("feeds", properties.getFeeds().size());
+        stats.put("lastRunNotModified", notModified.get());
+        stats.put("lastRunProduced", produced.get());
+        return stats;
+    }
+
+    private synchronized void init() {
+        if (executor == null) {
+            // Java 17 has no virtual threads; a bounded pool plus per-host permits keeps fetches polite
+            executor = Executors.newFixedThreadPool(properties.getThreads());
+            httpClient = HttpClient.newBuilder()
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .connectTimeout(Duration.ofMillis(properties.getTimeoutMs()))
+                    .build();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
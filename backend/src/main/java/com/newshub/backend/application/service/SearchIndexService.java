@@ -0,0 +1,403 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.domain.model.Article;
+import com.newshub.backend.domain.model.ArticleChangedEvent;
+import com.newshub.backend.domain.model.ArticlePublishedEvent;
+import com.newshub.backend.domain.model.ArticlesDeletedEvent;
+import com.newshub.backend.infrastructure.persistence.ArticleMapper;
+import com.newshub.backend.infrastructure.utils.InvertedIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the in-memory search index in step with the articles table. The index is built by
+ * streaming the table at startup, or loaded from a snapshot file when a recent one exists.
+ * After that a short sync loop tails new rows by id (rows that may still be uncommitted are
+ * re-read until they are older than commit-lag), and article edits and deletes are applied
+ * directly on the node that made them and announced to the others through the cache
+ * invalidation channel.
+ */
+@Service
+@Slf4j
+public class SearchIndexService {
+
+    // Deleting search:doc:{id} tells every node to re-read that article
+    private static final String KEY_DOC = "search:doc:";
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Autowired
+    private CacheService cacheService;
+
+    @Value("${app.search.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.search.title-weight:2}")
+    private int titleWeight;
+
+    @Value("${app.search.sync-batch:1000}")
+    private int syncBatch;
+
+    @Value("${app.search.commit-lag:5000}")
+    private long commitLagMillis;
+
+    @Value("${app.search.compact-ratio:0.2}")
+    private double compactRatio;
+
+    @Value("${app.search.snapshot-path:}")
+    private String snapshotPath;
+
+    @Value("${app.search.snapshot-max-age:86400000}")
+    private long snapshotMaxAgeMillis;
+
+    private volatile InvertedIndex index;
+    private volatile boolean ready;
+    private volatile boolean rebuilding;
+
+    // Highest id below which every row has been indexed
+    private volatile long syncedId;
+
+    // Articles changed elsewhere, or locally during a rebuild, to re-read on the next sync
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    private volatile long rebuildMillis;
+    private volatile long snapshotMillis;
+    private volatile LocalDateTime lastSnapshotAt;
+    private final AtomicLong queries = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        cacheService.addInvalidationListener(KEY_DOC, key -> {
+            try {
+                pending.add(Long.parseLong(key.substring(KEY_DOC.length())));
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring malformed search invalidation {}", key);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        // A cold build scans the whole table; keep it off the startup path
+        Thread builder = new Thread(() -> {
+            try {
+                if (!loadSnapshot()) {
+                    rebuild();
+                }
+            } catch (Exception e) {
+                log.error("Search index build failed, search falls back to MySQL", e);
+            }
+        }, "search-index-build");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Published articles matching every term, best BM25 score first.
+     */
+    public InvertedIndex.Hits searchPublished(List<String> terms, int offset, int limit) {
+        queries.incrementAndGet();
+        return index.search(new InvertedIndex.Query(terms, true, false, Long.MIN_VALUE, Long.MAX_VALUE,
+                InvertedIndex.Order.RELEVANCE), offset, limit);
+    }
+
+    /**
+     * Articles of any status whose title matches every term, by publish time; null bounds are open.
+     */
+    public InvertedIndex.Hits searchTitles(List<String> terms, LocalDateTime from, LocalDateTime to,
+                                           boolean oldestFirst, int offset, int limit) {
+        queries.incrementAndGet();
+        return index.search(new InvertedIndex.Query(terms, false, true,
+                from == null ? Long.MIN_VALUE : toEpochMillis(from),
+                to == null ? Long.MAX_VALUE : toEpochMillis(to),
+                oldestFirst ? InvertedIndex.Order.OLDEST : InvertedIndex.Order.NEWEST), offset, limit);
+    }
+
+    /**
+     * Builds a fresh index from the table and swaps it in; searches keep using the old one meanwhile.
+     */
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        rebuilding = true;
+        try {
+            InvertedIndex fresh = new InvertedIndex(titleWeight, (int) Math.min(articleMapper.count(), Integer.MAX_VALUE));
+            LocalDateTime committed = LocalDateTime.now().minusNanos(commitLagMillis * 1_000_000);
+            long[] safeId = {0};
+            boolean[] recent = {false};
+            articleMapper.scanSearchFields(ctx -> {
+                Article a = ctx.getResultObject();
+                add(fresh, a);
+                if (!recent[0] && a.getCreatedAt() != null && a.getCreatedAt().isBefore(committed)) {
+                    safeId[0] = a.getId();
+                } else {
+                    recent[0] = true;
+                }
+            });
+            index = fresh;
+            syncedId = safeId[0];
+            ready = true;
+            rebuildMillis = System.currentTimeMillis() - start;
+            log.info("Search index built from {} articles in {} ms", fresh.size(), rebuildMillis);
+        } finally {
+            rebuilding = false;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.sync-interval:2000}")
+    public void sync() {
+        if (!ready || rebuilding) {
+            return;
+        }
+        try {
+            tail();
+            drainPending();
+            InvertedIndex current = index;
+            int tombstones = current.tombstones();
+            if (tombstones > 1000 && tombstones > compactRatio * (current.size() + tombstones)) {
+                long start = System.currentTimeMillis();
+                current.compact();
+                log.info("Search index compacted {} tombstones in {} ms", tombstones, System.currentTimeMillis() - start);
+            }
+        } catch (Exception e) {
+            log.warn("Search index sync failed: {}", e.getMessage());
+        }
+    }
+
+    // --- changes made on this node ---
+
+    @EventListener
+    public void onPublished(ArticlePublishedEvent event) {
+        Article a = event.getArticle();
+        if (ready && a.getId() != null) {
+            add(index, a);
+        }
+    }
+
+    /**
+     * An article was created or edited here: re-read it now and tell the other nodes.
+     */
+    @EventListener
+    public void onChanged(ArticleChangedEvent event) {
+        Long articleId = event.getId();
+        if (articleId == null) {
+            return;
+        }
+        if (ready && !rebuilding) {
+            refresh(List.of(articleId));
+        } else {
+            pending.add(articleId);
+        }
+        cacheService.delete(KEY_DOC + articleId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeleted(ArticlesDeletedEvent event) {
+        for (Long id : event.getIds()) {
+            if (ready) {
+                index.remove(id);
+            }
+            if (rebuilding) {
+                pending.add(id);
+            }
+            cacheService.delete(KEY_DOC + id);
+        }
+    }
+
+    /**
+     * A hit whose row is gone (deleted on a node whose announcement was missed).
+     */
+    public void evict(Long articleId) {
+        if (ready) {
+            index.remove(articleId);
+        }
+    }
+
+    // --- snapshot ---
+
+    @Scheduled(fixedDelayString = "${app.search.snapshot-interval:600000}",
+            initialDelayString = "${app.search.snapshot-interval:600000}")
+    public void saveSnapshot() {
+        if (!ready || snapshotPath.isBlank()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Path path = Paths.get(snapshotPath);
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            // Header first: the watermark must not run ahead of what the index holds
+            long watermark = syncedId;
+            try (OutputStream file = Files.newOutputStream(tmp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+                out.writeLong(watermark);
+                out.writeLong(System.currentTimeMillis());
+                index.writeTo(out);
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            snapshotMillis = System.currentTimeMillis() - start;
+            lastSnapshotAt = LocalDateTime.now();
+            log.info("Search index snapshot written to {} in {} ms", path, snapshotMillis);
+        } catch (IOException e) {
+            log.warn("Failed to write search index snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        saveSnapshot();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("ready", ready);
+        stats.put("rebuilding", rebuilding);
+        stats.put("rebuildMillis", rebuildMillis);
+        stats.put("syncedId", syncedId);
+        stats.put("pending", pending.size());
+        stats.put("queries", queries.get());
+        stats.put("snapshotMillis", snapshotMillis);
+        stats.put("lastSnapshotAt", lastSnapshotAt);
+        InvertedIndex current = index;
+        if (current != null) {
+            stats.put("index", current.getStats());
+        }
+        return stats;
+    }
+
+    private boolean loadSnapshot() throws IOException {
+        if (snapshotPath.isBlank() || !Files.isRegularFile(Paths.get(snapshotPath))) {
+            return false;
+        }
+        long start = System.currentTimeMillis();
+        try (FileChannel channel = FileChannel.open(Paths.get(snapshotPath), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            long watermark = buffer.getLong();
+            long savedAt = buffer.getLong();
+            if (System.currentTimeMillis() - savedAt > snapshotMaxAgeMillis) {
+                log.info("Search index snapshot is older than {} ms, rebuilding", snapshotMaxAgeMillis);
+                return false;
+            }
+            InvertedIndex loaded = InvertedIndex.readFrom(buffer, titleWeight);
+            // Edits announced while this node was down are lost; retention deletes are recovered here
+            Long minId = articleMapper.findMinId();
+            if (minId != null) {
+                loaded.removeBelow(minId);
+            }
+            index = loaded;
+            syncedId = watermark;
+            ready = true;
+            rebuildMillis = System.currentTimeMillis() - start;
+            log.info("Search index loaded from snapshot ({} articles) in {} ms", loaded.size(), rebuildMillis);
+            return true;
+        } catch (IllegalStateException | BufferUnderflowException e) {
+            log.warn("Ignoring unusable search index snapshot {}: {}", snapshotPath, e.getMessage());
+            return false;
+        }
+    }
+
+    // --- internals ---
+
+    private void tail() {
+        InvertedIndex current = index;
+        while (true) {
+            List<Article> rows = articleMapper.findSearchFieldsAfter(syncedId, syncBatch);
+            LocalDateTime committed = LocalDateTime.now().minusNanos(commitLagMillis * 1_000_000);
+            boolean advancing = true;
+            for (Article a : rows) {
+                if (!current.contains(a.getId())) {
+                    add(current, a);
+                }
+                // Stop the watermark at the first row that a slower transaction could still precede
+                if (advancing && a.getCreatedAt() != null && a.getCreatedAt().isBefore(committed)) {
+                    syncedId = a.getId();
+                } else {
+                    advancing = false;
+                }
+            }
+            if (rows.size() < syncBatch || !advancing) {
+                return;
+            }
+        }
+    }
+
+    private void drainPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>();
+        Iterator<Long> it = pending.iterator();
+        while (it.hasNext() && ids.size() < syncBatch) {
+            ids.add(it.next());
+            it.remove();
+        }
+        refresh(ids);
+    }
+
+    private void refresh(List<Long> ids) {
+        InvertedIndex current = index;
+        Set<Long> missing = new HashSet<>(ids);
+        for (Article a : articleMapper.findSearchFieldsByIds(ids)) {
+            add(current, a);
+            missing.remove(a.getId());
+        }
+        for (Long id : missing) {
+            current.remove(id);
+        }
+    }
+
+    private static void add(InvertedIndex target, Article a) {
+        long publishTime = a.getPublishTime() == null ? 0 : toEpochMillis(a.getPublishTime());
+        boolean published = a.getStatus() == null || "PUBLISHED".equals(a.getStatus());
+        target.add(a.getId(), a.getTitle(), a.getSummary(), publishTime, published);
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,137 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.domain.model.Settings;
+import com.newshub.backend.infrastructure.persistence.SettingsMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Site settings served from an immutable in-memory snapshot. The table is read once at startup
+ * and again after every update; the new snapshot replaces the old one in a single reference
+ * swap, so readers never see a half-applied form. Other nodes learn about an update through the
+ * cache invalidation channel, with a periodic reload as a fallback for missed messages.
+ */
+@Service
+@Slf4j
+public class SettingsService {
+
+    // Never stored; deleting it announces a settings change to the other nodes
+    private static final String KEY_CHANGED = "settings:changed";
+
+    @Autowired
+    private SettingsMapper settingsMapper;
+
+    @Autowired
+    private CacheService cacheService;
+
+    private volatile Snapshot snapshot = new Snapshot(Collections.emptyMap(), "\"0\"", null);
+
+    private final AtomicLong changes = new AtomicLong();
+
+    /**
+     * Settings at one point in time. values is unmodifiable; etag is a strong validator for it.
+     */
+    public record Snapshot(Map<String, String> values, String etag, LocalDateTime loadedAt) {
+
+        public String get(String key) {
+            return values.get(key);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        reload();
+        cacheService.addInvalidationListener(KEY_CHANGED, key -> reloadQuietly());
+    }
+
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public Map<String, String> getAll() {
+        return snapshot.values();
+    }
+
+    public String get(String key) {
+        return snapshot.get(key);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = snapshot.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            log.warn("Invalid {} value '{}', using default: {}", key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public void update(Map<String, String> newSettings) {
+        if (newSettings == null || newSettings.isEmpty()) {
+            return;
+        }
+        List<Settings> rows = new ArrayList<>(newSettings.size());
+        for (Map.Entry<String, String> entry : newSettings.entrySet()) {
+            Settings settings = new Settings();
+            settings.setKey(entry.getKey());
+            settings.setValue(entry.getValue());
+            rows.add(settings);
+        }
+        settingsMapper.saveAll(rows);
+        reload();
+        cacheService.delete(KEY_CHANGED);
+    }
+
+    @Scheduled(fixedDelayString = "${app.settings.refresh-interval:60000}",
+            initialDelayString = "${app.settings.refresh-interval:60000}")
+    public void reloadQuietly() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.warn("Settings reload failed, keeping the current snapshot: {}", e.getMessage());
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Snapshot current = snapshot;
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("size", current.values().size());
+        stats.put("etag", current.etag());
+        stats.put("loadedAt", current.loadedAt());
+        stats.put("changes", changes.get());
+        return stats;
+    }
+
+    private synchronized void reload() {
+        // Sorted so the same settings always hash to the same ETag on every node
+        Map<String, String> values = new TreeMap<>();
+        for (Settings s : settingsMapper.findAll()) {
+            values.put(s.getKey(), s.getValue());
+        }
+        if (values.equals(snapshot.values())) {
+            return;
+        }
+        StringBuilder canonical = new StringBuilder();
+        values.forEach((k, v) -> canonical.append(k).append('\0').append(v).append('\0'));
+        String etag = "\"" + DigestUtils.md5DigestAsHex(canonical.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+        snapshot = new Snapshot(Collections.unmodifiableMap(values), etag, LocalDateTime.now());
+        changes.incrementAndGet();
+    }
+}
@@ -0,0 +1,395 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.domain.model.Article;
+import com.newshub.backend.domain.model.ArticleChangedEvent;
+import com.newshub.backend.domain.model.ArticlePublishedEvent;
+import com.newshub.backend.domain.model.ArticleSummary;
+import com.newshub.backend.domain.model.ArticlesDeletedEvent;
+import com.newshub.backend.domain.model.Category;
+import com.newshub.backend.infrastructure.persistence.ArticleMapper;
+import com.newshub.backend.infrastructure.persistence.CategoryMapper;
+import com.newshub.backend.infrastructure.utils.CountMinSketch;
+import com.newshub.backend.infrastructure.utils.Hashing;
+import com.newshub.backend.infrastructure.utils.SuggestTrie;
+import com.newshub.backend.interfaces.dto.Suggestion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Search-as-you-type suggestions from a prefix trie over recent article titles, popular
+ * queries and category names. Scores use forward decay as in TrendingService: an event at time
+ * t adds weight * e^((t - landmark) / tau), so recency and popularity share one scale and
+ * nothing is rewritten as time passes. A title counts once at its publish time (boosted by its
+ * views), a query each time it is searched, and a category at every refresh. Queries enter the
+ * trie once a count-min sketch has seen them often enough, which keeps one-off typos out.
+ * Titles are refreshed from MySQL periodically, which also picks up changes made on other
+ * nodes; popular queries are per node.
+ */
+@Service
+@Slf4j
+public class SuggestService {
+
+    private static final String QUERY = "query";
+    private static final String ARTICLE = "article";
+    private static final String CATEGORY = "category";
+    // Nobody types further than this into a search box
+    private static final int MAX_KEY_LENGTH = 48;
+    // Extra keys per title, one per word start, so "iphone" finds "Apple unveils iPhone 16"
+    private static final int MAX_WORD_STARTS = 4;
+    private static final double RENORMALIZE_EXPONENT = 30.0;
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Autowired
+    private CategoryMapper categoryMapper;
+
+    @Value("${app.suggest.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.suggest.top-k:10}")
+    private int topK;
+
+    @Value("${app.suggest.title-window:604800000}")
+    private long titleWindowMillis;
+
+    @Value("${app.suggest.max-titles:50000}")
+    private int maxTitles;
+
+    @Value("${app.suggest.half-life:86400000}")
+    private long halfLifeMillis;
+
+    @Value("${app.suggest.title-weight:1.0}")
+    private double titleWeight;
+
+    @Value("${app.suggest.query-weight:1.0}")
+    private double queryWeight;
+
+    @Value("${app.suggest.category-weight:0.5}")
+    private double categoryWeight;
+
+    @Value("${app.suggest.query-min-count:3}")
+    private int queryMinCount;
+
+    @Value("${app.suggest.max-queries:20000}")
+    private int maxQueries;
+
+    private final Object lock = new Object();
+
+    // Guarded by lock; the trie itself is read without it
+    private volatile SuggestTrie<Suggestion> trie;
+    private CountMinSketch querySketch;
+    private final Set<String> queryIds = new HashSet<>();
+    private long landmark;
+    // Changes made while a refresh builds its trie, to replay onto it; null when none is building
+    private List<Consumer<SuggestTrie<Suggestion>>> building;
+
+    private volatile boolean ready;
+    private volatile long refreshMillis;
+    private final AtomicLong lookups = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (lock) {
+            landmark = System.currentTimeMillis();
+            querySketch = new CountMinSketch(65536);
+        }
+        refresh();
+    }
+
+    /**
+     * Rebuilds titles and categories from MySQL and carries the popular queries over.
+     */
+    @Scheduled(fixedDelayString = "${app.suggest.refresh-interval:300000}", initialDelayString = "${app.suggest.refresh-interval:300000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long base;
+        synchronized (lock) {
+            if (querySketch == null || building != null) {
+                return;
+            }
+            renormalize(start);
+            base = landmark;
+            building = new ArrayList<>();
+        }
+        try {
+            // Read and build without the lock; changes made meanwhile are replayed onto the result
+            SuggestTrie<Suggestion> fresh = new SuggestTrie<>(topK);
+            for (Category c : categoryMapper.findAll()) {
+                putCategory(fresh, c, start, base);
+            }
+            LocalDateTime since = LocalDateTime.now().minus(titleWindowMillis, ChronoUnit.MILLIS);
+            for (ArticleSummary a : articleMapper.findPublishedSince(since, maxTitles)) {
+                putTitle(fresh, a.getId(), a.getTitle(), a.getPublishTime(), a.getViews(), base);
+            }
+            synchronized (lock) {
+                if (landmark != base) {
+                    // Renormalized while building
+                    fresh.scale(decay(base, landmark));
+                }
+                for (Consumer<SuggestTrie<Suggestion>> change : building) {
+                    change.accept(fresh);
+                }
+                SuggestTrie<Suggestion> current = trie;
+                if (current != null) {
+                    trimQueries(current);
+                    for (String id : queryIds) {
+                        String text = id.substring(QUERY.length() + 1);
+                        fresh.put(id, new Suggestion(text, QUERY, null), current.score(id), List.of(text));
+                    }
+                }
+                trie = fresh;
+            }
+            refreshMillis = System.currentTimeMillis() - start;
+            ready = true;
+            log.debug("Suggestions refreshed in {} ms", refreshMillis);
+        } catch (Exception e) {
+            log.error("Suggestion refresh failed", e);
+        } finally {
+            synchronized (lock) {
+                building = null;
+            }
+        }
+    }
+
+    /**
+     * Up to limit suggestions for what the user has typed so far, best first.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        SuggestTrie<Suggestion> current = trie;
+        String key = normalize(prefix);
+        if (!ready || current == null || key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lookups.incrementAndGet();
+        // A query and a title can read the same; show it once
+        List<Suggestion> result = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (Suggestion s : current.top(key, topK)) {
+            if (seen.add(normalize(s.getText()))) {
+                result.add(s);
+                if (result.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts a search that found something.
+     */
+    public void recordQuery(String query) {
+        String key = truncate(normalize(query));
+        if (!ready || key.length() < 2) {
+            return;
+        }
+        String id = QUERY + ":" + key;
+        long now = System.currentTimeMillis();
+        synchronized (lock) {
+            renormalize(now);
+            double w = queryWeight * decay(now);
+            if (trie.increment(id, w)) {
+                return;
+            }
+            double estimate = querySketch.add(Hashing.hash64(key), w);
+            if (estimate >= queryMinCount * w) {
+                trie.put(id, new Suggestion(key, QUERY, null), estimate, List.of(key));
+                queryIds.add(id);
+            }
+        }
+    }
+
+    @EventListener
+    public void onPublished(ArticlePublishedEvent event) {
+        if (!ready) {
+            return;
+        }
+        Article a = event.getArticle();
+        synchronized (lock) {
+            apply(t -> putTitle(t, a.getId(), a.getTitle(), a.getPublishTime(), a.getViews(), landmark));
+        }
+    }
+
+    /**
+     * Re-reads an article after an edit; drafts and unpublished articles drop out.
+     */
+    @EventListener
+    public void onChanged(ArticleChangedEvent event) {
+        Long id = event.getId();
+        if (!ready || id == null) {
+            return;
+        }
+        ArticleSummary a = articleMapper.findSummaryById(id);
+        synchronized (lock) {
+            if (a == null) {
+                apply(t -> t.remove(ARTICLE + ":" + id));
+            } else {
+                apply(t -> putTitle(t, a.getId(), a.getTitle(), a.getPublishTime(), a.getViews(), landmark));
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeleted(ArticlesDeletedEvent event) {
+        if (!ready) {
+            return;
+        }
+        synchronized (lock) {
+            for (Long id : event.getIds()) {
+                apply(t -> t.remove(ARTICLE + ":" + id));
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("ready", ready);
+        stats.put("refreshMillis", refreshMillis);
+        stats.put("lookups", lookups.get());
+        SuggestTrie<Suggestion> current = trie;
+        stats.put("entries", current == null ? 0 : current.size());
+        stats.put("nodes", current == null ? 0 : current.nodeCount());
+        synchronized (lock) {
+            stats.put("queries", queryIds.size());
+        }
+        return stats;
+    }
+
+    // Called with the lock held: applies a change to the live trie and logs it for a refresh in progress
+    private void apply(Consumer<SuggestTrie<Suggestion>> change) {
+        change.accept(trie);
+        if (building != null) {
+            building.add(change);
+        }
+    }
+
+    // Scores are relative to base; with the lock held unless target is a trie still being built
+    private void putTitle(SuggestTrie<Suggestion> target, Long id, String title, LocalDateTime publishTime, Long views,
+                          long base) {
+        String key = normalize(title);
+        if (id == null || key.isEmpty()) {
+            return;
+        }
+        long at = publishTime == null ? System.currentTimeMillis()
+                : publishTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (at < System.currentTimeMillis() - titleWindowMillis) {
+            target.remove(ARTICLE + ":" + id);
+            return;
+        }
+        double popularity = 1 + Math.log1p(views == null ? 0 : views);
+        target.put(ARTICLE + ":" + id, new Suggestion(title, ARTICLE, id), titleWeight * popularity * decay(at, base), keys(key));
+    }
+
+    private void putCategory(SuggestTrie<Suggestion> target, Category c, long now, long base) {
+        String key = normalize(c.getName());
+        if (!key.isEmpty()) {
+            target.put(CATEGORY + ":" + c.getId(), new Suggestion(c.getName(), CATEGORY, c.getId()),
+                    categoryWeight * decay(now, base), List.of(key));
+        }
+    }
+
+    // Called with the lock held; drops the weakest queries beyond the cap
+    private void trimQueries(SuggestTrie<Suggestion> current) {
+        if (queryIds.size() <= maxQueries) {
+            return;
+        }
+        List<String> weakest = new ArrayList<>(queryIds);
+        weakest.sort(Comparator.comparingDouble(current::score));
+        for (String id : weakest.subList(0, queryIds.size() - maxQueries)) {
+            queryIds.remove(id);
+            current.remove(id);
+        }
+    }
+
+    private double decay(long at) {
+        return decay(at, landmark);
+    }
+
+    private double decay(long at, long base) {
+        double tau = halfLifeMillis / Math.log(2);
+        return Math.exp((at - base) / tau);
+    }
+
+    // Called with the lock held; moves the landmark before e^x grows past double precision comfort
+    private void renormalize(long now) {
+        double tau = halfLifeMillis / Math.log(2);
+        if ((now - landmark) / tau > RENORMALIZE_EXPONENT) {
+            double factor = Math.exp(-(now - landmark) / tau);
+            querySketch.scale(factor);
+            if (trie != null) {
+                trie.scale(factor);
+            }
+            landmark = now;
+        }
+    }
+
+    // The full text plus the suffixes starting at the next few words
+    private static List<String> keys(String key) {
+        List<String> keys = new ArrayList<>();
+        keys.add(truncate(key));
+        for (int i = key.indexOf(' '); i >= 0 && keys.size() <= MAX_WORD_STARTS; i = key.indexOf(' ', i + 1)) {
+            keys.add(truncate(key.substring(i + 1)));
+        }
+        return keys;
+    }
+
+    private static String truncate(String key) {
+        if (key.length() <= MAX_KEY_LENGTH) {
+            return key;
+        }
+        int end = Character.isHighSurrogate(key.charAt(MAX_KEY_LENGTH - 1)) ? MAX_KEY_LENGTH - 1 : MAX_KEY_LENGTH;
+        return key.substring(0, end);
+    }
+
+    // NFKC, lower case, and every run of punctuation or spaces folded into one space
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String s = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder out = new StringBuilder(Math.min(s.length(), MAX_KEY_LENGTH * 4));
+        boolean gap = false;
+        for (int i = 0; i < s.length(); ) {
+            int cp = s.codePointAt(i);
+            i += Character.charCount(cp);
+            if (Character.isLetterOrDigit(cp)) {
+                if (gap && out.length() > 0) {
+                    out.append(' ');
+                }
+                gap = false;
+                out.appendCodePoint(cp);
+            } else {
+                gap = true;
+            }
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,191 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.infrastructure.utils.CacheStats;
+import com.newshub.backend.infrastructure.utils.NearCache;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Near cache (L1, per node) in front of Redis (L2). Writes and deletes are published on a
+ * Redis channel so every other node drops its L1 copy of the key.
+ */
+@Service
+@Primary
+@Profile("!local")
+@Slf4j
+public class TieredCacheService extends AbstractCacheService implements MessageListener {
+
+    @Autowired
+    private RedisCacheService redisCacheService;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Value("${app.cache.near.enabled:true}")
+    private boolean nearEnabled;
+
+    @Value("${app.cache.near.max-bytes:67108864}")
+    private long nearMaxBytes;
+
+    @Value("${app.cache.near.ttl:30000}")
+    private long nearTtlMillis;
+
+    @Value("${app.cache.invalidation-channel:newshub:cache:invalidate}")
+    private String invalidationChannel;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final CacheStats l2Stats = new CacheStats();
+    private NearCache nearCache;
+
+    private record InvalidationListener(String keyPrefix, Consumer<String> listener) {
+    }
+
+    private final List<InvalidationListener> invalidationListeners = new CopyOnWriteArrayList<>();
+
+    @PostConstruct
+    public void init() {
+        nearCache = new NearCache(nearMaxBytes);
+        listenerContainer.addMessageListener(this, new ChannelTopic(invalidationChannel));
+    }
+
+    @Override
+    public void set(String key, Object value, long timeout, TimeUnit unit) {
+        redisCacheService.set(key, value, timeout, unit);
+        if (nearEnabled) {
+            nearCache.put(key, value, Math.min(unit.toMillis(timeout), nearTtlMillis));
+        }
+        publishInvalidation(key);
+    }
+
+    @Override
+    public Object get(String key) {
+        if (nearEnabled) {
+            Object value = nearCache.get(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        Object value = redisCacheService.get(key);
+        if (value == null) {
+            l2Stats.miss(key);
+            return null;
+        }
+        l2Stats.hit(key);
+        if (nearEnabled) {
+            // L1 may outlive the L2 entry by up to near.ttl; deletes are still propagated
+            nearCache.put(key, value, nearTtlMillis);
+        }
+        return value;
+    }
+
+    @Override
+    public void delete(String key) {
+        nearCache.remove(key);
+        redisCacheService.delete(key);
+        publishInvalidation(key);
+    }
+
+    // Counters change on every write, so they live only in Redis and are never near-cached
+    @Override
+    public void setCounter(String key, long value, long timeout, TimeUnit unit) {
+        redisCacheService.setCounter(key, value, timeout, unit);
+    }
+
+    @Override
+    public Long incrementIfPresent(String key, long delta) {
+        return redisCacheService.incrementIfPresent(key, delta);
+    }
+
+    @Override
+    public List<Long> getCounters(List<String> keys) {
+        return redisCacheService.getCounters(keys);
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("nearEnabled", nearEnabled);
+        stats.put("l1", nearCache.getStats());
+        stats.put("l2", l2Stats.snapshot());
+        stats.put("loader", getLoaderStats());
+        return stats;
+    }
+
+    @Override
+    public void addInvalidationListener(String keyPrefix, Consumer<String> listener) {
+        invalidationListeners.add(new InvalidationListener(keyPrefix, listener));
+    }
+
+    @Override
+    protected String tryLock(String key) {
+        return redisCacheService.tryLock(key);
+    }
+
+    @Override
+    protected void unlock(String key, String token) {
+        redisCacheService.unlock(key, token);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int sep = body.indexOf(' ');
+        if (sep < 0 || body.substring(0, sep).equals(nodeId)) {
+            return;
+        }
+        String key = body.substring(sep + 1);
+        nearCache.remove(key);
+        for (InvalidationListener l : invalidationListeners) {
+            if (key.startsWith(l.keyPrefix())) {
+                try {
+                    l.listener().accept(key);
+                } catch (Exception e) {
+                    log.warn("Invalidation listener for {} failed: {}", key, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private boolean hasInvalidationListener(String key) {
+        for (InvalidationListener l : invalidationListeners) {
+            if (key.startsWith(l.keyPrefix())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void publishInvalidation(String key) {
+        // Keys with listeners are announced even when the near cache is off
+        if (!nearEnabled && !hasInvalidationListener(key)) {
+            return;
+        }
+        try {
+            stringRedisTemplate.convertAndSend(invalidationChannel, nodeId + " " + key);
+        } catch (Exception e) {
+            log.warn("Failed to publish cache invalidation for {}: {}", key, e.getMessage());
+        }
+    }
+}
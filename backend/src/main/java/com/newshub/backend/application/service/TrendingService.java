@@ -0,0 +1,348 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.domain.model.ArticleChangedEvent;
+import com.newshub.backend.domain.model.ArticleSummary;
+import com.newshub.backend.domain.model.ArticlesDeletedEvent;
+import com.newshub.backend.infrastructure.persistence.ArticleMapper;
+import com.newshub.backend.infrastructure.utils.CountMinSketch;
+import com.newshub.backend.infrastructure.utils.TopKHeap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Time-decayed trending ranking kept in memory. View and favorite events are buffered and
+ * folded in once per apply interval. Scores use forward decay: an event at time t adds
+ * weight * e^((t - landmark) / tau), so older scores never have to be rewritten and the
+ * order matches exponential decay with the configured half-life. A count-min sketch holds
+ * the long tail; an article enters a top-K heap (global and per category) once its sketch
+ * estimate beats the heap minimum, and from then on its score is tracked exactly.
+ */
+@Service
+@Slf4j
+public class TrendingService {
+
+    private static final long GLOBAL = 0L;
+    // Move the landmark before e^x grows past double precision comfort
+    private static final double RENORMALIZE_EXPONENT = 30.0;
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Value("${app.trending.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.trending.half-life:21600000}")
+    private long halfLifeMillis;
+
+    @Value("${app.trending.top-k:500}")
+    private int topK;
+
+    @Value("${app.trending.sketch-width:65536}")
+    private int sketchWidth;
+
+    @Value("${app.trending.view-weight:1.0}")
+    private double viewWeight;
+
+    @Value("${app.trending.favorite-weight:5.0}")
+    private double favoriteWeight;
+
+    private final Object lock = new Object();
+
+    // Guarded by lock
+    private CountMinSketch sketch;
+    private final Map<Long, TopKHeap> heaps = new HashMap<>();
+    private final Map<Long, ArticleSummary> tracked = new HashMap<>();
+    private long landmark;
+    private volatile long version;
+
+    // Latest sorted view per scope, rebuilt lazily after each apply
+    private final ConcurrentHashMap<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<Long, Pending> pending = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+    private volatile long rebuildMillis;
+    private volatile long rebuildRows;
+    private final AtomicLong appliedEvents = new AtomicLong();
+
+    private record Snapshot(long version, List<ArticleSummary> items) {
+    }
+
+    private static final class Pending {
+        volatile ArticleSummary article;
+        final DoubleAdder weight = new DoubleAdder();
+
+        Pending(ArticleSummary article) {
+            this.article = article;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long[] rows = {0};
+        try {
+            synchronized (lock) {
+                sketch = new CountMinSketch(sketchWidth);
+                heaps.clear();
+                tracked.clear();
+                landmark = start;
+                // Seed with all-time views as if they happened at publish time, so old hits rank low
+                articleMapper.scanSummaries(ctx -> {
+                    ArticleSummary a = ctx.getResultObject();
+                    rows[0]++;
+                    long views = a.getViews() == null ? 0 : a.getViews();
+                    if (views > 0 && a.getPublishTime() != null) {
+                        long at = a.getPublishTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                        applyLocked(a, views * viewWeight, Math.min(at, start));
+                    }
+                });
+                version++;
+            }
+            rebuildRows = rows[0];
+            rebuildMillis = System.currentTimeMillis() - start;
+            ready = true;
+            log.info("Trending engine rebuilt from {} articles in {} ms", rebuildRows, rebuildMillis);
+        } catch (Exception e) {
+            log.error("Trending rebuild failed, serving trending from the DB", e);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void recordView(ArticleSummary article) {
+        record(article, viewWeight);
+    }
+
+    public void recordFavorite(Long articleId) {
+        if (!ready) {
+            return;
+        }
+        ArticleSummary article = articleMapper.findSummaryById(articleId);
+        if (article != null) {
+            record(article, favoriteWeight);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.apply-interval:1000}")
+    public void apply() {
+        if (!ready || pending.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        synchronized (lock) {
+            for (Long id : new ArrayList<>(pending.keySet())) {
+                // A view racing with the removal may land on the detached Pending; trending is approximate
+                Pending p = pending.remove(id);
+                if (p != null) {
+                    applyLocked(p.article, p.weight.sum(), now);
+                    appliedEvents.incrementAndGet();
+                }
+            }
+            version++;
+        }
+    }
+
+    /**
+     * Top articles by decayed score, globally or within one category.
+     */
+    public List<ArticleSummary> getTrending(int limit, Long categoryId) {
+        long scope = categoryId == null ? GLOBAL : categoryId;
+        Snapshot snapshot = snapshots.get(scope);
+        if (snapshot == null || snapshot.version() != version) {
+            snapshot = buildSnapshot(scope);
+        }
+        List<ArticleSummary> items = snapshot.items();
+        return items.subList(0, Math.min(Math.max(limit, 0), items.size()));
+    }
+
+    /**
+     * Re-reads an edited article: a tracked one is listed with its new title, summary, cover and
+     * category from then on, and one that is no longer published drops out.
+     */
+    public void onArticleChanged(Long articleId) {
+        if (!ready || articleId == null) {
+            return;
+        }
+        ArticleSummary fresh = articleMapper.findSummaryById(articleId);
+        if (fresh == null) {
+            remove(articleId);
+            return;
+        }
+        Pending p = pending.get(articleId);
+        if (p != null) {
+            p.article = fresh;
+        }
+        synchronized (lock) {
+            ArticleSummary old = tracked.get(articleId);
+            if (old == null) {
+                return;
+            }
+            tracked.put(articleId, fresh);
+            if (!Objects.equals(old.getCategoryId(), fresh.getCategoryId())) {
+                // Carry the score over to the new category's ranking
+                TopKHeap from = old.getCategoryId() == null ? null : heaps.get(old.getCategoryId());
+                double score = from == null ? Double.NaN : from.score(articleId);
+                if (from != null) {
+                    from.remove(articleId);
+                }
+                if (fresh.getCategoryId() != null && !Double.isNaN(score)) {
+                    long evicted = heaps.computeIfAbsent(fresh.getCategoryId(), s -> new TopKHeap(Math.max(1, topK)))
+                            .offer(articleId, score);
+                    if (evicted != TopKHeap.NONE && evicted != articleId) {
+                        untrackIfUnused(evicted);
+                    }
+                }
+                untrackIfUnused(articleId);
+            }
+            version++;
+        }
+    }
+
+    @EventListener
+    public void onChanged(ArticleChangedEvent event) {
+        onArticleChanged(event.getId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeleted(ArticlesDeletedEvent event) {
+        for (Long id : event.getIds()) {
+            remove(id);
+        }
+    }
+
+    public void remove(Long articleId) {
+        // A view still buffered must not bring the article back on the next apply
+        pending.remove(articleId);
+        synchronized (lock) {
+            ArticleSummary a = tracked.remove(articleId);
+            if (a != null) {
+                for (TopKHeap heap : heaps.values()) {
+                    heap.remove(articleId);
+                }
+                version++;
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("ready", ready);
+        stats.put("rebuildMillis", rebuildMillis);
+        stats.put("rebuildRows", rebuildRows);
+        stats.put("pendingArticles", pending.size());
+        stats.put("appliedEvents", appliedEvents.get());
+        synchronized (lock) {
+            stats.put("trackedArticles", tracked.size());
+            stats.put("scopes", heaps.size());
+            stats.put("sketchBytes", sketch == null ? 0 : sketch.memoryBytes());
+        }
+        return stats;
+    }
+
+    private void record(ArticleSummary article, double weight) {
+        if (!enabled || article == null || article.getId() == null) {
+            return;
+        }
+        Pending p = pending.get(article.getId());
+        if (p == null) {
+            p = pending.computeIfAbsent(article.getId(), id -> new Pending(article));
+        }
+        p.weight.add(weight);
+    }
+
+    private Snapshot buildSnapshot(long scope) {
+        synchronized (lock) {
+            TopKHeap heap = heaps.get(scope);
+            List<ArticleSummary> items = new ArrayList<>();
+            if (heap != null) {
+                for (long id : heap.sortedIds()) {
+                    ArticleSummary a = tracked.get(id);
+                    if (a != null) {
+                        items.add(a);
+                    }
+                }
+            }
+            Snapshot snapshot = new Snapshot(version, Collections.unmodifiableList(items));
+            snapshots.put(scope, snapshot);
+            return snapshot;
+        }
+    }
+
+    // Called with the lock held
+    private void applyLocked(ArticleSummary article, double weight, long at) {
+        if (weight <= 0) {
+            return;
+        }
+        // A buffered view may carry a copy from before an edit; the tracked listing is newer
+        ArticleSummary listed = tracked.get(article.getId());
+        if (listed != null) {
+            article = listed;
+        }
+        double tau = halfLifeMillis / Math.log(2);
+        if ((at - landmark) / tau > RENORMALIZE_EXPONENT) {
+            double factor = Math.exp(-(at - landmark) / tau);
+            sketch.scale(factor);
+            heaps.values().forEach(h -> h.scale(factor));
+            landmark = at;
+        }
+        long id = article.getId();
+        double w = weight * Math.exp((at - landmark) / tau);
+        double estimate = sketch.add(id, w);
+        boolean kept = offer(GLOBAL, id, w, estimate);
+        if (article.getCategoryId() != null) {
+            kept |= offer(article.getCategoryId(), id, w, estimate);
+        }
+        if (kept) {
+            tracked.put(id, article);
+        }
+    }
+
+    // Returns true if the id is in the scope's heap afterwards
+    // Ids already in the heap accumulate exactly; the (over-counting) sketch only decides admission
+    private boolean offer(long scope, long id, double weight, double estimate) {
+        TopKHeap heap = heaps.computeIfAbsent(scope, s -> new TopKHeap(Math.max(1, topK)));
+        double current = heap.score(id);
+        double score = Double.isNaN(current) ? estimate : current + weight;
+        long evicted = heap.offer(id, score);
+        if (evicted != TopKHeap.NONE && evicted != id) {
+            untrackIfUnused(evicted);
+        }
+        return evicted != id;
+    }
+
+    private void untrackIfUnused(long id) {
+        ArticleSummary a = tracked.get(id);
+        if (a == null) {
+            return;
+        }
+        boolean inGlobal = heaps.containsKey(GLOBAL) && heaps.get(GLOBAL).contains(id);
+        boolean inCategory = a.getCategoryId() != null && heaps.containsKey(a.getCategoryId())
+                && heaps.get(a.getCategoryId()).contains(id);
+        if (!inGlobal && !inCategory) {
+            tracked.remove(id);
+        }
+    }
+}
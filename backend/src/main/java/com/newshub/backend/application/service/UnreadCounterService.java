@@ -0,0 +1,200 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.infrastructure.persistence.NotificationMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user unread notification counts kept as counters in the cache tier, so the unread badge
+ * never queries MySQL on a warm counter. A user's total is their personal/broadcast count as of
+ * some number of broadcasts sent, plus every broadcast sent since, so a global announcement bumps
+ * one shared counter instead of one per user. Broadcasts are counted rather than read off id
+ * differences, since AUTO_INCREMENT ids can skip values. Counters are only adjusted while present;
+ * a cold counter is reloaded from the DB, and a periodic reconcile repairs drift for recently
+ * active users.
+ */
+@Service
+@Slf4j
+public class UnreadCounterService {
+
+    private static final String KEY_COUNT = "notifications:unread:";
+    // Number of broadcasts the user's count includes
+    private static final String KEY_AS_OF = "notifications:unread-broadcasts:";
+    // Number of broadcasts sent; never goes down, as broadcasts are not deleted
+    private static final String KEY_BROADCASTS = "notifications:broadcast:count";
+
+    @Autowired
+    private CacheService cacheService;
+
+    @Autowired
+    private NotificationMapper notificationMapper;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Value("${app.notifications.unread.ttl:86400000}")
+    private long ttlMillis;
+
+    @Value("${app.notifications.unread.reconcile-batch:500}")
+    private int reconcileBatch;
+
+    // Users whose counters this node read or changed since the last reconcile
+    private final ConcurrentHashMap<Long, Boolean> active = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong repaired = new AtomicLong();
+
+    public static String topicFor(Long userId) {
+        return "/topic/notifications/" + userId + "/unread";
+    }
+
+    public long getUnreadCount(Long userId) {
+        active.put(userId, Boolean.TRUE);
+        List<Long> values = cacheService.getCounters(List.of(
+                KEY_COUNT + userId, KEY_AS_OF + userId, KEY_BROADCASTS));
+        Long count = values.get(0);
+        Long asOf = values.get(1);
+        Long broadcasts = values.get(2);
+        if (count == null || asOf == null) {
+            return load(userId);
+        }
+        if (broadcasts == null) {
+            broadcasts = loadBroadcastCount();
+        }
+        hits.incrementAndGet();
+        return count + Math.max(0, broadcasts - asOf);
+    }
+
+    /**
+     * A personal notification was stored for the user.
+     */
+    public void onCreated(Long userId) {
+        Long count = cacheService.incrementIfPresent(KEY_COUNT + userId, 1);
+        if (count != null) {
+            push(userId, getUnreadCount(userId));
+        }
+    }
+
+    /**
+     * A single personal notification went from unread to read.
+     */
+    public void onRead(Long userId) {
+        Long count = cacheService.incrementIfPresent(KEY_COUNT + userId, -1);
+        if (count != null) {
+            if (count < 0) {
+                // Decremented a counter that missed the matching increment; start over
+                load(userId);
+            }
+            push(userId, getUnreadCount(userId));
+        }
+    }
+
+    /**
+     * The user's read state changed in a way a delta cannot express (broadcast watermark moved).
+     */
+    public void refresh(Long userId) {
+        push(userId, load(userId));
+    }
+
+    /**
+     * Everything up to and including the given broadcast is read; later broadcasts stay unread.
+     */
+    public void onAllRead(Long userId, long latestBroadcastId) {
+        long asOf = notificationMapper.countBroadcastsUpTo(latestBroadcastId);
+        cacheService.setCounter(KEY_AS_OF + userId, asOf, ttlMillis, TimeUnit.MILLISECONDS);
+        cacheService.setCounter(KEY_COUNT + userId, 0, ttlMillis, TimeUnit.MILLISECONDS);
+        push(userId, 0);
+    }
+
+    /**
+     * A broadcast row was stored. A missing counter is left alone; the next read counts the rows.
+     */
+    public void onBroadcast() {
+        cacheService.incrementIfPresent(KEY_BROADCASTS, 1);
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.unread.reconcile-interval:300000}")
+    public void reconcile() {
+        if (active.isEmpty()) {
+            return;
+        }
+        List<Long> userIds = new ArrayList<>();
+        Iterator<Long> it = active.keySet().iterator();
+        while (it.hasNext() && userIds.size() < reconcileBatch) {
+            userIds.add(it.next());
+            it.remove();
+        }
+        // Reloading the shared broadcast counter repairs a lost increment; users whose total
+        // changed with it are pushed the new count below
+        Long cachedBroadcasts = cacheService.getCounters(List.of(KEY_BROADCASTS)).get(0);
+        long broadcasts = loadBroadcastCount();
+        long served = cachedBroadcasts != null ? cachedBroadcasts : broadcasts;
+        int fixed = 0;
+        for (Long userId : userIds) {
+            try {
+                List<Long> values = cacheService.getCounters(List.of(KEY_COUNT + userId, KEY_AS_OF + userId));
+                if (values.get(0) == null || values.get(1) == null) {
+                    continue; // Expired; the next read reloads it
+                }
+                long cached = values.get(0) + Math.max(0, served - values.get(1));
+                long actual = load(userId, broadcasts);
+                if (cached != actual) {
+                    fixed++;
+                    push(userId, actual);
+                }
+            } catch (Exception e) {
+                log.warn("Unread counter reconcile failed for user {}", userId, e);
+            }
+        }
+        repaired.addAndGet(fixed);
+        if (fixed > 0) {
+            log.info("Reconciled unread counters for {} users, {} repaired", userIds.size(), fixed);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("hits", hits.get());
+        stats.put("loads", loads.get());
+        stats.put("repaired", repaired.get());
+        stats.put("activeUsers", active.size());
+        return stats;
+    }
+
+    // The broadcast count is read before counting, so a broadcast racing with the count is at worst counted twice
+    private long load(Long userId) {
+        return load(userId, loadBroadcastCount());
+    }
+
+    private long load(Long userId, long broadcasts) {
+        loads.incrementAndGet();
+        long count = notificationMapper.countUnread(userId);
+        cacheService.setCounter(KEY_AS_OF + userId, broadcasts, ttlMillis, TimeUnit.MILLISECONDS);
+        cacheService.setCounter(KEY_COUNT + userId, count, ttlMillis, TimeUnit.MILLISECONDS);
+        return count;
+    }
+
+    private long loadBroadcastCount() {
+        long broadcasts = notificationMapper.countBroadcasts();
+        cacheService.setCounter(KEY_BROADCASTS, broadcasts, ttlMillis, TimeUnit.MILLISECONDS);
+        return broadcasts;
+    }
+
+    private void push(Long userId, long count) {
+        messagingTemplate.convertAndSend(topicFor(userId), Map.of("count", count));
+    }
+}
@@ -0,0 +1,226 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.domain.model.Article;
+import com.newshub.backend.domain.model.ArticlesDeletedEvent;
+import com.newshub.backend.infrastructure.persistence.ArticleMapper;
+import com.newshub.backend.infrastructure.utils.Hashing;
+import com.newshub.backend.infrastructure.utils.LongIntHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory counts of stored articles per 64-bit hash of the normalized source URL, consulted
+ * before any SQL. A hit is only a "maybe" and is confirmed in the DB. A miss skips the lookup,
+ * which only saves work: rows written by other nodes reach this node on the next sync, and until
+ * then the unique key on articles.source_url_hash turns a duplicate insert into a no-op.
+ */
+@Service
+@Slf4j
+public class UrlDedupFilter {
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Value("${app.dedup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.dedup.expected-urls:100000}")
+    private int expectedUrls;
+
+    @Value("${app.dedup.commit-lag:5000}")
+    private long commitLagMillis;
+
+    // Articles per URL hash; URL variants that normalize alike share a count. Guarded by this
+    private LongIntHashMap counts;
+    private volatile boolean ready;
+
+    // Every article up to this id has been counted; articles written by other nodes are picked up
+    // from here once they are older than commit-lag, so a slower transaction is not skipped
+    private volatile long highWaterId;
+    // Ids above highWaterId that this node already counted, so the sync does not count them twice
+    private final TreeSet<Long> localIds = new TreeSet<>();
+
+    private final AtomicLong definitelyNew = new AtomicLong();
+    private final AtomicLong maybeHits = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+    private volatile long warmupMillis;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            counts = new LongIntHashMap(expectedUrls);
+        }
+        try {
+            catchUp();
+            ready = true;
+            warmupMillis = System.currentTimeMillis() - start;
+            log.info("URL dedup filter warmed with {} urls in {} ms", size(), warmupMillis);
+        } catch (Exception e) {
+            log.error("URL dedup filter warm-up failed, falling back to DB checks", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.dedup.sync-interval:30000}")
+    public void sync() {
+        if (ready) {
+            try {
+                catchUp();
+            } catch (Exception e) {
+                log.warn("URL dedup filter sync failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * False means the URL has definitely not been stored; true means check the DB.
+     */
+    public boolean mightContain(String url) {
+        if (!ready || url == null) {
+            return true;
+        }
+        boolean hit;
+        synchronized (this) {
+            hit = counts.get(hash(url), 0) > 0;
+        }
+        if (hit) {
+            maybeHits.incrementAndGet();
+        } else {
+            definitelyNew.incrementAndGet();
+        }
+        return hit;
+    }
+
+    /**
+     * Records the DB outcome for URLs the filter answered "maybe" for.
+     */
+    public void recordConfirmed(int maybeCount, int foundInDb) {
+        if (ready) {
+            falsePositives.addAndGet(Math.max(0, maybeCount - foundInDb));
+        }
+    }
+
+    /**
+     * Counts an article this node has just stored.
+     */
+    public synchronized void add(Long id, String url) {
+        if (url == null || counts == null) {
+            return;
+        }
+        increment(hash(url));
+        if (id != null && id > highWaterId) {
+            localIds.add(id);
+        }
+    }
+
+    /**
+     * Uncounts a deleted article; the hash stays while another variant of the URL is stored.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeleted(ArticlesDeletedEvent event) {
+        for (Article a : event.getArticles()) {
+            remove(a.getSourceUrl());
+        }
+    }
+
+    public synchronized void remove(String url) {
+        if (url == null || counts == null) {
+            return;
+        }
+        long h = hash(url);
+        int count = counts.get(h, 0);
+        if (count > 1) {
+            counts.put(h, count - 1);
+        } else if (count == 1) {
+            counts.remove(h);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        long maybe = maybeHits.get();
+        stats.put("enabled", enabled);
+        stats.put("ready", ready);
+        stats.put("urls", size());
+        synchronized (this) {
+            stats.put("memoryBytes", counts == null ? 0 : counts.memoryBytes());
+        }
+        stats.put("definitelyNew", definitelyNew.get());
+        stats.put("maybe", maybe);
+        stats.put("falsePositives", falsePositives.get());
+        stats.put("falsePositiveRate", maybe == 0 ? 0.0 : (double) falsePositives.get() / maybe);
+        stats.put("warmupMillis", warmupMillis);
+        return stats;
+    }
+
+    private synchronized int size() {
+        return counts == null ? 0 : counts.size();
+    }
+
+    private void catchUp() {
+        Long watermark = articleMapper.findMaxIdCreatedBefore(LocalDateTime.now().minus(commitLagMillis, ChronoUnit.MILLIS));
+        if (watermark == null || watermark <= highWaterId) {
+            return;
+        }
+        articleMapper.scanSourceUrls(highWaterId, watermark, context -> {
+            Article row = context.getResultObject();
+            if (row.getSourceUrl() != null) {
+                synchronized (this) {
+                    if (!localIds.remove(row.getId())) {
+                        increment(hash(row.getSourceUrl()));
+                    }
+                }
+            }
+        });
+        synchronized (this) {
+            highWaterId = watermark;
+            localIds.headSet(watermark, true).clear();
+        }
+    }
+
+    private void increment(long h) {
+        counts.put(h, counts.get(h, 0) + 1);
+    }
+
+    static long hash(String url) {
+        return Hashing.hash64(normalize(url));
+    }
+
+    // Scheme and host are case-insensitive; fragments and a trailing slash do not change the page
+    static String normalize(String url) {
+        String u = url.trim();
+        int hash = u.indexOf('#');
+        if (hash >= 0) {
+            u = u.substring(0, hash);
+        }
+        int schemeEnd = u.indexOf("://");
+        if (schemeEnd > 0) {
+            int hostEnd = u.indexOf('/', schemeEnd + 3);
+            if (hostEnd < 0) {
+                hostEnd = u.length();
+            }
+            u = u.substring(0, hostEnd).toLowerCase(Locale.ROOT) + u.substring(hostEnd);
+        }
+        if (u.endsWith("/")) {
+            u = u.substring(0, u.length() - 1);
+        }
+        return u;
+    }
+}
@@ -1,6 +1,8 @@
 package com.newshub.backend.application.service;
 
 import com.newshub.backend.infrastructure.persistence.UserMapper;
+import com.newshub.backend.infrastructure.security.AuthenticatedUser;
+import com.newshub.backend.infrastructure.security.PrincipalCache;
 import com.newshub.backend.domain.model.User;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
@@ -19,8 +21,28 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     @Autowired
     private UserMapper userMapper;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return loadAuthenticatedUser(username);
+    }
+
+    /**
+     * Token authentication path: served from the principal cache, falling back to the DB.
+     */
+    public AuthenticatedUser loadCachedUser(String username) throws UsernameNotFoundException {
+        AuthenticatedUser cached = principalCache.get(username);
+        if (cached != null) {
+            return cached;
+        }
+        AuthenticatedUser loaded = loadAuthenticatedUser(username);
+        principalCache.put(loaded);
+        return loaded;
+    }
+
+    private AuthenticatedUser loadAuthenticatedUser(String username) {
         User user = userMapper.findByUsername(username);
         if (user == null) {
             throw new UsernameNotFoundException("User Not Found with username: " + username);
@@ -29,10 +51,10 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         List<GrantedAuthority> authorities = Collections.singletonList(
                 new SimpleGrantedAuthority("ROLE_" + user.getRole()));
 
-        return new org.springframework.security.core.userdetails.User(
+        return new AuthenticatedUser(
+                user.getId(),
                 user.getUsername(),
                 user.getPassword(),
                 authorities);
     }
 }
-
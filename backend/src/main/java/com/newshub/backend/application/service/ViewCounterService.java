@@ -0,0 +1,395 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.domain.model.ArticleViewDelta;
+import com.newshub.backend.infrastructure.persistence.ArticleMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind view counter. Article reads only bump an in-process LongAdder;
+ * aggregated deltas are written to MySQL in one batched UPDATE per flush interval.
+ * With the journal enabled, views not yet in MySQL are appended to a local file every
+ * journal interval and replayed on startup. A flush moves the journal aside, and that file
+ * only ever holds the deltas of the flush that are not yet written.
+ */
+@Service
+@Slf4j
+public class ViewCounterService {
+
+    private static final String KEY_ARTICLE_PREFIX = "news:article:";
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Autowired
+    private CacheService cacheService;
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Value("${app.views.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    @Value("${app.views.journal.enabled:false}")
+    private boolean journalEnabled;
+
+    @Value("${app.views.journal.path:data/view-deltas.journal}")
+    private String journalPath;
+
+    private final ConcurrentHashMap<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    // Counters removed while idle; re-drained once in case a reader still held a reference
+    private List<Map.Entry<Long, Counter>> retired = new ArrayList<>();
+
+    private final LongAdder recordedViews = new LongAdder();
+    private final AtomicLong flushedViews = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private volatile long lastFlushMillis;
+    private volatile int lastFlushSize;
+
+    private final Object flushLock = new Object();
+    // Guards the journal files, Counter.journaled and the retired list; taken inside flushLock
+    private final Object journalLock = new Object();
+
+    private static final class Counter {
+        final LongAdder pending = new LongAdder();
+        // Deltas already written to the DB since the cached Article was loaded
+        final AtomicLong flushed = new AtomicLong();
+        // Part of pending already in the journal
+        long journaled;
+        volatile boolean idle;
+    }
+
+    public void recordView(Long articleId) {
+        Counter counter = counters.get(articleId);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(articleId, id -> new Counter());
+        }
+        counter.pending.increment();
+        recordedViews.increment();
+    }
+
+    /**
+     * Views counted by this node that are not yet reflected in a cached Article.
+     */
+    public long unseenViews(Long articleId) {
+        Counter counter = counters.get(articleId);
+        if (counter == null) {
+            return 0;
+        }
+        return counter.pending.sum() + counter.flushed.get();
+    }
+
+    /**
+     * Called right before an Article is (re)loaded from the DB, whose views column
+     * already contains everything flushed so far.
+     */
+    public void rebase(Long articleId) {
+        Counter counter = counters.get(articleId);
+        if (counter != null) {
+            counter.flushed.set(0);
+        }
+    }
+
+    /**
+     * Another node reloaded or dropped a cached Article: whatever this node flushed before that
+     * is in the DB row it read, so only views counted from here on are unseen.
+     */
+    @PostConstruct
+    public void init() {
+        cacheService.addInvalidationListener(KEY_ARTICLE_PREFIX, key -> {
+            try {
+                rebase(Long.parseLong(key.substring(KEY_ARTICLE_PREFIX.length())));
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring article key {}", key);
+            }
+        });
+        replayJournal();
+    }
+
+    // Both files are summed back into the pending counters, so the first flush writes them
+    private void replayJournal() {
+        if (!journalEnabled) {
+            return;
+        }
+        Path live = Paths.get(journalPath);
+        Path flushing = flushingPath();
+        try {
+            Map<Long, Long> pending = new HashMap<>();
+            readJournal(flushing, pending);
+            readJournal(live, pending);
+            if (pending.isEmpty()) {
+                return;
+            }
+            synchronized (journalLock) {
+                Path temp = Paths.get(journalPath + ".tmp");
+                writeJournal(temp, pending, StandardOpenOption.TRUNCATE_EXISTING);
+                Files.move(temp, live, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                Files.deleteIfExists(flushing);
+                for (Map.Entry<Long, Long> e : pending.entrySet()) {
+                    Counter counter = counters.computeIfAbsent(e.getKey(), id -> new Counter());
+                    counter.pending.add(e.getValue());
+                    counter.journaled += e.getValue();
+                }
+            }
+            log.info("Replayed pending views of {} articles from {}", pending.size(), live);
+        } catch (Exception e) {
+            log.error("Failed to replay view journal {}", live, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.views.journal.interval:500}")
+    public void journal() {
+        if (!journalEnabled) {
+            return;
+        }
+        synchronized (journalLock) {
+            Map<Long, Long> unjournaled = new HashMap<>();
+            for (Map.Entry<Long, Counter> e : retired) {
+                collectUnjournaled(e.getKey(), e.getValue(), unjournaled);
+            }
+            for (Map.Entry<Long, Counter> e : counters.entrySet()) {
+                collectUnjournaled(e.getKey(), e.getValue(), unjournaled);
+            }
+            try {
+                writeJournal(Paths.get(journalPath), unjournaled, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                log.warn("Could not journal view deltas: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.views.flush-interval:5000}")
+    public void flush() {
+        synchronized (flushLock) {
+            long start = System.currentTimeMillis();
+            List<ArticleViewDelta> deltas;
+            synchronized (journalLock) {
+                Map<Long, Long> unjournaled = new HashMap<>();
+                deltas = drain(unjournaled);
+                if (journalEnabled && !deltas.isEmpty()) {
+                    // The journal now holds exactly the drained deltas; new views start a fresh one
+                    try {
+                        writeJournal(Paths.get(journalPath), unjournaled, StandardOpenOption.APPEND);
+                        Files.move(Paths.get(journalPath), flushingPath(), StandardCopyOption.REPLACE_EXISTING);
+                    } catch (IOException e) {
+                        log.warn("Could not journal view deltas: {}", e.getMessage());
+                    }
+                }
+            }
+            if (deltas.isEmpty()) {
+                return;
+            }
+
+            int written = writeInChunks(deltas);
+            if (written < deltas.size()) {
+                // Only the unwritten chunks go back; the written ones are already in articles.views
+                List<ArticleViewDelta> rest = deltas.subList(written, deltas.size());
+                failedFlushes.incrementAndGet();
+                synchronized (journalLock) {
+                    for (ArticleViewDelta d : rest) {
+                        Counter counter = counters.computeIfAbsent(d.getArticleId(), id -> new Counter());
+                        counter.pending.add(d.getDelta());
+                        if (journalEnabled) {
+                            counter.journaled += d.getDelta();
+                        }
+                    }
+                    if (journalEnabled) {
+                        try {
+                            writeJournal(Paths.get(journalPath), merge(rest), StandardOpenOption.APPEND);
+                        } catch (IOException e) {
+                            log.warn("Could not journal re-queued view deltas: {}", e.getMessage());
+                        }
+                    }
+                }
+            }
+            if (journalEnabled) {
+                try {
+                    Files.deleteIfExists(flushingPath());
+                } catch (IOException e) {
+                    log.warn("Could not remove flushed view journal: {}", e.getMessage());
+                }
+            }
+
+            long total = 0;
+            for (ArticleViewDelta d : deltas.subList(0, written)) {
+                Counter counter = counters.get(d.getArticleId());
+                if (counter != null) {
+                    counter.flushed.addAndGet(d.getDelta());
+                }
+                total += d.getDelta();
+            }
+            flushedViews.addAndGet(total);
+            lastFlushSize = written;
+            lastFlushMillis = System.currentTimeMillis() - start;
+            log.debug("Flushed {} views for {} articles in {} ms", total, written, lastFlushMillis);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("trackedArticles", counters.size());
+        stats.put("recordedViews", recordedViews.sum());
+        stats.put("flushedViews", flushedViews.get());
+        stats.put("failedFlushes", failedFlushes.get());
+        stats.put("lastFlushArticles", lastFlushSize);
+        stats.put("lastFlushMillis", lastFlushMillis);
+        stats.put("journalEnabled", journalEnabled);
+        return stats;
+    }
+
+    // Called with journalLock held; unjournaled receives the part of each delta the journal lacks
+    private List<ArticleViewDelta> drain(Map<Long, Long> unjournaled) {
+        List<ArticleViewDelta> deltas = new ArrayList<>();
+        Map<Long, Long> merged = new HashMap<>();
+
+        for (Map.Entry<Long, Counter> e : retired) {
+            long late = take(e.getValue(), e.getKey(), unjournaled);
+            if (late > 0) {
+                merged.merge(e.getKey(), late, Long::sum);
+            }
+        }
+        retired = new ArrayList<>();
+
+        for (Map.Entry<Long, Counter> e : counters.entrySet()) {
+            Counter counter = e.getValue();
+            long delta = take(counter, e.getKey(), unjournaled);
+            if (delta > 0) {
+                counter.idle = false;
+                merged.merge(e.getKey(), delta, Long::sum);
+            } else if (counter.idle) {
+                // Idle for a whole interval: drop it and let the next read reload fresh views from the DB
+                if (counters.remove(e.getKey(), counter)) {
+                    retired.add(Map.entry(e.getKey(), counter));
+                    cacheService.delete(KEY_ARTICLE_PREFIX + e.getKey());
+                }
+            } else {
+                counter.idle = true;
+            }
+        }
+
+        for (Map.Entry<Long, Long> e : merged.entrySet()) {
+            deltas.add(new ArticleViewDelta(e.getKey(), e.getValue()));
+        }
+        return deltas;
+    }
+
+    private long take(Counter counter, Long articleId, Map<Long, Long> unjournaled) {
+        long delta = counter.pending.sumThenReset();
+        if (delta > counter.journaled) {
+            unjournaled.merge(articleId, delta - counter.journaled, Long::sum);
+        }
+        counter.journaled = 0;
+        return delta;
+    }
+
+    private void collectUnjournaled(Long articleId, Counter counter, Map<Long, Long> unjournaled) {
+        long pending = counter.pending.sum();
+        if (pending > counter.journaled) {
+            unjournaled.merge(articleId, pending - counter.journaled, Long::sum);
+            counter.journaled = pending;
+        }
+    }
+
+    /**
+     * Returns how many deltas reached the DB: all of them, or those before the first failed chunk.
+     * With the journal enabled, the flushing file is cut down to the rest after every chunk.
+     */
+    private int writeInChunks(List<ArticleViewDelta> deltas) {
+        int written = 0;
+        while (written < deltas.size()) {
+            int end = Math.min(written + flushBatchSize, deltas.size());
+            List<ArticleViewDelta> chunk = deltas.subList(written, end);
+            try {
+                articleMapper.incrementViewsBatch(chunk);
+            } catch (Exception e) {
+                log.warn("View flush failed, re-queueing {} of {} deltas: {}",
+                        deltas.size() - written, deltas.size(), e.getMessage());
+                return written;
+            }
+            written = end;
+            dashboardStatsService.onViewsFlushed(chunk);
+            if (journalEnabled && written < deltas.size()) {
+                try {
+                    Path temp = Paths.get(journalPath + ".tmp");
+                    writeJournal(temp, merge(deltas.subList(written, deltas.size())), StandardOpenOption.TRUNCATE_EXISTING);
+                    Files.move(temp, flushingPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    log.warn("Could not trim flushed view journal: {}", e.getMessage());
+                }
+            }
+        }
+        return written;
+    }
+
+    private static Map<Long, Long> merge(List<ArticleViewDelta> deltas) {
+        Map<Long, Long> merged = new HashMap<>();
+        for (ArticleViewDelta d : deltas) {
+            merged.merge(d.getArticleId(), d.getDelta(), Long::sum);
+        }
+        return merged;
+    }
+
+    // Journal format: one "<id> <delta>" line per increment; replay sums every line of both files
+    private void writeJournal(Path path, Map<Long, Long> deltas, StandardOpenOption mode) throws IOException {
+        if (deltas.isEmpty() && mode == StandardOpenOption.APPEND) {
+            return;
+        }
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode, StandardOpenOption.SYNC)) {
+            for (Map.Entry<Long, Long> e : deltas.entrySet()) {
+                writer.write(e.getKey() + " " + e.getValue() + "\n");
+            }
+        }
+    }
+
+    private void readJournal(Path path, Map<Long, Long> into) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] parts = line.trim().split(" ");
+            try {
+                into.merge(Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long::sum);
+            } catch (RuntimeException e) {
+                log.warn("Skipping corrupt view journal line: {}", line);
+            }
+        }
+    }
+
+    private Path flushingPath() {
+        return Paths.get(journalPath + ".flushing");
+    }
+}
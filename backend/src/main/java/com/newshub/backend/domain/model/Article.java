@@ -13,6 +13,8 @@ public class Article {
     private Long authorId;
     private Long categoryId;
     private String sourceUrl;
+    // Hash of the normalized source URL; unique, so a URL is stored once
+    private Long sourceUrlHash;
     private String sourceName;
     private LocalDateTime publishTime;
     private Long views;
@@ -0,0 +1,49 @@
+package com.newshub.backend.domain.model;
+
+import lombok.Data;
+
+/**
+ * An article was created without going live, edited, or filled in from a near duplicate;
+ * listeners re-read what they keep of it. before is the row as it was and after the fields
+ * written, each null where the change does not have one.
+ */
+@Data
+public class ArticleChangedEvent {
+    private Long id;
+    private boolean created;
+    private Article before;
+    private Article after;
+
+    public static ArticleChangedEvent created(Article article) {
+        ArticleChangedEvent e = new ArticleChangedEvent();
+        e.setId(article.getId());
+        e.setCreated(true);
+        e.setAfter(article);
+        return e;
+    }
+
+    public static ArticleChangedEvent updated(Article before, Article after) {
+        ArticleChangedEvent e = new ArticleChangedEvent();
+        e.setId(after.getId());
+        e.setBefore(before);
+        e.setAfter(after);
+        return e;
+    }
+
+    // The summary or cover image was taken from a near duplicate
+    public static ArticleChangedEvent merged(Long id) {
+        ArticleChangedEvent e = new ArticleChangedEvent();
+        e.setId(id);
+        return e;
+    }
+
+    public Long getPreviousCategoryId() {
+        return before == null ? null : before.getCategoryId();
+    }
+
+    // An edit that took a draft or unpublished article live
+    public boolean isPublishing() {
+        return before != null && after != null
+                && !"PUBLISHED".equals(before.getStatus()) && "PUBLISHED".equals(after.getStatus());
+    }
+}
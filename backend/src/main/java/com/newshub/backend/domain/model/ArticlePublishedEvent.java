@@ -0,0 +1,29 @@
+package com.newshub.backend.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight notice that an article went live; pushed to feed clients so they can prepend it.
+ * Listeners on this node also get the stored row, to index it without reading it back.
+ */
+@Data
+public class ArticlePublishedEvent {
+    private Long id;
+    private String title;
+    private Long categoryId;
+    private LocalDateTime publishTime;
+    @JsonIgnore
+    private Article article;
+
+    public static ArticlePublishedEvent from(Article article) {
+        ArticlePublishedEvent e = new ArticlePublishedEvent();
+        e.setId(article.getId());
+        e.setTitle(article.getTitle());
+        e.setCategoryId(article.getCategoryId());
+        e.setPublishTime(article.getPublishTime() != null ? article.getPublishTime() : LocalDateTime.now());
+        e.setArticle(article);
+        return e;
+    }
+}
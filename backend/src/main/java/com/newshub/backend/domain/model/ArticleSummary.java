@@ -0,0 +1,39 @@
+package com.newshub.backend.domain.model;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * List view of an article: everything a feed card shows, without the body.
+ */
+@Data
+public class ArticleSummary {
+    private Long id;
+    private String title;
+    private String summary;
+    private String coverImage;
+    private Long categoryId;
+    private String sourceName;
+    private LocalDateTime publishTime;
+    private Long views;
+
+    // Transient fields
+    private String categoryName;
+    // Search results only, HTML with <em> around matched terms; never cached
+    private String titleHighlight;
+    private String summaryHighlight;
+
+    public static ArticleSummary from(Article article) {
+        ArticleSummary s = new ArticleSummary();
+        s.setId(article.getId());
+        s.setTitle(article.getTitle());
+        s.setSummary(article.getSummary());
+        s.setCoverImage(article.getCoverImage());
+        s.setCategoryId(article.getCategoryId());
+        s.setSourceName(article.getSourceName());
+        s.setPublishTime(article.getPublishTime());
+        s.setViews(article.getViews());
+        s.setCategoryName(article.getCategoryName());
+        return s;
+    }
+}
@@ -0,0 +1,13 @@
+package com.newshub.backend.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleViewDelta {
+    private Long articleId;
+    private Long delta;
+}
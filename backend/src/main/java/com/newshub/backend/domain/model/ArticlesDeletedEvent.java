@@ -0,0 +1,29 @@
+package com.newshub.backend.domain.model;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Articles about to be deleted, published in the deleting transaction just before the DELETE.
+ * A listener that needs what goes with the rows (their comments) handles it right away; the rest
+ * listen after commit. Each row carries at least its id, category, source URL, publish time and
+ * views.
+ */
+@Data
+public class ArticlesDeletedEvent {
+    private final List<Article> articles;
+
+    public static ArticlesDeletedEvent of(List<Article> articles) {
+        return new ArticlesDeletedEvent(articles);
+    }
+
+    public List<Long> getIds() {
+        List<Long> ids = new ArrayList<>(articles.size());
+        for (Article a : articles) {
+            ids.add(a.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,20 @@
+package com.newshub.backend.domain.model;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of an asynchronous notification fan-out; polled by the admin UI.
+ */
+@Data
+public class BroadcastJob {
+    private String id;
+    private String title;
+    private String status; // QUEUED, RUNNING, COMPLETED, FAILED
+    private Long broadcastId; // set for global announcements, which need no per-user fan-out
+    private volatile long totalUsers;
+    private volatile long processedUsers;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+}
@@ -2,6 +2,7 @@ package com.newshub.backend.domain.model;
 
 import lombok.Data;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 public class Comment {
@@ -15,5 +16,9 @@ public class Comment {
     // Transient fields for display
     private String username;
     private String avatar;
+
+    // Thread view: first replies of a top-level comment and how many it has in total
+    private List<Comment> replies;
+    private Long replyCount;
 }
 
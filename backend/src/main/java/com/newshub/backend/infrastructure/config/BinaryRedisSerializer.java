@@ -0,0 +1,500 @@
+package com.newshub.backend.infrastructure.config;
+
+import com.newshub.backend.domain.model.Article;
+import com.newshub.backend.domain.model.ArticleSummary;
+import com.newshub.backend.domain.model.Comment;
+import com.newshub.backend.domain.model.Notification;
+import com.newshub.backend.infrastructure.utils.CachedValue;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compact cache codec: tagged values with varint numbers, fixed field order per model and a
+ * presence bitmask instead of field names or class names. Payloads above the threshold are
+ * deflated. Types without a schema are embedded as JSON, and values that do not start with
+ * the magic byte (written before the codec was switched) are read with the JSON serializer.
+ */
+@Slf4j
+public class BinaryRedisSerializer implements RedisSerializer<Object> {
+
+    private static final byte MAGIC = (byte) 0xB7;
+    // 2: comments carry replies and replyCount; version 1 values are read as misses
+    private static final byte VERSION = 2;
+    private static final int FLAG_DEFLATED = 1;
+
+    private static final int T_NULL = 0;
+    private static final int T_STRING = 1;
+    private static final int T_LONG = 2;
+    private static final int T_INT = 3;
+    private static final int T_DOUBLE = 4;
+    private static final int T_TRUE = 5;
+    private static final int T_FALSE = 6;
+    private static final int T_LIST = 7;
+    private static final int T_MAP = 8;
+    private static final int T_DATETIME = 9;
+    private static final int T_ARTICLE = 10;
+    private static final int T_ARTICLE_SUMMARY = 11;
+    private static final int T_COMMENT = 12;
+    private static final int T_NOTIFICATION = 13;
+    private static final int T_CACHED_VALUE = 14;
+    private static final int T_JSON = 15;
+
+    private final RedisSerializer<Object> json;
+    private final int compressThreshold;
+
+    public BinaryRedisSerializer(RedisSerializer<Object> json, int compressThreshold) {
+        this.json = json;
+        this.compressThreshold = compressThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        Writer w = new Writer();
+        w.value(value);
+        byte[] payload = w.toByteArray();
+        int flags = 0;
+        if (payload.length > compressThreshold) {
+            byte[] deflated = deflate(payload);
+            if (deflated.length < payload.length) {
+                payload = deflated;
+                flags |= FLAG_DEFLATED;
+            }
+        }
+        byte[] out = new byte[payload.length + 3];
+        out[0] = MAGIC;
+        out[1] = VERSION;
+        out[2] = (byte) flags;
+        System.arraycopy(payload, 0, out, 3, payload.length);
+        return out;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return json.deserialize(bytes);
+        }
+        if (bytes.length < 3 || bytes[1] != VERSION) {
+            // Unknown layout, e.g. written by a newer node: treat as a miss
+            return null;
+        }
+        try {
+            byte[] payload = new byte[bytes.length - 3];
+            System.arraycopy(bytes, 3, payload, 0, payload.length);
+            if ((bytes[2] & FLAG_DEFLATED) != 0) {
+                payload = inflate(payload);
+            }
+            return new Reader(payload).value();
+        } catch (RuntimeException | DataFormatException e) {
+            log.warn("Dropping undecodable cache value: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2);
+            byte[] buf = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buf, 0, deflater.deflate(buf));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 3);
+            byte[] buf = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buf);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("truncated deflate stream");
+                }
+                out.write(buf, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private final class Writer {
+        private byte[] buf = new byte[256];
+        private int pos;
+
+        byte[] toByteArray() {
+            byte[] out = new byte[pos];
+            System.arraycopy(buf, 0, out, 0, pos);
+            return out;
+        }
+
+        void value(Object v) {
+            if (v == null) {
+                tag(T_NULL);
+            } else if (v instanceof String s) {
+                tag(T_STRING);
+                string(s);
+            } else if (v instanceof Long l) {
+                tag(T_LONG);
+                zigzag(l);
+            } else if (v instanceof Integer i) {
+                tag(T_INT);
+                zigzag(i);
+            } else if (v instanceof Double d) {
+                tag(T_DOUBLE);
+                fixed64(Double.doubleToLongBits(d));
+            } else if (v instanceof Boolean b) {
+                tag(b ? T_TRUE : T_FALSE);
+            } else if (v instanceof LocalDateTime t) {
+                tag(T_DATETIME);
+                dateTime(t);
+            } else if (v instanceof List<?> list) {
+                tag(T_LIST);
+                varint(list.size());
+                for (Object o : list) {
+                    value(o);
+                }
+            } else if (v instanceof Map<?, ?> map) {
+                tag(T_MAP);
+                varint(map.size());
+                for (Map.Entry<?, ?> e : map.entrySet()) {
+                    value(e.getKey());
+                    value(e.getValue());
+                }
+            } else if (v instanceof ArticleSummary a) {
+                tag(T_ARTICLE_SUMMARY);
+                fields(a.getId(), a.getTitle(), a.getSummary(), a.getCoverImage(), a.getCategoryId(),
+                        a.getSourceName(), a.getPublishTime(), a.getViews(), a.getCategoryName());
+            } else if (v instanceof Article a) {
+                tag(T_ARTICLE);
+                fields(a.getId(), a.getTitle(), a.getSummary(), a.getContent(), a.getCoverImage(),
+                        a.getAuthorId(), a.getCategoryId(), a.getSourceUrl(), a.getSourceName(),
+                        a.getPublishTime(), a.getViews(), a.getLikes(), a.getStatus(),
+                        a.getCreatedAt(), a.getUpdatedAt(), a.getCategoryName());
+            } else if (v instanceof Comment c) {
+                tag(T_COMMENT);
+                fields(c.getId(), c.getContent(), c.getArticleId(), c.getUserId(), c.getParentId(),
+                        c.getCreatedAt(), c.getUsername(), c.getAvatar(), c.getReplies(), c.getReplyCount());
+            } else if (v instanceof Notification n) {
+                tag(T_NOTIFICATION);
+                fields(n.getId(), n.getUserId(), n.getTitle(), n.getContent(), n.getType(),
+                        n.getIsRead(), n.getRelatedId(), n.getCreatedAt());
+            } else if (v instanceof CachedValue c) {
+                tag(T_CACHED_VALUE);
+                zigzag(c.getRefreshAt());
+                zigzag(c.getLoadMillis());
+                value(c.getValue());
+            } else {
+                tag(T_JSON);
+                bytes(json.serialize(v));
+            }
+        }
+
+        // Presence bitmask, then each non-null field without a tag (its type is fixed by position)
+        private void fields(Object... values) {
+            long mask = 0;
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    mask |= 1L << i;
+                }
+            }
+            varint(mask);
+            for (Object v : values) {
+                if (v instanceof String s) {
+                    string(s);
+                } else if (v instanceof Long l) {
+                    zigzag(l);
+                } else if (v instanceof LocalDateTime t) {
+                    dateTime(t);
+                } else if (v instanceof Boolean b) {
+                    write(b ? 1 : 0);
+                } else if (v instanceof List<?> l) {
+                    value(l);
+                }
+            }
+        }
+
+        private void tag(int tag) {
+            write(tag);
+        }
+
+        private void string(String s) {
+            bytes(s.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private void bytes(byte[] b) {
+            varint(b.length);
+            ensure(b.length);
+            System.arraycopy(b, 0, buf, pos, b.length);
+            pos += b.length;
+        }
+
+        private void dateTime(LocalDateTime t) {
+            zigzag(t.toEpochSecond(ZoneOffset.UTC));
+            varint(t.getNano());
+        }
+
+        private void zigzag(long v) {
+            varint((v << 1) ^ (v >> 63));
+        }
+
+        private void varint(long v) {
+            while ((v & ~0x7FL) != 0) {
+                write((int) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            write((int) v);
+        }
+
+        private void fixed64(long v) {
+            for (int i = 0; i < 8; i++) {
+                write((int) (v >>> (8 * i)));
+            }
+        }
+
+        private void write(int b) {
+            ensure(1);
+            buf[pos++] = (byte) b;
+        }
+
+        private void ensure(int n) {
+            if (pos + n > buf.length) {
+                byte[] bigger = new byte[Math.max(buf.length * 2, pos + n)];
+                System.arraycopy(buf, 0, bigger, 0, pos);
+                buf = bigger;
+            }
+        }
+    }
+
+    private final class Reader {
+        private final byte[] buf;
+        private int pos;
+        private long mask;
+        private int field;
+
+        Reader(byte[] buf) {
+            this.buf = buf;
+        }
+
+        Object value() {
+            int tag = buf[pos++];
+            switch (tag) {
+                case T_NULL:
+                    return null;
+                case T_STRING:
+                    return string();
+                case T_LONG:
+                    return zigzag();
+                case T_INT:
+                    return (int) zigzag();
+                case T_DOUBLE:
+                    return Double.longBitsToDouble(fixed64());
+                case T_TRUE:
+                    return Boolean.TRUE;
+                case T_FALSE:
+                    return Boolean.FALSE;
+                case T_DATETIME:
+                    return dateTime();
+                case T_LIST: {
+                    int n = (int) varint();
+                    List<Object> list = new ArrayList<>(n);
+                    for (int i = 0; i < n; i++) {
+                        list.add(value());
+                    }
+                    return list;
+                }
+                case T_MAP: {
+                    int n = (int) varint();
+                    Map<Object, Object> map = new LinkedHashMap<>(Math.max(16, n * 2));
+                    for (int i = 0; i < n; i++) {
+                        map.put(value(), value());
+                    }
+                    return map;
+                }
+                case T_ARTICLE_SUMMARY: {
+                    begin();
+                    ArticleSummary a = new ArticleSummary();
+                    a.setId(nextLong());
+                    a.setTitle(nextString());
+                    a.setSummary(nextString());
+                    a.setCoverImage(nextString());
+                    a.setCategoryId(nextLong());
+                    a.setSourceName(nextString());
+                    a.setPublishTime(nextDateTime());
+                    a.setViews(nextLong());
+                    a.setCategoryName(nextString());
+                    return a;
+                }
+                case T_ARTICLE: {
+                    begin();
+                    Article a = new Article();
+                    a.setId(nextLong());
+                    a.setTitle(nextString());
+                    a.setSummary(nextString());
+                    a.setContent(nextString());
+                    a.setCoverImage(nextString());
+                    a.setAuthorId(nextLong());
+                    a.setCategoryId(nextLong());
+                    a.setSourceUrl(nextString());
+                    a.setSourceName(nextString());
+                    a.setPublishTime(nextDateTime());
+                    a.setViews(nextLong());
+                    a.setLikes(nextLong());
+                    a.setStatus(nextString());
+                    a.setCreatedAt(nextDateTime());
+                    a.setUpdatedAt(nextDateTime());
+                    a.setCategoryName(nextString());
+                    return a;
+                }
+                case T_COMMENT: {
+                    begin();
+                    Comment c = new Comment();
+                    c.setId(nextLong());
+                    c.setContent(nextString());
+                    c.setArticleId(nextLong());
+                    c.setUserId(nextLong());
+                    c.setParentId(nextLong());
+                    c.setCreatedAt(nextDateTime());
+                    c.setUsername(nextString());
+                    c.setAvatar(nextString());
+                    c.setReplies(nextList());
+                    c.setReplyCount(nextLong());
+                    return c;
+                }
+                case T_NOTIFICATION: {
+                    begin();
+                    Notification n = new Notification();
+                    n.setId(nextLong());
+                    n.setUserId(nextLong());
+                    n.setTitle(nextString());
+                    n.setContent(nextString());
+                    n.setType(nextString());
+                    n.setIsRead(nextBoolean());
+                    n.setRelatedId(nextLong());
+                    n.setCreatedAt(nextDateTime());
+                    return n;
+                }
+                case T_CACHED_VALUE: {
+                    long refreshAt = zigzag();
+                    long loadMillis = zigzag();
+                    return new CachedValue(value(), refreshAt, loadMillis);
+                }
+                case T_JSON:
+                    return json.deserialize(bytes());
+                default:
+                    throw new IllegalStateException("Unknown cache codec tag " + tag);
+            }
+        }
+
+        private void begin() {
+            mask = varint();
+            field = 0;
+        }
+
+        private boolean present() {
+            return (mask & (1L << field++)) != 0;
+        }
+
+        private Long nextLong() {
+            return present() ? zigzag() : null;
+        }
+
+        private String nextString() {
+            return present() ? string() : null;
+        }
+
+        private LocalDateTime nextDateTime() {
+            return present() ? dateTime() : null;
+        }
+
+        // Nested models reuse mask/field, so restore them for the enclosing model
+        @SuppressWarnings("unchecked")
+        private <T> List<T> nextList() {
+            if (!present()) {
+                return null;
+            }
+            long outerMask = mask;
+            int outerField = field;
+            List<T> list = (List<T>) value();
+            mask = outerMask;
+            field = outerField;
+            return list;
+        }
+
+        private Boolean nextBoolean() {
+            return present() ? buf[pos++] != 0 : null;
+        }
+
+        private String string() {
+            int n = (int) varint();
+            String s = new String(buf, pos, n, StandardCharsets.UTF_8);
+            pos += n;
+            return s;
+        }
+
+        private byte[] bytes() {
+            int n = (int) varint();
+            byte[] b = new byte[n];
+            System.arraycopy(buf, pos, b, 0, n);
+            pos += n;
+            return b;
+        }
+
+        private LocalDateTime dateTime() {
+            long seconds = zigzag();
+            int nanos = (int) varint();
+            return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+        }
+
+        private long zigzag() {
+            long v = varint();
+            return (v >>> 1) ^ -(v & 1);
+        }
+
+        private long varint() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buf[pos++];
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalStateException("Malformed varint");
+        }
+
+        private long fixed64() {
+            long v = 0;
+            for (int i = 0; i < 8; i++) {
+                v |= (long) (buf[pos++] & 0xFF) << (8 * i);
+            }
+            return v;
+        }
+    }
+}
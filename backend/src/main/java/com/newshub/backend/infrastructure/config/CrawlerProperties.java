@@ -0,0 +1,29 @@
+package com.newshub.backend.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.crawler")
+public class CrawlerProperties {
+
+    // "java" runs the in-process RSS engine, "python" forks crawler-python/main.py
+    private String engine = "java";
+    private int threads = 8;
+    private int maxPerHost = 2;
+    private int timeoutMs = 10000;
+    private String userAgent = "Mozilla/5.0";
+    private List<Feed> feeds = new ArrayList<>();
+
+    @Data
+    public static class Feed {
+        private String url;
+        private Long categoryId;
+        private String source;
+    }
+}
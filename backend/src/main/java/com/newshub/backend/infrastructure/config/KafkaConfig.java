@@ -1,10 +1,59 @@
 package com.newshub.backend.infrastructure.config;
 
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.util.HashMap;
+import java.util.Map;
 
 @Configuration
 @Profile("!local")
 public class KafkaConfig {
-}
 
+    @Value("${app.kafka.ingest.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.kafka.ingest.linger-ms:500}")
+    private int lingerMs;
+
+    @Value("${app.kafka.ingest.fetch-min-bytes:65536}")
+    private int fetchMinBytes;
+
+    @Value("${app.kafka.ingest.concurrency:1}")
+    private int concurrency;
+
+    @Value("${app.kafka.ingest.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    @Value("${app.kafka.ingest.retries:2}")
+    private long retries;
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> batchKafkaListenerContainerFactory(ConsumerFactory<?, ?> consumerFactory) {
+        // Start from the spring.kafka.consumer settings and tune polling for batches
+        Map<String, Object> props = new HashMap<>(consumerFactory.getConfigurationProperties());
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchSize);
+        props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, lingerMs);
+        props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, fetchMinBytes);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        // A BatchListenerFailedException commits the records before the failed one; after the
+        // retries the failed record is logged and skipped, and the rest of the batch is redelivered
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(retryBackoffMs, retries)));
+        return factory;
+    }
+}
@@ -0,0 +1,155 @@
+package com.newshub.backend.infrastructure.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans broker messages out across nodes. Every message the application sends to the local
+ * simple broker is also published on a Redis channel; other nodes hand it to their own broker,
+ * so a user connected anywhere receives notifications created on any node. Enabled with
+ * app.websocket.relay=redis.
+ */
+@Component
+@Profile("!local")
+@ConditionalOnProperty(name = "app.websocket.relay", havingValue = "redis")
+@Slf4j
+public class RedisBrokerRelay implements ChannelInterceptor, MessageListener {
+
+    // Marks messages that came from another node so they are not published again
+    private static final String RELAYED_HEADER = "newshubRelayed";
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+
+    // The broker channel is created by the configuration this relay plugs into
+    @Autowired
+    @Lazy
+    @Qualifier("brokerChannel")
+    private MessageChannel brokerChannel;
+
+    @Value("${app.websocket.relay-channel:newshub:ws:relay}")
+    private String relayChannel;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final byte[] nodeIdBytes = nodeId.getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(relayChannel));
+        log.info("WebSocket relay enabled on Redis channel {}", relayChannel);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        if (accessor.getMessageType() != SimpMessageType.MESSAGE || accessor.getDestination() == null
+                || message.getHeaders().containsKey(RELAYED_HEADER)) {
+            return message;
+        }
+        Object payload = message.getPayload();
+        byte[] body = payload instanceof byte[] b ? b
+                : payload instanceof String s ? s.getBytes(StandardCharsets.UTF_8) : null;
+        if (body == null) {
+            return message;
+        }
+        try {
+            MimeType contentType = accessor.getContentType();
+            byte[] frame = encode(accessor.getDestination(), contentType == null ? "" : contentType.toString(), body);
+            stringRedisTemplate.execute(connection -> connection.publish(
+                    relayChannel.getBytes(StandardCharsets.UTF_8), frame), true);
+            published.incrementAndGet();
+        } catch (Exception e) {
+            // Local subscribers still get the message; only other nodes miss it
+            failures.incrementAndGet();
+            log.warn("Failed to relay message for {}: {}", accessor.getDestination(), e.getMessage());
+        }
+        return message;
+    }
+
+    @Override
+    public void onMessage(org.springframework.data.redis.connection.Message message, byte[] pattern) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(message.getBody()))) {
+            byte[] origin = new byte[in.readUnsignedShort()];
+            in.readFully(origin);
+            if (Arrays.equals(origin, nodeIdBytes)) {
+                return;
+            }
+            String destination = in.readUTF();
+            String contentType = in.readUTF();
+            byte[] body = new byte[in.readInt()];
+            in.readFully(body);
+
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setDestination(destination);
+            if (!contentType.isEmpty()) {
+                accessor.setContentType(MimeType.valueOf(contentType));
+            }
+            accessor.setHeader(RELAYED_HEADER, Boolean.TRUE);
+            brokerChannel.send(MessageBuilder.createMessage(body, accessor.getMessageHeaders()));
+            received.incrementAndGet();
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            log.warn("Dropped malformed relay message: {}", e.getMessage());
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("mode", "redis");
+        stats.put("published", published.get());
+        stats.put("received", received.get());
+        stats.put("failures", failures.get());
+        return stats;
+    }
+
+    // node id, destination, content type, body
+    private byte[] encode(String destination, String contentType, byte[] body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length + destination.length() + 64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeShort(nodeIdBytes.length);
+        out.write(nodeIdBytes);
+        out.writeUTF(destination);
+        out.writeUTF(contentType);
+        out.writeInt(body.length);
+        out.write(body);
+        return bytes.toByteArray();
+    }
+}
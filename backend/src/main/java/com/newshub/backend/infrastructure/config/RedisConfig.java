@@ -6,13 +6,16 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
@@ -20,6 +23,13 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
 @Profile("!local")
 public class RedisConfig {
 
+    // json = GenericJackson2JsonRedisSerializer with default typing, binary = BinaryRedisSerializer
+    @Value("${app.cache.codec:binary}")
+    private String codec;
+
+    @Value("${app.cache.compress-threshold:16384}")
+    private int compressThreshold;
+
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
@@ -37,13 +47,24 @@ public class RedisConfig {
         objectMapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL);
         
         // Use JSON serializer for values with custom ObjectMapper
-        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(objectMapper);
-        
+        GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer(objectMapper);
+        // The binary codec still reads JSON values, so switching codecs needs no cache flush
+        RedisSerializer<Object> serializer = "binary".equalsIgnoreCase(codec)
+                ? new BinaryRedisSerializer(jsonSerializer, compressThreshold)
+                : jsonSerializer;
+
         template.setValueSerializer(serializer);
         template.setHashValueSerializer(serializer);
         
         template.afterPropertiesSet();
         return template;
     }
-}
 
+    // Shared pub/sub container; cache invalidation subscribes to it
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+}
@@ -6,6 +6,7 @@ import com.newshub.backend.application.service.UserDetailsServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -63,6 +64,7 @@ public class SecurityConfig {
                     .requestMatchers("/api/public/**").permitAll()
                     .requestMatchers("/api/news/**").permitAll() // Allow public access to news
                     .requestMatchers("/api/comments/article/**").permitAll() // Allow public access to read comments
+                    .requestMatchers(HttpMethod.GET, "/api/comments/*/replies").permitAll()
                     .requestMatchers("/api/crawler/**").permitAll() // Allow manual crawler trigger
                     .requestMatchers("/ws/**").permitAll() // Allow WebSocket connection
                     .requestMatchers("/error").permitAll() // Allow error page to be visible
@@ -1,19 +1,44 @@
 package com.newshub.backend.infrastructure.config;
 
+import com.newshub.backend.application.service.NewsStreamService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    // Present only with app.websocket.relay=redis
+    @Autowired(required = false)
+    private RedisBrokerRelay brokerRelay;
+
+    @Autowired
+    private WebSocketOutboundBatcher outboundBatcher;
+
+    @Autowired
+    private NewsStreamService newsStreamService;
+
+    @Value("${app.websocket.message-size-limit:65536}")
+    private int messageSizeLimit;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // Enable a simple memory-based message broker to carry the messages back to the client on destinations prefixed with "/topic" and "/queue"
         config.enableSimpleBroker("/topic", "/queue");
+
+        // Everything the application sends to the broker is also relayed to the other nodes;
+        // article push frames, local or relayed, are mirrored to SSE clients
+        if (brokerRelay != null) {
+            config.configureBrokerChannel().interceptors(brokerRelay, newsStreamService);
+        } else {
+            config.configureBrokerChannel().interceptors(newsStreamService);
+        }
         
         // Designates the "/app" prefix for messages that are bound for methods annotated with @MessageMapping
         config.setApplicationDestinationPrefixes("/app");
@@ -30,4 +55,15 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
     }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // Slow consumers are disconnected rather than buffered without bound
+        registration.setMessageSizeLimit(messageSizeLimit)
+                .setSendBufferSizeLimit(outboundBatcher.getBufferLimit())
+                .setSendTimeLimit((int) outboundBatcher.getSendTimeLimitMillis());
+        if (outboundBatcher.isEnabled()) {
+            registration.addDecoratorFactory(outboundBatcher::decorate);
+        }
+    }
 }
@@ -0,0 +1,259 @@
+package com.newshub.backend.infrastructure.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces outbound STOMP frames per WebSocket session. Frames produced within the window are
+ * concatenated into one text message (STOMP frames are NUL-terminated, so clients split them
+ * again), turning a burst of broker messages into one socket write per session. Each session
+ * buffers at most buffer-limit bytes; a session that exceeds it, or whose current write has been
+ * blocked longer than send-time-limit, is closed instead of holding memory for a dead client.
+ */
+@Component
+@Slf4j
+public class WebSocketOutboundBatcher {
+
+    @Value("${app.websocket.coalesce-window:10}")
+    private long windowMillis;
+
+    @Value("${app.websocket.max-batch-bytes:65536}")
+    private int maxBatchBytes;
+
+    @Value("${app.websocket.send-buffer-limit:524288}")
+    private int bufferLimit;
+
+    @Value("${app.websocket.send-time-limit:10000}")
+    private long sendTimeLimitMillis;
+
+    @Value("${app.websocket.flush-threads:2}")
+    private int flushThreads;
+
+    private ScheduledThreadPoolExecutor flusher;
+
+    // Sessions with pending frames; each flush thread drains it once per window
+    private final ConcurrentLinkedQueue<CoalescingSession> dirty = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong framesIn = new AtomicLong();
+    private final AtomicLong messagesOut = new AtomicLong();
+    private final AtomicLong slowSessionsClosed = new AtomicLong();
+    private final AtomicLong openSessions = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        flusher = new ScheduledThreadPoolExecutor(Math.max(1, flushThreads), r -> {
+            Thread t = new Thread(r, "ws-outbound-flush");
+            t.setDaemon(true);
+            return t;
+        });
+        if (isEnabled()) {
+            for (int i = 0; i < flusher.getCorePoolSize(); i++) {
+                flusher.scheduleWithFixedDelay(this::drain, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void drain() {
+        CoalescingSession session;
+        while ((session = dirty.poll()) != null) {
+            session.flushQuietly();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+    }
+
+    public boolean isEnabled() {
+        return windowMillis > 0;
+    }
+
+    public int getBufferLimit() {
+        return bufferLimit;
+    }
+
+    public long getSendTimeLimitMillis() {
+        return sendTimeLimitMillis;
+    }
+
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new CoalescingHandler(handler);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", isEnabled());
+        stats.put("openSessions", openSessions.get());
+        stats.put("framesIn", framesIn.get());
+        stats.put("messagesOut", messagesOut.get());
+        stats.put("slowSessionsClosed", slowSessionsClosed.get());
+        return stats;
+    }
+
+    // Hands the coalescing session to the STOMP handler in place of the raw one
+    private class CoalescingHandler extends WebSocketHandlerDecorator {
+
+        private final Map<String, CoalescingSession> sessions = new ConcurrentHashMap<>();
+
+        CoalescingHandler(WebSocketHandler delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+            CoalescingSession wrapped = new CoalescingSession(session);
+            sessions.put(session.getId(), wrapped);
+            openSessions.incrementAndGet();
+            super.afterConnectionEstablished(wrapped);
+        }
+
+        @Override
+        public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+            CoalescingSession wrapped = sessions.get(session.getId());
+            super.handleMessage(wrapped != null ? wrapped : session, message);
+        }
+
+        @Override
+        public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
+            CoalescingSession wrapped = sessions.get(session.getId());
+            super.handleTransportError(wrapped != null ? wrapped : session, exception);
+        }
+
+        @Override
+        public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+            CoalescingSession wrapped = sessions.remove(session.getId());
+            if (wrapped != null) {
+                openSessions.decrementAndGet();
+                wrapped.discard();
+            }
+            super.afterConnectionClosed(wrapped != null ? wrapped : session, closeStatus);
+        }
+    }
+
+    private class CoalescingSession extends WebSocketSessionDecorator {
+
+        private final Object lock = new Object();
+        // Serializes writes to the underlying session
+        private final Object sendLock = new Object();
+
+        // Guarded by lock
+        private StringBuilder pending = new StringBuilder();
+        private boolean flushScheduled;
+        private boolean closing;
+
+        private volatile long sendStartedAt;
+
+        CoalescingSession(WebSocketSession delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            if (!(message instanceof TextMessage text)) {
+                flush();
+                synchronized (sendLock) {
+                    super.sendMessage(message);
+                }
+                return;
+            }
+            framesIn.incrementAndGet();
+            long started = sendStartedAt;
+            boolean flushNow = false;
+            boolean overflow = false;
+            synchronized (lock) {
+                if (closing) {
+                    return;
+                }
+                if (pending.length() + text.getPayloadLength() > bufferLimit
+                        || started != 0 && System.currentTimeMillis() - started > sendTimeLimitMillis) {
+                    closing = true;
+                    overflow = true;
+                    pending = new StringBuilder();
+                } else {
+                    pending.append(text.getPayload());
+                    if (!flushScheduled) {
+                        flushScheduled = true;
+                        dirty.add(this);
+                    }
+                    flushNow = pending.length() >= maxBatchBytes;
+                }
+            }
+            if (overflow) {
+                closeSlow();
+            } else if (flushNow) {
+                flusher.execute(this::flushQuietly);
+            }
+        }
+
+        void discard() {
+            synchronized (lock) {
+                closing = true;
+                pending = new StringBuilder();
+            }
+        }
+
+        private void flushQuietly() {
+            try {
+                flush();
+            } catch (IOException e) {
+                log.debug("WebSocket flush failed for session {}: {}", getId(), e.getMessage());
+                discard();
+            }
+        }
+
+        private void flush() throws IOException {
+            synchronized (sendLock) {
+                String batch;
+                synchronized (lock) {
+                    flushScheduled = false;
+                    if (pending.length() == 0) {
+                        return;
+                    }
+                    batch = pending.toString();
+                    pending.setLength(0);
+                }
+                sendStartedAt = System.currentTimeMillis();
+                try {
+                    if (isOpen()) {
+                        super.sendMessage(new TextMessage(batch));
+                        messagesOut.incrementAndGet();
+                    }
+                } finally {
+                    sendStartedAt = 0;
+                }
+            }
+        }
+
+        private void closeSlow() {
+            slowSessionsClosed.incrementAndGet();
+            log.warn("Closing slow WebSocket session {}: outbound buffer or send time limit exceeded", getId());
+            flusher.execute(() -> {
+                try {
+                    getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+                } catch (IOException e) {
+                    log.debug("Failed to close session {}: {}", getId(), e.getMessage());
+                }
+            });
+        }
+    }
+}
@@ -1,40 +1,162 @@
 package com.newshub.backend.infrastructure.persistence;
 
 import com.newshub.backend.domain.model.Article;
+import com.newshub.backend.domain.model.ArticleSummary;
+import com.newshub.backend.domain.model.ArticleViewDelta;
 import org.apache.ibatis.annotations.*;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Mapper
 public interface ArticleMapper {
-    @Insert("INSERT INTO articles(title, summary, content, cover_image, author_id, category_id, source_url, source_name, publish_time, status, created_at, updated_at) " +
-            "VALUES(#{title}, #{summary}, #{content}, #{coverImage}, #{authorId}, #{categoryId}, #{sourceUrl}, #{sourceName}, #{publishTime}, #{status}, NOW(), NOW())")
+
+    // List-view columns; feeds never need the LONGTEXT body
+    String SUMMARY_COLUMNS = "id, title, summary, cover_image, category_id, source_name, publish_time, views";
+    @Insert("INSERT INTO articles(title, summary, content, cover_image, author_id, category_id, source_url, source_url_hash, source_name, publish_time, status, created_at, updated_at) " +
+            "VALUES(#{title}, #{summary}, #{content}, #{coverImage}, #{authorId}, #{categoryId}, #{sourceUrl}, #{sourceUrlHash}, #{sourceName}, #{publishTime}, #{status}, NOW(), NOW())")
     @Options(useGeneratedKeys = true, keyProperty = "id")
     int insert(Article article);
 
+    // All rows or none: a source_url_hash that is already stored fails the whole statement with a
+    // DuplicateKeyException, so the generated keys always line up with the articles
+    @Insert("<script>" +
+            "INSERT INTO articles(title, summary, content, cover_image, author_id, category_id, source_url, source_url_hash, source_name, publish_time, status, created_at, updated_at) VALUES " +
+            "<foreach collection='articles' item='a' separator=','>" +
+            "(#{a.title}, #{a.summary}, #{a.content}, #{a.coverImage}, #{a.authorId}, #{a.categoryId}, #{a.sourceUrl}, #{a.sourceUrlHash}, #{a.sourceName}, #{a.publishTime}, #{a.status}, NOW(), NOW())" +
+            "</foreach>" +
+            "</script>")
+    @Options(useGeneratedKeys = true, keyProperty = "id")
+    int insertBatch(@Param("articles") List<Article> articles);
+
+    // Skips the row if its source_url_hash is already stored; any other error still fails the statement.
+    // Whether the row was written is decided by findIdBySourceUrlHash, not by the update count or key
+    @Insert("INSERT INTO articles(title, summary, content, cover_image, author_id, category_id, source_url, source_url_hash, source_name, publish_time, status, created_at, updated_at) " +
+            "VALUES(#{title}, #{summary}, #{content}, #{coverImage}, #{authorId}, #{categoryId}, #{sourceUrl}, #{sourceUrlHash}, #{sourceName}, #{publishTime}, #{status}, NOW(), NOW()) " +
+            "ON DUPLICATE KEY UPDATE id = id")
+    @Options(useGeneratedKeys = true, keyProperty = "id")
+    int insertIfAbsent(Article article);
+
+    @Select("SELECT id FROM articles WHERE source_url_hash = #{hash}")
+    Long findIdBySourceUrlHash(long hash);
+
     @Select("SELECT * FROM articles WHERE id = #{id}")
     Article findById(Long id);
 
-    @Select("SELECT * FROM articles WHERE status = 'PUBLISHED' ORDER BY publish_time DESC LIMIT #{limit} OFFSET #{offset}")
-    List<Article> findLatest(@Param("limit") int limit, @Param("offset") int offset);
+    @Select("SELECT " + SUMMARY_COLUMNS + " FROM articles WHERE status = 'PUBLISHED' ORDER BY publish_time DESC, id DESC LIMIT #{limit} OFFSET #{offset}")
+    List<ArticleSummary> findLatest(@Param("limit") int limit, @Param("offset") int offset);
+
+    // Keyset page over idx_status_publish (status, publish_time, id); a null publishTime starts at the head.
+    // The plain publish_time range lets the index seek to the cursor rather than filter down from the head
+    @Select("<script>" +
+            "SELECT " + SUMMARY_COLUMNS + " FROM articles WHERE status = 'PUBLISHED' " +
+            "<if test='publishTime != null'>" +
+            "AND publish_time &lt;= #{publishTime} AND (publish_time &lt; #{publishTime} OR id &lt; #{id}) " +
+            "</if>" +
+            "ORDER BY publish_time DESC, id DESC LIMIT #{limit}" +
+            "</script>")
+    List<ArticleSummary> findLatestBefore(@Param("publishTime") LocalDateTime publishTime,
+                                   @Param("id") Long id,
+                                   @Param("limit") int limit);
 
     @Select("SELECT COUNT(*) FROM articles WHERE status = 'PUBLISHED'")
     int countPublishedArticles();
     
-    @Select("SELECT * FROM articles WHERE status = 'PUBLISHED' AND category_id = #{categoryId} ORDER BY publish_time DESC LIMIT #{limit}")
-    List<Article> findByCategory(Long categoryId, int limit);
+    // Keyset page of one category over idx_category_status_publish; a null publishTime starts at the newest
+    @Select("<script>" +
+            "SELECT " + SUMMARY_COLUMNS + " FROM articles WHERE status = 'PUBLISHED' AND category_id = #{categoryId} " +
+            "<if test='publishTime != null'>" +
+            "AND publish_time &lt;= #{publishTime} AND (publish_time &lt; #{publishTime} OR id &lt; #{id}) " +
+            "</if>" +
+            "ORDER BY publish_time DESC, id DESC LIMIT #{limit}" +
+            "</script>")
+    List<ArticleSummary> findByCategoryBefore(@Param("categoryId") Long categoryId,
+                                              @Param("publishTime") LocalDateTime publishTime,
+                                              @Param("id") Long id,
+                                              @Param("limit") int limit);
+
+    @Select("SELECT category_id FROM articles WHERE id = #{id}")
+    Long findCategoryIdById(Long id);
+
+    @Select("SELECT " + SUMMARY_COLUMNS + " FROM articles WHERE status = 'PUBLISHED' AND category_id = #{categoryId} AND id != #{excludeId} ORDER BY publish_time DESC LIMIT #{limit}")
+    List<ArticleSummary> findRelated(@Param("categoryId") Long categoryId, @Param("excludeId") Long excludeId, @Param("limit") int limit);
+
+    // Fallback while the in-memory search index is not ready
+    @Select("SELECT " + SUMMARY_COLUMNS + " FROM articles WHERE status = 'PUBLISHED' AND MATCH(title, summary) AGAINST(#{keyword} IN BOOLEAN MODE) LIMIT 20")
+    List<ArticleSummary> search(String keyword);
+
+    // Columns the search index is built from
+    String SEARCH_COLUMNS = "id, title, summary, status, publish_time, created_at";
 
-    @Select("SELECT * FROM articles WHERE status = 'PUBLISHED' AND category_id = #{categoryId} AND id != #{excludeId} ORDER BY publish_time DESC LIMIT #{limit}")
-    List<Article> findRelated(@Param("categoryId") Long categoryId, @Param("excludeId") Long excludeId, @Param("limit") int limit);
+    @Select("SELECT " + SEARCH_COLUMNS + " FROM articles ORDER BY id")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    void scanSearchFields(ResultHandler<Article> handler);
 
-    @Select("SELECT * FROM articles WHERE status = 'PUBLISHED' AND MATCH(title, summary) AGAINST(#{keyword} IN BOOLEAN MODE) LIMIT 20")
-    List<Article> search(String keyword);
+    // Published articles in the related-articles window, streamed once at startup
+    @Select("SELECT " + SEARCH_COLUMNS + " FROM articles WHERE status = 'PUBLISHED' AND publish_time >= #{since}")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    void scanPublishedSince(@Param("since") LocalDateTime since, ResultHandler<Article> handler);
+
+    @Select("SELECT " + SEARCH_COLUMNS + " FROM articles WHERE id > #{afterId} ORDER BY id LIMIT #{limit}")
+    List<Article> findSearchFieldsAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    @Select("<script>" +
+            "SELECT " + SEARCH_COLUMNS + " FROM articles WHERE id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    List<Article> findSearchFieldsByIds(@Param("ids") List<Long> ids);
+
+    // Search hit rows; callers restore the ranked order
+    @Select("<script>" +
+            "SELECT " + SUMMARY_COLUMNS + " FROM articles WHERE status = 'PUBLISHED' AND id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    List<ArticleSummary> findSummariesByIds(@Param("ids") List<Long> ids);
+
+    @Select("<script>" +
+            "SELECT a.*, c.name as categoryName FROM articles a " +
+            "LEFT JOIN categories c ON a.category_id = c.id WHERE a.id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    List<Article> findByIdsWithCategory(@Param("ids") List<Long> ids);
+
+    // Suggestion titles, newest first; idx_status_publish serves the range and the order
+    @Select("SELECT " + SUMMARY_COLUMNS + " FROM articles WHERE status = 'PUBLISHED' AND publish_time >= #{since} " +
+            "ORDER BY publish_time DESC LIMIT #{limit}")
+    List<ArticleSummary> findPublishedSince(@Param("since") LocalDateTime since, @Param("limit") int limit);
 
     @Select("SELECT COUNT(*) FROM articles WHERE source_url = #{url}")
     int countBySourceUrl(String url);
 
-    @Delete("DELETE FROM articles WHERE created_at < DATE_SUB(CURDATE(), INTERVAL #{days} DAY)")
-    int deleteOldArticles(int days);
+    @Select("<script>" +
+            "SELECT source_url FROM articles WHERE source_url IN " +
+            "<foreach collection='urls' item='u' open='(' separator=',' close=')'>#{u}</foreach>" +
+            "</script>")
+    List<String> findExistingSourceUrls(@Param("urls") List<String> urls);
+
+    // Streams id + source_url in PK order; fetchSize MIN_VALUE makes Connector/J stream rows
+    @Select("SELECT id, source_url FROM articles WHERE id > #{afterId} AND id <= #{toId} ORDER BY id")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    void scanSourceUrls(@Param("afterId") long afterId, @Param("toId") long toId, ResultHandler<Article> handler);
+
+    // Retention walks the table in primary-key windows up to the newest expired id (idx_created_at)
+    @Select("SELECT MIN(id) FROM articles")
+    Long findMinId();
+
+    @Select("SELECT MAX(id) FROM articles WHERE created_at < #{cutoff}")
+    Long findMaxIdCreatedBefore(LocalDateTime cutoff);
+
+    @Select("SELECT id, source_url, category_id, publish_time, views FROM articles WHERE id >= #{fromId} AND id < #{toId} AND created_at < #{cutoff}")
+    List<Article> findExpiredInRange(@Param("fromId") long fromId, @Param("toId") long toId,
+                                     @Param("cutoff") LocalDateTime cutoff);
+
+    @Delete("<script>" +
+            "DELETE FROM articles WHERE id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int deleteByIds(@Param("ids") List<Long> ids);
 
     @Select("SELECT count(*) FROM articles")
     long count();
@@ -80,12 +202,29 @@ public interface ArticleMapper {
             "WHERE id=#{id}")
     int update(Article article);
 
+    // Near-duplicate merge: the kept row takes the duplicate's summary and cover image only where it has none;
+    // matches only a row that changes, so a repeated merge counts 0
+    @Update("UPDATE articles SET " +
+            "summary = CASE WHEN summary IS NULL OR summary = '' THEN #{summary} ELSE summary END, " +
+            "cover_image = CASE WHEN cover_image IS NULL OR cover_image = '' THEN #{coverImage} ELSE cover_image END, updated_at = NOW() " +
+            "WHERE id = #{id} AND ((summary IS NULL OR summary = '') AND #{summary} <> '' " +
+            "OR (cover_image IS NULL OR cover_image = '') AND #{coverImage} <> '')")
+    int fillMissingFields(@Param("id") Long id, @Param("summary") String summary, @Param("coverImage") String coverImage);
+
     @Delete("DELETE FROM articles WHERE id = #{id}")
     int deleteById(Long id);
 
     @Update("UPDATE articles SET views = COALESCE(views,0) + 1 WHERE id = #{id}")
     int incrementViews(Long id);
 
+    @Update("<script>" +
+            "UPDATE articles SET views = COALESCE(views,0) + CASE id " +
+            "<foreach collection='deltas' item='d'>WHEN #{d.articleId} THEN #{d.delta} </foreach>" +
+            "ELSE 0 END WHERE id IN " +
+            "<foreach collection='deltas' item='d' open='(' separator=',' close=')'>#{d.articleId}</foreach>" +
+            "</script>")
+    int incrementViewsBatch(@Param("deltas") List<ArticleViewDelta> deltas);
+
     @Select("SELECT c.name as name, COUNT(a.id) as value FROM categories c LEFT JOIN articles a ON c.id = a.category_id GROUP BY c.id")
     List<java.util.Map<String, Object>> countByCategory();
 
@@ -95,10 +234,19 @@ public interface ArticleMapper {
     @Select("SELECT c.name as name, COALESCE(SUM(a.views), 0) as value FROM categories c LEFT JOIN articles a ON c.id = a.category_id GROUP BY c.id")
     List<java.util.Map<String, Object>> sumViewsByCategory();
 
-    @Select("SELECT * FROM articles WHERE status = 'PUBLISHED' ORDER BY COALESCE(views, 0) DESC, publish_time DESC LIMIT #{limit}")
-    List<Article> findTrending(int limit);
+    // All-time views; NULL views sort last under DESC, so idx_views can serve the ORDER BY
+    @Select("SELECT " + SUMMARY_COLUMNS + " FROM articles WHERE status = 'PUBLISHED' ORDER BY views DESC, publish_time DESC LIMIT #{limit}")
+    List<ArticleSummary> findTrending(int limit);
+
+    @Select("SELECT " + SUMMARY_COLUMNS + " FROM articles WHERE id = #{id} AND status = 'PUBLISHED'")
+    ArticleSummary findSummaryById(Long id);
+
+    // Streams every published article once to seed the trending engine
+    @Select("SELECT " + SUMMARY_COLUMNS + " FROM articles WHERE status = 'PUBLISHED'")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    void scanSummaries(ResultHandler<ArticleSummary> handler);
 
-    @Select("SELECT * FROM articles WHERE status = 'PUBLISHED' AND DATE(publish_time) = CURDATE() ORDER BY publish_time DESC LIMIT #{limit}")
-    List<Article> findDailyHighlights(int limit);
+    @Select("SELECT " + SUMMARY_COLUMNS + " FROM articles WHERE status = 'PUBLISHED' AND DATE(publish_time) = CURDATE() ORDER BY publish_time DESC LIMIT #{limit}")
+    List<ArticleSummary> findDailyHighlights(int limit);
 }
 
@@ -3,15 +3,59 @@ package com.newshub.backend.infrastructure.persistence;
 import com.newshub.backend.domain.model.Comment;
 import org.apache.ibatis.annotations.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Mapper
 public interface CommentMapper {
 
-    @Select("SELECT c.*, u.username, u.avatar FROM comments c " +
-            "LEFT JOIN users u ON c.user_id = u.id " +
-            "WHERE c.article_id = #{articleId} ORDER BY c.created_at DESC")
-    List<Comment> findByArticleId(Long articleId);
+    String COMMENT_COLUMNS = "c.id, c.content, c.article_id, c.user_id, c.parent_id, c.created_at, u.username, u.avatar";
+
+    // Top-level comments newest first; keyset on (created_at, id) walks idx_article_created
+    @Select("<script>" +
+            "SELECT " + COMMENT_COLUMNS + " FROM comments c LEFT JOIN users u ON c.user_id = u.id " +
+            "WHERE c.article_id = #{articleId} AND c.parent_id IS NULL " +
+            "<if test='beforeTime != null'>" +
+            "AND (c.created_at &lt; #{beforeTime} OR (c.created_at = #{beforeTime} AND c.id &lt; #{beforeId})) " +
+            "</if>" +
+            "ORDER BY c.created_at DESC, c.id DESC LIMIT #{limit}" +
+            "</script>")
+    List<Comment> findThreadsBefore(@Param("articleId") Long articleId, @Param("beforeTime") LocalDateTime beforeTime,
+                                    @Param("beforeId") Long beforeId, @Param("limit") int limit);
+
+    // Oldest replies of each parent, so a page of threads needs one reply query instead of one per thread
+    @Select("<script>" +
+            "SELECT id, content, article_id, user_id, parent_id, created_at, username, avatar FROM (" +
+            "SELECT " + COMMENT_COLUMNS + ", " +
+            "ROW_NUMBER() OVER (PARTITION BY c.parent_id ORDER BY c.created_at, c.id) AS rn " +
+            "FROM comments c LEFT JOIN users u ON c.user_id = u.id " +
+            "WHERE c.parent_id IN <foreach collection='parentIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            ") r WHERE rn &lt;= #{perParent} ORDER BY parent_id, created_at, id" +
+            "</script>")
+    List<Comment> findFirstReplies(@Param("parentIds") List<Long> parentIds, @Param("perParent") int perParent);
+
+    @Select("<script>" +
+            "SELECT parent_id AS parent, COUNT(*) AS count FROM comments WHERE parent_id IN " +
+            "<foreach collection='parentIds' item='id' open='(' separator=',' close=')'>#{id}</foreach> " +
+            "GROUP BY parent_id" +
+            "</script>")
+    List<Map<String, Object>> countReplies(@Param("parentIds") List<Long> parentIds);
+
+    // Replies oldest first, continuing after the given position
+    @Select("<script>" +
+            "SELECT " + COMMENT_COLUMNS + " FROM comments c LEFT JOIN users u ON c.user_id = u.id " +
+            "WHERE c.parent_id = #{parentId} " +
+            "<if test='afterTime != null'>" +
+            "AND (c.created_at &gt; #{afterTime} OR (c.created_at = #{afterTime} AND c.id &gt; #{afterId})) " +
+            "</if>" +
+            "ORDER BY c.created_at, c.id LIMIT #{limit}" +
+            "</script>")
+    List<Comment> findRepliesAfter(@Param("parentId") Long parentId, @Param("afterTime") LocalDateTime afterTime,
+                                   @Param("afterId") Long afterId, @Param("limit") int limit);
+
+    @Select("SELECT id, article_id, user_id, parent_id, created_at FROM comments WHERE id = #{id}")
+    Comment findById(Long id);
 
     @Insert("INSERT INTO comments (content, article_id, user_id, parent_id, created_at) VALUES (#{content}, #{articleId}, #{userId}, #{parentId}, #{createdAt})")
     @Options(useGeneratedKeys = true, keyProperty = "id")
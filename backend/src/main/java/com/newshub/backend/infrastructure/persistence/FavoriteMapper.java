@@ -1,6 +1,6 @@
 package com.newshub.backend.infrastructure.persistence;
 
-import com.newshub.backend.domain.model.Article;
+import com.newshub.backend.domain.model.ArticleSummary;
 import org.apache.ibatis.annotations.*;
 
 import java.util.List;
@@ -17,6 +17,7 @@ public interface FavoriteMapper {
     @Select("SELECT COUNT(*) > 0 FROM favorites WHERE user_id = #{userId} AND article_id = #{articleId}")
     boolean isFavorite(@Param("userId") Long userId, @Param("articleId") Long articleId);
     
-    @Select("SELECT a.* FROM articles a JOIN favorites f ON a.id = f.article_id WHERE f.user_id = #{userId} ORDER BY f.created_at DESC")
-    List<Article> findFavoritesByUserId(@Param("userId") Long userId);
+    @Select("SELECT a.id, a.title, a.summary, a.cover_image, a.category_id, a.source_name, a.publish_time, a.views " +
+            "FROM articles a JOIN favorites f ON a.id = f.article_id WHERE f.user_id = #{userId} ORDER BY f.created_at DESC")
+    List<ArticleSummary> findFavoritesByUserId(@Param("userId") Long userId);
 }
@@ -13,19 +13,67 @@ public interface NotificationMapper {
     @Options(useGeneratedKeys = true, keyProperty = "id")
     int insert(Notification notification);
 
-    @Select("SELECT * FROM notifications WHERE user_id = #{userId} ORDER BY created_at DESC")
-    List<Notification> findByUserId(Long userId);
+    @Insert("<script>" +
+            "INSERT INTO notifications(user_id, title, content, type, is_read, related_id, created_at) VALUES " +
+            "<foreach collection='notifications' item='n' separator=','>" +
+            "(#{n.userId}, #{n.title}, #{n.content}, #{n.type}, #{n.isRead}, #{n.relatedId}, #{n.createdAt})" +
+            "</foreach>" +
+            "</script>")
+    @Options(useGeneratedKeys = true, keyProperty = "id")
+    int insertBatch(@Param("notifications") List<Notification> notifications);
+
+    // Broadcast rows are returned with negated ids so they never collide with personal ones.
+    // A user only sees broadcasts sent after they registered.
+    String BROADCASTS_FOR_USER =
+            "SELECT -b.id AS id, #{userId} AS user_id, b.title, b.content, b.type, " +
+            "b.id <= COALESCE(w.last_seen_broadcast_id, 0) AS is_read, NULL AS related_id, b.created_at " +
+            "FROM broadcast_notifications b JOIN users u ON u.id = #{userId} " +
+            "LEFT JOIN notification_watermarks w ON w.user_id = #{userId} " +
+            "WHERE b.created_at >= u.created_at";
+
+    @Select("SELECT id, user_id, title, content, type, is_read, related_id, created_at " +
+            "FROM notifications WHERE user_id = #{userId} " +
+            "UNION ALL " + BROADCASTS_FOR_USER + " " +
+            "ORDER BY created_at DESC")
+    List<Notification> findByUserId(@Param("userId") Long userId);
 
-    @Select("SELECT COUNT(*) FROM notifications WHERE user_id = #{userId} AND is_read = false")
-    int countUnread(Long userId);
+    @Select("SELECT (SELECT COUNT(*) FROM notifications WHERE user_id = #{userId} AND is_read = false) + " +
+            "(SELECT COUNT(*) FROM broadcast_notifications b JOIN users u ON u.id = #{userId} " +
+            "WHERE b.created_at >= u.created_at AND b.id > COALESCE(" +
+            "(SELECT last_seen_broadcast_id FROM notification_watermarks WHERE user_id = #{userId}), 0))")
+    int countUnread(@Param("userId") Long userId);
 
-    @Update("UPDATE notifications SET is_read = true WHERE id = #{id} AND user_id = #{userId}")
+    // Only unread rows match, so the update count says whether the unread counter should drop
+    @Update("UPDATE notifications SET is_read = true WHERE id = #{id} AND user_id = #{userId} AND is_read = false")
     int markAsRead(@Param("id") Long id, @Param("userId") Long userId);
 
     @Update("UPDATE notifications SET is_read = true WHERE user_id = #{userId}")
     int markAllAsRead(Long userId);
 
-    @Select("SELECT * FROM notifications ORDER BY created_at DESC LIMIT 100")
+    @Insert("INSERT INTO broadcast_notifications(title, content, type) VALUES(#{title}, #{content}, #{type})")
+    @Options(useGeneratedKeys = true, keyProperty = "id")
+    int insertBroadcast(Notification notification);
+
+    // The watermark only moves forward, so marking one broadcast read also covers older ones
+    @Insert("INSERT INTO notification_watermarks(user_id, last_seen_broadcast_id) VALUES(#{userId}, #{broadcastId}) " +
+            "ON DUPLICATE KEY UPDATE last_seen_broadcast_id = GREATEST(last_seen_broadcast_id, #{broadcastId})")
+    int advanceWatermark(@Param("userId") Long userId, @Param("broadcastId") Long broadcastId);
+
+    @Select("SELECT COALESCE(MAX(id), 0) FROM broadcast_notifications")
+    long findLatestBroadcastId();
+
+    // Broadcasts are never deleted, so these counts only grow; unlike ids they have no gaps
+    @Select("SELECT COUNT(*) FROM broadcast_notifications")
+    long countBroadcasts();
+
+    @Select("SELECT COUNT(*) FROM broadcast_notifications WHERE id <= #{broadcastId}")
+    long countBroadcastsUpTo(@Param("broadcastId") long broadcastId);
+
+    @Select("SELECT * FROM (" +
+            "(SELECT id, user_id, title, content, type, is_read, related_id, created_at FROM notifications ORDER BY created_at DESC LIMIT 100) " +
+            "UNION ALL " +
+            "(SELECT -id, NULL, title, content, type, NULL, NULL, created_at FROM broadcast_notifications ORDER BY created_at DESC LIMIT 100)" +
+            ") recent ORDER BY created_at DESC LIMIT 100")
     List<Notification> findAll();
     
     @Delete("DELETE FROM notifications WHERE user_id = #{userId}")
@@ -13,7 +13,11 @@ public interface SettingsMapper {
     @Select("SELECT * FROM settings WHERE `key` = #{key}")
     Settings findByKey(String key);
 
-    @Insert("INSERT INTO settings(`key`, `value`, updated_at) VALUES(#{key}, #{value}, NOW()) " +
-            "ON DUPLICATE KEY UPDATE `value` = #{value}, updated_at = NOW()")
-    int save(Settings settings);
+    // One statement for a whole settings form, so a save is applied as a unit
+    @Insert("<script>" +
+            "INSERT INTO settings(`key`, `value`, updated_at) VALUES " +
+            "<foreach collection='settings' item='s' separator=','>(#{s.key}, #{s.value}, NOW())</foreach> " +
+            "ON DUPLICATE KEY UPDATE `value` = VALUES(`value`), updated_at = NOW()" +
+            "</script>")
+    int saveAll(@Param("settings") List<Settings> settings);
 }
@@ -0,0 +1,84 @@
+package com.newshub.backend.infrastructure.persistence;
+
+import com.newshub.backend.domain.model.ArticleViewDelta;
+import org.apache.ibatis.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dashboard rollups: per-day counters (stats_daily) and per-category totals (stats_category).
+ * Writers apply deltas; rebuild* recompute from the base tables in the background.
+ */
+@Mapper
+public interface StatsMapper {
+
+    String METRIC_ARTICLES = "articles";
+    String METRIC_COMMENTS = "comments";
+
+    @Insert("INSERT INTO stats_daily (stat_date, metric, value) VALUES (#{date}, #{metric}, #{delta}) " +
+            "ON DUPLICATE KEY UPDATE value = value + #{delta}")
+    int addDaily(@Param("date") LocalDate date, @Param("metric") String metric, @Param("delta") long delta);
+
+    // Uncategorized articles are kept under category_id 0
+    @Insert("INSERT INTO stats_category (category_id, articles, views) VALUES (#{categoryId}, #{articles}, #{views}) " +
+            "ON DUPLICATE KEY UPDATE articles = articles + #{articles}, views = views + #{views}")
+    int addCategory(@Param("categoryId") long categoryId, @Param("articles") long articles, @Param("views") long views);
+
+    // Folds a view flush into the category totals in one statement, resolving categories in SQL
+    @Insert("<script>" +
+            "INSERT INTO stats_category (category_id, articles, views) " +
+            "SELECT COALESCE(a.category_id, 0), 0, SUM(CASE a.id " +
+            "<foreach collection='deltas' item='d'>WHEN #{d.articleId} THEN #{d.delta} </foreach>" +
+            "ELSE 0 END) AS v FROM articles a WHERE a.id IN " +
+            "<foreach collection='deltas' item='d' open='(' separator=',' close=')'>#{d.articleId}</foreach> " +
+            "GROUP BY COALESCE(a.category_id, 0) " +
+            "ON DUPLICATE KEY UPDATE views = views + VALUES(views)" +
+            "</script>")
+    int addViews(@Param("deltas") List<ArticleViewDelta> deltas);
+
+    @Select("SELECT DATE_FORMAT(stat_date, '%Y-%m-%d') as date, value as count FROM stats_daily " +
+            "WHERE metric = #{metric} AND stat_date >= DATE_SUB(CURDATE(), INTERVAL #{days} DAY) AND value > 0 " +
+            "ORDER BY stat_date ASC")
+    List<Map<String, Object>> findDaily(@Param("metric") String metric, @Param("days") int days);
+
+    @Select("SELECT c.name as name, COALESCE(s.articles, 0) as articles, COALESCE(s.views, 0) as views " +
+            "FROM categories c LEFT JOIN stats_category s ON s.category_id = c.id ORDER BY c.id")
+    List<Map<String, Object>> findCategoryTotals();
+
+    @Select("SELECT COALESCE(SUM(articles), 0) as articles, COALESCE(SUM(views), 0) as views FROM stats_category")
+    Map<String, Object> findTotals();
+
+    @Select("SELECT count(*) FROM stats_category")
+    long countCategoryRows();
+
+    @Select("<script>" +
+            "SELECT DATE_FORMAT(created_at, '%Y-%m-%d') as date, COUNT(*) as count FROM comments WHERE article_id IN " +
+            "<foreach collection='articleIds' item='id' open='(' separator=',' close=')'>#{id}</foreach> " +
+            "GROUP BY date" +
+            "</script>")
+    List<Map<String, Object>> countCommentsByDateForArticles(@Param("articleIds") List<Long> articleIds);
+
+    @Insert("INSERT INTO stats_category (category_id, articles, views) " +
+            "SELECT COALESCE(category_id, 0), COUNT(*), COALESCE(SUM(views), 0) FROM articles GROUP BY COALESCE(category_id, 0) " +
+            "ON DUPLICATE KEY UPDATE articles = VALUES(articles), views = VALUES(views)")
+    int rebuildCategories();
+
+    @Update("UPDATE stats_category s SET articles = 0, views = 0 " +
+            "WHERE NOT EXISTS (SELECT 1 FROM articles a WHERE COALESCE(a.category_id, 0) = s.category_id)")
+    int clearEmptyCategories();
+
+    @Update("UPDATE stats_daily SET value = 0 WHERE stat_date >= #{since}")
+    int clearDailySince(LocalDate since);
+
+    @Insert("INSERT INTO stats_daily (stat_date, metric, value) " +
+            "SELECT DATE(publish_time), 'articles', COUNT(*) FROM articles WHERE publish_time >= #{since} GROUP BY DATE(publish_time) " +
+            "ON DUPLICATE KEY UPDATE value = VALUES(value)")
+    int rebuildDailyArticles(LocalDate since);
+
+    @Insert("INSERT INTO stats_daily (stat_date, metric, value) " +
+            "SELECT DATE(created_at), 'comments', COUNT(*) FROM comments WHERE created_at >= #{since} GROUP BY DATE(created_at) " +
+            "ON DUPLICATE KEY UPDATE value = VALUES(value)")
+    int rebuildDailyComments(LocalDate since);
+}
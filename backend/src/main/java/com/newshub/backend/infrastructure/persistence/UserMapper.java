@@ -5,7 +5,9 @@ import org.apache.ibatis.annotations.*;
 
 @Mapper
 public interface UserMapper {
-    @Select("SELECT * FROM users WHERE username = #{username} OR email = #{username}")
+    // UNION lets each branch use its own unique index instead of scanning for the OR
+    @Select("SELECT * FROM users WHERE username = #{username} " +
+            "UNION ALL SELECT * FROM users WHERE email = #{username} AND username <> #{username} LIMIT 1")
     User findByUsername(String username);
 
     @Select("SELECT * FROM users WHERE email = #{email}")
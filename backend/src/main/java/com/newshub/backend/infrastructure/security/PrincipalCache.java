@@ -0,0 +1,112 @@
+package com.newshub.backend.infrastructure.security;
+
+import com.newshub.backend.application.service.CacheService;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded, TTL-evicting cache of authenticated principals keyed by username.
+ * Entries are invalidated explicitly when a user's role, password or existence changes, and
+ * the invalidation is announced on the cache invalidation channel so every node drops its copy;
+ * the TTL only bounds staleness when an announcement is lost.
+ */
+@Component
+public class PrincipalCache {
+
+    // Never stored; deleting these keys is how an invalidation reaches the other nodes
+    private static final String KEY_PREFIX = "auth:principal:";
+    private static final String KEY_USERNAME = KEY_PREFIX + "name:";
+    private static final String KEY_USER_ID = KEY_PREFIX + "id:";
+
+    @Autowired
+    private CacheService cacheService;
+
+    @Value("${app.auth.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${app.auth.principal-cache.ttl:300000}")
+    private long ttlMillis;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private record Entry(AuthenticatedUser user, long expiresAt) {
+    }
+
+    @PostConstruct
+    public void init() {
+        cacheService.addInvalidationListener(KEY_PREFIX, key -> {
+            if (key.startsWith(KEY_USERNAME)) {
+                removeUsername(key.substring(KEY_USERNAME.length()));
+            } else if (key.startsWith(KEY_USER_ID)) {
+                try {
+                    removeUserId(Long.valueOf(key.substring(KEY_USER_ID.length())));
+                } catch (NumberFormatException e) {
+                    // Not ours
+                }
+            }
+        });
+    }
+
+    public AuthenticatedUser get(String username) {
+        Entry entry = entries.get(username);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() < System.currentTimeMillis()) {
+            entries.remove(username, entry);
+            return null;
+        }
+        return entry.user();
+    }
+
+    public void put(AuthenticatedUser user) {
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        entries.put(user.getUsername(), new Entry(user, System.currentTimeMillis() + ttlMillis));
+    }
+
+    public void invalidate(String username) {
+        if (username != null) {
+            removeUsername(username);
+            cacheService.delete(KEY_USERNAME + username);
+        }
+    }
+
+    public void invalidateUserId(Long userId) {
+        if (userId != null) {
+            removeUserId(userId);
+            cacheService.delete(KEY_USER_ID + userId);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void removeUsername(String username) {
+        entries.remove(username);
+    }
+
+    private void removeUserId(Long userId) {
+        entries.values().removeIf(entry -> entry.user().getId().equals(userId));
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt() < now);
+        // Still full: drop roughly a tenth of the entries to make room
+        int toDrop = entries.size() - maxSize + Math.max(1, maxSize / 10);
+        Iterator<String> it = entries.keySet().iterator();
+        while (toDrop-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
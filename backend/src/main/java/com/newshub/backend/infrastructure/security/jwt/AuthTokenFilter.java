@@ -2,6 +2,8 @@ package com.newshub.backend.infrastructure.security.jwt;
 
 import com.newshub.backend.infrastructure.utils.JwtUtils;
 import com.newshub.backend.application.service.UserDetailsServiceImpl;
+import com.newshub.backend.infrastructure.security.AuthenticatedUser;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -10,7 +12,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -30,10 +31,17 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
+            Claims claims = jwt != null ? jwtUtils.parseValidClaims(jwt) : null;
+            if (claims != null) {
+                AuthenticatedUser userDetails = userDetailsService.loadCachedUser(claims.getSubject());
+
+                // Tokens issued with a uid claim must still belong to the same account
+                Long tokenUserId = jwtUtils.getUserId(claims);
+                if (tokenUserId != null && !tokenUserId.equals(userDetails.getId())) {
+                    filterChain.doFilter(request, response);
+                    return;
+                }
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails,
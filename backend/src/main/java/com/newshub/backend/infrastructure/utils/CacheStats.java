@@ -0,0 +1,63 @@
+package com.newshub.backend.infrastructure.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hit/miss/eviction counters grouped by key prefix, e.g. "news:article" for "news:article:42".
+ */
+public class CacheStats {
+
+    private final ConcurrentHashMap<String, Counters> byPrefix = new ConcurrentHashMap<>();
+
+    private static final class Counters {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder evictions = new LongAdder();
+    }
+
+    public void hit(String key) {
+        counters(key).hits.increment();
+    }
+
+    public void miss(String key) {
+        counters(key).misses.increment();
+    }
+
+    public void eviction(String key) {
+        counters(key).evictions.increment();
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new TreeMap<>();
+        byPrefix.forEach((prefix, c) -> {
+            long hits = c.hits.sum();
+            long misses = c.misses.sum();
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("hits", hits);
+            m.put("misses", misses);
+            m.put("evictions", c.evictions.sum());
+            m.put("hitRate", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+            result.put(prefix, m);
+        });
+        return result;
+    }
+
+    public static String prefixOf(String key) {
+        int first = key.indexOf(':');
+        if (first < 0) {
+            return key;
+        }
+        int second = key.indexOf(':', first + 1);
+        return second < 0 ? key.substring(0, first) : key.substring(0, second);
+    }
+
+    private Counters counters(String key) {
+        String prefix = prefixOf(key);
+        Counters c = byPrefix.get(prefix);
+        return c != null ? c : byPrefix.computeIfAbsent(prefix, p -> new Counters());
+    }
+}
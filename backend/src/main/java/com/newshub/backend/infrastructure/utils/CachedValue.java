@@ -0,0 +1,41 @@
+package com.newshub.backend.infrastructure.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Envelope stored by CacheService.getOrLoad. The physical cache TTL outlives refreshAt so a
+ * stale value can keep being served while one caller recomputes it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedValue {
+    private Object value;
+    // Epoch millis after which the value is stale
+    private long refreshAt;
+    // How long the loader took; scales the probabilistic early refresh
+    private long loadMillis;
+
+    public boolean isStale(long now) {
+        return now >= refreshAt;
+    }
+
+    /**
+     * XFetch-style early expiration: the closer to refreshAt and the slower the loader,
+     * the more likely a reader is picked to refresh ahead of time.
+     */
+    public boolean shouldRefresh(long now, double beta) {
+        if (isStale(now)) {
+            return true;
+        }
+        if (beta <= 0 || loadMillis <= 0) {
+            return false;
+        }
+        double r = ThreadLocalRandom.current().nextDouble();
+        return now - loadMillis * beta * Math.log(r == 0 ? Double.MIN_VALUE : r) >= refreshAt;
+    }
+}
@@ -0,0 +1,60 @@
+package com.newshub.backend.infrastructure.utils;
+
+/**
+ * Count-min sketch over long keys with real-valued counters and conservative update.
+ * Estimates never undercount. Not thread-safe; callers synchronize.
+ */
+public class CountMinSketch {
+
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {
+            0x9e3779b97f4a7c15L, 0xbf58476d1ce4e5b9L, 0x94d049bb133111ebL, 0xd6e8feb86659fd93L};
+
+    private final double[][] table;
+    private final int mask;
+
+    public CountMinSketch(int width) {
+        int w = Integer.highestOneBit(Math.max(64, width) - 1) << 1;
+        table = new double[DEPTH][w];
+        mask = w - 1;
+    }
+
+    /**
+     * Adds weight to the key and returns its new estimate.
+     */
+    public double add(long key, double weight) {
+        int[] idx = new int[DEPTH];
+        double min = Double.MAX_VALUE;
+        for (int d = 0; d < DEPTH; d++) {
+            idx[d] = (int) Hashing.mix64(key ^ SEEDS[d]) & mask;
+            min = Math.min(min, table[d][idx[d]]);
+        }
+        double target = min + weight;
+        for (int d = 0; d < DEPTH; d++) {
+            if (table[d][idx[d]] < target) {
+                table[d][idx[d]] = target;
+            }
+        }
+        return target;
+    }
+
+    public double estimate(long key) {
+        double min = Double.MAX_VALUE;
+        for (int d = 0; d < DEPTH; d++) {
+            min = Math.min(min, table[d][(int) Hashing.mix64(key ^ SEEDS[d]) & mask]);
+        }
+        return min;
+    }
+
+    public void scale(double factor) {
+        for (double[] row : table) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] *= factor;
+            }
+        }
+    }
+
+    public long memoryBytes() {
+        return (long) DEPTH * table[0].length * Double.BYTES;
+    }
+}
@@ -0,0 +1,78 @@
+package com.newshub.backend.infrastructure.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-min sketch of 4-bit counters used as the TinyLFU admission filter.
+ * Counters are halved every {@code 10 * capacity} increments so old popularity fades.
+ */
+public class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private final AtomicLongArray table;
+    private final int mask;
+    private final int sampleSize;
+    private final AtomicInteger additions = new AtomicInteger();
+
+    public FrequencySketch(int capacity) {
+        int longs = Integer.highestOneBit(Math.max(64, capacity / 4) - 1) << 1;
+        table = new AtomicLongArray(longs);
+        mask = longs - 1;
+        sampleSize = Math.max(10 * capacity, 1000);
+    }
+
+    public int frequency(long hash) {
+        int min = 15;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long h = Hashing.mix64(hash + SEEDS[i]);
+            int shift = (int) (h & 15) << 2;
+            int count = (int) ((table.get(index(h)) >>> shift) & 15);
+            min = Math.min(min, count);
+        }
+        return min;
+    }
+
+    public void increment(long hash) {
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long h = Hashing.mix64(hash + SEEDS[i]);
+            added |= incrementAt(index(h), (int) (h & 15) << 2);
+        }
+        if (added && additions.incrementAndGet() >= sampleSize) {
+            reset();
+        }
+    }
+
+    private int index(long h) {
+        return (int) (h >>> 32) & mask;
+    }
+
+    private boolean incrementAt(int i, int shift) {
+        while (true) {
+            long value = table.get(i);
+            if (((value >>> shift) & 15) == 15) {
+                return false;
+            }
+            if (table.compareAndSet(i, value, value + (1L << shift))) {
+                return true;
+            }
+        }
+    }
+
+    private synchronized void reset() {
+        if (additions.get() < sampleSize) {
+            return;
+        }
+        for (int i = 0; i < table.length(); i++) {
+            long value;
+            do {
+                value = table.get(i);
+            } while (!table.compareAndSet(i, value, (value >>> 1) & RESET_MASK));
+        }
+        additions.set(additions.get() / 2);
+    }
+}
@@ -0,0 +1,683 @@
+package com.newshub.backend.infrastructure.utils;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the title and summary of documents keyed by a long id. Each
+ * term maps to a posting list of (ordinal, title tf, summary tf), delta and varint encoded,
+ * with a skip entry every SKIP_INTERVAL postings so conjunctions jump over whole blocks.
+ * Documents get increasing ordinals, so lists are append-only: re-adding a document tombstones
+ * its old ordinal, and compact() drops tombstoned postings once they pile up. Queries are
+ * conjunctive and ranked by BM25 (title hits weighted) or by publish time. Searches share a
+ * read lock; changes take the write lock.
+ */
+public class InvertedIndex {
+
+    public enum Order { RELEVANCE, NEWEST, OLDEST }
+
+    /**
+     * Every term must match. from/to bound the publish time (epoch millis, inclusive); titleOnly
+     * requires every term in the title.
+     */
+    public record Query(List<String> terms, boolean publishedOnly, boolean titleOnly,
+                        long from, long to, Order order) {
+    }
+
+    public record Hits(long total, long[] ids) {
+
+        static final Hits EMPTY = new Hits(0, new long[0]);
+    }
+
+    private static final int SKIP_INTERVAL = 64;
+    private static final int NO_MORE = Integer.MAX_VALUE;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final byte PUBLISHED = 1;
+    private static final byte DELETED = 2;
+    private static final int MAGIC = 0x4e484958;
+    private static final int FORMAT = 1;
+
+    private final int titleWeight;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Document columns by ordinal; guarded by lock
+    private long[] docIds;
+    private long[] publishTimes;
+    private int[] lengths;
+    private byte[] flags;
+    private int ordinals;
+
+    private LongIntHashMap ordinalById;
+    private TermTable terms;
+    private int liveDocs;
+    private long liveLength;
+    private long postings;
+    private long postingBytes;
+
+    public InvertedIndex(int titleWeight, int expectedDocs) {
+        this.titleWeight = titleWeight;
+        int capacity = Math.max(1024, expectedDocs);
+        docIds = new long[capacity];
+        publishTimes = new long[capacity];
+        lengths = new int[capacity];
+        flags = new byte[capacity];
+        ordinalById = new LongIntHashMap(capacity);
+        terms = new TermTable(Math.max(1024, expectedDocs));
+    }
+
+    /**
+     * Adds the document, replacing any earlier version with the same id.
+     */
+    public void add(long id, String title, String summary, long publishTime, boolean published) {
+        List<String> titleTerms = SearchTokenizer.tokenize(title);
+        List<String> summaryTerms = SearchTokenizer.tokenize(summary);
+        Map<String, int[]> tf = new HashMap<>();
+        for (String t : titleTerms) {
+            tf.computeIfAbsent(t, k -> new int[2])[0]++;
+        }
+        for (String t : summaryTerms) {
+            tf.computeIfAbsent(t, k -> new int[2])[1]++;
+        }
+        int length = titleWeight * titleTerms.size() + summaryTerms.size();
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (ordinals == docIds.length) {
+                grow();
+            }
+            int ord = ordinals++;
+            docIds[ord] = id;
+            publishTimes[ord] = publishTime;
+            lengths[ord] = length;
+            flags[ord] = published ? PUBLISHED : 0;
+            ordinalById.put(id, ord);
+            for (Map.Entry<String, int[]> e : tf.entrySet()) {
+                PostingList list = terms.getOrAdd(e.getKey());
+                int before = list.length;
+                list.add(ord, e.getValue()[0], e.getValue()[1]);
+                postingBytes += list.length - before;
+            }
+            postings += tf.size();
+            liveDocs++;
+            liveLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            return removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every document with an id below minId.
+     */
+    public int removeBelow(long minId) {
+        lock.writeLock().lock();
+        try {
+            int removed = 0;
+            for (int ord = 0; ord < ordinals; ord++) {
+                if ((flags[ord] & DELETED) == 0 && docIds[ord] < minId && removeLocked(docIds[ord])) {
+                    removed++;
+                }
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return ordinalById.get(id, -1) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Hits search(Query query, int offset, int limit) {
+        LinkedHashSet<String> unique = new LinkedHashSet<>(query.terms());
+        if (unique.isEmpty() || limit <= 0) {
+            return Hits.EMPTY;
+        }
+        lock.readLock().lock();
+        try {
+            Cursor[] cursors = new Cursor[unique.size()];
+            int c = 0;
+            for (String term : unique) {
+                PostingList list = terms.get(term);
+                if (list == null) {
+                    return Hits.EMPTY;
+                }
+                cursors[c++] = new Cursor(list);
+            }
+            // Drive the intersection from the rarest term
+            Arrays.sort(cursors, (x, y) -> Integer.compare(x.list.count, y.list.count));
+
+            double avgLength = liveDocs == 0 ? 1 : Math.max(1.0, (double) liveLength / liveDocs);
+            double[] idf = new double[cursors.length];
+            for (int i = 0; i < cursors.length; i++) {
+                double df = cursors[i].list.count;
+                idf[i] = Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+            }
+
+            TopDocs top = new TopDocs((int) Math.min((long) offset + limit, cursors[0].list.count));
+            long total = 0;
+            Cursor lead = cursors[0];
+            int doc = lead.next();
+            outer:
+            while (doc != NO_MORE) {
+                for (int i = 1; i < cursors.length; i++) {
+                    int d = cursors[i].advance(doc);
+                    if (d > doc) {
+                        doc = lead.advance(d);
+                        continue outer;
+                    }
+                }
+                if (accept(doc, cursors, query)) {
+                    total++;
+                    double key = switch (query.order()) {
+                        case RELEVANCE -> score(doc, cursors, idf, avgLength);
+                        case NEWEST -> publishTimes[doc];
+                        case OLDEST -> -publishTimes[doc];
+                    };
+                    top.offer(key, doc);
+                }
+                doc = lead.next();
+            }
+
+            int[] ranked = top.sortedDescending();
+            int from = Math.min(offset, ranked.length);
+            int to = Math.min(from + limit, ranked.length);
+            long[] ids = new long[to - from];
+            for (int i = from; i < to; i++) {
+                ids[i - from] = docIds[ranked[i]];
+            }
+            return new Hits(total, ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int tombstones() {
+        lock.readLock().lock();
+        try {
+            return ordinals - liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites every posting list without tombstoned documents and renumbers the survivors.
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            int[] remap = new int[ordinals];
+            int next = 0;
+            for (int ord = 0; ord < ordinals; ord++) {
+                if ((flags[ord] & DELETED) == 0) {
+                    remap[ord] = next;
+                    docIds[next] = docIds[ord];
+                    publishTimes[next] = publishTimes[ord];
+                    lengths[next] = lengths[ord];
+                    flags[next] = flags[ord];
+                    ordinalById.put(docIds[next], next);
+                    next++;
+                } else {
+                    remap[ord] = -1;
+                }
+            }
+            ordinals = next;
+            postings = 0;
+            postingBytes = 0;
+            TermTable compacted = new TermTable(terms.size());
+            for (int slot = 0; slot < terms.keys.length; slot++) {
+                if (terms.keys[slot] == null) {
+                    continue;
+                }
+                Cursor cursor = new Cursor(terms.values[slot]);
+                PostingList rewritten = null;
+                while (cursor.next() != NO_MORE) {
+                    if (remap[cursor.doc] >= 0) {
+                        if (rewritten == null) {
+                            rewritten = compacted.getOrAdd(terms.keys[slot]);
+                        }
+                        rewritten.add(remap[cursor.doc], cursor.tfTitle, cursor.tfSummary);
+                    }
+                }
+                if (rewritten != null) {
+                    rewritten.trim();
+                    postings += rewritten.count;
+                    postingBytes += rewritten.length;
+                }
+            }
+            terms = compacted;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("documents", liveDocs);
+            stats.put("tombstones", ordinals - liveDocs);
+            stats.put("terms", terms.size());
+            stats.put("postings", postings);
+            stats.put("postingBytes", postingBytes);
+            stats.put("columnBytes", (long) docIds.length * (Long.BYTES * 2 + Integer.BYTES + 1) + ordinalById.memoryBytes());
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- snapshot ---
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            out.writeInt(titleWeight);
+            out.writeInt(ordinals);
+            for (int ord = 0; ord < ordinals; ord++) {
+                out.writeLong(docIds[ord]);
+                out.writeLong(publishTimes[ord]);
+                out.writeInt(lengths[ord]);
+                out.writeByte(flags[ord]);
+            }
+            out.writeInt(terms.size());
+            for (int slot = 0; slot < terms.keys.length; slot++) {
+                if (terms.keys[slot] == null) {
+                    continue;
+                }
+                byte[] term = terms.keys[slot].getBytes(StandardCharsets.UTF_8);
+                PostingList list = terms.values[slot];
+                out.writeShort(term.length);
+                out.write(term);
+                out.writeInt(list.count);
+                out.writeInt(list.lastDoc);
+                out.writeInt(list.length);
+                out.write(list.data, 0, list.length);
+                out.writeInt(list.skips);
+                for (int i = 0; i < list.skips; i++) {
+                    out.writeInt(list.skipDocs[i]);
+                    out.writeInt(list.skipOffsets[i]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads an index written by writeTo; throws IllegalStateException if the data was written by
+     * another format version or with another title weight.
+     */
+    public static InvertedIndex readFrom(ByteBuffer in, int titleWeight) {
+        if (in.getInt() != MAGIC || in.getInt() != FORMAT) {
+            throw new IllegalStateException("Not a search index snapshot of format " + FORMAT);
+        }
+        if (in.getInt() != titleWeight) {
+            throw new IllegalStateException("Snapshot was written with a different title weight");
+        }
+        int ordinals = in.getInt();
+        InvertedIndex index = new InvertedIndex(titleWeight, ordinals);
+        for (int ord = 0; ord < ordinals; ord++) {
+            index.docIds[ord] = in.getLong();
+            index.publishTimes[ord] = in.getLong();
+            index.lengths[ord] = in.getInt();
+            index.flags[ord] = in.get();
+            if ((index.flags[ord] & DELETED) == 0) {
+                index.ordinalById.put(index.docIds[ord], ord);
+                index.liveDocs++;
+                index.liveLength += index.lengths[ord];
+            }
+        }
+        index.ordinals = ordinals;
+        int termCount = in.getInt();
+        for (int t = 0; t < termCount; t++) {
+            byte[] term = new byte[in.getShort() & 0xffff];
+            in.get(term);
+            PostingList list = index.terms.getOrAdd(new String(term, StandardCharsets.UTF_8));
+            list.count = in.getInt();
+            list.lastDoc = in.getInt();
+            list.length = in.getInt();
+            list.data = new byte[list.length];
+            in.get(list.data);
+            list.skips = in.getInt();
+            list.skipDocs = new int[list.skips];
+            list.skipOffsets = new int[list.skips];
+            for (int i = 0; i < list.skips; i++) {
+                list.skipDocs[i] = in.getInt();
+                list.skipOffsets[i] = in.getInt();
+            }
+            index.postings += list.count;
+            index.postingBytes += list.length;
+        }
+        return index;
+    }
+
+    // --- internals ---
+
+    private boolean removeLocked(long id) {
+        int ord = ordinalById.get(id, -1);
+        if (ord < 0) {
+            return false;
+        }
+        ordinalById.remove(id);
+        flags[ord] |= DELETED;
+        liveDocs--;
+        liveLength -= lengths[ord];
+        return true;
+    }
+
+    private boolean accept(int doc, Cursor[] cursors, Query query) {
+        byte f = flags[doc];
+        if ((f & DELETED) != 0 || query.publishedOnly() && (f & PUBLISHED) == 0) {
+            return false;
+        }
+        long time = publishTimes[doc];
+        if (time < query.from() || time > query.to()) {
+            return false;
+        }
+        if (query.titleOnly()) {
+            for (Cursor cursor : cursors) {
+                if (cursor.tfTitle == 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private double score(int doc, Cursor[] cursors, double[] idf, double avgLength) {
+        double norm = K1 * (1 - B + B * lengths[doc] / avgLength);
+        double score = 0;
+        for (int i = 0; i < cursors.length; i++) {
+            int tf = titleWeight * cursors[i].tfTitle + cursors[i].tfSummary;
+            score += idf[i] * tf * (K1 + 1) / (tf + norm);
+        }
+        return score;
+    }
+
+    private void grow() {
+        int capacity = docIds.length + (docIds.length >> 1);
+        docIds = Arrays.copyOf(docIds, capacity);
+        publishTimes = Arrays.copyOf(publishTimes, capacity);
+        lengths = Arrays.copyOf(lengths, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+    }
+
+    // Term -> posting list, open addressing on a 64-bit hash: String.hashCode collides heavily on CJK bigrams
+    private static final class TermTable {
+        String[] keys;
+        PostingList[] values;
+        private int size;
+
+        TermTable(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(16, (int) (expected / 0.6f)) - 1) << 1;
+            keys = new String[capacity];
+            values = new PostingList[capacity];
+        }
+
+        PostingList get(String term) {
+            int mask = keys.length - 1;
+            for (int i = (int) Hashing.hash64(term) & mask; keys[i] != null; i = (i + 1) & mask) {
+                if (keys[i].equals(term)) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        PostingList getOrAdd(String term) {
+            if (size + 1 > keys.length * 0.6f) {
+                resize();
+            }
+            int mask = keys.length - 1;
+            int i = (int) Hashing.hash64(term) & mask;
+            for (; keys[i] != null; i = (i + 1) & mask) {
+                if (keys[i].equals(term)) {
+                    return values[i];
+                }
+            }
+            keys[i] = term;
+            values[i] = new PostingList();
+            size++;
+            return values[i];
+        }
+
+        int size() {
+            return size;
+        }
+
+        private void resize() {
+            String[] oldKeys = keys;
+            PostingList[] oldValues = values;
+            keys = new String[oldKeys.length << 1];
+            values = new PostingList[oldKeys.length << 1];
+            int mask = keys.length - 1;
+            for (int k = 0; k < oldKeys.length; k++) {
+                if (oldKeys[k] != null) {
+                    int i = (int) Hashing.hash64(oldKeys[k]) & mask;
+                    while (keys[i] != null) {
+                        i = (i + 1) & mask;
+                    }
+                    keys[i] = oldKeys[k];
+                    values[i] = oldValues[k];
+                }
+            }
+        }
+    }
+
+    private static final class PostingList {
+        byte[] data = new byte[8];
+        int length;
+        int count;
+        int lastDoc = -1;
+        // Entry i: last ordinal of block i, and the offset where block i + 1 starts
+        int[] skipDocs;
+        int[] skipOffsets;
+        int skips;
+
+        void add(int doc, int tfTitle, int tfSummary) {
+            if (count > 0 && count % SKIP_INTERVAL == 0) {
+                if (skipDocs == null || skips == skipDocs.length) {
+                    int capacity = skipDocs == null ? 4 : skips * 2;
+                    skipDocs = skipDocs == null ? new int[capacity] : Arrays.copyOf(skipDocs, capacity);
+                    skipOffsets = skipOffsets == null ? new int[capacity] : Arrays.copyOf(skipOffsets, capacity);
+                }
+                skipDocs[skips] = lastDoc;
+                skipOffsets[skips] = length;
+                skips++;
+            }
+            if (length + 15 > data.length) {
+                data = Arrays.copyOf(data, Math.max(length + 15, data.length * 2));
+            }
+            writeVInt(doc - lastDoc);
+            writeVInt(tfTitle);
+            writeVInt(tfSummary);
+            lastDoc = doc;
+            count++;
+        }
+
+        void trim() {
+            data = Arrays.copyOf(data, length);
+        }
+
+        private void writeVInt(int v) {
+            while ((v & ~0x7f) != 0) {
+                data[length++] = (byte) ((v & 0x7f) | 0x80);
+                v >>>= 7;
+            }
+            data[length++] = (byte) v;
+        }
+    }
+
+    private static final class Cursor {
+        final PostingList list;
+        int offset;
+        int index;
+        int nextSkip;
+        int doc = -1;
+        int tfTitle;
+        int tfSummary;
+
+        Cursor(PostingList list) {
+            this.list = list;
+        }
+
+        int next() {
+            if (index >= list.count) {
+                return doc = NO_MORE;
+            }
+            doc += readVInt();
+            tfTitle = readVInt();
+            tfSummary = readVInt();
+            index++;
+            return doc;
+        }
+
+        int advance(int target) {
+            if (doc >= target) {
+                return doc;
+            }
+            while (nextSkip < list.skips && list.skipDocs[nextSkip] < target) {
+                int blockStart = (nextSkip + 1) * SKIP_INTERVAL;
+                if (blockStart > index) {
+                    offset = list.skipOffsets[nextSkip];
+                    index = blockStart;
+                    doc = list.skipDocs[nextSkip];
+                }
+                nextSkip++;
+            }
+            while (doc < target) {
+                next();
+            }
+            return doc;
+        }
+
+        private int readVInt() {
+            byte[] data = list.data;
+            int b = data[offset++];
+            int v = b & 0x7f;
+            for (int shift = 7; b < 0; shift += 7) {
+                b = data[offset++];
+                v |= (b & 0x7f) << shift;
+            }
+            return v;
+        }
+    }
+
+    // Bounded min-heap of (key, ordinal); ties go to the higher (newer) ordinal
+    private static final class TopDocs {
+        private final double[] keys;
+        private final int[] docs;
+        private int size;
+
+        TopDocs(int capacity) {
+            keys = new double[Math.max(capacity, 0)];
+            docs = new int[Math.max(capacity, 0)];
+        }
+
+        void offer(double key, int doc) {
+            if (keys.length == 0) {
+                return;
+            }
+            if (size < keys.length) {
+                keys[size] = key;
+                docs[size] = doc;
+                siftUp(size++);
+            } else if (less(keys[0], docs[0], key, doc)) {
+                keys[0] = key;
+                docs[0] = doc;
+                siftDown(0);
+            }
+        }
+
+        int[] sortedDescending() {
+            int[] out = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                out[i] = docs[0];
+                size--;
+                keys[0] = keys[size];
+                docs[0] = docs[size];
+                siftDown(0);
+            }
+            return out;
+        }
+
+        private static boolean less(double k1, int d1, double k2, int d2) {
+            return k1 < k2 || k1 == k2 && d1 < d2;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!less(keys[i], docs[i], keys[parent], docs[parent])) {
+                    break;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) {
+                    return;
+                }
+                int smallest = left;
+                int right = left + 1;
+                if (right < size && less(keys[right], docs[right], keys[left], docs[left])) {
+                    smallest = right;
+                }
+                if (!less(keys[smallest], docs[smallest], keys[i], docs[i])) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            double k = keys[a];
+            keys[a] = keys[b];
+            keys[b] = k;
+            int d = docs[a];
+            docs[a] = docs[b];
+            docs[b] = d;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.newshub.backend.infrastructure.utils;
+
+/**
+ * Open-addressing set of primitive longs (linear probing, backward-shift deletion).
+ * Not thread-safe; callers synchronize.
+ */
+public class LongHashSet {
+
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] table;
+    private int size;
+    private boolean containsZero;
+
+    public LongHashSet(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expected / LOAD_FACTOR)) - 1) << 1;
+        table = new long[capacity];
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return containsZero;
+        }
+        int mask = table.length - 1;
+        int i = (int) Hashing.mix64(value) & mask;
+        while (table[i] != EMPTY) {
+            if (table[i] == value) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            boolean added = !containsZero;
+            containsZero = true;
+            if (added) {
+                size++;
+            }
+            return added;
+        }
+        if (size + 1 > table.length * LOAD_FACTOR) {
+            resize(table.length << 1);
+        }
+        int mask = table.length - 1;
+        int i = (int) Hashing.mix64(value) & mask;
+        while (table[i] != EMPTY) {
+            if (table[i] == value) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        table[i] = value;
+        size++;
+        return true;
+    }
+
+    public boolean remove(long value) {
+        if (value == EMPTY) {
+            boolean removed = containsZero;
+            containsZero = false;
+            if (removed) {
+                size--;
+            }
+            return removed;
+        }
+        int mask = table.length - 1;
+        int i = (int) Hashing.mix64(value) & mask;
+        while (table[i] != value) {
+            if (table[i] == EMPTY) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        // Shift following entries of the probe chain back into the hole
+        int hole = i;
+        int j = (i + 1) & mask;
+        while (table[j] != EMPTY) {
+            int home = (int) Hashing.mix64(table[j]) & mask;
+            boolean movable = hole <= j ? (home <= hole || home > j) : (home <= hole && home > j);
+            if (movable) {
+                table[hole] = table[j];
+                hole = j;
+            }
+            j = (j + 1) & mask;
+        }
+        table[hole] = EMPTY;
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long memoryBytes() {
+        return (long) table.length * Long.BYTES;
+    }
+
+    private void resize(int capacity) {
+        long[] old = table;
+        table = new long[capacity];
+        int mask = capacity - 1;
+        for (long value : old) {
+            if (value != EMPTY) {
+                int i = (int) Hashing.mix64(value) & mask;
+                while (table[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                table[i] = value;
+            }
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.newshub.backend.infrastructure.utils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * MinHash signatures with LSH banding, for finding documents whose term sets overlap. A
+ * signature holds bands * rows minimum hashes; two documents with Jaccard similarity s share at
+ * least one band with probability 1 - (1 - s^rows)^bands, so only those become candidates, and
+ * candidates are ranked by the share of equal signature slots (an unbiased estimate of s).
+ * Documents get increasing ordinals and each band bucket is a linked list over a posting pool;
+ * removal tombstones the ordinal and compact() rebuilds once they pile up. Queries share a read
+ * lock; changes take the write lock.
+ */
+public class MinHashIndex {
+
+    private static final byte DELETED = 1;
+    private static final int NONE = -1;
+    private static final long SEED = 0x9e3779b97f4a7c15L;
+
+    private final int bands;
+    private final int rows;
+    private final int hashes;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Document columns by ordinal; guarded by lock
+    private long[] docIds;
+    private long[] publishTimes;
+    private int[] signatures;
+    private byte[] flags;
+    private int ordinals;
+    private int liveDocs;
+    private LongIntHashMap ordinalById;
+
+    // Band key -> first posting; postings chain through next
+    private LongIntHashMap heads;
+    private int[] postingDocs;
+    private int[] postingNext;
+    private int postings;
+
+    public MinHashIndex(int bands, int rows, int expectedDocs) {
+        this.bands = Math.max(1, bands);
+        this.rows = Math.max(1, rows);
+        this.hashes = this.bands * this.rows;
+        init(Math.max(1024, expectedDocs));
+    }
+
+    /**
+     * The MinHash signature of a term set. An empty set gets all-max slots, which match each
+     * other but are never queried (see add).
+     */
+    public int[] signature(Collection<String> terms) {
+        int[] sig = new int[hashes];
+        Arrays.fill(sig, Integer.MAX_VALUE);
+        for (String term : terms) {
+            long h = Hashing.hash64(term);
+            for (int i = 0; i < hashes; i++) {
+                int v = (int) (Hashing.mix64(h + SEED * (i + 1)) >>> 33);
+                if (v < sig[i]) {
+                    sig[i] = v;
+                }
+            }
+        }
+        return sig;
+    }
+
+    /**
+     * Adds the document, replacing any earlier version with the same id. Documents without
+     * terms are not indexed.
+     */
+    public void add(long id, int[] signature, long publishTime) {
+        if (signature.length != hashes) {
+            throw new IllegalArgumentException("signature has " + signature.length + " slots, expected " + hashes);
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (signature[0] == Integer.MAX_VALUE) {
+                return;
+            }
+            if (ordinals == docIds.length) {
+                grow();
+            }
+            int ord = ordinals++;
+            docIds[ord] = id;
+            publishTimes[ord] = publishTime;
+            flags[ord] = 0;
+            System.arraycopy(signature, 0, signatures, ord * hashes, hashes);
+            ordinalById.put(id, ord);
+            liveDocs++;
+            for (int b = 0; b < bands; b++) {
+                link(bandKey(signatures, ord * hashes, b), ord);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            return removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every document published before cutoff (epoch millis).
+     */
+    public int removePublishedBefore(long cutoff) {
+        lock.writeLock().lock();
+        try {
+            int removed = 0;
+            for (int ord = 0; ord < ordinals; ord++) {
+                if (flags[ord] != DELETED && publishTimes[ord] < cutoff && removeLocked(docIds[ord])) {
+                    removed++;
+                }
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return ordinalById.get(id, NONE) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the documents most similar to id, best first, with estimated Jaccard similarity
+     * in [minSimilarity, maxSimilarity]. Looks at no more than maxCandidates bucket entries.
+     * Empty if id is not indexed.
+     */
+    public long[] similar(long id, int limit, double minSimilarity, double maxSimilarity, int maxCandidates) {
+        lock.readLock().lock();
+        try {
+            int self = ordinalById.get(id, NONE);
+            if (self < 0 || limit <= 0) {
+                return new long[0];
+            }
+            int base = self * hashes;
+            int[] candidates = new int[Math.min(maxCandidates, 1024)];
+            int n = 0;
+            outer:
+            for (int b = 0; b < bands; b++) {
+                for (int p = heads.get(bandKey(signatures, base, b), NONE); p != NONE; p = postingNext[p]) {
+                    int ord = postingDocs[p];
+                    if (ord == self || flags[ord] == DELETED) {
+                        continue;
+                    }
+                    if (n == candidates.length) {
+                        if (n >= maxCandidates) {
+                            break outer;
+                        }
+                        candidates = Arrays.copyOf(candidates, Math.min(maxCandidates, n * 2));
+                    }
+                    candidates[n++] = ord;
+                }
+            }
+            Arrays.sort(candidates, 0, n);
+
+            // (similarity, ordinal) packed so a plain sort ranks them; ties go to the newer ordinal
+            long[] ranked = new long[n];
+            int m = 0;
+            for (int i = 0; i < n; i++) {
+                if (i > 0 && candidates[i] == candidates[i - 1]) {
+                    continue;
+                }
+                int other = candidates[i] * hashes;
+                int same = 0;
+                for (int h = 0; h < hashes; h++) {
+                    if (signatures[base + h] == signatures[other + h]) {
+                        same++;
+                    }
+                }
+                double similarity = (double) same / hashes;
+                if (similarity >= minSimilarity && similarity <= maxSimilarity) {
+                    ranked[m++] = ((long) same << 32) | candidates[i];
+                }
+            }
+            Arrays.sort(ranked, 0, m);
+            long[] result = new long[Math.min(limit, m)];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = docIds[(int) ranked[m - 1 - i]];
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int tombstones() {
+        lock.readLock().lock();
+        try {
+            return ordinals - liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the columns and buckets from the live documents only.
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            long[] oldIds = docIds;
+            long[] oldTimes = publishTimes;
+            int[] oldSignatures = signatures;
+            byte[] oldFlags = flags;
+            int oldOrdinals = ordinals;
+            init(Math.max(1024, liveDocs + liveDocs / 4));
+            for (int old = 0; old < oldOrdinals; old++) {
+                if (oldFlags[old] == DELETED) {
+                    continue;
+                }
+                int ord = ordinals++;
+                docIds[ord] = oldIds[old];
+                publishTimes[ord] = oldTimes[old];
+                System.arraycopy(oldSignatures, old * hashes, signatures, ord * hashes, hashes);
+                ordinalById.put(docIds[ord], ord);
+                liveDocs++;
+                for (int b = 0; b < bands; b++) {
+                    link(bandKey(signatures, ord * hashes, b), ord);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("documents", liveDocs);
+            stats.put("tombstones", ordinals - liveDocs);
+            stats.put("buckets", heads.size());
+            stats.put("postings", postings);
+            stats.put("bands", bands);
+            stats.put("rows", rows);
+            stats.put("memoryBytes", (long) docIds.length * (Long.BYTES * 2 + 1) + (long) signatures.length * Integer.BYTES
+                    + ordinalById.memoryBytes() + heads.memoryBytes() + (long) postingDocs.length * Integer.BYTES * 2);
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- internals ---
+
+    private void init(int capacity) {
+        docIds = new long[capacity];
+        publishTimes = new long[capacity];
+        signatures = new int[capacity * hashes];
+        flags = new byte[capacity];
+        ordinals = 0;
+        liveDocs = 0;
+        ordinalById = new LongIntHashMap(capacity);
+        heads = new LongIntHashMap(capacity * bands);
+        postingDocs = new int[capacity * bands];
+        postingNext = new int[capacity * bands];
+        postings = 0;
+    }
+
+    private boolean removeLocked(long id) {
+        int ord = ordinalById.get(id, NONE);
+        if (ord < 0) {
+            return false;
+        }
+        ordinalById.remove(id);
+        flags[ord] = DELETED;
+        liveDocs--;
+        return true;
+    }
+
+    private void link(long key, int ord) {
+        if (postings == postingDocs.length) {
+            postingDocs = Arrays.copyOf(postingDocs, postings * 2);
+            postingNext = Arrays.copyOf(postingNext, postings * 2);
+        }
+        postingDocs[postings] = ord;
+        postingNext[postings] = heads.get(key, NONE);
+        heads.put(key, postings++);
+    }
+
+    // The band's rows folded into one key, with the band number mixed in; 0 is reserved by the map
+    private long bandKey(int[] sigs, int base, int band) {
+        long h = band + 1;
+        for (int r = 0; r < rows; r++) {
+            h = Hashing.mix64(h * 31 + sigs[base + band * rows + r]);
+        }
+        return h == 0 ? 1 : h;
+    }
+
+    private void grow() {
+        int capacity = docIds.length * 2;
+        docIds = Arrays.copyOf(docIds, capacity);
+        publishTimes = Arrays.copyOf(publishTimes, capacity);
+        signatures = Arrays.copyOf(signatures, capacity * hashes);
+        flags = Arrays.copyOf(flags, capacity);
+    }
+}
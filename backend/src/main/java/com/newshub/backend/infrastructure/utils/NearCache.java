@@ -0,0 +1,308 @@
+package com.newshub.backend.infrastructure.utils;
+
+import com.newshub.backend.domain.model.Article;
+import com.newshub.backend.domain.model.ArticleSummary;
+import com.newshub.backend.domain.model.Comment;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Bounded in-process cache with per-entry TTL and W-TinyLFU style eviction.
+ * New entries land in a small FIFO admission window; when the window overflows its oldest
+ * entry must beat a sampled victim from the main region on sketch frequency to stay.
+ * Reads are lock-free; writes and eviction take a single lock.
+ */
+public class NearCache {
+
+    private static final int SAMPLE_SIZE = 8;
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private static final class Node {
+        final String key;
+        final long hash;
+        final Object value;
+        final int weight;
+        final long expiresAt;
+        volatile long lastAccess;
+        // Window links (intrusive FIFO) or index in the main list; guarded by the lock
+        Node prev;
+        Node next;
+        boolean inWindow;
+        int mainIndex = -1;
+
+        Node(String key, long hash, Object value, int weight, long expiresAt) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
+            this.lastAccess = System.nanoTime();
+        }
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Node> data = new ConcurrentHashMap<>();
+    private final FrequencySketch sketch;
+    private final CacheStats stats = new CacheStats();
+    private final long maxWeight;
+    private final long windowMaxWeight;
+    private final Object lock = new Object();
+
+    private Node windowHead;
+    private Node windowTail;
+    private long windowWeight;
+    private final ArrayList<Node> main = new ArrayList<>();
+    private long mainWeight;
+
+    public NearCache(long maxWeight) {
+        this.maxWeight = maxWeight;
+        // 1% window as in W-TinyLFU, but at least room for one typical feed list
+        this.windowMaxWeight = Math.max(maxWeight / 100, Math.min(maxWeight / 4, 256 * 1024));
+        this.sketch = new FrequencySketch((int) Math.min(1 << 20, Math.max(1024, maxWeight / 1024)));
+    }
+
+    public Object get(String key) {
+        long hash = Hashing.hash64(key);
+        sketch.increment(hash);
+        Node node = data.get(key);
+        if (node == null) {
+            stats.miss(key);
+            return null;
+        }
+        if (node.isExpired(System.currentTimeMillis())) {
+            remove(key, node);
+            stats.miss(key);
+            return null;
+        }
+        node.lastAccess = System.nanoTime();
+        stats.hit(key);
+        return node.value;
+    }
+
+    public void put(String key, Object value, long ttlMillis) {
+        if (value == null || ttlMillis <= 0) {
+            remove(key);
+            return;
+        }
+        int weight = estimateWeight(key) + estimateWeight(value) + ENTRY_OVERHEAD;
+        if (weight > maxWeight / 2) {
+            // Never let one value flush most of the cache
+            remove(key);
+            return;
+        }
+        long hash = Hashing.hash64(key);
+        sketch.increment(hash);
+        Node node = new Node(key, hash, value, weight, System.currentTimeMillis() + ttlMillis);
+        synchronized (lock) {
+            Node old = data.put(key, node);
+            if (old != null) {
+                unlink(old);
+            }
+            linkWindow(node);
+            evict();
+        }
+    }
+
+    public void remove(String key) {
+        synchronized (lock) {
+            Node node = data.remove(key);
+            if (node != null) {
+                unlink(node);
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (lock) {
+            data.clear();
+            windowHead = windowTail = null;
+            windowWeight = 0;
+            main.clear();
+            mainWeight = 0;
+        }
+    }
+
+    public int size() {
+        return data.size();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> result = new HashMap<>();
+        synchronized (lock) {
+            result.put("entries", data.size());
+            result.put("weightBytes", windowWeight + mainWeight);
+        }
+        result.put("maxWeightBytes", maxWeight);
+        result.put("prefixes", stats.snapshot());
+        return result;
+    }
+
+    private void remove(String key, Node node) {
+        synchronized (lock) {
+            if (data.remove(key, node)) {
+                unlink(node);
+            }
+        }
+    }
+
+    // Called with the lock held
+    private void evict() {
+        while (windowWeight > windowMaxWeight) {
+            Node candidate = windowHead;
+            unlinkWindow(candidate);
+            linkMain(candidate);
+            while (windowWeight + mainWeight > maxWeight) {
+                Node victim = sampleVictim(candidate);
+                if (victim == null
+                        || sketch.frequency(candidate.hash) <= sketch.frequency(victim.hash)
+                        && !victim.isExpired(System.currentTimeMillis())) {
+                    evictNode(candidate);
+                    break;
+                }
+                evictNode(victim);
+            }
+        }
+        while (windowWeight + mainWeight > maxWeight) {
+            Node victim = sampleVictim(null);
+            evictNode(victim != null ? victim : windowHead);
+        }
+    }
+
+    // Least frequent of a few random main entries; expired entries are taken immediately
+    private Node sampleVictim(Node exclude) {
+        int n = main.size();
+        if (n == 0 || (n == 1 && main.get(0) == exclude)) {
+            return null;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now = System.currentTimeMillis();
+        Node best = null;
+        int bestFreq = Integer.MAX_VALUE;
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            Node node = main.get(random.nextInt(n));
+            if (node == exclude) {
+                continue;
+            }
+            if (node.isExpired(now)) {
+                return node;
+            }
+            int freq = sketch.frequency(node.hash);
+            if (freq < bestFreq || (freq == bestFreq && node.lastAccess < best.lastAccess)) {
+                best = node;
+                bestFreq = freq;
+            }
+        }
+        return best;
+    }
+
+    private void evictNode(Node node) {
+        if (data.remove(node.key, node)) {
+            stats.eviction(node.key);
+        }
+        unlink(node);
+    }
+
+    private void unlink(Node node) {
+        if (node.inWindow) {
+            unlinkWindow(node);
+        } else if (node.mainIndex >= 0) {
+            int last = main.size() - 1;
+            Node moved = main.get(last);
+            main.set(node.mainIndex, moved);
+            moved.mainIndex = node.mainIndex;
+            main.remove(last);
+            node.mainIndex = -1;
+            mainWeight -= node.weight;
+        }
+    }
+
+    private void linkWindow(Node node) {
+        node.inWindow = true;
+        node.prev = windowTail;
+        if (windowTail == null) {
+            windowHead = node;
+        } else {
+            windowTail.next = node;
+        }
+        windowTail = node;
+        windowWeight += node.weight;
+    }
+
+    private void unlinkWindow(Node node) {
+        if (node.prev == null) {
+            windowHead = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            windowTail = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+        node.prev = node.next = null;
+        node.inWindow = false;
+        windowWeight -= node.weight;
+    }
+
+    private void linkMain(Node node) {
+        node.mainIndex = main.size();
+        main.add(node);
+        mainWeight += node.weight;
+    }
+
+    /**
+     * Rough retained size in bytes; only needs to be proportional, not exact.
+     */
+    public static int estimateWeight(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof CharSequence s) {
+            return 40 + 2 * s.length();
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return 16;
+        }
+        if (value instanceof CachedValue v) {
+            return 32 + estimateWeight(v.getValue());
+        }
+        if (value instanceof ArticleSummary s) {
+            return 112 + estimateWeight(s.getTitle()) + estimateWeight(s.getSummary())
+                    + estimateWeight(s.getCoverImage()) + estimateWeight(s.getSourceName())
+                    + estimateWeight(s.getCategoryName());
+        }
+        if (value instanceof Comment c) {
+            return 120 + estimateWeight(c.getContent()) + estimateWeight(c.getUsername())
+                    + estimateWeight(c.getAvatar()) + estimateWeight(c.getReplies());
+        }
+        if (value instanceof Article a) {
+            return 160 + estimateWeight(a.getTitle()) + estimateWeight(a.getSummary())
+                    + estimateWeight(a.getContent()) + estimateWeight(a.getCoverImage())
+                    + estimateWeight(a.getSourceUrl()) + estimateWeight(a.getSourceName())
+                    + estimateWeight(a.getCategoryName());
+        }
+        if (value instanceof Collection<?> c) {
+            long total = 40;
+            for (Object o : c) {
+                total += 8 + estimateWeight(o);
+            }
+            return (int) Math.min(Integer.MAX_VALUE, total);
+        }
+        if (value instanceof Map<?, ?> m) {
+            long total = 64;
+            for (Map.Entry<?, ?> e : m.entrySet()) {
+                total += 32 + estimateWeight(e.getKey()) + estimateWeight(e.getValue());
+            }
+            return (int) Math.min(Integer.MAX_VALUE, total);
+        }
+        return 256;
+    }
+}
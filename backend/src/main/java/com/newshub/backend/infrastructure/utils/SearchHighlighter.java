@@ -0,0 +1,80 @@
+package com.newshub.backend.infrastructure.utils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Marks query terms in a text with &lt;em&gt; tags. The text is HTML-escaped, so the result can be
+ * rendered as markup. With a fragment length, only a window around the first match is kept.
+ */
+public final class SearchHighlighter {
+
+    private SearchHighlighter() {
+    }
+
+    public static String highlight(String text, List<String> terms, int fragmentLength) {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        // Case folding that changes the length would shift every offset; fall back to plain text
+        boolean[] marked = new boolean[text.length()];
+        if (lower.length() == text.length()) {
+            for (String term : terms) {
+                for (int i = lower.indexOf(term); i >= 0; i = lower.indexOf(term, i + 1)) {
+                    Arrays.fill(marked, i, i + term.length(), true);
+                }
+            }
+        }
+
+        int start = 0;
+        int end = text.length();
+        if (fragmentLength > 0 && text.length() > fragmentLength) {
+            int first = 0;
+            while (first < marked.length && !marked[first]) {
+                first++;
+            }
+            if (first == marked.length) {
+                first = 0;
+            }
+            start = Math.max(0, Math.min(first - fragmentLength / 4, text.length() - fragmentLength));
+            end = start + fragmentLength;
+            // Never cut a surrogate pair in half
+            if (start > 0 && Character.isLowSurrogate(text.charAt(start))) {
+                start--;
+            }
+            if (end < text.length() && Character.isLowSurrogate(text.charAt(end))) {
+                end++;
+            }
+        }
+
+        StringBuilder out = new StringBuilder(end - start + 32);
+        if (start > 0) {
+            out.append("…");
+        }
+        boolean open = false;
+        for (int i = start; i < end; i++) {
+            if (marked[i] != open) {
+                out.append(open ? "</em>" : "<em>");
+                open = marked[i];
+            }
+            char ch = text.charAt(i);
+            switch (ch) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(ch);
+            }
+        }
+        if (open) {
+            out.append("</em>");
+        }
+        if (end < text.length()) {
+            out.append("…");
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,69 @@
+package com.newshub.backend.infrastructure.utils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits text into index terms. Input is NFKC-normalized and lower-cased; runs of letters and
+ * digits become one word term each, and runs of CJK characters (which carry no spaces) become
+ * overlapping bigrams, the same scheme as MySQL's ngram parser with ngram_token_size=2. A CJK
+ * run of one character is kept as a unigram.
+ */
+public final class SearchTokenizer {
+
+    private static final int MAX_WORD_LENGTH = 40;
+
+    private SearchTokenizer() {
+    }
+
+    /**
+     * Terms in text order, with repeats.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        String s = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        int i = 0;
+        int n = s.length();
+        while (i < n) {
+            int cp = s.codePointAt(i);
+            if (isCjk(cp)) {
+                int start = i;
+                int prev = -1;
+                int count = 0;
+                while (i < n && isCjk(cp = s.codePointAt(i))) {
+                    if (prev >= 0) {
+                        terms.add(s.substring(prev, i + Character.charCount(cp)));
+                    }
+                    prev = i;
+                    i += Character.charCount(cp);
+                    count++;
+                }
+                if (count == 1) {
+                    terms.add(s.substring(start, i));
+                }
+            } else if (Character.isLetterOrDigit(cp)) {
+                int start = i;
+                while (i < n && !isCjk(cp = s.codePointAt(i)) && Character.isLetterOrDigit(cp)) {
+                    i += Character.charCount(cp);
+                }
+                terms.add(i - start > MAX_WORD_LENGTH ? s.substring(start, start + MAX_WORD_LENGTH) : s.substring(start, i));
+            } else {
+                i += Character.charCount(cp);
+            }
+        }
+        return terms;
+    }
+
+    private static boolean isCjk(int cp) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(cp);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
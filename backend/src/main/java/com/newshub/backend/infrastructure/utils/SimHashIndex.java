@@ -0,0 +1,355 @@
+package com.newshub.backend.infrastructure.utils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 64-bit SimHash fingerprints with a banded index for Hamming-distance lookups. A fingerprint
+ * sets bit i when the weighted vote of its features' hash bit i is positive, so texts that share
+ * most features differ in few bits. The 64 bits are cut into four 16-bit blocks and every
+ * fingerprint is listed under each of its four block values. Two fingerprints within maxDistance
+ * bits of each other differ in at most maxDistance / 4 bits of some block, so a lookup probes
+ * every block value within that radius of the query's and is exact: one probe per block up to a
+ * distance of 3, 17 up to 7, 137 up to 11.
+ * <p>
+ * A bucket is a chain of chunks in one long pool, each chunk twice the size of the one before it
+ * (up to MAX_CHUNK), newest first; a chunk stores its fingerprints side by side and its ordinals
+ * after them, so a lookup scans candidates sequentially instead of chasing one pointer per
+ * posting, and reads an ordinal only for a fingerprint within range. compact() drops tombstoned
+ * ordinals and lays every bucket out as a single chunk, so a lookup into a compacted index costs
+ * one cache miss per probe. Queries share a read lock; changes take the write lock.
+ */
+public class SimHashIndex {
+
+    // Radius 2 per block; beyond that a lookup probes most of the table
+    public static final int MAX_DISTANCE = 11;
+
+    private static final int BLOCKS = 4;
+    private static final int BLOCK_BITS = 16;
+    private static final int BLOCK_MASK = (1 << BLOCK_BITS) - 1;
+    private static final byte DELETED = 1;
+    private static final int NONE = -1;
+    private static final int MIN_CHUNK = 2;
+    private static final int MAX_CHUNK = 64;
+
+    private final int maxDistance;
+    // Block-value masks with at most maxDistance / 4 bits set, fewest bits first
+    private final int[] probes;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Document columns by ordinal; guarded by lock
+    private long[] docIds;
+    private long[] fingerprints;
+    private long[] times;
+    private byte[] flags;
+    private int ordinals;
+    private int liveDocs;
+    private LongIntHashMap ordinalById;
+
+    // (block << 16 | value) -> offset of the newest chunk. A chunk of capacity c at offset o is a
+    // header (capacity << 48 | count << 32 | next chunk offset) at pool[o], then c fingerprints, then c ordinals
+    private final int[] heads = new int[BLOCKS << BLOCK_BITS];
+    private long[] pool;
+    private int poolUsed;
+    private int postings;
+
+    public SimHashIndex(int maxDistance, int expectedDocs) {
+        this.maxDistance = Math.max(1, Math.min(maxDistance, MAX_DISTANCE));
+        this.probes = probes(this.maxDistance / BLOCKS);
+        init(Math.max(1024, expectedDocs));
+    }
+
+    /**
+     * The SimHash of a weighted feature set; features are hashed with {@link Hashing#hash64}.
+     */
+    public static long fingerprint(Map<String, Integer> weights) {
+        long[] votes = new long[64];
+        for (Map.Entry<String, Integer> e : weights.entrySet()) {
+            long h = Hashing.hash64(e.getKey());
+            int w = e.getValue();
+            for (int i = 0; i < 64; i++) {
+                votes[i] += ((h >>> i) & 1L) != 0 ? w : -w;
+            }
+        }
+        long fingerprint = 0;
+        for (int i = 0; i < 64; i++) {
+            if (votes[i] > 0) {
+                fingerprint |= 1L << i;
+            }
+        }
+        return fingerprint;
+    }
+
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    public int maxDistance() {
+        return maxDistance;
+    }
+
+    /**
+     * Adds the document, replacing any earlier version with the same id.
+     */
+    public void add(long id, long fingerprint, long time) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (ordinals == docIds.length) {
+                grow();
+            }
+            int ord = ordinals++;
+            docIds[ord] = id;
+            fingerprints[ord] = fingerprint;
+            times[ord] = time;
+            flags[ord] = 0;
+            ordinalById.put(id, ord);
+            liveDocs++;
+            for (int b = 0; b < BLOCKS; b++) {
+                link(bucket(fingerprint, b), fingerprint, ord);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            return removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every document with a time before cutoff.
+     */
+    public int removeOlderThan(long cutoff) {
+        lock.writeLock().lock();
+        try {
+            int removed = 0;
+            for (int ord = 0; ord < ordinals; ord++) {
+                if (flags[ord] != DELETED && times[ord] < cutoff && removeLocked(docIds[ord])) {
+                    removed++;
+                }
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return ordinalById.get(id, NONE) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Id of the closest document within maxDistance bits of fingerprint, the newest one on a
+     * tie, or -1 if there is none.
+     */
+    public long nearest(long fingerprint) {
+        lock.readLock().lock();
+        try {
+            int best = NONE;
+            int bestDistance = maxDistance;
+            for (int b = 0; b < BLOCKS; b++) {
+                int bucket = bucket(fingerprint, b);
+                for (int probe : probes) {
+                    for (int c = heads[bucket ^ probe]; c != NONE; ) {
+                        long header = pool[c];
+                        int count = (int) (header >>> 32) & 0xffff;
+                        int capacity = (int) (header >>> 48);
+                        for (int i = 0; i < count; i++) {
+                            int d = distance(fingerprint, pool[c + 1 + i]);
+                            if (d <= bestDistance) {
+                                int ord = (int) pool[c + 1 + capacity + i];
+                                if ((d < bestDistance || ord > best) && flags[ord] != DELETED) {
+                                    best = ord;
+                                    bestDistance = d;
+                                }
+                            }
+                        }
+                        c = (int) header;
+                    }
+                }
+            }
+            return best == NONE ? NONE : docIds[best];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int tombstones() {
+        lock.readLock().lock();
+        try {
+            return ordinals - liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the columns and buckets from the live documents only, one chunk per bucket.
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            long[] oldIds = docIds;
+            long[] oldFingerprints = fingerprints;
+            long[] oldTimes = times;
+            byte[] oldFlags = flags;
+            int oldOrdinals = ordinals;
+            int[] counts = new int[heads.length];
+            for (int old = 0; old < oldOrdinals; old++) {
+                if (oldFlags[old] != DELETED) {
+                    for (int b = 0; b < BLOCKS; b++) {
+                        counts[bucket(oldFingerprints[old], b)]++;
+                    }
+                }
+            }
+            init(Math.max(1024, liveDocs + liveDocs / 4));
+            // One chunk per bucket, sized to fit; the links below fill them in place
+            for (int bucket = 0; bucket < counts.length; bucket++) {
+                if (counts[bucket] > 0) {
+                    int capacity = Math.min(counts[bucket], 0xffff);
+                    heads[bucket] = allocate(capacity);
+                    pool[heads[bucket]] = header(capacity, 0, NONE);
+                }
+            }
+            for (int old = 0; old < oldOrdinals; old++) {
+                if (oldFlags[old] == DELETED) {
+                    continue;
+                }
+                int ord = ordinals++;
+                docIds[ord] = oldIds[old];
+                fingerprints[ord] = oldFingerprints[old];
+                times[ord] = oldTimes[old];
+                ordinalById.put(docIds[ord], ord);
+                liveDocs++;
+                for (int b = 0; b < BLOCKS; b++) {
+                    link(bucket(fingerprints[ord], b), fingerprints[ord], ord);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("documents", liveDocs);
+            stats.put("tombstones", ordinals - liveDocs);
+            stats.put("postings", postings);
+            stats.put("maxDistance", maxDistance);
+            stats.put("probesPerBlock", probes.length);
+            stats.put("memoryBytes", (long) docIds.length * (Long.BYTES * 3 + 1) + ordinalById.memoryBytes()
+                    + (long) heads.length * Integer.BYTES + (long) pool.length * Long.BYTES);
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- internals ---
+
+    private void init(int capacity) {
+        docIds = new long[capacity];
+        fingerprints = new long[capacity];
+        times = new long[capacity];
+        flags = new byte[capacity];
+        ordinals = 0;
+        liveDocs = 0;
+        ordinalById = new LongIntHashMap(capacity);
+        Arrays.fill(heads, NONE);
+        pool = new long[capacity * BLOCKS * 3];
+        poolUsed = 0;
+        postings = 0;
+    }
+
+    private boolean removeLocked(long id) {
+        int ord = ordinalById.get(id, NONE);
+        if (ord < 0) {
+            return false;
+        }
+        ordinalById.remove(id);
+        flags[ord] = DELETED;
+        liveDocs--;
+        return true;
+    }
+
+    private void link(int bucket, long fingerprint, int ord) {
+        int head = heads[bucket];
+        int count = head == NONE ? 0 : (int) (pool[head] >>> 32) & 0xffff;
+        int capacity = head == NONE ? 0 : (int) (pool[head] >>> 48);
+        if (count == capacity) {
+            int next = head;
+            capacity = head == NONE ? MIN_CHUNK : Math.min(capacity * 2, MAX_CHUNK);
+            count = 0;
+            head = allocate(capacity);
+            pool[head] = header(capacity, 0, next);
+            heads[bucket] = head;
+        }
+        pool[head + 1 + count] = fingerprint;
+        pool[head + 1 + capacity + count] = ord;
+        pool[head] = header(capacity, count + 1, (int) pool[head]);
+        postings++;
+    }
+
+    // Offset of a new chunk with room for capacity postings
+    private int allocate(int capacity) {
+        while (poolUsed + 1 + 2 * capacity > pool.length) {
+            pool = Arrays.copyOf(pool, pool.length * 2);
+        }
+        int offset = poolUsed;
+        poolUsed += 1 + 2 * capacity;
+        return offset;
+    }
+
+    private static long header(int capacity, int count, int next) {
+        return ((long) capacity << 48) | ((long) count << 32) | (next & 0xffffffffL);
+    }
+
+    private static int bucket(long fingerprint, int block) {
+        return (block << BLOCK_BITS) | (int) (fingerprint >>> (block * BLOCK_BITS)) & BLOCK_MASK;
+    }
+
+    private static int[] probes(int radius) {
+        int[] probes = new int[1 << BLOCK_BITS];
+        int n = 0;
+        for (int bits = 0; bits <= radius; bits++) {
+            for (int mask = 0; mask <= BLOCK_MASK; mask++) {
+                if (Integer.bitCount(mask) == bits) {
+                    probes[n++] = mask;
+                }
+            }
+        }
+        return Arrays.copyOf(probes, n);
+    }
+
+    private void grow() {
+        int capacity = docIds.length * 2;
+        docIds = Arrays.copyOf(docIds, capacity);
+        fingerprints = Arrays.copyOf(fingerprints, capacity);
+        times = Arrays.copyOf(times, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+    }
+}
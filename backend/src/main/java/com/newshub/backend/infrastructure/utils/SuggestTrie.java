@@ -0,0 +1,402 @@
+package com.newshub.backend.infrastructure.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Radix trie (path-compressed) from string keys to scored entries, answering "best K entries
+ * under this prefix" without walking the subtree: every node caches the top K entries below
+ * it, best first. An entry can sit under several keys. Scores may only grow in place
+ * (increment); lowering one means remove and put. Lookups share a read lock; changes take the
+ * write lock.
+ */
+public class SuggestTrie<V> {
+
+    private static final Entry<?>[] NO_ENTRIES = new Entry<?>[0];
+    private static final Node<?>[] NO_NODES = new Node<?>[0];
+    private static final Comparator<Entry<?>> BEST_FIRST = (a, b) -> Double.compare(b.score, a.score);
+
+    private final int topK;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private final Node<V> root = new Node<>(new char[0]);
+    private final Map<String, Entry<V>> entries = new HashMap<>();
+    private int nodes = 1;
+
+    private static final class Entry<V> {
+        final V value;
+        final String[] keys;
+        double score;
+
+        Entry(V value, String[] keys, double score) {
+            this.value = value;
+            this.keys = keys;
+            this.score = score;
+        }
+    }
+
+    private static final class Node<V> {
+        char[] label;
+        // Children sorted by the first char of their label
+        char[] firsts = new char[0];
+        Node<V>[] kids = empty();
+        // Entries whose key ends here, and the best K in the whole subtree
+        Entry<V>[] own = none();
+        Entry<V>[] top = none();
+
+        Node(char[] label) {
+            this.label = label;
+        }
+    }
+
+    public SuggestTrie(int topK) {
+        this.topK = Math.max(1, topK);
+    }
+
+    /**
+     * Adds or replaces the entry with this id.
+     */
+    public void put(String id, V value, double score, List<String> keys) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            Entry<V> entry = new Entry<>(value, keys.stream().distinct().toArray(String[]::new), score);
+            entries.put(id, entry);
+            for (String key : entry.keys) {
+                insert(key, entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Raises the score of an existing entry. Returns false if there is none.
+     */
+    public boolean increment(String id, double delta) {
+        lock.writeLock().lock();
+        try {
+            Entry<V> entry = entries.get(id);
+            if (entry == null) {
+                return false;
+            }
+            entry.score += Math.max(0, delta);
+            for (String key : entry.keys) {
+                List<Node<V>> path = path(key);
+                for (Node<V> node : path) {
+                    offer(node, entry);
+                }
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(String id) {
+        lock.writeLock().lock();
+        try {
+            return removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Score of the entry, or NaN if there is none.
+     */
+    public double score(String id) {
+        lock.readLock().lock();
+        try {
+            Entry<V> entry = entries.get(id);
+            return entry == null ? Double.NaN : entry.score;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Multiplies every score by factor; the order is unchanged.
+     */
+    public void scale(double factor) {
+        lock.writeLock().lock();
+        try {
+            for (Entry<V> entry : entries.values()) {
+                entry.score *= factor;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The best entries (at most K) with a key starting with prefix, best first.
+     */
+    public List<V> top(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            Node<V> node = root;
+            int depth = 0;
+            while (depth < prefix.length()) {
+                int k = Arrays.binarySearch(node.firsts, prefix.charAt(depth));
+                if (k < 0) {
+                    return List.of();
+                }
+                node = node.kids[k];
+                char[] label = node.label;
+                int i = 0;
+                while (i < label.length && depth < prefix.length()) {
+                    if (label[i++] != prefix.charAt(depth++)) {
+                        return List.of();
+                    }
+                }
+            }
+            int n = Math.min(limit, node.top.length);
+            List<V> result = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                result.add(node.top[i].value);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int nodeCount() {
+        lock.readLock().lock();
+        try {
+            return nodes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- internals ---
+
+    private void insert(String key, Entry<V> entry) {
+        List<Node<V>> path = new ArrayList<>();
+        Node<V> node = root;
+        path.add(node);
+        int depth = 0;
+        while (depth < key.length()) {
+            char c = key.charAt(depth);
+            int k = Arrays.binarySearch(node.firsts, c);
+            if (k < 0) {
+                Node<V> leaf = new Node<>(key.substring(depth).toCharArray());
+                addChild(node, -k - 1, leaf);
+                node = leaf;
+                path.add(node);
+                depth = key.length();
+                break;
+            }
+            Node<V> child = node.kids[k];
+            char[] label = child.label;
+            int common = 0;
+            while (common < label.length && depth + common < key.length() && label[common] == key.charAt(depth + common)) {
+                common++;
+            }
+            if (common < label.length) {
+                // Split the edge: a new middle node takes the shared part of the label
+                Node<V> middle = new Node<>(Arrays.copyOf(label, common));
+                child.label = Arrays.copyOfRange(label, common, label.length);
+                middle.firsts = new char[]{child.label[0]};
+                middle.kids = newNodes(1);
+                middle.kids[0] = child;
+                middle.top = child.top.clone();
+                node.kids[k] = middle;
+                nodes++;
+                child = middle;
+            }
+            node = child;
+            path.add(node);
+            depth += common;
+        }
+        node.own = append(node.own, entry);
+        for (Node<V> n : path) {
+            offer(n, entry);
+        }
+    }
+
+    private boolean removeLocked(String id) {
+        Entry<V> entry = entries.remove(id);
+        if (entry == null) {
+            return false;
+        }
+        for (String key : entry.keys) {
+            List<Node<V>> path = path(key);
+            Node<V> end = path.get(path.size() - 1);
+            end.own = without(end.own, entry);
+        }
+        // Recompute caches bottom-up; a node shared by two keys is fixed by whichever walk runs last
+        for (String key : entry.keys) {
+            List<Node<V>> path = path(key);
+            for (int i = path.size() - 1; i >= 0; i--) {
+                Node<V> node = path.get(i);
+                if (indexOf(node.top, entry) >= 0) {
+                    recompute(node);
+                }
+                if (i > 0) {
+                    prune(path.get(i - 1), node);
+                }
+            }
+        }
+        return true;
+    }
+
+    // Nodes from the root towards the node where key ends, as far as they still exist
+    private List<Node<V>> path(String key) {
+        List<Node<V>> path = new ArrayList<>();
+        Node<V> node = root;
+        path.add(node);
+        int depth = 0;
+        while (depth < key.length()) {
+            int k = Arrays.binarySearch(node.firsts, key.charAt(depth));
+            if (k < 0) {
+                break;
+            }
+            node = node.kids[k];
+            path.add(node);
+            depth += node.label.length;
+        }
+        return path;
+    }
+
+    // Drops an empty leaf, or folds a node with one child and no entries into that child
+    private void prune(Node<V> parent, Node<V> node) {
+        int k = Arrays.binarySearch(parent.firsts, node.label[0]);
+        if (k < 0 || parent.kids[k] != node || node.own.length > 0) {
+            return;
+        }
+        if (node.kids.length == 0) {
+            removeChild(parent, k);
+            nodes--;
+        } else if (node.kids.length == 1) {
+            Node<V> child = node.kids[0];
+            char[] label = Arrays.copyOf(node.label, node.label.length + child.label.length);
+            System.arraycopy(child.label, 0, label, node.label.length, child.label.length);
+            child.label = label;
+            parent.kids[k] = child;
+            nodes--;
+        }
+    }
+
+    private void recompute(Node<V> node) {
+        List<Entry<V>> candidates = new ArrayList<>(Arrays.asList(node.own));
+        for (Node<V> kid : node.kids) {
+            candidates.addAll(Arrays.asList(kid.top));
+        }
+        candidates.sort(BEST_FIRST);
+        List<Entry<V>> best = new ArrayList<>(topK);
+        for (Entry<V> e : candidates) {
+            if (best.size() == topK) {
+                break;
+            }
+            if (!best.contains(e)) {
+                best.add(e);
+            }
+        }
+        node.top = best.toArray(none());
+    }
+
+    // Places entry in the node's cache if it belongs there; its score only ever went up
+    private void offer(Node<V> node, Entry<V> entry) {
+        Entry<V>[] top = node.top;
+        int at = indexOf(top, entry);
+        if (at < 0) {
+            if (top.length < topK) {
+                top = Arrays.copyOf(top, top.length + 1);
+            } else if (entry.score <= top[top.length - 1].score) {
+                return;
+            }
+            at = top.length - 1;
+            top[at] = entry;
+        }
+        while (at > 0 && top[at - 1].score < top[at].score) {
+            Entry<V> tmp = top[at - 1];
+            top[at - 1] = top[at];
+            top[at] = tmp;
+            at--;
+        }
+        node.top = top;
+    }
+
+    private void addChild(Node<V> node, int at, Node<V> child) {
+        char[] firsts = new char[node.firsts.length + 1];
+        Node<V>[] kids = newNodes(node.kids.length + 1);
+        System.arraycopy(node.firsts, 0, firsts, 0, at);
+        System.arraycopy(node.kids, 0, kids, 0, at);
+        firsts[at] = child.label[0];
+        kids[at] = child;
+        System.arraycopy(node.firsts, at, firsts, at + 1, node.firsts.length - at);
+        System.arraycopy(node.kids, at, kids, at + 1, node.kids.length - at);
+        node.firsts = firsts;
+        node.kids = kids;
+        nodes++;
+    }
+
+    private void removeChild(Node<V> node, int at) {
+        char[] firsts = new char[node.firsts.length - 1];
+        Node<V>[] kids = newNodes(node.kids.length - 1);
+        System.arraycopy(node.firsts, 0, firsts, 0, at);
+        System.arraycopy(node.kids, 0, kids, 0, at);
+        System.arraycopy(node.firsts, at + 1, firsts, at, firsts.length - at);
+        System.arraycopy(node.kids, at + 1, kids, at, kids.length - at);
+        node.firsts = firsts;
+        node.kids = kids;
+    }
+
+    private static <V> int indexOf(Entry<V>[] array, Entry<V> entry) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == entry) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static <V> Entry<V>[] append(Entry<V>[] array, Entry<V> entry) {
+        Entry<V>[] result = Arrays.copyOf(array, array.length + 1);
+        result[array.length] = entry;
+        return result;
+    }
+
+    private static <V> Entry<V>[] without(Entry<V>[] array, Entry<V> entry) {
+        int at = indexOf(array, entry);
+        if (at < 0) {
+            return array;
+        }
+        Entry<V>[] result = Arrays.copyOf(array, array.length - 1);
+        System.arraycopy(array, at + 1, result, at, array.length - at - 1);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Entry<V>[] none() {
+        return (Entry<V>[]) NO_ENTRIES;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Node<V>[] empty() {
+        return (Node<V>[]) NO_NODES;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Node<V>[] newNodes(int n) {
+        return (Node<V>[]) new Node<?>[n];
+    }
+}
@@ -0,0 +1,153 @@
+package com.newshub.backend.infrastructure.utils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bounded indexed min-heap of (id, score): keeps the {@code capacity} highest-scoring ids and
+ * supports in-place score updates. Not thread-safe; callers synchronize.
+ */
+public class TopKHeap {
+
+    public static final long NONE = -1L;
+
+    private final int capacity;
+    private final long[] ids;
+    private final double[] scores;
+    private final Map<Long, Integer> positions;
+    private int size;
+
+    public TopKHeap(int capacity) {
+        this.capacity = capacity;
+        this.ids = new long[capacity];
+        this.scores = new double[capacity];
+        this.positions = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * Inserts or updates the id. Returns the id that dropped out of the heap (possibly the
+     * offered one if its score is too low), or NONE.
+     */
+    public long offer(long id, double score) {
+        Integer pos = positions.get(id);
+        if (pos != null) {
+            double old = scores[pos];
+            scores[pos] = score;
+            if (score > old) {
+                siftDown(pos);
+            } else {
+                siftUp(pos);
+            }
+            return NONE;
+        }
+        if (size < capacity) {
+            ids[size] = id;
+            scores[size] = score;
+            positions.put(id, size);
+            siftUp(size++);
+            return NONE;
+        }
+        if (score <= scores[0]) {
+            return id;
+        }
+        long evicted = ids[0];
+        positions.remove(evicted);
+        ids[0] = id;
+        scores[0] = score;
+        positions.put(id, 0);
+        siftDown(0);
+        return evicted;
+    }
+
+    /**
+     * Current score of the id, or NaN if it is not in the heap.
+     */
+    public double score(long id) {
+        Integer pos = positions.get(id);
+        return pos == null ? Double.NaN : scores[pos];
+    }
+
+    public boolean contains(long id) {
+        return positions.containsKey(id);
+    }
+
+    public boolean remove(long id) {
+        Integer pos = positions.remove(id);
+        if (pos == null) {
+            return false;
+        }
+        size--;
+        if (pos < size) {
+            ids[pos] = ids[size];
+            scores[pos] = scores[size];
+            positions.put(ids[pos], pos);
+            siftDown(pos);
+            siftUp(pos);
+        }
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void scale(double factor) {
+        for (int i = 0; i < size; i++) {
+            scores[i] *= factor;
+        }
+    }
+
+    /**
+     * Ids ordered by descending score.
+     */
+    public long[] sortedIds() {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+        long[] result = new long[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = ids[order[i]];
+        }
+        return result;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (scores[parent] <= scores[i]) {
+                break;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                break;
+            }
+            int smallest = left + 1 < size && scores[left + 1] < scores[left] ? left + 1 : left;
+            if (scores[i] <= scores[smallest]) {
+                break;
+            }
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long id = ids[a];
+        double score = scores[a];
+        ids[a] = ids[b];
+        scores[a] = scores[b];
+        ids[b] = id;
+        scores[b] = score;
+        positions.put(ids[a], a);
+        positions.put(ids[b], b);
+    }
+}
@@ -0,0 +1,14 @@
+package com.newshub.backend.interfaces.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    // Null when there are no further items
+    private String nextCursor;
+}
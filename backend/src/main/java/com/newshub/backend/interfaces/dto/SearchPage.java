@@ -0,0 +1,15 @@
+package com.newshub.backend.interfaces.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class SearchPage<T> {
+    private List<T> items;
+    private long total;
+    private int page;
+    private int size;
+}
@@ -0,0 +1,16 @@
+package com.newshub.backend.interfaces.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * One autocomplete entry. type is "query", "article" or "category"; id is the article or
+ * category id, null for queries.
+ */
+@Data
+@AllArgsConstructor
+public class Suggestion {
+    private String text;
+    private String type;
+    private Long id;
+}
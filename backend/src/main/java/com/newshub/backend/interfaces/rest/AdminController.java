@@ -24,6 +24,17 @@ public class AdminController {
         return ResponseEntity.ok(adminService.getDashboardStats());
     }
 
+    @GetMapping("/metrics")
+    public ResponseEntity<Map<String, Object>> getMetrics() {
+        return ResponseEntity.ok(adminService.getRuntimeMetrics());
+    }
+
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<?> rebuildSearchIndex() {
+        adminService.rebuildSearchIndex();
+        return ResponseEntity.ok().build();
+    }
+
     @GetMapping("/users")
     public ResponseEntity<List<User>> getAllUsers() {
         return ResponseEntity.ok(adminService.getAllUsers());
@@ -1,8 +1,10 @@
 package com.newshub.backend.interfaces.rest;
 
 import com.newshub.backend.application.service.NotificationService;
+import com.newshub.backend.domain.model.BroadcastJob;
 import com.newshub.backend.interfaces.dto.NotificationRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -19,10 +21,20 @@ public class AdminNotificationController {
     @PostMapping("/send")
     public ResponseEntity<?> sendNotification(@RequestBody NotificationRequest request) {
         if (Boolean.TRUE.equals(request.getIsGlobal())) {
-            notificationService.sendNotificationToAllUsers(request.getTitle(), request.getContent(), request.getType());
-        } else if (request.getUserIds() != null && !request.getUserIds().isEmpty()) {
-            notificationService.sendNotificationToUsers(request.getUserIds(), request.getTitle(), request.getContent(), request.getType());
-        } else if (request.getUserId() != null) {
+            // Stored once as a broadcast row, so this completes immediately
+            return ResponseEntity.ok(notificationService.sendNotificationToAllUsers(
+                    request.getTitle(), request.getContent(), request.getType()));
+        }
+        // Fan-outs to user lists run in the background; the response carries a job id to poll
+        try {
+            if (request.getUserIds() != null && !request.getUserIds().isEmpty()) {
+                return ResponseEntity.accepted().body(notificationService.sendNotificationToUsers(
+                        request.getUserIds(), request.getTitle(), request.getContent(), request.getType()));
+            }
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
+        if (request.getUserId() != null) {
             notificationService.createNotification(request.getUserId(), request.getTitle(), request.getContent(), request.getType(), null);
         } else {
             return ResponseEntity.badRequest().body("Either userId, userIds or isGlobal=true must be provided");
@@ -30,6 +42,12 @@ public class AdminNotificationController {
         return ResponseEntity.ok().build();
     }
 
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<?> getBroadcastJob(@PathVariable String jobId) {
+        BroadcastJob job = notificationService.getBroadcastJob(jobId);
+        return job != null ? ResponseEntity.ok(job) : ResponseEntity.notFound().build();
+    }
+
     @GetMapping
     public ResponseEntity<?> getAllNotifications() {
         return ResponseEntity.ok(notificationService.getAllNotifications());
@@ -6,6 +6,7 @@ import com.newshub.backend.interfaces.dto.LoginRequest;
 import com.newshub.backend.interfaces.dto.SignupRequest;
 import com.newshub.backend.domain.model.User;
 import com.newshub.backend.infrastructure.utils.JwtUtils;
+import com.newshub.backend.infrastructure.security.PrincipalCache;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -49,6 +50,9 @@ public class AuthController {
     @Autowired
     StringRedisTemplate redisTemplate;
 
+    @Autowired
+    PrincipalCache principalCache;
+
     @PostMapping("/send-code")
     public ResponseEntity<?> sendVerifyCode(@RequestParam String email) {
         if (email == null || email.isEmpty()) {
@@ -78,7 +82,6 @@ public class AuthController {
                 new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = jwtUtils.generateJwtToken(loginRequest.getUsername());
         
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();    
         List<String> roles = userDetails.getAuthorities().stream()
@@ -86,6 +89,7 @@ public class AuthController {
                 .collect(Collectors.toList());
 
         User user = userMapper.findByUsername(userDetails.getUsername());
+        String jwt = jwtUtils.generateJwtToken(user);
 
         return ResponseEntity.ok(new JwtResponse(jwt, 
                                                  user.getId(), 
@@ -125,7 +129,7 @@ public class AuthController {
                 java.util.Collections.singletonList(new org.springframework.security.core.authority.SimpleGrantedAuthority("ROLE_" + user.getRole()))
         );
         
-        String jwt = jwtUtils.generateJwtToken(user.getUsername());
+        String jwt = jwtUtils.generateJwtToken(user);
         List<String> roles = java.util.Collections.singletonList("ROLE_" + user.getRole());
 
         // Clear code
@@ -170,7 +174,7 @@ public class AuthController {
         redisTemplate.delete("verify_code:" + email);
 
         // Auto login
-        String jwt = jwtUtils.generateJwtToken(user.getUsername());
+        String jwt = jwtUtils.generateJwtToken(user);
         List<String> roles = java.util.Collections.singletonList("ROLE_USER");
         
         return ResponseEntity.ok(new JwtResponse(jwt, 
@@ -240,6 +244,7 @@ public class AuthController {
                                  // BUT standard Mapper usually has update. 
                                  // Let's check UserMapper first or assume standard MyBatis setup.
                                  // If update doesn't exist, I might need to add it.
+        principalCache.invalidate(user.getUsername());
         
         return ResponseEntity.ok("Password updated successfully");
     }
@@ -9,8 +9,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
 @RequestMapping("/api/comments")
@@ -20,10 +18,30 @@ public class CommentController {
     @Autowired
     private CommentService commentService;
 
-    @Operation(summary = "Get comments by article", description = "Returns list of comments for a specific article")
+    @Operation(summary = "Get comments by article", description = "Top-level comments newest first with their first replies; pass nextCursor from the previous page to continue")
     @GetMapping("/article/{articleId}")
-    public ResponseEntity<List<Comment>> getCommentsByArticle(@PathVariable Long articleId) {
-        return ResponseEntity.ok(commentService.getCommentsByArticleId(articleId));
+    public ResponseEntity<?> getCommentsByArticle(
+            @PathVariable Long articleId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int pageSize) {
+        try {
+            return ResponseEntity.ok(commentService.getCommentThreads(articleId, cursor, pageSize));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Get replies", description = "Replies to a comment oldest first; pass nextCursor from the previous page to continue")
+    @GetMapping("/{id}/replies")
+    public ResponseEntity<?> getReplies(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int pageSize) {
+        try {
+            return ResponseEntity.ok(commentService.getReplies(id, cursor, pageSize));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @Operation(summary = "Add comment", description = "Adds a new comment to an article")
@@ -4,6 +4,7 @@ import com.newshub.backend.application.service.FavoriteService;
 import com.newshub.backend.domain.model.Article;
 import com.newshub.backend.domain.model.User;
 import com.newshub.backend.infrastructure.persistence.UserMapper;
+import com.newshub.backend.infrastructure.security.AuthenticatedUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -29,6 +30,9 @@ public class FavoriteController {
         if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
             throw new RuntimeException("User not authenticated");
         }
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return principal.getId();
+        }
         String username = authentication.getName();
         User user = userMapper.findByUsername(username);
         if (user == null) {
@@ -1,10 +1,16 @@
 package com.newshub.backend.interfaces.rest;
 
 import com.newshub.backend.domain.model.Article;
+import com.newshub.backend.domain.model.ArticleSummary;
 import com.newshub.backend.application.service.NewsService;
+import com.newshub.backend.application.service.NewsStreamService;
+import com.newshub.backend.application.service.SuggestService;
+import com.newshub.backend.interfaces.dto.SearchPage;
+import com.newshub.backend.interfaces.dto.Suggestion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -19,14 +25,42 @@ public class NewsController {
     @Autowired
     private NewsService newsService;
 
+    @Autowired
+    private NewsStreamService newsStreamService;
+
+    @Autowired
+    private SuggestService suggestService;
+
     @Operation(summary = "Get latest news", description = "Returns a list of latest published articles with pagination")
     @GetMapping("/latest")
-    public ResponseEntity<List<Article>> getLatestNews(
+    public ResponseEntity<List<ArticleSummary>> getLatestNews(
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int pageSize) {
         return ResponseEntity.ok(newsService.getLatestNews(page, pageSize));
     }
 
+    @Operation(summary = "Get latest news by cursor", description = "Keyset pagination; pass nextCursor from the previous page to continue")
+    @GetMapping("/latest/cursor")
+    public ResponseEntity<?> getLatestNewsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int pageSize) {
+        try {
+            return ResponseEntity.ok(newsService.getLatestByCursor(cursor, pageSize));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Stream newly published articles", description = "Server-sent events; each 'articles' event is a newest-first list of {id, title, categoryId, publishTime} to prepend to the feed")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamNews(@RequestParam(required = false) Long categoryId) {
+        try {
+            return ResponseEntity.ok(newsStreamService.subscribe(categoryId));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(503).body(e.getMessage());
+        }
+    }
+
     @Operation(summary = "Get total count of latest news", description = "Returns the total count of published articles")
     @GetMapping("/latest/count")
     public ResponseEntity<Integer> getLatestNewsCount() {
@@ -45,33 +79,55 @@ public class NewsController {
     
     @Operation(summary = "Get news by category", description = "Returns list of articles for a specific category")
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<List<Article>> getNewsByCategory(@PathVariable Long categoryId, 
+    public ResponseEntity<List<ArticleSummary>> getNewsByCategory(@PathVariable Long categoryId, 
                                                          @RequestParam(defaultValue = "10") int limit) {
         return ResponseEntity.ok(newsService.getNewsByCategory(categoryId, limit));
     }
 
+    @Operation(summary = "Get news by category with a cursor", description = "Keyset pagination within one category; pass nextCursor from the previous page to continue")
+    @GetMapping("/category/{categoryId}/cursor")
+    public ResponseEntity<?> getNewsByCategoryCursor(@PathVariable Long categoryId,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = "10") int pageSize) {
+        try {
+            return ResponseEntity.ok(newsService.getCategoryByCursor(categoryId, cursor, pageSize));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @Operation(summary = "Get related news", description = "Returns related articles for a given article ID")
     @GetMapping("/{id}/related")
-    public ResponseEntity<List<Article>> getRelatedNews(@PathVariable Long id, 
+    public ResponseEntity<List<ArticleSummary>> getRelatedNews(@PathVariable Long id, 
                                                       @RequestParam(defaultValue = "5") int limit) {
         return ResponseEntity.ok(newsService.getRelatedArticles(id, limit));
     }
 
-    @Operation(summary = "Search news", description = "Search articles by title or summary")
+    @Operation(summary = "Search news", description = "Search articles by title or summary, ranked by relevance, with matched terms highlighted")
     @GetMapping("/search")
-    public ResponseEntity<List<Article>> searchNews(@RequestParam String q) {
-        return ResponseEntity.ok(newsService.searchArticles(q));
+    public ResponseEntity<SearchPage<ArticleSummary>> searchNews(@RequestParam String q,
+                                                                @RequestParam(defaultValue = "1") int page,
+                                                                @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(newsService.searchArticles(q, page, size));
+    }
+
+    @Operation(summary = "Suggest as you type", description = "Popular queries, recent article titles and categories starting with the typed prefix; served from memory")
+    @GetMapping("/suggest")
+    public ResponseEntity<List<Suggestion>> suggest(@RequestParam String q,
+                                                    @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok(suggestService.suggest(q, limit));
     }
 
-    @Operation(summary = "Get trending news", description = "Returns a list of trending articles based on views")
+    @Operation(summary = "Get trending news", description = "Returns trending articles ranked by time-decayed views and favorites, optionally within a category")
     @GetMapping("/trending")
-    public ResponseEntity<List<Article>> getTrendingNews(@RequestParam(defaultValue = "5") int limit) {
-        return ResponseEntity.ok(newsService.getTrendingNews(limit));
+    public ResponseEntity<List<ArticleSummary>> getTrendingNews(@RequestParam(defaultValue = "5") int limit,
+                                                                @RequestParam(required = false) Long categoryId) {
+        return ResponseEntity.ok(newsService.getTrendingNews(limit, categoryId));
     }
 
     @Operation(summary = "Get daily highlights", description = "Returns a list of daily highlight articles")
     @GetMapping("/daily-highlights")
-    public ResponseEntity<List<Article>> getDailyHighlights(@RequestParam(defaultValue = "3") int limit) {
+    public ResponseEntity<List<ArticleSummary>> getDailyHighlights(@RequestParam(defaultValue = "3") int limit) {
         return ResponseEntity.ok(newsService.getDailyHighlights(limit));
     }
 }
@@ -1,37 +1,39 @@
 package com.newshub.backend.interfaces.rest;
 
-import com.newshub.backend.domain.model.Settings;
-import com.newshub.backend.infrastructure.persistence.SettingsMapper;
+import com.newshub.backend.application.service.SettingsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
+// Responses carry the snapshot ETag; Spring answers a matching If-None-Match with 304
 @RestController
 @RequestMapping("/api/public")
 public class PublicSettingsController {
 
     @Autowired
-    private SettingsMapper settingsMapper;
+    private SettingsService settingsService;
 
     @GetMapping(value = "/settings", produces = "application/json;charset=UTF-8")
     public ResponseEntity<Map<String, String>> getSettings() {
-        List<Settings> settingsList = settingsMapper.findAll();
-        Map<String, String> settingsMap = new HashMap<>();
-        for (Settings setting : settingsList) {
-            settingsMap.put(setting.getKey(), setting.getValue());
-        }
-        return ResponseEntity.ok(settingsMap);
+        SettingsService.Snapshot snapshot = settingsService.getSnapshot();
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(snapshot.values());
     }
 
     @GetMapping(value = "/settings/{key}", produces = "text/plain;charset=UTF-8")
     public ResponseEntity<String> getSetting(@PathVariable String key) {
-        Settings setting = settingsMapper.findByKey(key);
-        if (setting != null) {
-            return ResponseEntity.ok(setting.getValue());
+        SettingsService.Snapshot snapshot = settingsService.getSnapshot();
+        String value = snapshot.get(key);
+        if (value != null) {
+            return ResponseEntity.ok()
+                    .eTag(snapshot.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .body(value);
         } else {
             return ResponseEntity.notFound().build();
         }
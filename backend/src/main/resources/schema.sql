@@ -27,8 +27,8 @@ CREATE TABLE IF NOT EXISTS categories (
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 -- Articles Table (Core for high volume)
--- Partitioning by range (publish_time) could be considered for very large datasets,
--- but for "keep 3 days" simple deletion is enough.
+-- Not partitioned: MySQL does not allow foreign keys on partitioned tables, and comments,
+-- favorites and article_tags reference this table. Retention deletes in primary-key chunks instead.
 CREATE TABLE IF NOT EXISTS articles (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     title VARCHAR(255) NOT NULL,
@@ -38,6 +38,7 @@ CREATE TABLE IF NOT EXISTS articles (
     author_id BIGINT,
     category_id BIGINT,
     source_url VARCHAR(500), -- For crawled news
+    source_url_hash BIGINT, -- UrlDedupFilter.hash(source_url); NULL for articles without a source
     source_name VARCHAR(100),
     publish_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     views BIGINT DEFAULT 0,
@@ -49,11 +50,18 @@ CREATE TABLE IF NOT EXISTS articles (
     FOREIGN KEY (category_id) REFERENCES categories(id),
     -- Optimization for 3-day retention query
     INDEX idx_publish_time (publish_time),
-    -- Optimization for frontend queries
-    INDEX idx_category_status (category_id, status),
+    -- Retention cutoff lookup (DataCleanupService filters on created_at)
+    INDEX idx_created_at (created_at),
+    -- Category feeds (ORDER BY publish_time DESC, id DESC within a category); also covers category_id lookups
+    INDEX idx_category_status_publish (category_id, status, publish_time, id),
+    -- Keyset pagination for the latest feed (ORDER BY publish_time DESC, id DESC)
+    INDEX idx_status_publish (status, publish_time, id),
     INDEX idx_views (views DESC),
     -- Added optimizations
     INDEX idx_source_url (source_url(255)),
+    -- Crawled articles skip a conflict on this key; it is what makes a URL stored once.
+    -- Rows from before the column keep NULL and are still found by the source_url lookup.
+    UNIQUE KEY uk_source_url_hash (source_url_hash),
     FULLTEXT INDEX idx_fulltext_search (title, summary) WITH PARSER ngram
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
@@ -82,7 +90,9 @@ CREATE TABLE IF NOT EXISTS comments (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (article_id) REFERENCES articles(id) ON DELETE CASCADE,
     FOREIGN KEY (user_id) REFERENCES users(id),
-    INDEX idx_article_created (article_id, created_at DESC)
+    INDEX idx_article_created (article_id, created_at DESC),
+    -- Reply lookups for comment threads
+    INDEX idx_parent_created (parent_id, created_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 -- Settings Table
@@ -116,6 +126,77 @@ CREATE TABLE IF NOT EXISTS notifications (
     INDEX idx_user_read (user_id, is_read)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
+-- Global announcements: one row per broadcast instead of one per user
+CREATE TABLE IF NOT EXISTS broadcast_notifications (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    content TEXT,
+    type VARCHAR(50) DEFAULT 'SYSTEM',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_created_at (created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- Per-user read marker: broadcasts with id <= last_seen_broadcast_id count as read
+CREATE TABLE IF NOT EXISTS notification_watermarks (
+    user_id BIGINT PRIMARY KEY,
+    last_seen_broadcast_id BIGINT NOT NULL DEFAULT 0,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- Dashboard rollups, maintained incrementally by DashboardStatsService
+CREATE TABLE IF NOT EXISTS stats_daily (
+    stat_date DATE NOT NULL,
+    metric VARCHAR(32) NOT NULL, -- articles (by publish day), comments
+    value BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (stat_date, metric)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS stats_category (
+    category_id BIGINT PRIMARY KEY, -- 0 = uncategorized
+    articles BIGINT NOT NULL DEFAULT 0,
+    views BIGINT NOT NULL DEFAULT 0
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- Upgrades for databases created before the columns and indexes above. CREATE TABLE IF NOT EXISTS
+-- leaves an existing table as it is, so each step checks information_schema and runs its ALTER
+-- only when the column or index is missing; on an up-to-date database every step is a no-op.
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'articles' AND column_name = 'source_url_hash') = 0,
+    'ALTER TABLE articles ADD COLUMN source_url_hash BIGINT AFTER source_url', 'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'articles' AND index_name = 'uk_source_url_hash') = 0,
+    'ALTER TABLE articles ADD UNIQUE KEY uk_source_url_hash (source_url_hash)', 'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'articles' AND index_name = 'idx_status_publish') = 0,
+    'ALTER TABLE articles ADD INDEX idx_status_publish (status, publish_time, id)', 'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'articles' AND index_name = 'idx_category_status_publish') = 0,
+    'ALTER TABLE articles ADD INDEX idx_category_status_publish (category_id, status, publish_time, id)', 'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'articles' AND index_name = 'idx_created_at') = 0,
+    'ALTER TABLE articles ADD INDEX idx_created_at (created_at)', 'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'comments' AND index_name = 'idx_parent_created') = 0,
+    'ALTER TABLE comments ADD INDEX idx_parent_created (parent_id, created_at)', 'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
 -- Initial Data
 
 -- Note: Password is 'password' encoded with BCrypt
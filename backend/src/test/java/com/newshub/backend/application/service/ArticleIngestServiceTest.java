@@ -0,0 +1,284 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.domain.model.Article;
+import com.newshub.backend.domain.model.ArticleChangedEvent;
+import com.newshub.backend.domain.model.ArticlePublishedEvent;
+import com.newshub.backend.infrastructure.persistence.ArticleMapper;
+import com.newshub.backend.infrastructure.utils.SimHashIndex;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.mybatis.spring.transaction.SpringManagedTransactionFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The ingest write path against an H2 database (MySQL mode) with the unique source URL key.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ArticleIngestServiceTest {
+
+    private JdbcDataSource dataSource;
+    private Connection keepAlive;
+    private ArticleMapper articleMapper;
+    private TransactionTemplate transactionTemplate;
+    private UrlDedupFilter urlDedupFilter;
+    private NearDuplicateService nearDuplicateService;
+    private final List<Object> events = new ArrayList<>();
+    private ArticleIngestService ingest;
+
+    @BeforeAll
+    void createDatabase() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:ingest;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        keepAlive = dataSource.getConnection();
+        try (Statement st = keepAlive.createStatement()) {
+            st.execute("CREATE TABLE categories (id BIGINT PRIMARY KEY)");
+            st.execute("INSERT INTO categories VALUES (1)");
+            st.execute("CREATE TABLE articles (id BIGINT AUTO_INCREMENT PRIMARY KEY, title VARCHAR(255) NOT NULL, " +
+                    "summary VARCHAR(500), content CLOB, cover_image VARCHAR(255), author_id BIGINT, category_id BIGINT, " +
+                    "source_url VARCHAR(500), source_url_hash BIGINT, source_name VARCHAR(100), publish_time TIMESTAMP, " +
+                    "views BIGINT DEFAULT 0, status VARCHAR(20) DEFAULT 'PUBLISHED', created_at TIMESTAMP, updated_at TIMESTAMP, " +
+                    "FOREIGN KEY (category_id) REFERENCES categories(id), " +
+                    "CONSTRAINT uk_source_url_hash UNIQUE (source_url_hash))");
+        }
+
+        Configuration configuration = new Configuration(new Environment("test", new SpringManagedTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.addMapper(ArticleMapper.class);
+        SqlSessionFactory factory = new SqlSessionFactoryBuilder().build(configuration);
+        articleMapper = new SqlSessionTemplate(factory).getMapper(ArticleMapper.class);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterAll
+    void dropDatabase() throws SQLException {
+        keepAlive.close();
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        try (Statement st = keepAlive.createStatement()) {
+            st.execute("DELETE FROM articles");
+        }
+        events.clear();
+        urlDedupFilter = mock(UrlDedupFilter.class);
+        nearDuplicateService = mock(NearDuplicateService.class);
+        when(nearDuplicateService.filter(anyList())).thenAnswer(inv -> new NearDuplicateService.Result(inv.getArgument(0), List.of(), List.of()));
+        ingest = new ArticleIngestService();
+        ReflectionTestUtils.setField(ingest, "articleMapper", articleMapper);
+        ReflectionTestUtils.setField(ingest, "urlDedupFilter", urlDedupFilter);
+        ReflectionTestUtils.setField(ingest, "cacheService", mock(CacheService.class));
+        ReflectionTestUtils.setField(ingest, "eventPublisher", (ApplicationEventPublisher) events::add);
+        ReflectionTestUtils.setField(ingest, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(ingest, "nearDuplicateService", nearDuplicateService);
+        ReflectionTestUtils.setField(ingest, "chunkSize", 4);
+    }
+
+    @Test
+    void urlStoredSinceTheLookupIsSkippedAndTheRestKeepTheirIds() throws SQLException {
+        // Another node stored story 5 after this one's filter said the URL was new
+        when(urlDedupFilter.mightContain(anyString())).thenReturn(false);
+        articleMapper.insertBatch(List.of(article(5)));
+
+        List<Article> batch = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            batch.add(article(i));
+        }
+        List<Article> stored = ingest.ingest(batch);
+
+        assertThat(stored).extracting(Article::getSourceUrl).hasSize(9).doesNotContain(url(5));
+        Map<String, Long> ids = storedIds();
+        assertThat(ids).hasSize(10);
+        for (Article a : stored) {
+            assertThat(a.getId()).as(a.getSourceUrl()).isEqualTo(ids.get(a.getSourceUrl()));
+        }
+        assertThat(events).hasSize(9).allMatch(e -> e instanceof ArticlePublishedEvent);
+    }
+
+    @Test
+    void otherErrorsFailTheBatchInsteadOfBeingSkipped() throws SQLException {
+        when(urlDedupFilter.mightContain(anyString())).thenReturn(false);
+        Article orphan = article(2);
+        orphan.setCategoryId(999L);
+
+        assertThatThrownBy(() -> ingest.ingest(List.of(article(1), orphan, article(3))))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(storedIds()).isEmpty();
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void mergeIntoAStoredArticleCommitsWithTheBatch() throws SQLException {
+        NearDuplicateService near = useNearDuplicates();
+        Article original = storeOriginal(near);
+
+        List<Article> stored = ingest.ingest(List.of(duplicate("https://wire.example.com/1", "cover.jpg"), article(1)));
+
+        assertThat(stored).extracting(Article::getSourceUrl).containsExactly(url(1));
+        assertThat(coverImage(original.getId())).isEqualTo("cover.jpg");
+        assertThat(storedIds()).doesNotContainKey("https://wire.example.com/1");
+        assertThat(mergedIds()).containsExactly(original.getId());
+    }
+
+    @Test
+    void failedBatchRollsBackItsMergeAndHoldsNothingBack() throws SQLException {
+        NearDuplicateService near = useNearDuplicates();
+        Article original = storeOriginal(near);
+        Article orphan = article(2);
+        orphan.setCategoryId(999L);
+
+        assertThatThrownBy(() -> ingest.ingest(List.of(duplicate("https://wire.example.com/1", "cover.jpg"), orphan)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(coverImage(original.getId())).isNull();
+        assertThat(events).isEmpty();
+        assertThat(near.getStats()).containsEntry("heldBackUrls", 0);
+
+        // The redelivered batch, without the bad row, merges once
+        ingest.ingest(List.of(duplicate("https://wire.example.com/1", "cover.jpg"), article(3)));
+        assertThat(coverImage(original.getId())).isEqualTo("cover.jpg");
+        assertThat(mergedIds()).containsExactly(original.getId());
+    }
+
+    @Test
+    void redeliveredBatchDoesNotMergeAgain() throws SQLException {
+        NearDuplicateService near = useNearDuplicates();
+        Article original = storeOriginal(near);
+        List<Article> batch = List.of(duplicate("https://wire.example.com/1", "cover.jpg"));
+
+        ingest.ingest(batch);
+        assertThat(mergedIds()).containsExactly(original.getId());
+        events.clear();
+
+        ingest.ingest(List.of(duplicate("https://wire.example.com/1", "cover.jpg")));
+        assertThat(events).isEmpty();
+        assertThat(near.getStats()).containsEntry("repeats", 1L);
+
+        // A merge decided before the first delivery committed finds nothing left to fill
+        assertThat(near.applyMerges(List.of(new NearDuplicateService.Merge(original.getId(), null, "other.jpg")))).isEmpty();
+        assertThat(coverImage(original.getId())).isEqualTo("cover.jpg");
+    }
+
+    @Test
+    void sameUrlTwiceInABatchIsStoredOnceWithTheFieldsOfBoth() throws SQLException {
+        when(urlDedupFilter.mightContain(anyString())).thenReturn(false);
+        Article first = article(7);
+        Article second = article(7);
+        second.setSummary("Another summary");
+        second.setCoverImage("cover.jpg");
+
+        List<Article> stored = ingest.ingest(List.of(first, second));
+
+        assertThat(stored).hasSize(1);
+        assertThat(coverImage(stored.get(0).getId())).isEqualTo("cover.jpg");
+        assertThat(stored.get(0).getSummary()).isEqualTo("Summary of story 7");
+    }
+
+    // --- helpers ---
+
+    private NearDuplicateService useNearDuplicates() {
+        when(urlDedupFilter.mightContain(anyString())).thenReturn(false);
+        NearDuplicateService near = new NearDuplicateService();
+        ReflectionTestUtils.setField(near, "articleMapper", articleMapper);
+        ReflectionTestUtils.setField(near, "enabled", true);
+        ReflectionTestUtils.setField(near, "policyName", "merge");
+        ReflectionTestUtils.setField(near, "maxDistance", 9);
+        ReflectionTestUtils.setField(near, "windowMillis", 259_200_000L);
+        ReflectionTestUtils.setField(near, "minTerms", 10);
+        ReflectionTestUtils.setField(near, "titleWeight", 2);
+        ReflectionTestUtils.setField(near, "maxHeldBackUrls", 1000);
+        near.init();
+        ReflectionTestUtils.setField(near, "index", new SimHashIndex(9, 1024));
+        ReflectionTestUtils.setField(near, "ready", true);
+        ReflectionTestUtils.setField(ingest, "nearDuplicateService", near);
+        return near;
+    }
+
+    // The wire story, stored without a cover image and indexed the way the published event does
+    private Article storeOriginal(NearDuplicateService near) {
+        Article original = ingest.ingest(List.of(duplicate("https://paper.example.com/1", null))).get(0);
+        events.stream().filter(e -> e instanceof ArticlePublishedEvent).forEach(e -> near.onPublished((ArticlePublishedEvent) e));
+        events.clear();
+        return original;
+    }
+
+    private static Article duplicate(String url, String coverImage) {
+        Article a = new Article();
+        a.setTitle("Central bank raises interest rates by half a point to curb persistent inflation");
+        a.setSummary("Policymakers voted to lift the benchmark rate again, citing strong wage growth, "
+                + "rising housing costs and energy prices that kept consumer inflation above target.");
+        a.setSourceUrl(url);
+        a.setSourceName("wire");
+        a.setCoverImage(coverImage);
+        a.setCategoryId(1L);
+        a.setStatus("PUBLISHED");
+        return a;
+    }
+
+    private List<Long> mergedIds() {
+        return events.stream().filter(e -> e instanceof ArticleChangedEvent)
+                .map(e -> ((ArticleChangedEvent) e).getId()).toList();
+    }
+
+    private String coverImage(long id) throws SQLException {
+        try (Statement st = keepAlive.createStatement();
+             ResultSet rs = st.executeQuery("SELECT cover_image FROM articles WHERE id = " + id)) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    private Map<String, Long> storedIds() throws SQLException {
+        Map<String, Long> ids = new HashMap<>();
+        try (Statement st = keepAlive.createStatement();
+             ResultSet rs = st.executeQuery("SELECT id, source_url FROM articles")) {
+            while (rs.next()) {
+                ids.put(rs.getString(2), rs.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    private static Article article(int i) {
+        Article a = new Article();
+        a.setTitle("Story " + i);
+        a.setSummary("Summary of story " + i);
+        a.setSourceUrl(url(i));
+        a.setSourceUrlHash(UrlDedupFilter.hash(url(i)));
+        a.setSourceName("test");
+        a.setCategoryId(1L);
+        a.setStatus("PUBLISHED");
+        return a;
+    }
+
+    private static String url(int i) {
+        return "https://example.com/story/" + i;
+    }
+}
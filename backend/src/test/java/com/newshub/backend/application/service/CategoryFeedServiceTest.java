@@ -0,0 +1,279 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.domain.model.Article;
+import com.newshub.backend.domain.model.ArticleChangedEvent;
+import com.newshub.backend.domain.model.ArticlePublishedEvent;
+import com.newshub.backend.domain.model.ArticleSummary;
+import com.newshub.backend.domain.model.ArticlesDeletedEvent;
+import com.newshub.backend.domain.model.Category;
+import com.newshub.backend.infrastructure.persistence.ArticleMapper;
+import com.newshub.backend.infrastructure.persistence.CategoryMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pages are checked against a keyset scan of the rows the mapper holds, through publishes,
+ * edits that move, re-date or unpublish articles, deletes and invalidations from other nodes.
+ * The window is small and publish times collide, so pages run past partial windows and ties
+ * are broken by id.
+ */
+class CategoryFeedServiceTest {
+
+    private static final int WINDOW = 10;
+    private static final int CATEGORIES = 3;
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final Comparator<Article> FEED_ORDER = Comparator
+            .comparing(Article::getPublishTime, Comparator.reverseOrder())
+            .thenComparing(Article::getId, Comparator.reverseOrder());
+
+    private final Map<Long, Article> rows = new HashMap<>();
+    private ArticleMapper articleMapper;
+    private CacheService cacheService;
+    private CategoryFeedService feeds;
+    private Consumer<String> invalidations;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        articleMapper = mock(ArticleMapper.class);
+        cacheService = mock(CacheService.class);
+        when(articleMapper.findByCategoryBefore(anyLong(), any(), any(), anyInt())).thenAnswer(inv -> {
+            FeedCursor position = inv.getArgument(1) == null ? null
+                    : new FeedCursor(inv.getArgument(1), inv.getArgument(2));
+            return scan(inv.getArgument(0), position, inv.getArgument(3));
+        });
+        when(articleMapper.findSummaryById(anyLong())).thenAnswer(inv -> {
+            Article a = rows.get(inv.<Long>getArgument(0));
+            return a != null && "PUBLISHED".equals(a.getStatus()) ? ArticleSummary.from(a) : null;
+        });
+
+        CategoryMapper categoryMapper = mock(CategoryMapper.class);
+        when(categoryMapper.findById(anyLong())).thenAnswer(inv -> {
+            long id = inv.getArgument(0);
+            if (id < 1 || id > CATEGORIES) {
+                return null;
+            }
+            Category c = new Category();
+            c.setId(id);
+            return c;
+        });
+
+        feeds = new CategoryFeedService();
+        ReflectionTestUtils.setField(feeds, "articleMapper", articleMapper);
+        ReflectionTestUtils.setField(feeds, "categoryMapper", categoryMapper);
+        ReflectionTestUtils.setField(feeds, "cacheService", cacheService);
+        ReflectionTestUtils.setField(feeds, "enabled", true);
+        ReflectionTestUtils.setField(feeds, "window", WINDOW);
+        feeds.init();
+        ArgumentCaptor<Consumer<String>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(cacheService).addInvalidationListener(eq("news:category-feed:"), listener.capture());
+        invalidations = listener.getValue();
+    }
+
+    @Test
+    void pagesMatchKeysetScanUnderRandomChanges() {
+        Random random = new Random(5);
+        long nextId = 1;
+        for (; nextId <= 30; nextId++) {
+            publish(article(nextId, random));
+        }
+
+        for (int step = 0; step < 3000; step++) {
+            int op = random.nextInt(20);
+            List<Long> ids = new ArrayList<>(rows.keySet());
+            if (op < 8 || ids.isEmpty()) {
+                publish(article(nextId++, random));
+            } else if (op < 14) {
+                Article before = rows.get(ids.get(random.nextInt(ids.size())));
+                Article after = copy(before);
+                switch (random.nextInt(3)) {
+                    case 0 -> after.setCategoryId(1L + random.nextInt(CATEGORIES));
+                    case 1 -> after.setPublishTime(BASE.plusMinutes(random.nextInt(120)));
+                    default -> after.setStatus("PUBLISHED".equals(before.getStatus()) ? "DRAFT" : "PUBLISHED");
+                }
+                rows.put(after.getId(), after);
+                feeds.onChanged(ArticleChangedEvent.updated(before, after));
+            } else if (op < 18) {
+                List<Article> deleted = new ArrayList<>();
+                for (int n = 1 + random.nextInt(3); n > 0 && !ids.isEmpty(); n--) {
+                    Article a = rows.remove(ids.remove(random.nextInt(ids.size())));
+                    deleted.add(a);
+                }
+                feeds.onDeleted(ArticlesDeletedEvent.of(deleted));
+            } else {
+                invalidations.accept("news:category-feed:" + (1 + random.nextInt(CATEGORIES)));
+            }
+            if (step % 25 == 0) {
+                for (long categoryId = 1; categoryId <= CATEGORIES; categoryId++) {
+                    assertMatches(categoryId, random);
+                }
+            }
+        }
+
+        Map<String, Object> stats = feeds.getStats();
+        assertThat((long) stats.get("memoryReads")).isPositive();
+        assertThat((long) stats.get("keysetReads")).isPositive();
+        assertThat((int) stats.get("articles")).isLessThanOrEqualTo(CATEGORIES * WINDOW);
+    }
+
+    @Test
+    void firstPageIsServedFromMemoryUntilAnotherNodeInvalidatesIt() {
+        Random random = new Random(9);
+        for (long id = 1; id <= 25; id++) {
+            Article a = article(id, random);
+            a.setCategoryId(1L);
+            a.setStatus("PUBLISHED");
+            rows.put(id, a);
+        }
+
+        assertThat(ids(feeds.page(1L, null, 5))).containsExactlyElementsOf(expected(1L, null, 5));
+        assertThat(ids(feeds.page(1L, null, 5))).containsExactlyElementsOf(expected(1L, null, 5));
+        assertThat(feeds.getStats()).containsEntry("loads", 1L).containsEntry("memoryReads", 2L);
+
+        Article newest = article(26, random);
+        newest.setCategoryId(1L);
+        newest.setStatus("PUBLISHED");
+        newest.setPublishTime(BASE.plusDays(1));
+        publish(newest);
+        assertThat(feeds.page(1L, null, 1)).extracting(ArticleSummary::getId).containsExactly(26L);
+        verify(cacheService, atLeastOnce()).delete("news:category-feed:1");
+
+        // A row written elsewhere is only seen once that node's invalidation arrives
+        Article remote = copy(newest);
+        remote.setId(27L);
+        remote.setPublishTime(BASE.plusDays(2));
+        rows.put(27L, remote);
+        assertThat(feeds.page(1L, null, 1)).extracting(ArticleSummary::getId).containsExactly(26L);
+        invalidations.accept("news:category-feed:1");
+        assertThat(feeds.page(1L, null, 1)).extracting(ArticleSummary::getId).containsExactly(27L);
+        assertThat(feeds.getStats()).containsEntry("loads", 2L);
+
+        invalidations.accept("news:category-feed:oops");
+        assertThat(feeds.getStats()).containsEntry("loads", 2L);
+    }
+
+    @Test
+    void unknownCategoriesAreNotKept() {
+        for (long id = 100; id < 1100; id++) {
+            assertThat(feeds.page(id, null, 20)).isEmpty();
+        }
+        assertThat(feeds.getStats()).containsEntry("categories", 0).containsEntry("loads", 0L);
+        assertThat((Map<?, ?>) ReflectionTestUtils.getField(feeds, "versions")).isEmpty();
+    }
+
+    @Test
+    void oversizedPageIsServedWithoutSizingToTheRequest() {
+        Random random = new Random(3);
+        for (long id = 1; id <= 25; id++) {
+            Article a = article(id, random);
+            a.setCategoryId(1L);
+            a.setStatus("PUBLISHED");
+            rows.put(id, a);
+        }
+        assertThat(ids(feeds.page(1L, null, Integer.MAX_VALUE)))
+                .containsExactlyElementsOf(expected(1L, null, Integer.MAX_VALUE));
+    }
+
+    // --- helpers ---
+
+    private void publish(Article a) {
+        rows.put(a.getId(), a);
+        if ("PUBLISHED".equals(a.getStatus())) {
+            feeds.onPublished(ArticlePublishedEvent.from(a));
+        } else {
+            feeds.onChanged(ArticleChangedEvent.created(a));
+        }
+    }
+
+    // Walks the whole feed with random page sizes, then reads a few pages from arbitrary cursors
+    private void assertMatches(long categoryId, Random random) {
+        List<Long> all = expected(categoryId, null, Integer.MAX_VALUE);
+        List<Long> walked = new ArrayList<>();
+        FeedCursor position = null;
+        while (true) {
+            List<ArticleSummary> page = feeds.page(categoryId, position, 1 + random.nextInt(7));
+            if (page.isEmpty()) {
+                break;
+            }
+            walked.addAll(ids(page));
+            position = FeedCursor.after(page.get(page.size() - 1));
+        }
+        assertThat(walked).as("feed of %d", categoryId).containsExactlyElementsOf(all);
+
+        for (int i = 0; i < 5; i++) {
+            FeedCursor from = new FeedCursor(BASE.plusMinutes(random.nextInt(130)), (long) random.nextInt(400));
+            int size = 1 + random.nextInt(15);
+            assertThat(ids(feeds.page(categoryId, from, size))).as("page of %d after %s", categoryId, from)
+                    .containsExactlyElementsOf(expected(categoryId, from, size));
+        }
+    }
+
+    private List<ArticleSummary> scan(Long categoryId, FeedCursor position, int limit) {
+        return rows.values().stream()
+                .filter(a -> "PUBLISHED".equals(a.getStatus()) && categoryId.equals(a.getCategoryId()))
+                .map(ArticleSummary::from)
+                .filter(s -> position == null || position.isBefore(s))
+                .sorted(Comparator.comparing(ArticleSummary::getPublishTime, Comparator.reverseOrder())
+                        .thenComparing(ArticleSummary::getId, Comparator.reverseOrder()))
+                .limit(limit)
+                .toList();
+    }
+
+    private List<Long> expected(Long categoryId, FeedCursor position, int limit) {
+        return rows.values().stream()
+                .filter(a -> "PUBLISHED".equals(a.getStatus()) && categoryId.equals(a.getCategoryId()))
+                .filter(a -> position == null || position.isBefore(ArticleSummary.from(a)))
+                .sorted(FEED_ORDER)
+                .limit(limit)
+                .map(Article::getId)
+                .toList();
+    }
+
+    private static List<Long> ids(List<ArticleSummary> page) {
+        return page.stream().map(ArticleSummary::getId).toList();
+    }
+
+    // Two hours of minutes for a few hundred articles, so publish times often tie
+    private static Article article(long id, Random random) {
+        Article a = new Article();
+        a.setId(id);
+        a.setTitle("Article " + id);
+        a.setCategoryId(1L + random.nextInt(CATEGORIES));
+        a.setStatus(random.nextInt(8) > 0 ? "PUBLISHED" : "DRAFT");
+        a.setPublishTime(BASE.plusMinutes(random.nextInt(120)));
+        a.setViews(0L);
+        return a;
+    }
+
+    private static Article copy(Article a) {
+        Article c = new Article();
+        c.setId(a.getId());
+        c.setTitle(a.getTitle());
+        c.setCategoryId(a.getCategoryId());
+        c.setStatus(a.getStatus());
+        c.setPublishTime(a.getPublishTime());
+        c.setViews(a.getViews());
+        return c;
+    }
+}
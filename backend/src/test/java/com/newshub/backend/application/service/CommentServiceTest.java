@@ -0,0 +1,275 @@
+package com.newshub.backend.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.newshub.backend.domain.model.Comment;
+import com.newshub.backend.infrastructure.persistence.CommentMapper;
+import com.newshub.backend.interfaces.dto.CursorPage;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Comment threads against an H2 database (MySQL mode) holding one article with 50k comments:
+ * 40k top-level ones, every sixteenth of them with four replies.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CommentServiceTest {
+
+    private static final long ARTICLE = 1L;
+    // A smaller article for walking every page
+    private static final long SMALL_ARTICLE = 2L;
+    private static final int SMALL_TOP_LEVEL = 1_000;
+    private static final int TOP_LEVEL = 40_000;
+    private static final int REPLIES = 10_000;
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    private final ObjectMapper json = new ObjectMapper().registerModule(new JavaTimeModule());
+    private Connection keepAlive;
+    private CommentMapper commentMapper;
+    private LocalCacheService cache;
+    private CommentService comments;
+
+    @BeforeAll
+    void createDatabase() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        // No reuse of query results, so every timed query really runs
+        dataSource.setURL("jdbc:h2:mem:comments;MODE=MySQL;DATABASE_TO_LOWER=TRUE;OPTIMIZE_REUSE_RESULTS=FALSE");
+        keepAlive = dataSource.getConnection();
+        try (Statement st = keepAlive.createStatement()) {
+            st.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, username VARCHAR(50), avatar VARCHAR(255))");
+            st.execute("INSERT INTO users VALUES (1, 'reader', NULL)");
+            st.execute("CREATE TABLE comments (id BIGINT AUTO_INCREMENT PRIMARY KEY, article_id BIGINT NOT NULL, " +
+                    "user_id BIGINT NOT NULL, content VARCHAR(1000) NOT NULL, parent_id BIGINT, created_at TIMESTAMP)");
+            // InnoDB secondary indexes end with the primary key; H2 needs it spelled out to sort by it
+            st.execute("CREATE INDEX idx_article_created ON comments (article_id, created_at DESC, id DESC)");
+            st.execute("CREATE INDEX idx_parent_created ON comments (parent_id, created_at, id)");
+        }
+        keepAlive.setAutoCommit(false);
+        try (PreparedStatement ps = keepAlive.prepareStatement(
+                "INSERT INTO comments (article_id, user_id, content, parent_id, created_at) VALUES (?, 1, ?, ?, ?)")) {
+            // Ids come out 1..50k in this order; several comments share a second, so the keyset has to break ties on id
+            for (long id = 1; id <= TOP_LEVEL + REPLIES; id++) {
+                boolean reply = id > TOP_LEVEL;
+                ps.setLong(1, ARTICLE);
+                ps.setString(2, "Comment number " + id + " with a sentence or two of text in it.");
+                if (reply) {
+                    ps.setLong(3, parentOf(id));
+                } else {
+                    ps.setNull(3, Types.BIGINT);
+                }
+                ps.setTimestamp(4, Timestamp.valueOf(START.plusSeconds(id / 3)));
+                ps.addBatch();
+                if (id % 5000 == 0) {
+                    ps.executeBatch();
+                }
+            }
+            for (int i = 1; i <= SMALL_TOP_LEVEL; i++) {
+                ps.setLong(1, SMALL_ARTICLE);
+                ps.setString(2, "Comment " + i);
+                ps.setNull(3, Types.BIGINT);
+                ps.setTimestamp(4, Timestamp.valueOf(START.plusSeconds(i / 3)));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        keepAlive.commit();
+        keepAlive.setAutoCommit(true);
+
+        Configuration configuration = new Configuration(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.addMapper(CommentMapper.class);
+        SqlSessionFactory factory = new SqlSessionFactoryBuilder().build(configuration);
+        commentMapper = new SqlSessionTemplate(factory).getMapper(CommentMapper.class);
+    }
+
+    @AfterAll
+    void dropDatabase() throws SQLException {
+        keepAlive.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        comments = new CommentService();
+        ReflectionTestUtils.setField(comments, "commentMapper", commentMapper);
+        cache = new LocalCacheService(1 << 24);
+        ReflectionTestUtils.setField(comments, "cacheService", cache);
+        ReflectionTestUtils.setField(comments, "dashboardStatsService", mock(DashboardStatsService.class));
+        ReflectionTestUtils.setField(comments, "firstPageSize", 20);
+        ReflectionTestUtils.setField(comments, "repliesPerThread", 3);
+        ReflectionTestUtils.setField(comments, "firstPageTtlMillis", 300_000L);
+    }
+
+    @Test
+    void threadsPageThroughEveryTopLevelCommentOnce() {
+        Set<Long> seen = new HashSet<>();
+        Comment previous = null;
+        String cursor = null;
+        do {
+            CursorPage<Comment> page = comments.getCommentThreads(SMALL_ARTICLE, cursor, 50);
+            for (Comment c : page.getItems()) {
+                assertThat(c.getParentId()).isNull();
+                assertThat(seen.add(c.getId())).as("comment %d twice", c.getId()).isTrue();
+                if (previous != null) {
+                    assertThat(c.getId()).isLessThan(previous.getId());
+                }
+                previous = c;
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertThat(seen).hasSize(SMALL_TOP_LEVEL);
+    }
+
+    @Test
+    void threadsCarryTheirFirstRepliesAndCount() {
+        // The newest thread with replies
+        long parent = TOP_LEVEL;
+        Comment thread = null;
+        String cursor = null;
+        while (thread == null) {
+            CursorPage<Comment> page = comments.getCommentThreads(ARTICLE, cursor, 50);
+            thread = page.getItems().stream().filter(c -> c.getId() == parent).findFirst().orElse(null);
+            cursor = page.getNextCursor();
+        }
+        List<Long> all = new ArrayList<>();
+        for (long id = TOP_LEVEL + 1; id <= TOP_LEVEL + REPLIES; id++) {
+            if (parentOf(id) == parent) {
+                all.add(id);
+            }
+        }
+        assertThat(thread.getReplyCount()).isEqualTo(all.size());
+        assertThat(thread.getReplies()).extracting(Comment::getId).containsExactlyElementsOf(all.subList(0, 3));
+
+        List<Long> paged = new ArrayList<>();
+        String after = null;
+        do {
+            CursorPage<Comment> page = comments.getReplies(parent, after, 1);
+            page.getItems().forEach(c -> paged.add(c.getId()));
+            after = page.getNextCursor();
+        } while (after != null);
+        assertThat(paged).containsExactlyElementsOf(all);
+    }
+
+    @Test
+    void addCommentEvictsTheCachedFirstPage() {
+        Comment first = comments.getCommentThreads(ARTICLE, null, 20).getItems().get(0);
+
+        Comment added = new Comment();
+        added.setArticleId(ARTICLE);
+        added.setUserId(1L);
+        added.setContent("Newest");
+        comments.addComment(added);
+        try {
+            assertThat(comments.getCommentThreads(ARTICLE, null, 20).getItems().get(0).getId())
+                    .isEqualTo(added.getId()).isNotEqualTo(first.getId());
+        } finally {
+            try (Statement st = keepAlive.createStatement()) {
+                st.execute("DELETE FROM comments WHERE id = " + added.getId());
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Page view of the hot article: the old endpoint read and shipped all 50k comments; the
+     * thread page reads 21 top-level rows plus their replies, and is then served from the cache.
+     * Both are timed through to the JSON body.
+     */
+    @Test
+    void firstPageAtFiftyThousandComments() throws Exception {
+        int rounds = 20;
+        for (int i = 0; i < 5; i++) {
+            json.writeValueAsBytes(fullList());
+            json.writeValueAsBytes(uncachedFirstPage());
+        }
+
+        long bytesBefore = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            bytesBefore = json.writeValueAsBytes(fullList()).length;
+        }
+        double before = (System.nanoTime() - start) / 1e6 / rounds;
+
+        long bytesAfter = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            bytesAfter = json.writeValueAsBytes(uncachedFirstPage()).length;
+        }
+        double uncached = (System.nanoTime() - start) / 1e6 / rounds;
+
+        start = System.nanoTime();
+        for (int i = 0; i < rounds * 100; i++) {
+            json.writeValueAsBytes(comments.getCommentThreads(ARTICLE, null, 20));
+        }
+        double cached = (System.nanoTime() - start) / 1e6 / (rounds * 100);
+
+        System.out.printf("%d comments: full list %.1f ms, %d bytes; first thread page %.2f ms uncached, %.3f ms cached, %d bytes%n",
+                TOP_LEVEL + REPLIES, before, bytesBefore, uncached, cached, bytesAfter);
+        assertThat(fullList()).hasSize(TOP_LEVEL + REPLIES);
+        assertThat(uncachedFirstPage().getItems()).hasSize(20);
+        assertThat(bytesAfter * 100).isLessThan(bytesBefore);
+        assertThat(uncached).isLessThan(before);
+        assertThat(cached).isLessThan(uncached);
+    }
+
+    // The query the comment list used before threads: every comment of the article
+    private List<Comment> fullList() throws SQLException {
+        List<Comment> all = new ArrayList<>();
+        try (PreparedStatement ps = keepAlive.prepareStatement("SELECT c.*, u.username, u.avatar FROM comments c " +
+                "LEFT JOIN users u ON c.user_id = u.id WHERE c.article_id = ? ORDER BY c.created_at DESC")) {
+            ps.setLong(1, ARTICLE);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Comment c = new Comment();
+                    c.setId(rs.getLong("id"));
+                    c.setContent(rs.getString("content"));
+                    c.setArticleId(rs.getLong("article_id"));
+                    c.setUserId(rs.getLong("user_id"));
+                    c.setParentId(rs.getObject("parent_id", Long.class));
+                    c.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+                    c.setUsername(rs.getString("username"));
+                    c.setAvatar(rs.getString("avatar"));
+                    all.add(c);
+                }
+            }
+        }
+        return all;
+    }
+
+    private CursorPage<Comment> uncachedFirstPage() {
+        cache.delete(CommentService.firstPageKey(ARTICLE));
+        return comments.getCommentThreads(ARTICLE, null, 20);
+    }
+
+    // Replies go to every sixteenth top-level comment, four each
+    private static long parentOf(long replyId) {
+        return (replyId % (TOP_LEVEL / 16) + 1) * 16;
+    }
+}
@@ -0,0 +1,208 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.domain.model.ArticlesDeletedEvent;
+import com.newshub.backend.infrastructure.persistence.ArticleMapper;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.mybatis.spring.transaction.SpringManagedTransactionFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Retention against an H2 database (MySQL mode) whose comments cascade from articles. Every
+ * third of the 2,500 articles is recent; the rest are past the 3-day retention.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DataCleanupServiceTest {
+
+    private static final int ARTICLES = 2_500;
+
+    private Connection keepAlive;
+    private ArticleMapper articleMapper;
+    private TransactionTemplate transactionTemplate;
+    private final List<ArticlesDeletedEvent> events = new ArrayList<>();
+    // Events published before the next one throws; negative never throws
+    private int eventsBeforeFailure;
+    private CacheService cacheService;
+    private DataCleanupService cleanup;
+
+    @BeforeAll
+    void createDatabase() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:retention;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        keepAlive = dataSource.getConnection();
+        try (Statement st = keepAlive.createStatement()) {
+            st.execute("CREATE TABLE articles (id BIGINT AUTO_INCREMENT PRIMARY KEY, title VARCHAR(255) NOT NULL, " +
+                    "source_url VARCHAR(500), category_id BIGINT, publish_time TIMESTAMP, views BIGINT DEFAULT 0, " +
+                    "created_at TIMESTAMP)");
+            st.execute("CREATE INDEX idx_created_at ON articles (created_at)");
+            st.execute("CREATE TABLE comments (id BIGINT AUTO_INCREMENT PRIMARY KEY, article_id BIGINT NOT NULL, " +
+                    "content VARCHAR(255), FOREIGN KEY (article_id) REFERENCES articles(id) ON DELETE CASCADE)");
+        }
+
+        Configuration configuration = new Configuration(new Environment("test", new SpringManagedTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.addMapper(ArticleMapper.class);
+        SqlSessionFactory factory = new SqlSessionFactoryBuilder().build(configuration);
+        articleMapper = new SqlSessionTemplate(factory).getMapper(ArticleMapper.class);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterAll
+    void dropDatabase() throws SQLException {
+        keepAlive.close();
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        try (Statement st = keepAlive.createStatement()) {
+            st.execute("DELETE FROM comments");
+            st.execute("DELETE FROM articles");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        try (PreparedStatement article = keepAlive.prepareStatement(
+                "INSERT INTO articles (id, title, source_url, category_id, publish_time, created_at) VALUES (?, 'Story', ?, 1, ?, ?)");
+             PreparedStatement comment = keepAlive.prepareStatement("INSERT INTO comments (article_id, content) VALUES (?, 'Hi')")) {
+            for (int id = 1; id <= ARTICLES; id++) {
+                Timestamp created = Timestamp.valueOf(isRecent(id) ? now.minusHours(1) : now.minusDays(10));
+                article.setLong(1, id);
+                article.setString(2, "https://example.com/" + id);
+                article.setTimestamp(3, created);
+                article.setTimestamp(4, created);
+                article.addBatch();
+                comment.setLong(1, id);
+                comment.addBatch();
+            }
+            article.executeBatch();
+            comment.executeBatch();
+        }
+
+        events.clear();
+        eventsBeforeFailure = -1;
+        SettingsService settingsService = mock(SettingsService.class);
+        when(settingsService.getInt(eq("retention_days"), anyInt())).thenReturn(3);
+        cacheService = mock(CacheService.class);
+
+        cleanup = new DataCleanupService();
+        ReflectionTestUtils.setField(cleanup, "articleMapper", articleMapper);
+        ReflectionTestUtils.setField(cleanup, "settingsService", settingsService);
+        ReflectionTestUtils.setField(cleanup, "cacheService", cacheService);
+        ReflectionTestUtils.setField(cleanup, "eventPublisher", (ApplicationEventPublisher) event -> {
+            if (eventsBeforeFailure-- == 0) {
+                throw new IllegalStateException("listener failed");
+            }
+            events.add((ArticlesDeletedEvent) event);
+        });
+        ReflectionTestUtils.setField(cleanup, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(cleanup, "chunkSize", 100);
+        ReflectionTestUtils.setField(cleanup, "pauseMillis", 0L);
+    }
+
+    @Test
+    void deletesExpiredArticlesInBoundedChunks() throws SQLException {
+        cleanup.cleanupOldNews();
+
+        Set<Long> remaining = ids("SELECT id FROM articles");
+        assertThat(remaining).hasSize(ARTICLES / 3).allMatch(DataCleanupServiceTest::isRecent);
+        // Comments went with their articles
+        assertThat(ids("SELECT article_id FROM comments")).isEqualTo(remaining);
+
+        // One event per 100-id window, none larger than a window
+        assertThat(events).hasSize(ARTICLES / 100).allMatch(e -> e.getIds().size() <= 100);
+        Set<Long> announced = new HashSet<>();
+        events.forEach(e -> announced.addAll(e.getIds()));
+        assertThat(announced).hasSize(ARTICLES - ARTICLES / 3).noneMatch(DataCleanupServiceTest::isRecent);
+
+        assertThat(cleanup.getStats())
+                .containsEntry("deletedRows", (long) announced.size())
+                .containsEntry("chunks", (long) events.size())
+                .containsEntry("running", false)
+                .containsEntry("lastError", null);
+        verify(cacheService).delete("news:article:1");
+        verify(cacheService).delete(CommentService.firstPageKey(1L));
+        verify(cacheService).delete(NewsService.KEY_LATEST_HEAD);
+    }
+
+    @Test
+    void failedChunkKeepsEarlierChunksAndRecordsTheError() throws SQLException {
+        eventsBeforeFailure = 5;
+
+        cleanup.cleanupOldNews();
+
+        // Chunks 1-5 committed, the sixth rolled back with its event and the run stopped there
+        Set<Long> remaining = ids("SELECT id FROM articles");
+        assertThat(remaining).noneMatch(id -> id <= 500 && !isRecent(id));
+        assertThat(remaining).filteredOn(id -> id > 500).hasSize(ARTICLES - 500);
+        assertThat(cleanup.getStats())
+                .containsEntry("chunks", 5L)
+                .containsEntry("cursorId", 501L)
+                .containsEntry("lastError", "listener failed")
+                .containsEntry("running", false);
+
+        // The next run picks up the rest
+        eventsBeforeFailure = -1;
+        cleanup.cleanupOldNews();
+        assertThat(ids("SELECT id FROM articles")).hasSize(ARTICLES / 3);
+    }
+
+    @Test
+    void nothingExpiredIsANoOp() throws SQLException {
+        try (Statement st = keepAlive.createStatement()) {
+            st.execute("UPDATE articles SET created_at = CURRENT_TIMESTAMP");
+        }
+
+        cleanup.cleanupOldNews();
+
+        assertThat(events).isEmpty();
+        assertThat(ids("SELECT id FROM articles")).hasSize(ARTICLES);
+        assertThat(cleanup.getStats()).containsEntry("deletedRows", 0L);
+        verifyNoInteractions(cacheService);
+    }
+
+    // --- helpers ---
+
+    private static boolean isRecent(long id) {
+        return id % 3 == 0;
+    }
+
+    private Set<Long> ids(String sql) throws SQLException {
+        Set<Long> ids = new HashSet<>();
+        try (Statement st = keepAlive.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,181 @@
+package com.newshub.backend.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.newshub.backend.domain.model.Article;
+import com.newshub.backend.infrastructure.config.KafkaConfig;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+/**
+ * The batch listener against an embedded broker, with the DB write path stubbed out.
+ */
+@SpringJUnitConfig
+@EmbeddedKafka(topics = "news-crawler-topic", partitions = 1)
+@TestPropertySource(properties = {
+        "app.kafka.ingest.linger-ms=50",
+        "app.kafka.ingest.retries=0",
+        "app.kafka.ingest.retry-backoff-ms=0"
+})
+class KafkaConsumerServiceTest {
+
+    private static final String TOPIC = "news-crawler-topic";
+
+    @Configuration
+    @EnableKafka
+    @Import({KafkaConfig.class, KafkaConsumerService.class})
+    static class Config {
+
+        @Bean
+        ConsumerFactory<String, String> consumerFactory(@Value("${spring.embedded.kafka.brokers}") String brokers) {
+            Map<String, Object> props = new HashMap<>();
+            props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, brokers);
+            props.put(ConsumerConfig.GROUP_ID_CONFIG, "news-crawler-group-v2");
+            props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+            props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+            props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+            return new DefaultKafkaConsumerFactory<>(props);
+        }
+
+        // Backs the single-record listener, which stays stopped while batch mode is on
+        @Bean
+        ConcurrentKafkaListenerContainerFactory<String, String> kafkaListenerContainerFactory(ConsumerFactory<String, String> consumerFactory) {
+            ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+            factory.setConsumerFactory(consumerFactory);
+            return factory;
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().registerModule(new JavaTimeModule());
+        }
+    }
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ArticleIngestService articleIngestService;
+
+    @Test
+    void sustainsIngestRateInBatches() throws Exception {
+        int total = 20_000;
+        Set<String> stored = ConcurrentHashMap.newKeySet();
+        AtomicInteger calls = new AtomicInteger();
+        when(articleIngestService.ingest(anyList())).thenAnswer(inv -> {
+            List<Article> batch = inv.getArgument(0);
+            calls.incrementAndGet();
+            batch.forEach(a -> stored.add(a.getSourceUrl()));
+            return batch;
+        });
+
+        long start = System.nanoTime();
+        send("rate", total, -1);
+        awaitStored(stored, "rate", total, 60);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double rate = total / seconds;
+        System.out.printf("Ingested %d records in %.2fs (%.0f records/s, %.1f records per call)%n",
+                total, seconds, rate, (double) total / calls.get());
+
+        assertThat(rate).isGreaterThan(1_000);
+        // Many records per listener call, not one
+        assertThat(calls.get()).isLessThan(total / 10);
+    }
+
+    @Test
+    void badRecordIsSkippedAndRestOfBatchIsStored() throws Exception {
+        int total = 500;
+        int bad = 137;
+        String badUrl = url("isolation", bad);
+        Set<String> stored = ConcurrentHashMap.newKeySet();
+        AtomicInteger badAttempts = new AtomicInteger();
+        when(articleIngestService.ingest(anyList())).thenAnswer(inv -> {
+            List<Article> batch = inv.getArgument(0);
+            if (batch.stream().anyMatch(a -> badUrl.equals(a.getSourceUrl()))) {
+                badAttempts.incrementAndGet();
+                throw new IllegalStateException("Data too long for column 'title'");
+            }
+            batch.forEach(a -> stored.add(a.getSourceUrl()));
+            return batch;
+        });
+
+        send("isolation", total, bad);
+        awaitStored(stored, "isolation", total - 1, 30);
+
+        assertThat(stored).doesNotContain(badUrl);
+        // The whole batch, then the record on its own; with no retries it is then skipped
+        assertThat(badAttempts.get()).isGreaterThanOrEqualTo(2);
+        for (int i = 0; i < total; i++) {
+            if (i != bad) {
+                assertThat(stored).contains(url("isolation", i));
+            }
+        }
+    }
+
+    private void send(String prefix, int count, int malformed) throws Exception {
+        Map<String, Object> props = KafkaTestUtils.producerProps(broker);
+        try (Producer<String, String> producer = new KafkaProducer<>(props, new StringSerializer(), new StringSerializer())) {
+            for (int i = 0; i < count; i++) {
+                Article article = new Article();
+                article.setTitle("Story " + i);
+                article.setSummary("Summary of story " + i);
+                article.setSourceUrl(url(prefix, i));
+                article.setSourceName("test");
+                article.setCategoryId(1L);
+                producer.send(new ProducerRecord<>(TOPIC, objectMapper.writeValueAsString(article)));
+                if (i == malformed) {
+                    // Unparseable messages are dropped by the listener without failing the batch
+                    producer.send(new ProducerRecord<>(TOPIC, "{not json"));
+                }
+            }
+            producer.flush();
+        }
+    }
+
+    private static void awaitStored(Set<String> stored, String prefix, int expected, int timeoutSeconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        while (stored.stream().filter(u -> u.contains("/" + prefix + "/")).count() < expected) {
+            assertThat(System.nanoTime()).as("records stored before timeout").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private static String url(String prefix, int i) {
+        return "https://example.com/" + prefix + "/" + i;
+    }
+}
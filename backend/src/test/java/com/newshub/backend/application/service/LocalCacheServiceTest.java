@@ -0,0 +1,124 @@
+package com.newshub.backend.application.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalCacheServiceTest {
+
+    @Test
+    void parallelMissesRunTheLoaderOnce() throws Exception {
+        LocalCacheService cache = new LocalCacheService(1 << 20);
+        int threads = 64;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return cache.getOrLoad("news:latest", 5, TimeUnit.MINUTES, () -> {
+                        loads.incrementAndGet();
+                        sleep(200);
+                        return "feed";
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("feed");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void staleValueIsServedWhileOneRefreshRuns() throws Exception {
+        LocalCacheService cache = new LocalCacheService(1 << 20);
+        ReflectionTestUtils.setField(cache, "staleRatio", 10.0);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch refreshing = new CountDownLatch(1);
+
+        assertThat(cache.getOrLoad("k", 50, TimeUnit.MILLISECONDS, () -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+        Thread.sleep(80);
+
+        for (int i = 0; i < 20; i++) {
+            String value = cache.getOrLoad("k", 50, TimeUnit.MILLISECONDS, () -> {
+                sleep(100);
+                String v = "v" + loads.incrementAndGet();
+                refreshing.countDown();
+                return v;
+            });
+            assertThat(value).isEqualTo("v1");
+        }
+        assertThat(refreshing.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(50);
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.getOrLoad("k", 50, TimeUnit.MILLISECONDS, () -> "unused")).isEqualTo("v2");
+    }
+
+    @Test
+    void missJoiningARefreshThatLostTheLockStillGetsAValue() throws Exception {
+        CountDownLatch lockAsked = new CountDownLatch(1);
+        CountDownLatch otherNodeHoldsLock = new CountDownLatch(1);
+        // Refreshes find the lock taken by another node; foreground loads get it
+        LocalCacheService cache = new LocalCacheService(1 << 20) {
+            @Override
+            protected String tryLock(String key) {
+                if (Thread.currentThread().getName().equals("cache-refresh")) {
+                    lockAsked.countDown();
+                    try {
+                        otherNodeHoldsLock.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return null;
+                }
+                return super.tryLock(key);
+            }
+        };
+        ReflectionTestUtils.setField(cache, "staleRatio", 10.0);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.getOrLoad("k", 50, TimeUnit.MILLISECONDS, () -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+        Thread.sleep(80);
+        assertThat(cache.getOrLoad("k", 50, TimeUnit.MILLISECONDS, () -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+        assertThat(lockAsked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // The key is evicted while the refresh is in flight; the next read misses and joins it
+        cache.delete("k");
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> miss = pool.submit(() ->
+                    cache.getOrLoad("k", 50, TimeUnit.MILLISECONDS, () -> "v" + loads.incrementAndGet()));
+            while (((Number) cache.getLoaderStats().get("coalesced")).longValue() == 0) {
+                Thread.sleep(5);
+            }
+            otherNodeHoldsLock.countDown();
+            assertThat(miss.get(5, TimeUnit.SECONDS)).isEqualTo("v2");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
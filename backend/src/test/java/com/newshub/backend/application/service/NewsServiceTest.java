@@ -0,0 +1,239 @@
+package com.newshub.backend.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.newshub.backend.domain.model.Article;
+import com.newshub.backend.domain.model.ArticleSummary;
+import com.newshub.backend.infrastructure.persistence.ArticleMapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Page size clamping, and the latest feed against an H2 database (MySQL mode) holding 1M
+ * published articles, three to a second so that the id has to break publish_time ties.
+ * The list-column comparison uses a second, smaller database whose articles have full bodies.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class NewsServiceTest {
+
+    private static final int ARTICLES = 1_000_000;
+
+    private final ObjectMapper json = new ObjectMapper().registerModule(new JavaTimeModule());
+    private Connection keepAlive;
+    private ArticleMapper articleMapper;
+
+    // The latest feed query as it was before list columns
+    interface FullRowMapper {
+        @Select("SELECT * FROM articles WHERE status = 'PUBLISHED' ORDER BY publish_time DESC, id DESC LIMIT #{limit} OFFSET #{offset}")
+        List<Article> findLatest(@Param("limit") int limit, @Param("offset") int offset);
+    }
+
+    @BeforeAll
+    void createDatabase() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        // No reuse of query results, so every timed query really runs
+        dataSource.setURL("jdbc:h2:mem:feed;MODE=MySQL;DATABASE_TO_LOWER=TRUE;OPTIMIZE_REUSE_RESULTS=FALSE");
+        keepAlive = dataSource.getConnection();
+        try (Statement st = keepAlive.createStatement()) {
+            st.execute("CREATE TABLE articles (id BIGINT AUTO_INCREMENT PRIMARY KEY, title VARCHAR(255) NOT NULL, " +
+                    "summary VARCHAR(500), cover_image VARCHAR(255), category_id BIGINT, source_name VARCHAR(100), " +
+                    "publish_time TIMESTAMP, views BIGINT DEFAULT 0, status VARCHAR(20) DEFAULT 'PUBLISHED')");
+            st.execute("INSERT INTO articles (id, title, summary, category_id, source_name, publish_time) " +
+                    "SELECT n, CONCAT('Story ', n), 'A short summary of the story', MOD(n, 10) + 1, 'wire', " +
+                    "DATEADD('SECOND', n / 3, TIMESTAMP '2025-01-01 00:00:00') FROM (SELECT \"X\" AS n FROM SYSTEM_RANGE(1, " + ARTICLES + "))");
+            // Stands in for idx_status_publish (status, publish_time, id): every row is published, and H2
+            // only reads an index in ORDER BY order when the equality column is left out of it
+            st.execute("CREATE INDEX idx_publish ON articles (publish_time DESC, id DESC)");
+        }
+
+        Configuration configuration = new Configuration(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.addMapper(ArticleMapper.class);
+        SqlSessionFactory factory = new SqlSessionFactoryBuilder().build(configuration);
+        articleMapper = new SqlSessionTemplate(factory).getMapper(ArticleMapper.class);
+    }
+
+    @AfterAll
+    void dropDatabase() throws SQLException {
+        keepAlive.close();
+    }
+
+    @Test
+    void categoryPageSizeIsClamped() {
+        CategoryFeedService categoryFeedService = mock(CategoryFeedService.class);
+        TrendingService trendingService = mock(TrendingService.class);
+        when(trendingService.isReady()).thenReturn(false);
+        NewsService news = new NewsService();
+        ReflectionTestUtils.setField(news, "categoryFeedService", categoryFeedService);
+        ReflectionTestUtils.setField(news, "trendingService", trendingService);
+
+        news.getNewsByCategory(1L, Integer.MAX_VALUE);
+        news.getTrendingNews(Integer.MAX_VALUE, 2L);
+        news.getNewsByCategory(3L, -5);
+
+        verify(categoryFeedService).page(1L, null, 100);
+        verify(categoryFeedService).page(2L, null, 100);
+        verify(categoryFeedService).page(3L, null, 1);
+    }
+
+    @Test
+    void cursorPagesMatchOffsetPages() {
+        List<Long> byOffset = new ArrayList<>();
+        for (int offset = 0; offset < 3_000; offset += 30) {
+            articleMapper.findLatest(30, offset).forEach(a -> byOffset.add(a.getId()));
+        }
+        List<Long> byCursor = new ArrayList<>();
+        FeedCursor cursor = null;
+        while (byCursor.size() < 3_000) {
+            List<ArticleSummary> page = cursor == null
+                    ? articleMapper.findLatestBefore(null, null, 30)
+                    : articleMapper.findLatestBefore(cursor.publishTime(), cursor.id(), 30);
+            page.forEach(a -> byCursor.add(a.getId()));
+            cursor = FeedCursor.decode(FeedCursor.after(page.get(page.size() - 1)).encode());
+        }
+        assertThat(byCursor).isEqualTo(byOffset).doesNotHaveDuplicates();
+        assertThat(byCursor.get(0)).isEqualTo(ARTICLES);
+    }
+
+    /**
+     * One page of 20 at increasing depths: OFFSET reads and throws away every row before the
+     * page, the keyset query seeks to the cursor, so only the former grows with depth.
+     */
+    @Test
+    void offsetVersusCursorAtDepth() {
+        int[] depths = {1_000, 100_000, 500_000, 990_000};
+        int rounds = 5;
+        double deepestOffset = 0;
+        double deepestCursor = 0;
+        for (int depth : depths) {
+            ArticleSummary last = articleMapper.findLatest(1, depth - 1).get(0);
+            List<ArticleSummary> expected = articleMapper.findLatest(20, depth);
+            assertThat(articleMapper.findLatestBefore(last.getPublishTime(), last.getId(), 20))
+                    .extracting(ArticleSummary::getId)
+                    .containsExactlyElementsOf(expected.stream().map(ArticleSummary::getId).toList());
+
+            long start = System.nanoTime();
+            for (int i = 0; i < rounds; i++) {
+                articleMapper.findLatest(20, depth);
+            }
+            double offset = (System.nanoTime() - start) / 1e6 / rounds;
+            start = System.nanoTime();
+            for (int i = 0; i < rounds * 20; i++) {
+                articleMapper.findLatestBefore(last.getPublishTime(), last.getId(), 20);
+            }
+            double cursor = (System.nanoTime() - start) / 1e6 / (rounds * 20);
+
+            System.out.printf("%d articles, page of 20 at row %d: OFFSET %.2f ms, cursor %.3f ms%n",
+                    ARTICLES, depth, offset, cursor);
+            deepestOffset = offset;
+            deepestCursor = cursor;
+        }
+        assertThat(deepestCursor * 20).isLessThan(deepestOffset);
+    }
+
+    /**
+     * Pages of /api/news/latest read from the DB and written as JSON, with every article body
+     * around 12 kB: SELECT * into Article (before) against the list columns into ArticleSummary.
+     */
+    @Test
+    void listColumnsShrinkLatestResponses() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:bodies;MODE=MySQL;DATABASE_TO_LOWER=TRUE;OPTIMIZE_REUSE_RESULTS=FALSE");
+        try (Connection bodies = dataSource.getConnection()) {
+            try (Statement st = bodies.createStatement()) {
+                st.execute("CREATE TABLE articles (id BIGINT AUTO_INCREMENT PRIMARY KEY, title VARCHAR(255) NOT NULL, " +
+                        "summary VARCHAR(500), content CLOB, cover_image VARCHAR(255), author_id BIGINT, category_id BIGINT, " +
+                        "source_url VARCHAR(500), source_url_hash BIGINT, source_name VARCHAR(100), publish_time TIMESTAMP, " +
+                        "views BIGINT DEFAULT 0, likes BIGINT DEFAULT 0, status VARCHAR(20) DEFAULT 'PUBLISHED', " +
+                        "created_at TIMESTAMP, updated_at TIMESTAMP)");
+                st.execute("CREATE INDEX idx_publish ON articles (publish_time DESC, id DESC)");
+            }
+            String body = "<p>" + "Officials said the measures would take effect next month after a review of the "
+                    .repeat(150) + "</p>";
+            try (PreparedStatement ps = bodies.prepareStatement("INSERT INTO articles (title, summary, content, cover_image, " +
+                    "category_id, source_url, source_name, publish_time, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, ?, 1, ?, 'wire', DATEADD('SECOND', ?, TIMESTAMP '2025-01-01 00:00:00'), " +
+                    "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)")) {
+                for (int i = 1; i <= 2_000; i++) {
+                    ps.setString(1, "Story " + i + " about the new measures");
+                    ps.setString(2, "A two-sentence summary of story " + i + ". It fits in a feed card.");
+                    ps.setString(3, body);
+                    ps.setString(4, "https://img.example.com/" + i + ".jpg");
+                    ps.setString(5, "https://example.com/story/" + i);
+                    ps.setInt(6, i);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+
+            Configuration configuration = new Configuration(new Environment("test", new JdbcTransactionFactory(), dataSource));
+            configuration.setMapUnderscoreToCamelCase(true);
+            configuration.addMapper(ArticleMapper.class);
+            configuration.addMapper(FullRowMapper.class);
+            SqlSessionTemplate template = new SqlSessionTemplate(new SqlSessionFactoryBuilder().build(configuration));
+            FullRowMapper before = template.getMapper(FullRowMapper.class);
+            ArticleMapper after = template.getMapper(ArticleMapper.class);
+
+            int requests = 1_000;
+            long[] beforeNanos = new long[requests];
+            long[] afterNanos = new long[requests];
+            long beforeBytes = 0;
+            long afterBytes = 0;
+            Random random = new Random(10);
+            for (int warmup = 0; warmup < 200; warmup++) {
+                json.writeValueAsBytes(before.findLatest(10, random.nextInt(190) * 10));
+                json.writeValueAsBytes(after.findLatest(10, random.nextInt(190) * 10));
+            }
+            for (int i = 0; i < requests; i++) {
+                int offset = random.nextInt(190) * 10;
+                long start = System.nanoTime();
+                beforeBytes += json.writeValueAsBytes(before.findLatest(10, offset)).length;
+                beforeNanos[i] = System.nanoTime() - start;
+                start = System.nanoTime();
+                afterBytes += json.writeValueAsBytes(after.findLatest(10, offset)).length;
+                afterNanos[i] = System.nanoTime() - start;
+            }
+
+            System.out.printf("/api/news/latest, page of 10: SELECT * %d bytes, p50 %.2f ms, p99 %.2f ms; " +
+                            "list columns %d bytes, p50 %.2f ms, p99 %.2f ms%n",
+                    beforeBytes / requests, percentile(beforeNanos, 50), percentile(beforeNanos, 99),
+                    afterBytes / requests, percentile(afterNanos, 50), percentile(afterNanos, 99));
+            assertThat(afterBytes * 20).isLessThan(beforeBytes);
+            assertThat(percentile(afterNanos, 99)).isLessThan(percentile(beforeNanos, 99));
+        }
+    }
+
+    // --- helpers ---
+
+    private static double percentile(long[] nanos, int p) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, sorted.length * p / 100)] / 1e6;
+    }
+}
@@ -0,0 +1,167 @@
+package com.newshub.backend.application.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SSE fan-out with emitters whose writes either return at once or block until released, the
+ * way a write to a client that stopped reading does.
+ */
+class NewsStreamServiceTest {
+
+    private NewsStreamService stream;
+    // Emitters handed out by the next subscribe calls
+    private final Deque<SseEmitter> next = new ArrayDeque<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        stream = new NewsStreamService() {
+            @Override
+            SseEmitter newEmitter() {
+                return next.poll();
+            }
+        };
+        ReflectionTestUtils.setField(stream, "maxClients", 100);
+        ReflectionTestUtils.setField(stream, "sendThreads", 2);
+        ReflectionTestUtils.setField(stream, "clientQueue", 8);
+        ReflectionTestUtils.setField(stream, "sendTimeLimitMillis", 10_000L);
+        stream.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        stream.shutdown();
+    }
+
+    @Test
+    void stalledClientDoesNotHoldUpTheOthers() {
+        StalledEmitter stalled = new StalledEmitter();
+        CountingEmitter fast = new CountingEmitter();
+        CountingEmitter other = new CountingEmitter();
+        subscribe(stalled, null);
+        subscribe(fast, null);
+        subscribe(other, null);
+
+        // Far more frames than the old shared 256-task backlog, each sent while the stalled write still blocks
+        for (int i = 1; i <= 1_000; i++) {
+            stream.postSend(frame(ArticlePushService.TOPIC_LATEST), null, true);
+            int sent = i;
+            waitFor(() -> fast.sent.get() == sent && other.sent.get() == sent);
+        }
+        assertThat(stream.getStats()).containsEntry("clients", 2).containsEntry("slowClientsClosed", 1L);
+        assertThat(stalled.completed).isTrue();
+    }
+
+    @Test
+    void clientBlockedPastTheSendTimeLimitIsDisconnected() throws Exception {
+        ReflectionTestUtils.setField(stream, "sendTimeLimitMillis", 50L);
+        StalledEmitter stalled = new StalledEmitter();
+        subscribe(stalled, null);
+
+        stream.postSend(frame(ArticlePushService.TOPIC_LATEST), null, true);
+        assertThat(stalled.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(100);
+
+        // Its queue is empty, so only the heartbeat notices
+        stream.heartbeat();
+        assertThat(stream.getStats()).containsEntry("clients", 0).containsEntry("slowClientsClosed", 1L);
+    }
+
+    @Test
+    void framesReachOnlyTheirScope() {
+        CountingEmitter all = new CountingEmitter();
+        CountingEmitter sports = new CountingEmitter();
+        CountingEmitter tech = new CountingEmitter();
+        subscribe(all, null);
+        subscribe(sports, 3L);
+        subscribe(tech, 4L);
+
+        stream.postSend(frame(ArticlePushService.TOPIC_LATEST), null, true);
+        stream.postSend(frame(ArticlePushService.TOPIC_CATEGORY + 3), null, true);
+        stream.postSend(frame(ArticlePushService.TOPIC_CATEGORY + 3), null, true);
+
+        waitFor(() -> all.sent.get() == 1 && sports.sent.get() == 2);
+        assertThat(tech.sent.get()).isZero();
+    }
+
+    @Test
+    void heartbeatPingsIdleClients() {
+        CountingEmitter idle = new CountingEmitter();
+        subscribe(idle, 5L);
+
+        stream.heartbeat();
+
+        waitFor(() -> idle.sent.get() == 1);
+    }
+
+    // --- helpers ---
+
+    private void subscribe(SseEmitter emitter, Long categoryId) {
+        next.add(emitter);
+        assertThat(stream.subscribe(categoryId)).isSameAs(emitter);
+    }
+
+    private static void waitFor(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("timed out").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    private static Message<byte[]> frame(String destination) {
+        return MessageBuilder.withPayload("[{\"id\":1}]".getBytes(StandardCharsets.UTF_8))
+                .setHeader(SimpMessageHeaderAccessor.DESTINATION_HEADER, destination)
+                .build();
+    }
+
+    private static class CountingEmitter extends SseEmitter {
+
+        final AtomicInteger sent = new AtomicInteger();
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            sent.incrementAndGet();
+        }
+    }
+
+    private class StalledEmitter extends SseEmitter {
+
+        final CountDownLatch entered = new CountDownLatch(1);
+        volatile boolean completed;
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.domain.model.BroadcastJob;
+import com.newshub.backend.infrastructure.persistence.NotificationMapper;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Broadcast paths against an H2 database (MySQL mode) seeded with 100k users.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class NotificationBroadcastServiceTest {
+
+    private static final int USERS = 100_000;
+
+    private JdbcDataSource dataSource;
+    private Connection keepAlive;
+    private NotificationMapper notificationMapper;
+    private final AtomicInteger pushed = new AtomicInteger();
+    private NotificationBroadcastService service;
+
+    @BeforeAll
+    void createDatabase() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:broadcast;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        keepAlive = dataSource.getConnection();
+        try (Statement st = keepAlive.createStatement()) {
+            st.execute("CREATE TABLE users (id BIGINT AUTO_INCREMENT PRIMARY KEY, username VARCHAR(50) NOT NULL, " +
+                    "password VARCHAR(100) NOT NULL, email VARCHAR(100) NOT NULL, created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+            st.execute("CREATE TABLE notifications (id BIGINT AUTO_INCREMENT PRIMARY KEY, user_id BIGINT NOT NULL, " +
+                    "title VARCHAR(255) NOT NULL, content TEXT, type VARCHAR(50) DEFAULT 'SYSTEM', is_read BOOLEAN DEFAULT FALSE, " +
+                    "related_id BIGINT, created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                    "FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE)");
+            st.execute("CREATE INDEX idx_user_read ON notifications (user_id, is_read)");
+            st.execute("CREATE TABLE broadcast_notifications (id BIGINT AUTO_INCREMENT PRIMARY KEY, title VARCHAR(255) NOT NULL, " +
+                    "content TEXT, type VARCHAR(50) DEFAULT 'SYSTEM', created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+            st.execute("CREATE TABLE notification_watermarks (user_id BIGINT PRIMARY KEY, " +
+                    "last_seen_broadcast_id BIGINT NOT NULL DEFAULT 0, FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE)");
+        }
+        Timestamp registered = Timestamp.valueOf(LocalDateTime.now().minusDays(30));
+        keepAlive.setAutoCommit(false);
+        try (PreparedStatement ps = keepAlive.prepareStatement(
+                "INSERT INTO users(username, password, email, created_at) VALUES (?, 'x', ?, ?)")) {
+            for (int i = 1; i <= USERS; i++) {
+                ps.setString(1, "user" + i);
+                ps.setString(2, "user" + i + "@example.com");
+                ps.setTimestamp(3, registered);
+                ps.addBatch();
+                if (i % 5_000 == 0) {
+                    ps.executeBatch();
+                }
+            }
+        }
+        keepAlive.commit();
+        keepAlive.setAutoCommit(true);
+
+        Configuration configuration = new Configuration(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.addMapper(NotificationMapper.class);
+        SqlSessionFactory factory = new SqlSessionFactoryBuilder().build(configuration);
+        notificationMapper = new SqlSessionTemplate(factory).getMapper(NotificationMapper.class);
+    }
+
+    @AfterAll
+    void dropDatabase() throws SQLException {
+        keepAlive.close();
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        try (Statement st = keepAlive.createStatement()) {
+            st.execute("DELETE FROM notifications");
+            st.execute("DELETE FROM broadcast_notifications");
+            st.execute("DELETE FROM notification_watermarks");
+        }
+        pushed.set(0);
+        service = new NotificationBroadcastService();
+        ReflectionTestUtils.setField(service, "notificationMapper", notificationMapper);
+        // Counters are Redis-backed in production; only the DB writes and pushes are under test
+        ReflectionTestUtils.setField(service, "unreadCounterService", mock(UnreadCounterService.class, withSettings().stubOnly()));
+        ReflectionTestUtils.setField(service, "messagingTemplate", new SimpMessagingTemplate((message, timeout) -> {
+            pushed.incrementAndGet();
+            return true;
+        }));
+        ReflectionTestUtils.setField(service, "chunkSize", 1000);
+        ReflectionTestUtils.setField(service, "publishThreads", 2);
+        ReflectionTestUtils.setField(service, "maxQueuedJobs", 4);
+        ReflectionTestUtils.setField(service, "retainedJobs", 100);
+        service.init();
+    }
+
+    @Test
+    void announcementIsOneRowAndOnePush() throws SQLException {
+        long start = System.nanoTime();
+        BroadcastJob job = service.broadcastToAll("Maintenance", "Tonight at 02:00", "SYSTEM");
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("Announcement to %d users stored and pushed in %d ms%n", USERS, millis);
+
+        assertThat(job.getStatus()).isEqualTo("COMPLETED");
+        assertThat(count("broadcast_notifications")).isEqualTo(1);
+        assertThat(count("notifications")).isZero();
+        assertThat(pushed.get()).isEqualTo(1);
+
+        for (long userId : new long[]{1, USERS / 2, USERS}) {
+            assertThat(notificationMapper.countUnread(userId)).isEqualTo(1);
+            assertThat(notificationMapper.findByUserId(userId))
+                    .singleElement()
+                    .satisfies(n -> assertThat(n.getId()).isEqualTo(-job.getBroadcastId()));
+        }
+        notificationMapper.advanceWatermark(7L, notificationMapper.findLatestBroadcastId());
+        assertThat(notificationMapper.countUnread(7L)).isZero();
+        assertThat(notificationMapper.countUnread(8L)).isEqualTo(1);
+    }
+
+    @Test
+    void fanOutToAllUsersRunsInChunksOffTheCaller() throws Exception {
+        List<Long> userIds = new ArrayList<>(USERS);
+        for (long id = 1; id <= USERS; id++) {
+            userIds.add(id);
+        }
+
+        long start = System.nanoTime();
+        BroadcastJob job = service.submit("Breaking", "Body", "SYSTEM", userIds);
+        long submitMillis = (System.nanoTime() - start) / 1_000_000;
+        while (!"COMPLETED".equals(job.getStatus()) && !"FAILED".equals(job.getStatus())) {
+            Thread.sleep(20);
+        }
+        // Pushes run behind the inserts on the publisher pool; let the queued ones drain
+        service.shutdown();
+        ThreadPoolExecutor publisher = (ThreadPoolExecutor) ReflectionTestUtils.getField(service, "publishExecutor");
+        assertThat(publisher.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("Fan-out to %d users: submit returned in %d ms, job finished in %d ms (%.0f users/s)%n",
+                USERS, submitMillis, millis, USERS * 1000.0 / Math.max(1, millis));
+
+        assertThat(job.getStatus()).isEqualTo("COMPLETED");
+        assertThat(job.getProcessedUsers()).isEqualTo(USERS);
+        assertThat(submitMillis).isLessThan(1_000);
+        assertThat(count("notifications")).isEqualTo(USERS);
+        assertThat(pushed.get()).isEqualTo(USERS);
+        assertThat(notificationMapper.countUnread((long) USERS)).isEqualTo(1);
+        assertThat(service.getJob(job.getId())).isSameAs(job);
+    }
+
+    private long count(String table) throws SQLException {
+        try (Statement st = keepAlive.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.domain.model.Notification;
+import com.newshub.backend.infrastructure.persistence.NotificationMapper;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Personal notifications and broadcasts read through the per-user watermark, against an H2
+ * database (MySQL mode).
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class NotificationServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final long OLD_USER = 1L;
+    private static final long NEW_USER = 2L;
+
+    private Connection keepAlive;
+    private NotificationMapper notificationMapper;
+    private NotificationService service;
+
+    @BeforeAll
+    void createDatabase() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:watermarks;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        keepAlive = dataSource.getConnection();
+        try (Statement st = keepAlive.createStatement()) {
+            st.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, created_at TIMESTAMP)");
+            st.execute("CREATE TABLE notifications (id BIGINT AUTO_INCREMENT PRIMARY KEY, user_id BIGINT NOT NULL, " +
+                    "title VARCHAR(255) NOT NULL, content TEXT, type VARCHAR(50) DEFAULT 'SYSTEM', is_read BOOLEAN DEFAULT FALSE, " +
+                    "related_id BIGINT, created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                    "FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE)");
+            st.execute("CREATE TABLE broadcast_notifications (id BIGINT AUTO_INCREMENT PRIMARY KEY, title VARCHAR(255) NOT NULL, " +
+                    "content TEXT, type VARCHAR(50) DEFAULT 'SYSTEM', created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+            st.execute("CREATE TABLE notification_watermarks (user_id BIGINT PRIMARY KEY, " +
+                    "last_seen_broadcast_id BIGINT NOT NULL DEFAULT 0, FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE)");
+        }
+        try (PreparedStatement ps = keepAlive.prepareStatement("INSERT INTO users VALUES (?, ?)")) {
+            ps.setLong(1, OLD_USER);
+            ps.setTimestamp(2, Timestamp.valueOf(NOW.minusDays(30)));
+            ps.execute();
+            ps.setLong(1, NEW_USER);
+            ps.setTimestamp(2, Timestamp.valueOf(NOW.minusDays(1)));
+            ps.execute();
+        }
+
+        Configuration configuration = new Configuration(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.addMapper(NotificationMapper.class);
+        SqlSessionFactory factory = new SqlSessionFactoryBuilder().build(configuration);
+        notificationMapper = new SqlSessionTemplate(factory).getMapper(NotificationMapper.class);
+    }
+
+    @AfterAll
+    void dropDatabase() throws SQLException {
+        keepAlive.close();
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        try (Statement st = keepAlive.createStatement()) {
+            st.execute("DELETE FROM notifications");
+            st.execute("DELETE FROM broadcast_notifications");
+            st.execute("DELETE FROM notification_watermarks");
+        }
+        service = new NotificationService();
+        ReflectionTestUtils.setField(service, "notificationMapper", notificationMapper);
+        ReflectionTestUtils.setField(service, "broadcastService", mock(NotificationBroadcastService.class));
+        ReflectionTestUtils.setField(service, "unreadCounterService", mock(UnreadCounterService.class));
+        ReflectionTestUtils.setField(service, "messagingTemplate", mock(SimpMessagingTemplate.class));
+    }
+
+    @Test
+    void broadcastsAreListedWithNegatedIdsAndReadUpToTheWatermark() throws SQLException {
+        long first = broadcast(NOW.minusDays(10));
+        long second = broadcast(NOW.minusHours(5));
+        long third = broadcast(NOW.minusHours(1));
+        service.createNotification(OLD_USER, "Reply", "Someone replied", "COMMENT", 9L);
+        assertThat(notificationMapper.countUnread(OLD_USER)).isEqualTo(4);
+
+        service.markAsRead(-second, OLD_USER);
+
+        assertThat(notificationMapper.findByUserId(OLD_USER))
+                .extracting(Notification::getId, Notification::getIsRead)
+                .contains(
+                        tuple(-first, true),
+                        tuple(-second, true),
+                        tuple(-third, false));
+        assertThat(notificationMapper.countUnread(OLD_USER)).isEqualTo(2);
+        // Watermarks are per user
+        assertThat(notificationMapper.countUnread(NEW_USER)).isEqualTo(2);
+    }
+
+    @Test
+    void broadcastsBeforeRegistrationAreNotShown() throws SQLException {
+        broadcast(NOW.minusDays(10));
+        long recent = broadcast(NOW.minusHours(1));
+
+        assertThat(notificationMapper.findByUserId(NEW_USER)).extracting(Notification::getId).containsExactly(-recent);
+        assertThat(notificationMapper.countUnread(NEW_USER)).isEqualTo(1);
+    }
+
+    @Test
+    void watermarkNeverMovesBack() throws SQLException {
+        broadcast(NOW.minusHours(3));
+        broadcast(NOW.minusHours(2));
+        long latest = broadcast(NOW.minusHours(1));
+
+        service.markAsRead(-latest, OLD_USER);
+        service.markAsRead(-1L * (latest - 2), OLD_USER);
+
+        assertThat(watermark(OLD_USER)).isEqualTo(latest);
+        assertThat(notificationMapper.countUnread(OLD_USER)).isZero();
+    }
+
+    @Test
+    void unknownBroadcastIdIsCappedAtTheLatest() throws SQLException {
+        long latest = broadcast(NOW.minusHours(1));
+
+        service.markAsRead(-(latest + 1_000), OLD_USER);
+        assertThat(watermark(OLD_USER)).isEqualTo(latest);
+
+        // A broadcast sent afterwards is still unread
+        broadcast(NOW);
+        assertThat(notificationMapper.countUnread(OLD_USER)).isEqualTo(1);
+    }
+
+    @Test
+    void noWatermarkBeforeAnyBroadcast() throws SQLException {
+        service.markAsRead(-5L, OLD_USER);
+
+        assertThat(watermark(OLD_USER)).isNull();
+        broadcast(NOW);
+        assertThat(notificationMapper.countUnread(OLD_USER)).isEqualTo(1);
+    }
+
+    @Test
+    void markAllAsReadCoversPersonalAndBroadcasts() throws SQLException {
+        broadcast(NOW.minusHours(2));
+        service.createNotification(OLD_USER, "Like", "Someone liked", "LIKE", 3L);
+        service.createNotification(OLD_USER, "Like", "Someone liked", "LIKE", 4L);
+
+        service.markAllAsRead(OLD_USER);
+
+        assertThat(notificationMapper.countUnread(OLD_USER)).isZero();
+        assertThat(notificationMapper.findByUserId(OLD_USER)).hasSize(3).allMatch(Notification::getIsRead);
+        broadcast(NOW);
+        assertThat(notificationMapper.countUnread(OLD_USER)).isEqualTo(1);
+    }
+
+    // --- helpers ---
+
+    private long broadcast(LocalDateTime sentAt) throws SQLException {
+        try (PreparedStatement ps = keepAlive.prepareStatement(
+                "INSERT INTO broadcast_notifications(title, content, created_at) VALUES ('News', 'Body', ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            ps.setTimestamp(1, Timestamp.valueOf(sentAt));
+            ps.executeUpdate();
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                keys.next();
+                return keys.getLong(1);
+            }
+        }
+    }
+
+    private Long watermark(long userId) throws SQLException {
+        try (Statement st = keepAlive.createStatement();
+             ResultSet rs = st.executeQuery("SELECT last_seen_broadcast_id FROM notification_watermarks WHERE user_id = " + userId)) {
+            return rs.next() ? rs.getLong(1) : null;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.domain.model.Article;
+import com.newshub.backend.infrastructure.config.CrawlerProperties;
+import com.newshub.backend.infrastructure.persistence.ArticleMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The Java crawl engine against a local stub server serving canned feeds and pages.
+ */
+class RssCrawlerEngineTest {
+
+    private static final String ETAG = "\"feed-v1\"";
+    private static final int ARTICLES = 6;
+
+    private HttpServer server;
+    private String base;
+    private final AtomicInteger feedFetches = new AtomicInteger();
+    private final AtomicInteger feedNotModified = new AtomicInteger();
+    private final AtomicInteger pageFetches = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    // Page number answered with a 503 while positive
+    private final AtomicInteger failingPage = new AtomicInteger();
+
+    private final ConcurrentLinkedQueue<Article> produced = new ConcurrentLinkedQueue<>();
+    private UrlDedupFilter urlDedupFilter;
+    private ArticleMapper articleMapper;
+    private CrawlerProperties properties;
+    private RssCrawlerEngine engine;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/feed.xml", this::serveFeed);
+        server.createContext("/news/", this::servePage);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        base = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        NewsProducer producer = produced::add;
+        urlDedupFilter = mock(UrlDedupFilter.class);
+        articleMapper = mock(ArticleMapper.class);
+        properties = new CrawlerProperties();
+        properties.setThreads(8);
+        properties.setMaxPerHost(2);
+        properties.setTimeoutMs(5000);
+        CrawlerProperties.Feed feed = new CrawlerProperties.Feed();
+        feed.setUrl(base + "/feed.xml");
+        feed.setCategoryId(3L);
+        feed.setSource("Stub News");
+        properties.setFeeds(List.of(feed));
+
+        engine = new RssCrawlerEngine();
+        ReflectionTestUtils.setField(engine, "properties", properties);
+        ReflectionTestUtils.setField(engine, "newsProducer", producer);
+        ReflectionTestUtils.setField(engine, "urlDedupFilter", urlDedupFilter);
+        ReflectionTestUtils.setField(engine, "articleMapper", articleMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void extractsArticlesFromFeedEntries() {
+        engine.crawlAll();
+
+        // The short page is skipped, like in the Python crawler
+        assertThat(produced).hasSize(ARTICLES - 1);
+        Article first = produced.stream().filter(a -> a.getSourceUrl().endsWith("/news/1")).findFirst().orElseThrow();
+        assertThat(first.getTitle()).isEqualTo("Story 1 (og)");
+        assertThat(first.getCategoryId()).isEqualTo(3L);
+        assertThat(first.getSourceName()).isEqualTo("Stub News");
+        assertThat(first.getStatus()).isEqualTo("PUBLISHED");
+        assertThat(first.getCoverImage()).isEqualTo(base + "/img/story-1.jpg");
+        assertThat(first.getContent()).startsWith("<p>").doesNotContain("责任编辑");
+        assertThat(first.getSummary()).hasSizeLessThanOrEqualTo(250);
+        assertThat(first.getPublishTime()).isNotNull();
+    }
+
+    @Test
+    void unchangedFeedCostsOne304() {
+        engine.crawlAll();
+        int pages = pageFetches.get();
+        produced.clear();
+
+        engine.crawlAll();
+
+        assertThat(feedFetches.get()).isEqualTo(2);
+        assertThat(feedNotModified.get()).isEqualTo(1);
+        assertThat(pageFetches.get()).isEqualTo(pages);
+        assertThat(produced).isEmpty();
+        Map<String, Object> stats = engine.getStats();
+        assertThat(stats.get("lastRunNotModified")).isEqualTo(1);
+    }
+
+    @Test
+    void limitsConcurrentFetchesPerHost() {
+        engine.crawlAll();
+
+        assertThat(pageFetches.get()).isEqualTo(ARTICLES);
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(properties.getMaxPerHost());
+    }
+
+    @Test
+    void skipsLinksAlreadyStored() {
+        when(urlDedupFilter.mightContain(anyString())).thenReturn(true);
+        doAnswer(inv -> inv.<String>getArgument(0).endsWith("/news/2") ? 1 : 0)
+                .when(articleMapper).countBySourceUrl(anyString());
+
+        engine.crawlAll();
+
+        assertThat(pageFetches.get()).isEqualTo(ARTICLES - 1);
+        assertThat(produced).noneMatch(a -> a.getSourceUrl().endsWith("/news/2"));
+    }
+
+    @Test
+    void failedEntryKeepsTheFeedFromBeingSkipped() {
+        failingPage.set(3);
+        engine.crawlAll();
+        assertThat(produced).noneMatch(a -> a.getSourceUrl().endsWith("/news/3"));
+
+        // No validators were kept, so the next run gets the feed again and retries the page
+        failingPage.set(0);
+        produced.clear();
+        engine.crawlAll();
+
+        assertThat(feedNotModified.get()).isZero();
+        assertThat(produced).anyMatch(a -> a.getSourceUrl().endsWith("/news/3"));
+
+        // Now every entry made it, and the feed is conditional again
+        engine.crawlAll();
+        assertThat(feedNotModified.get()).isEqualTo(1);
+    }
+
+    private void serveFeed(HttpExchange exchange) throws IOException {
+        feedFetches.incrementAndGet();
+        if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            feedNotModified.incrementAndGet();
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        StringBuilder items = new StringBuilder();
+        for (int i = 1; i <= ARTICLES; i++) {
+            items.append("<item><title>Story ").append(i).append("</title>")
+                    .append("<link>").append(base).append("/news/").append(i).append("</link>")
+                    .append("<pubDate>Mon, 12 Oct 2026 08:0").append(i).append(":00 GMT</pubDate></item>");
+        }
+        String rss = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><rss version=\"2.0\"><channel>"
+                + "<title>Stub</title><link>" + base + "</link><description>stub</description>"
+                + items + "</channel></rss>";
+        exchange.getResponseHeaders().add("Content-Type", "application/rss+xml; charset=UTF-8");
+        exchange.getResponseHeaders().add("ETag", ETAG);
+        respond(exchange, rss);
+    }
+
+    private void servePage(HttpExchange exchange) throws IOException {
+        pageFetches.incrementAndGet();
+        int now = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(now, Math::max);
+        try {
+            // Long enough for fetches to overlap if the host limit were not enforced
+            Thread.sleep(50);
+            String path = exchange.getRequestURI().getPath();
+            int n = Integer.parseInt(path.substring(path.lastIndexOf('/') + 1));
+            if (n == failingPage.get()) {
+                exchange.sendResponseHeaders(503, -1);
+                exchange.close();
+                return;
+            }
+            StringBuilder body = new StringBuilder();
+            int paragraphs = n == ARTICLES ? 1 : 6;
+            for (int p = 0; p < paragraphs; p++) {
+                body.append("<p>Paragraph ").append(p).append(" of story ").append(n)
+                        .append(" carries enough words to count as article text for the extractor.</p>");
+            }
+            String html = "<html><head><title>Story " + n + "</title>"
+                    + "<meta property=\"og:title\" content=\"Story " + n + " (og)\"></head><body>"
+                    + "<div class=\"nav\"><p>Home</p><img src=\"/img/logo.png\"></div>"
+                    + "<div class=\"article\"><img src=\"/img/logo-small.png\"><img src=\"/img/story-" + n + ".jpg\">"
+                    + body + "<p>（责任编辑：某某）</p></div></body></html>";
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=UTF-8");
+            respond(exchange, html);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.domain.model.Settings;
+import com.newshub.backend.infrastructure.persistence.SettingsMapper;
+import com.newshub.backend.interfaces.rest.PublicSettingsController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Settings snapshots on two nodes sharing one settings table, joined by a stand-in for the cache
+ * invalidation channel, and the ETag handling of the public settings endpoints.
+ */
+class SettingsServiceTest {
+
+    // The shared table, in insertion order so reloads see rows in arbitrary order
+    private final Map<String, String> table = new LinkedHashMap<>();
+    private final List<Consumer<String>> listeners = new ArrayList<>();
+    private boolean tableDown;
+    private SettingsService first;
+    private SettingsService second;
+
+    @BeforeEach
+    void setUp() {
+        table.put("site_name", "NewsHub");
+        table.put("retention_days", "3");
+        first = node();
+        second = node();
+    }
+
+    @Test
+    void updateSwapsInANewSnapshotOnEveryNode() {
+        SettingsService.Snapshot before = second.getSnapshot();
+
+        first.update(Map.of("retention_days", "7", "site_name", "Daily"));
+
+        assertThat(second.getSnapshot().values()).isEqualTo(first.getSnapshot().values());
+        assertThat(second.getSnapshot().etag()).isEqualTo(first.getSnapshot().etag());
+        assertThat(second.getInt("retention_days", 3)).isEqualTo(7);
+        assertThat(second.getSnapshot().etag()).isNotEqualTo(before.etag());
+        // The old snapshot is untouched for readers still holding it
+        assertThat(before.get("retention_days")).isEqualTo("3");
+        assertThatThrownBy(() -> first.getAll().put("x", "y")).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void etagDependsOnlyOnTheValues() {
+        String etag = first.getSnapshot().etag();
+        table.clear();
+        table.put("retention_days", "3");
+        table.put("site_name", "NewsHub");
+
+        first.reloadQuietly();
+        assertThat(first.getSnapshot().etag()).isEqualTo(etag).isEqualTo(node().getSnapshot().etag());
+        assertThat(first.getStats()).containsEntry("changes", 1L);
+
+        table.put("site_name", "NewsHub2");
+        first.reloadQuietly();
+        assertThat(first.getSnapshot().etag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    void failedReloadKeepsTheCurrentSnapshot() {
+        SettingsService.Snapshot current = first.getSnapshot();
+        tableDown = true;
+
+        first.reloadQuietly();
+
+        assertThat(first.getSnapshot()).isSameAs(current);
+    }
+
+    @Test
+    void invalidIntegersFallBackToTheDefault() {
+        first.update(Map.of("retention_days", " 5 ", "page_size", "many"));
+
+        assertThat(first.getInt("retention_days", 3)).isEqualTo(5);
+        assertThat(first.getInt("page_size", 20)).isEqualTo(20);
+        assertThat(first.getInt("missing", 9)).isEqualTo(9);
+    }
+
+    @Test
+    void matchingIfNoneMatchIsAnsweredWithNotModified() throws Exception {
+        MockMvc mvc = mvc(first);
+        MvcResult ok = mvc.perform(get("/api/public/settings"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn();
+        String etag = ok.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isEqualTo(first.getSnapshot().etag());
+
+        mvc.perform(get("/api/public/settings").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mvc.perform(get("/api/public/settings/site_name").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // An update on the other node invalidates the validator here too
+        second.update(Map.of("site_name", "Daily"));
+        mvc.perform(get("/api/public/settings/site_name").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, first.getSnapshot().etag()))
+                .andExpect(content().string("Daily"));
+        mvc.perform(get("/api/public/settings/missing"))
+                .andExpect(status().isNotFound());
+    }
+
+    // --- helpers ---
+
+    private SettingsService node() {
+        SettingsMapper settingsMapper = mock(SettingsMapper.class);
+        when(settingsMapper.findAll()).thenAnswer(inv -> {
+            if (tableDown) {
+                throw new IllegalStateException("database unavailable");
+            }
+            List<Settings> rows = new ArrayList<>();
+            table.forEach((k, v) -> {
+                Settings s = new Settings();
+                s.setKey(k);
+                s.setValue(v);
+                rows.add(s);
+            });
+            return rows;
+        });
+        when(settingsMapper.saveAll(anyList())).thenAnswer(inv -> {
+            List<Settings> rows = inv.getArgument(0);
+            rows.forEach(s -> table.put(s.getKey(), s.getValue()));
+            return rows.size();
+        });
+
+        CacheService cacheService = mock(CacheService.class);
+        List<Consumer<String>> own = new ArrayList<>();
+        doAnswer(inv -> {
+            Consumer<String> listener = inv.getArgument(1);
+            own.add(listener);
+            listeners.add(listener);
+            return null;
+        }).when(cacheService).addInvalidationListener(eq("settings:changed"), any());
+        doAnswer(inv -> {
+            String key = inv.getArgument(0);
+            listeners.stream().filter(l -> !own.contains(l)).forEach(l -> l.accept(key));
+            return null;
+        }).when(cacheService).delete(anyString());
+
+        SettingsService service = new SettingsService();
+        ReflectionTestUtils.setField(service, "settingsMapper", settingsMapper);
+        ReflectionTestUtils.setField(service, "cacheService", cacheService);
+        service.init();
+        return service;
+    }
+
+    private static MockMvc mvc(SettingsService settingsService) {
+        PublicSettingsController controller = new PublicSettingsController();
+        ReflectionTestUtils.setField(controller, "settingsService", settingsService);
+        return MockMvcBuilders.standaloneSetup(controller).build();
+    }
+}
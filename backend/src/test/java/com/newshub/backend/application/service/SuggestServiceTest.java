@@ -0,0 +1,104 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.domain.model.Article;
+import com.newshub.backend.domain.model.ArticlePublishedEvent;
+import com.newshub.backend.domain.model.ArticleSummary;
+import com.newshub.backend.domain.model.ArticlesDeletedEvent;
+import com.newshub.backend.infrastructure.persistence.ArticleMapper;
+import com.newshub.backend.infrastructure.persistence.CategoryMapper;
+import com.newshub.backend.interfaces.dto.Suggestion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SuggestServiceTest {
+
+    private ArticleMapper articleMapper;
+    private CategoryMapper categoryMapper;
+    private SuggestService suggest;
+
+    @BeforeEach
+    void setUp() {
+        articleMapper = mock(ArticleMapper.class);
+        categoryMapper = mock(CategoryMapper.class);
+        suggest = new SuggestService();
+        ReflectionTestUtils.setField(suggest, "articleMapper", articleMapper);
+        ReflectionTestUtils.setField(suggest, "categoryMapper", categoryMapper);
+        ReflectionTestUtils.setField(suggest, "enabled", true);
+        ReflectionTestUtils.setField(suggest, "topK", 10);
+        ReflectionTestUtils.setField(suggest, "titleWindowMillis", 604_800_000L);
+        ReflectionTestUtils.setField(suggest, "maxTitles", 1000);
+        ReflectionTestUtils.setField(suggest, "halfLifeMillis", 86_400_000L);
+        ReflectionTestUtils.setField(suggest, "titleWeight", 1.0);
+        ReflectionTestUtils.setField(suggest, "queryWeight", 1.0);
+        ReflectionTestUtils.setField(suggest, "categoryWeight", 0.5);
+        ReflectionTestUtils.setField(suggest, "queryMinCount", 3);
+        ReflectionTestUtils.setField(suggest, "maxQueries", 100);
+    }
+
+    @Test
+    void changesDuringARefreshAreNotBlockedOrLost() throws Exception {
+        when(categoryMapper.findAll()).thenReturn(List.of());
+        when(articleMapper.findPublishedSince(any(), anyInt())).thenReturn(List.of(summary(1L, "Alpha one")));
+        suggest.start();
+        assertThat(ids("alpha")).containsExactly(1L);
+
+        // The next refresh reads article 2, which is deleted before the build finishes
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(categoryMapper.findAll()).thenAnswer(inv -> {
+            reading.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return List.of();
+        });
+        when(articleMapper.findPublishedSince(any(), anyInt()))
+                .thenReturn(List.of(summary(1L, "Alpha one"), summary(2L, "Alpha two")));
+        Thread refresh = new Thread(suggest::refresh);
+        refresh.start();
+        assertThat(reading.await(10, TimeUnit.SECONDS)).isTrue();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            suggest.onPublished(ArticlePublishedEvent.from(article(3L, "Alpha three")));
+            suggest.onDeleted(ArticlesDeletedEvent.of(List.of(article(2L, "Alpha two"))));
+            suggest.recordQuery("alpha");
+        });
+        assertThat(ids("alpha")).containsExactlyInAnyOrder(1L, 3L);
+
+        release.countDown();
+        refresh.join(10_000);
+        assertThat(ids("alpha")).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    // --- helpers ---
+
+    private List<Long> ids(String prefix) {
+        return suggest.suggest(prefix, 10).stream().map(Suggestion::getId).toList();
+    }
+
+    private static ArticleSummary summary(Long id, String title) {
+        return ArticleSummary.from(article(id, title));
+    }
+
+    private static Article article(Long id, String title) {
+        Article a = new Article();
+        a.setId(id);
+        a.setTitle(title);
+        a.setStatus("PUBLISHED");
+        a.setPublishTime(LocalDateTime.now().minusMinutes(id));
+        a.setViews(0L);
+        return a;
+    }
+}
@@ -0,0 +1,97 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.domain.model.ArticleSummary;
+import com.newshub.backend.infrastructure.persistence.ArticleMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TrendingServiceTest {
+
+    private ArticleMapper articleMapper;
+    private TrendingService trending;
+
+    @BeforeEach
+    void setUp() {
+        articleMapper = mock(ArticleMapper.class);
+        trending = new TrendingService();
+        ReflectionTestUtils.setField(trending, "articleMapper", articleMapper);
+        ReflectionTestUtils.setField(trending, "enabled", true);
+        ReflectionTestUtils.setField(trending, "halfLifeMillis", 21_600_000L);
+        ReflectionTestUtils.setField(trending, "topK", 10);
+        ReflectionTestUtils.setField(trending, "sketchWidth", 1024);
+        ReflectionTestUtils.setField(trending, "viewWeight", 1.0);
+        ReflectionTestUtils.setField(trending, "favoriteWeight", 5.0);
+        trending.rebuild();
+    }
+
+    @Test
+    void ranksByViews() {
+        view(summary(1L, "One", 1L), 3);
+        view(summary(2L, "Two", 1L), 5);
+        trending.apply();
+
+        assertThat(ids(trending.getTrending(10, null))).containsExactly(2L, 1L);
+        assertThat(ids(trending.getTrending(10, 1L))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void editRefreshesListingAndMovesCategory() {
+        view(summary(1L, "Old title", 1L), 3);
+        trending.apply();
+
+        when(articleMapper.findSummaryById(1L)).thenReturn(summary(1L, "New title", 2L));
+        trending.onArticleChanged(1L);
+        // A view buffered with the old copy does not bring the old title back
+        view(summary(1L, "Old title", 1L), 1);
+        trending.apply();
+
+        assertThat(trending.getTrending(10, null)).extracting(ArticleSummary::getTitle).containsExactly("New title");
+        assertThat(trending.getTrending(10, 1L)).isEmpty();
+        assertThat(ids(trending.getTrending(10, 2L))).containsExactly(1L);
+    }
+
+    @Test
+    void unpublishedArticleDropsOut() {
+        view(summary(1L, "One", 1L), 3);
+        trending.apply();
+
+        when(articleMapper.findSummaryById(1L)).thenReturn(null);
+        trending.onArticleChanged(1L);
+
+        assertThat(trending.getTrending(10, null)).isEmpty();
+    }
+
+    @Test
+    void removeDropsBufferedViews() {
+        view(summary(1L, "One", 1L), 3);
+        trending.remove(1L);
+        trending.apply();
+
+        assertThat(trending.getTrending(10, null)).isEmpty();
+    }
+
+    private void view(ArticleSummary article, int times) {
+        for (int i = 0; i < times; i++) {
+            trending.recordView(article);
+        }
+    }
+
+    private static ArticleSummary summary(Long id, String title, Long categoryId) {
+        ArticleSummary s = new ArticleSummary();
+        s.setId(id);
+        s.setTitle(title);
+        s.setCategoryId(categoryId);
+        return s;
+    }
+
+    private static List<Long> ids(List<ArticleSummary> items) {
+        return items.stream().map(ArticleSummary::getId).toList();
+    }
+}
@@ -0,0 +1,195 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.domain.model.Notification;
+import com.newshub.backend.infrastructure.persistence.NotificationMapper;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Cached unread counts are checked against countUnread after every step of random sequences
+ * of personal notifications, reads and broadcasts whose ids skip values, against an H2
+ * database (MySQL mode) and the in-process cache.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UnreadCounterServiceTest {
+
+    private static final long[] USERS = {1, 2, 3};
+
+    private Connection keepAlive;
+    private NotificationMapper notificationMapper;
+    private final AtomicInteger pushes = new AtomicInteger();
+    private UnreadCounterService counters;
+    private NotificationService notifications;
+    private long nextBroadcastId;
+
+    @BeforeAll
+    void createDatabase() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:unread;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        keepAlive = dataSource.getConnection();
+        try (Statement st = keepAlive.createStatement()) {
+            st.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, created_at TIMESTAMP)");
+            for (long userId : USERS) {
+                st.execute("INSERT INTO users VALUES (" + userId + ", DATEADD('DAY', -30, CURRENT_TIMESTAMP))");
+            }
+            st.execute("CREATE TABLE notifications (id BIGINT AUTO_INCREMENT PRIMARY KEY, user_id BIGINT NOT NULL, " +
+                    "title VARCHAR(255) NOT NULL, content TEXT, type VARCHAR(50) DEFAULT 'SYSTEM', is_read BOOLEAN DEFAULT FALSE, " +
+                    "related_id BIGINT, created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                    "FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE)");
+            st.execute("CREATE TABLE broadcast_notifications (id BIGINT AUTO_INCREMENT PRIMARY KEY, title VARCHAR(255) NOT NULL, " +
+                    "content TEXT, type VARCHAR(50) DEFAULT 'SYSTEM', created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+            st.execute("CREATE TABLE notification_watermarks (user_id BIGINT PRIMARY KEY, " +
+                    "last_seen_broadcast_id BIGINT NOT NULL DEFAULT 0, FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE)");
+        }
+
+        Configuration configuration = new Configuration(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.addMapper(NotificationMapper.class);
+        SqlSessionFactory factory = new SqlSessionFactoryBuilder().build(configuration);
+        notificationMapper = new SqlSessionTemplate(factory).getMapper(NotificationMapper.class);
+    }
+
+    @AfterAll
+    void dropDatabase() throws SQLException {
+        keepAlive.close();
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        try (Statement st = keepAlive.createStatement()) {
+            st.execute("DELETE FROM notifications");
+            st.execute("DELETE FROM broadcast_notifications");
+            st.execute("DELETE FROM notification_watermarks");
+        }
+        nextBroadcastId = 1;
+        pushes.set(0);
+        SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate((message, timeout) -> {
+            pushes.incrementAndGet();
+            return true;
+        });
+
+        counters = new UnreadCounterService();
+        ReflectionTestUtils.setField(counters, "cacheService", new LocalCacheService(1 << 20));
+        ReflectionTestUtils.setField(counters, "notificationMapper", notificationMapper);
+        ReflectionTestUtils.setField(counters, "messagingTemplate", messagingTemplate);
+        ReflectionTestUtils.setField(counters, "ttlMillis", 86_400_000L);
+        ReflectionTestUtils.setField(counters, "reconcileBatch", 500);
+
+        notifications = new NotificationService();
+        ReflectionTestUtils.setField(notifications, "notificationMapper", notificationMapper);
+        ReflectionTestUtils.setField(notifications, "broadcastService", mock(NotificationBroadcastService.class));
+        ReflectionTestUtils.setField(notifications, "unreadCounterService", counters);
+        ReflectionTestUtils.setField(notifications, "messagingTemplate", messagingTemplate);
+    }
+
+    @Test
+    void broadcastsAfterIdGapsAddOneEach() throws SQLException {
+        broadcast(1);
+        assertThat(counters.getUnreadCount(1L)).isEqualTo(1);
+
+        // Rolled-back inserts and auto_increment_increment > 1 both leave gaps
+        broadcast(40);
+        assertThat(counters.getUnreadCount(1L)).isEqualTo(2);
+        broadcast(41);
+        broadcast(1_000);
+        assertThat(counters.getUnreadCount(1L)).isEqualTo(4).isEqualTo(notificationMapper.countUnread(1L));
+
+        notifications.markAsRead(-41L, 1L);
+        assertThat(counters.getUnreadCount(1L)).isEqualTo(1);
+        notifications.markAllAsRead(1L);
+        broadcast(5_000);
+        assertThat(counters.getUnreadCount(1L)).isEqualTo(1).isEqualTo(notificationMapper.countUnread(1L));
+    }
+
+    @Test
+    void warmCountsDoNotQueryTheDatabase() throws SQLException {
+        broadcast(3);
+        counters.getUnreadCount(2L);
+        long loads = (long) counters.getStats().get("loads");
+
+        notifications.createNotification(2L, "Reply", "Body", "COMMENT", 1L);
+        broadcast(9);
+        assertThat(counters.getUnreadCount(2L)).isEqualTo(3);
+        assertThat(counters.getStats().get("loads")).isEqualTo(loads);
+    }
+
+    @Test
+    void reconcileRepairsALostBroadcastIncrement() throws SQLException {
+        broadcast(1);
+        counters.getUnreadCount(3L);
+        insertBroadcast(7);
+        assertThat(counters.getUnreadCount(3L)).isEqualTo(1);
+
+        int before = pushes.get();
+        counters.reconcile();
+        assertThat(counters.getUnreadCount(3L)).isEqualTo(2);
+        assertThat(pushes.get()).isEqualTo(before + 1);
+        assertThat(counters.getStats().get("repaired")).isEqualTo(1L);
+    }
+
+    @Test
+    void randomSequencesMatchTheDatabase() throws SQLException {
+        Random random = new Random(14);
+        for (int step = 0; step < 600; step++) {
+            long userId = USERS[random.nextInt(USERS.length)];
+            int op = random.nextInt(10);
+            if (op < 3) {
+                notifications.createNotification(userId, "Personal", "Body", "COMMENT", (long) step);
+            } else if (op < 5) {
+                List<Notification> unread = notificationMapper.findByUserId(userId).stream()
+                        .filter(n -> !n.getIsRead()).toList();
+                if (!unread.isEmpty()) {
+                    notifications.markAsRead(unread.get(random.nextInt(unread.size())).getId(), userId);
+                }
+            } else if (op < 7) {
+                nextBroadcastId += 1 + random.nextInt(random.nextBoolean() ? 1 : 20);
+                broadcast(nextBroadcastId);
+            } else if (op < 8) {
+                notifications.markAllAsRead(userId);
+            } else {
+                // A made-up broadcast id, capped at the latest
+                notifications.markAsRead(-(1L + random.nextInt(2 * (int) nextBroadcastId)), userId);
+            }
+            for (long user : USERS) {
+                assertThat(counters.getUnreadCount(user)).as("user %d after step %d", user, step)
+                        .isEqualTo(notificationMapper.countUnread(user));
+            }
+        }
+    }
+
+    // --- helpers ---
+
+    private void broadcast(long id) throws SQLException {
+        insertBroadcast(id);
+        counters.onBroadcast();
+    }
+
+    private void insertBroadcast(long id) throws SQLException {
+        nextBroadcastId = Math.max(nextBroadcastId, id);
+        try (Statement st = keepAlive.createStatement()) {
+            st.execute("INSERT INTO broadcast_notifications(id, title) VALUES (" + id + ", 'News')");
+        }
+    }
+}
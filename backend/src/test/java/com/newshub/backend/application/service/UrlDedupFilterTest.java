@@ -0,0 +1,121 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.domain.model.Article;
+import com.newshub.backend.infrastructure.persistence.ArticleMapper;
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UrlDedupFilterTest {
+
+    private final List<Article> table = new ArrayList<>();
+    private ArticleMapper articleMapper;
+    private UrlDedupFilter filter;
+    private Long committedId;
+
+    @BeforeEach
+    void setUp() {
+        articleMapper = mock(ArticleMapper.class);
+        when(articleMapper.findMaxIdCreatedBefore(any())).thenAnswer(inv -> committedId);
+        doAnswer(inv -> {
+            long afterId = inv.getArgument(0);
+            long toId = inv.getArgument(1);
+            ResultHandler<Article> handler = inv.getArgument(2);
+            DefaultResultContext<Article> context = new DefaultResultContext<>();
+            for (Article row : table) {
+                if (row.getId() > afterId && row.getId() <= toId) {
+                    context.nextResultObject(row);
+                    handler.handleResult(context);
+                }
+            }
+            return null;
+        }).when(articleMapper).scanSourceUrls(anyLong(), anyLong(), any());
+
+        filter = new UrlDedupFilter();
+        ReflectionTestUtils.setField(filter, "articleMapper", articleMapper);
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "expectedUrls", 1024);
+        ReflectionTestUtils.setField(filter, "commitLagMillis", 5000L);
+    }
+
+    @Test
+    void normalizesCaseOfHostFragmentAndTrailingSlash() {
+        assertThat(UrlDedupFilter.normalize("HTTPS://Example.COM/News/1/#top"))
+                .isEqualTo("https://example.com/News/1");
+        assertThat(UrlDedupFilter.hash("https://example.com/a/")).isEqualTo(UrlDedupFilter.hash("https://EXAMPLE.com/a"));
+        assertThat(UrlDedupFilter.hash("https://example.com/a")).isNotEqualTo(UrlDedupFilter.hash("https://example.com/A"));
+    }
+
+    @Test
+    void answersMaybeUntilWarm() {
+        assertThat(filter.mightContain("https://example.com/1")).isTrue();
+    }
+
+    @Test
+    void syncStopsAtCommitLagWatermark() {
+        store(1, "https://example.com/1");
+        store(2, "https://example.com/2");
+        committedId = 1L;
+        filter.warmUp();
+        assertThat(filter.mightContain("https://example.com/1")).isTrue();
+        // Row 2 may still have a slower transaction below it, so it is not folded in yet
+        assertThat(filter.mightContain("https://example.com/2")).isFalse();
+
+        // A transaction that took id 3 commits after id 4 was already visible
+        store(4, "https://example.com/4");
+        committedId = 2L;
+        filter.sync();
+        store(3, "https://example.com/3");
+        committedId = 4L;
+        filter.sync();
+        for (int i = 1; i <= 4; i++) {
+            assertThat(filter.mightContain("https://example.com/" + i)).as("url %d", i).isTrue();
+        }
+    }
+
+    @Test
+    void removeKeepsHashWhileAnotherVariantIsStored() {
+        store(1, "https://example.com/story");
+        store(2, "https://EXAMPLE.com/story/");
+        committedId = 2L;
+        filter.warmUp();
+
+        filter.remove("https://example.com/story");
+        assertThat(filter.mightContain("https://example.com/story")).isTrue();
+        filter.remove("https://EXAMPLE.com/story/");
+        assertThat(filter.mightContain("https://example.com/story")).isFalse();
+    }
+
+    @Test
+    void localInsertIsNotCountedTwiceBySync() {
+        committedId = null;
+        filter.warmUp();
+        store(1, "https://example.com/1");
+        filter.add(1L, "https://example.com/1");
+        committedId = 1L;
+        filter.sync();
+
+        filter.remove("https://example.com/1");
+        assertThat(filter.mightContain("https://example.com/1")).isFalse();
+    }
+
+    private void store(long id, String url) {
+        Article row = new Article();
+        row.setId(id);
+        row.setSourceUrl(url);
+        table.add(row);
+        table.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+    }
+}
@@ -0,0 +1,259 @@
+package com.newshub.backend.application.service;
+
+import com.newshub.backend.domain.model.ArticleViewDelta;
+import com.newshub.backend.infrastructure.persistence.ArticleMapper;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Flushes against a mapper that sums what it is given, so every view must land exactly once
+ * through failed chunks, crashes and replays.
+ */
+class ViewCounterServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private final Map<Long, Long> stored = new HashMap<>();
+    private final Map<Long, Long> rolledUp = new HashMap<>();
+    // Calls of incrementViewsBatch left before it fails; negative never fails
+    private final AtomicInteger callsBeforeFailure = new AtomicInteger(-1);
+    private RuntimeException failure;
+    private Error crash;
+
+    private ArticleMapper articleMapper;
+    private DashboardStatsService dashboardStatsService;
+    private CacheService cacheService;
+
+    @BeforeEach
+    void setUp() {
+        articleMapper = mock(ArticleMapper.class);
+        doAnswer(inv -> {
+            if (callsBeforeFailure.getAndDecrement() == 0) {
+                if (crash != null) {
+                    throw crash;
+                }
+                throw failure;
+            }
+            add(stored, inv.getArgument(0));
+            return 1;
+        }).when(articleMapper).incrementViewsBatch(anyList());
+        dashboardStatsService = mock(DashboardStatsService.class);
+        doAnswer(inv -> {
+            add(rolledUp, inv.getArgument(0));
+            return null;
+        }).when(dashboardStatsService).onViewsFlushed(anyList());
+        cacheService = mock(CacheService.class);
+    }
+
+    @Test
+    void failedChunkRequeuesOnlyWhatWasNotWritten() {
+        ViewCounterService views = service(false);
+        Map<Long, Long> recorded = recordViews(views, 10);
+
+        failure = new IllegalStateException("lock wait timeout");
+        callsBeforeFailure.set(2);
+        views.flush();
+        assertThat(stored).hasSize(4);
+        assertThat(views.getStats()).containsEntry("failedFlushes", 1L);
+
+        views.flush();
+        assertThat(stored).isEqualTo(recorded);
+        assertThat(rolledUp).isEqualTo(recorded);
+        for (long id = 1; id <= 10; id++) {
+            assertThat(views.unseenViews(id)).isEqualTo(recorded.get(id));
+        }
+    }
+
+    @Test
+    void journaledViewsSurviveACrashBeforeTheFlush() {
+        ViewCounterService views = service(true);
+        Map<Long, Long> recorded = recordViews(views, 10);
+        views.journal();
+
+        // The node dies here; a new one replays the journal and flushes it
+        ViewCounterService restarted = service(true);
+        assertThat(stored).isEmpty();
+        restarted.flush();
+        assertThat(stored).isEqualTo(recorded);
+        assertThat(Files.exists(dir.resolve("views.journal.flushing"))).isFalse();
+
+        // Nothing is left to replay a second time
+        service(true).flush();
+        assertThat(stored).isEqualTo(recorded);
+    }
+
+    @Test
+    void crashMidFlushReplaysOnlyTheUnwrittenChunks() {
+        ViewCounterService views = service(true);
+        Map<Long, Long> recorded = recordViews(views, 10);
+        views.journal();
+        // Counted after the last journal write; the flush journals these too
+        views.recordView(1L);
+        recorded.merge(1L, 1L, Long::sum);
+
+        crash = new Error("node died");
+        callsBeforeFailure.set(3);
+        assertThatThrownBy(views::flush).isSameAs(crash);
+        assertThat(stored).hasSize(6);
+
+        service(true).flush();
+        assertThat(stored).isEqualTo(recorded);
+    }
+
+    @Test
+    void failedFlushKeepsTheRestJournaled() {
+        ViewCounterService views = service(true);
+        Map<Long, Long> recorded = recordViews(views, 10);
+
+        failure = new IllegalStateException("connection reset");
+        callsBeforeFailure.set(1);
+        views.flush();
+        assertThat(stored).hasSize(2);
+
+        service(true).flush();
+        assertThat(stored).isEqualTo(recorded);
+    }
+
+    @Test
+    void reloadOnAnotherNodeRebasesFlushedViews() {
+        ViewCounterService views = service(false);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<String>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(cacheService).addInvalidationListener(eq("news:article:"), listener.capture());
+
+        for (int i = 0; i < 3; i++) {
+            views.recordView(7L);
+        }
+        views.flush();
+        views.recordView(7L);
+        assertThat(views.unseenViews(7L)).isEqualTo(4);
+
+        // The other node read a row that already has the 3 flushed views
+        listener.getValue().accept("news:article:7");
+        assertThat(views.unseenViews(7L)).isEqualTo(1);
+        listener.getValue().accept("news:article:latest");
+        assertThat(views.unseenViews(7L)).isEqualTo(1);
+    }
+
+    /**
+     * Reads of one hot article: an UPDATE per read (the old path) contends on a single row,
+     * recordView only bumps a LongAdder.
+     */
+    @Test
+    void hotArticleReadsPerSecond() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:views;MODE=MySQL;DATABASE_TO_LOWER=TRUE;LOCK_TIMEOUT=10000");
+        try (Connection keepAlive = dataSource.getConnection()) {
+            try (Statement st = keepAlive.createStatement()) {
+                st.execute("CREATE TABLE articles (id BIGINT PRIMARY KEY, views BIGINT DEFAULT 0)");
+                st.execute("INSERT INTO articles (id) VALUES (1)");
+            }
+            int threads = 8;
+            double before = readsPerSecond(threads, 2_000, () -> {
+                try (Connection c = dataSource.getConnection();
+                     PreparedStatement ps = c.prepareStatement("UPDATE articles SET views = views + 1 WHERE id = ?")) {
+                    ps.setLong(1, 1L);
+                    ps.executeUpdate();
+                }
+            });
+
+            ViewCounterService views = service(false);
+            double after = readsPerSecond(threads, 500_000, () -> views.recordView(1L));
+            views.flush();
+
+            System.out.printf("hot article, %d threads: %.0f reads/s with an UPDATE per read, %.0f reads/s write-behind%n",
+                    threads, before, after);
+            assertThat(stored).containsEntry(1L, threads * 500_000L);
+            assertThat(after).isGreaterThan(before * 10);
+        }
+    }
+
+    // --- helpers ---
+
+    private interface Read {
+        void run() throws Exception;
+    }
+
+    private static double readsPerSecond(int threads, int readsPerThread, Read read) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong errors = new AtomicLong();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < readsPerThread; i++) {
+                        read.run();
+                    }
+                } catch (Exception e) {
+                    errors.incrementAndGet();
+                }
+            });
+            workers[t].start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        assertThat(errors.get()).isZero();
+        return threads * (double) readsPerThread / seconds;
+    }
+
+    private ViewCounterService service(boolean journal) {
+        ViewCounterService views = new ViewCounterService();
+        ReflectionTestUtils.setField(views, "articleMapper", articleMapper);
+        ReflectionTestUtils.setField(views, "cacheService", cacheService);
+        ReflectionTestUtils.setField(views, "dashboardStatsService", dashboardStatsService);
+        ReflectionTestUtils.setField(views, "flushBatchSize", 2);
+        ReflectionTestUtils.setField(views, "journalEnabled", journal);
+        ReflectionTestUtils.setField(views, "journalPath", dir.resolve("views.journal").toString());
+        views.init();
+        return views;
+    }
+
+    // Article i gets i views
+    private static Map<Long, Long> recordViews(ViewCounterService views, int articles) {
+        Map<Long, Long> recorded = new HashMap<>();
+        for (long id = 1; id <= articles; id++) {
+            for (int i = 0; i < id; i++) {
+                views.recordView(id);
+            }
+            recorded.put(id, id);
+        }
+        return recorded;
+    }
+
+    private static void add(Map<Long, Long> into, List<ArticleViewDelta> deltas) {
+        for (ArticleViewDelta d : deltas) {
+            into.merge(d.getArticleId(), d.getDelta(), Long::sum);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.newshub.backend.infrastructure.config;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.newshub.backend.domain.model.Article;
+import com.newshub.backend.domain.model.ArticleSummary;
+import com.newshub.backend.domain.model.Category;
+import com.newshub.backend.domain.model.Comment;
+import com.newshub.backend.domain.model.Notification;
+import com.newshub.backend.infrastructure.utils.CachedValue;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BinaryRedisSerializerTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2026, 10, 12, 8, 30, 15, 123_000_000);
+
+    // Same JSON setup as RedisConfig
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer(jsonMapper());
+    private final BinaryRedisSerializer codec = new BinaryRedisSerializer(json, 1024);
+
+    @Test
+    void roundTripsScalars() {
+        for (Object value : List.of("text with ünïcode 新闻", 42L, -7L, Long.MIN_VALUE, 13, 2.5, true, false, TIME)) {
+            assertThat(roundTrip(value)).isEqualTo(value);
+        }
+        assertThat(codec.serialize(null)).isEmpty();
+        assertThat(codec.deserialize(new byte[0])).isNull();
+    }
+
+    @Test
+    void roundTripsModels() {
+        Article article = new Article();
+        article.setId(1L);
+        article.setTitle("Title");
+        article.setContent("<p>Body</p>");
+        article.setCategoryId(3L);
+        article.setSourceUrl("https://example.com/1");
+        article.setPublishTime(TIME);
+        article.setViews(0L);
+        article.setStatus("PUBLISHED");
+        assertThat(roundTrip(article)).isEqualTo(article);
+
+        ArticleSummary summary = ArticleSummary.from(article);
+        summary.setCategoryName("World");
+        assertThat(roundTrip(summary)).isEqualTo(summary);
+
+        Notification notification = new Notification();
+        notification.setId(9L);
+        notification.setUserId(2L);
+        notification.setTitle("Hello");
+        notification.setType("SYSTEM");
+        notification.setIsRead(false);
+        notification.setCreatedAt(TIME);
+        assertThat(roundTrip(notification)).isEqualTo(notification);
+    }
+
+    @Test
+    void roundTripsCommentThreads() {
+        Comment top = comment(1L, null, "top");
+        top.setReplies(List.of(comment(2L, 1L, "first reply"), comment(3L, 1L, "second reply")));
+        top.setReplyCount(5L);
+
+        Comment decoded = (Comment) roundTrip(top);
+
+        assertThat(decoded).isEqualTo(top);
+        // Fields after the nested list are read with the outer presence mask
+        assertThat(decoded.getReplyCount()).isEqualTo(5L);
+        assertThat(decoded.getReplies().get(1).getContent()).isEqualTo("second reply");
+    }
+
+    @Test
+    void roundTripsEnvelopesListsAndMaps() {
+        List<ArticleSummary> feed = new ArrayList<>();
+        for (long i = 0; i < 3; i++) {
+            ArticleSummary s = new ArticleSummary();
+            s.setId(i);
+            s.setTitle("Story " + i);
+            feed.add(s);
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("articles", 10L);
+        stats.put("ratio", 0.25);
+        stats.put("nested", List.of("a", "b"));
+
+        CachedValue decoded = (CachedValue) roundTrip(new CachedValue(feed, 1_700_000_000_000L, 35));
+        assertThat(decoded.getRefreshAt()).isEqualTo(1_700_000_000_000L);
+        assertThat(decoded.getLoadMillis()).isEqualTo(35);
+        assertThat(decoded.getValue()).isEqualTo(feed);
+        assertThat(roundTrip(stats)).isEqualTo(stats);
+    }
+
+    @Test
+    void embedsTypesWithoutSchemaAsJson() {
+        Category category = new Category();
+        category.setId(4L);
+        category.setName("Tech");
+        assertThat(roundTrip(category)).isEqualTo(category);
+    }
+
+    @Test
+    void deflatesLargePayloads() {
+        Article article = new Article();
+        article.setContent("<p>repeated paragraph</p>".repeat(500));
+        byte[] bytes = codec.serialize(article);
+
+        assertThat(bytes[2] & 1).isEqualTo(1);
+        assertThat(bytes.length).isLessThan(article.getContent().length() / 4);
+        assertThat(codec.deserialize(bytes)).isEqualTo(article);
+    }
+
+    @Test
+    void isSmallerThanJson() {
+        List<ArticleSummary> feed = new ArrayList<>();
+        for (long i = 0; i < 20; i++) {
+            ArticleSummary s = new ArticleSummary();
+            s.setId(i);
+            s.setTitle("Story number " + i);
+            s.setSourceName("NewsHub");
+            s.setPublishTime(TIME);
+            s.setViews(i * 10);
+            feed.add(s);
+        }
+        Object value = new CachedValue(feed, 1L, 1L);
+        assertThat(codec.serialize(value).length).isLessThan(json.serialize(value).length / 3);
+    }
+
+    @Test
+    void readsValuesWrittenByTheJsonCodec() {
+        ArticleSummary summary = new ArticleSummary();
+        summary.setId(5L);
+        summary.setTitle("Written before the switch");
+        summary.setPublishTime(TIME);
+        assertThat(codec.deserialize(json.serialize(summary))).isEqualTo(summary);
+    }
+
+    @Test
+    void treatsUnknownVersionsAndCorruptValuesAsMisses() {
+        byte[] bytes = codec.serialize("value");
+        byte[] newer = bytes.clone();
+        newer[1] = 99;
+        assertThat(codec.deserialize(newer)).isNull();
+
+        // Written before comments carried their replies
+        byte[] older = codec.serialize(comment(1L, null, "top"));
+        older[1] = 1;
+        assertThat(codec.deserialize(older)).isNull();
+
+        byte[] truncated = codec.serialize(List.of("a", "b", "c"));
+        truncated = Arrays.copyOf(truncated, truncated.length - 2);
+        assertThat(codec.deserialize(truncated)).isNull();
+    }
+
+    private Object roundTrip(Object value) {
+        return codec.deserialize(codec.serialize(value));
+    }
+
+    private static Comment comment(Long id, Long parentId, String content) {
+        Comment c = new Comment();
+        c.setId(id);
+        c.setParentId(parentId);
+        c.setArticleId(7L);
+        c.setUserId(2L);
+        c.setContent(content);
+        c.setCreatedAt(TIME);
+        c.setUsername("reader");
+        return c;
+    }
+
+    private static ObjectMapper jsonMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        objectMapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL);
+        return objectMapper;
+    }
+}
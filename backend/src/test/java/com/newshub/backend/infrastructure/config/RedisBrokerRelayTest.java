@@ -0,0 +1,119 @@
+package com.newshub.backend.infrastructure.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Two nodes relaying through an in-process stand-in for Redis pub/sub.
+ */
+class RedisBrokerRelayTest {
+
+    private static final String CHANNEL = "newshub:ws:relay";
+
+    private final List<RedisBrokerRelay> subscribers = new CopyOnWriteArrayList<>();
+    private Node a;
+    private Node b;
+
+    private final class Node {
+        final RedisBrokerRelay relay = new RedisBrokerRelay();
+        final ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+        final List<Message<?>> delivered = new CopyOnWriteArrayList<>();
+
+        @SuppressWarnings("unchecked")
+        Node() {
+            // Every publish is handed to every subscribed node, the sender included, like Redis does
+            RedisConnection connection = mock(RedisConnection.class);
+            when(connection.publish(any(byte[].class), any(byte[].class))).thenAnswer(inv -> {
+                byte[] channel = inv.getArgument(0);
+                byte[] body = inv.getArgument(1);
+                for (RedisBrokerRelay subscriber : subscribers) {
+                    subscriber.onMessage(new DefaultMessage(channel, body), null);
+                }
+                return (long) subscribers.size();
+            });
+            StringRedisTemplate template = mock(StringRedisTemplate.class);
+            when(template.execute(any(RedisCallback.class), eq(true)))
+                    .thenAnswer(inv -> inv.<RedisCallback<Object>>getArgument(0).doInRedis(connection));
+            RedisMessageListenerContainer container = mock(RedisMessageListenerContainer.class);
+
+            ReflectionTestUtils.setField(relay, "stringRedisTemplate", template);
+            ReflectionTestUtils.setField(relay, "listenerContainer", container);
+            ReflectionTestUtils.setField(relay, "brokerChannel", brokerChannel);
+            ReflectionTestUtils.setField(relay, "relayChannel", CHANNEL);
+            relay.init();
+            subscribers.add(relay);
+
+            // Stands in for the simple broker behind the channel
+            brokerChannel.addInterceptor(relay);
+            brokerChannel.subscribe(delivered::add);
+        }
+
+        void send(SimpMessageType type, String destination, String body) {
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+            accessor.setDestination(destination);
+            accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            brokerChannel.send(MessageBuilder.createMessage(body.getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders()));
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        a = new Node();
+        b = new Node();
+    }
+
+    @Test
+    void messageReachesEveryNodeOnce() {
+        a.send(SimpMessageType.MESSAGE, "/topic/notifications/5", "{\"id\":1}");
+
+        assertThat(a.delivered).hasSize(1);
+        assertThat(b.delivered).hasSize(1);
+        Message<?> relayed = b.delivered.get(0);
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(relayed);
+        assertThat(accessor.getDestination()).isEqualTo("/topic/notifications/5");
+        assertThat(accessor.getContentType()).isEqualTo(MimeTypeUtils.APPLICATION_JSON);
+        assertThat(new String((byte[]) relayed.getPayload(), StandardCharsets.UTF_8)).isEqualTo("{\"id\":1}");
+
+        // The relayed copy is not published again, and the sender ignores its own echo
+        assertThat(a.relay.getStats()).containsEntry("published", 1L).containsEntry("received", 0L);
+        assertThat(b.relay.getStats()).containsEntry("published", 0L).containsEntry("received", 1L);
+    }
+
+    @Test
+    void onlyBrokerMessagesAreRelayed() {
+        a.send(SimpMessageType.SUBSCRIBE, "/topic/news", "");
+
+        assertThat(b.delivered).isEmpty();
+        assertThat(a.relay.getStats()).containsEntry("published", 0L);
+    }
+
+    @Test
+    void malformedRelayFrameIsDropped() {
+        b.relay.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), new byte[]{0, 1}), null);
+
+        assertThat(b.delivered).isEmpty();
+        assertThat(b.relay.getStats()).containsEntry("failures", 1L);
+    }
+}
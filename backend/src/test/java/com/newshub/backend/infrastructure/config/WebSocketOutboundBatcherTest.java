@@ -0,0 +1,150 @@
+package com.newshub.backend.infrastructure.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+class WebSocketOutboundBatcherTest {
+
+    private static final int SESSIONS = 10_000;
+    private static final String FRAME = "MESSAGE\ndestination:/topic/news\ncontent-type:application/json\n\n"
+            + "{\"id\":1,\"title\":\"Breaking news headline\"}\u0000";
+
+    private WebSocketOutboundBatcher batcher;
+    private final List<WebSocketSession> wrapped = new ArrayList<>();
+    private final AtomicLong socketWrites = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        batcher = new WebSocketOutboundBatcher();
+        ReflectionTestUtils.setField(batcher, "windowMillis", 10L);
+        ReflectionTestUtils.setField(batcher, "maxBatchBytes", 65536);
+        ReflectionTestUtils.setField(batcher, "bufferLimit", 524288);
+        ReflectionTestUtils.setField(batcher, "sendTimeLimitMillis", 10_000L);
+        ReflectionTestUtils.setField(batcher, "flushThreads", 2);
+        batcher.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+    }
+
+    @Test
+    void coalescesFramesForTenThousandSessions() throws Exception {
+        WebSocketHandler handler = batcher.decorate(capturingHandler());
+        for (int i = 0; i < SESSIONS; i++) {
+            handler.afterConnectionEstablished(session("s" + i));
+        }
+        int framesPerSession = 20;
+
+        long start = System.nanoTime();
+        for (int f = 0; f < framesPerSession; f++) {
+            for (WebSocketSession session : wrapped) {
+                session.sendMessage(new TextMessage(FRAME));
+            }
+        }
+        long expectedBytes = (long) SESSIONS * framesPerSession * FRAME.length();
+        while (bytesWritten.get() < expectedBytes && System.nanoTime() - start < TimeUnit.SECONDS.toNanos(30)) {
+            Thread.sleep(5);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long frames = (long) SESSIONS * framesPerSession;
+        System.out.printf("%d sessions: %d frames delivered in %.2fs (%.0f frames/s) as %d socket writes%n",
+                SESSIONS, frames, seconds, frames / seconds, socketWrites.get());
+
+        assertThat(bytesWritten.get()).isEqualTo(expectedBytes);
+        // Frames produced within one window share a write
+        assertThat(socketWrites.get()).isLessThan(frames / 2);
+        assertThat(batcher.getStats()).containsEntry("framesIn", frames).containsEntry("openSessions", (long) SESSIONS);
+    }
+
+    @Test
+    void slowSessionIsClosedOnceItsBufferIsFull() throws Exception {
+        ReflectionTestUtils.setField(batcher, "bufferLimit", 4096);
+        WebSocketHandler handler = batcher.decorate(capturingHandler());
+        CountDownLatch release = new CountDownLatch(1);
+        WebSocketSession stuck = mock(WebSocketSession.class);
+        when(stuck.getId()).thenReturn("stuck");
+        when(stuck.isOpen()).thenReturn(true);
+        // The client stops reading: the first write never returns
+        doAnswer(inv -> {
+            release.await();
+            return null;
+        }).when(stuck).sendMessage(any());
+        handler.afterConnectionEstablished(stuck);
+        WebSocketSession session = wrapped.get(0);
+
+        for (int i = 0; i < 200; i++) {
+            session.sendMessage(new TextMessage(FRAME));
+        }
+
+        verify(stuck, timeout(2000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertThat(batcher.getStats()).containsEntry("slowSessionsClosed", 1L);
+        release.countDown();
+    }
+
+    @Test
+    void closedSessionDropsPendingFrames() throws Exception {
+        // No scheduled flush within the test; the drain below stands in for it
+        batcher.shutdown();
+        ReflectionTestUtils.setField(batcher, "windowMillis", 600_000L);
+        batcher.init();
+        WebSocketHandler handler = batcher.decorate(capturingHandler());
+        WebSocketSession raw = session("gone");
+        handler.afterConnectionEstablished(raw);
+        wrapped.get(0).sendMessage(new TextMessage(FRAME));
+        handler.afterConnectionClosed(raw, CloseStatus.NORMAL);
+        ReflectionTestUtils.invokeMethod(batcher, "drain");
+
+        assertThat(socketWrites.get()).isZero();
+        assertThat(batcher.getStats()).containsEntry("openSessions", 0L);
+    }
+
+    private WebSocketHandler capturingHandler() {
+        return new AbstractWebSocketHandler() {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) {
+                synchronized (wrapped) {
+                    wrapped.add(session);
+                }
+            }
+        };
+    }
+
+    private WebSocketSession session(String id) throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class, withSettings().stubOnly());
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        doAnswer(inv -> {
+            WebSocketMessage<?> message = inv.getArgument(0);
+            socketWrites.incrementAndGet();
+            bytesWritten.addAndGet(message.getPayloadLength());
+            return null;
+        }).when(session).sendMessage(any());
+        return session;
+    }
+}
@@ -0,0 +1,121 @@
+package com.newshub.backend.infrastructure.security;
+
+import com.newshub.backend.application.service.CacheService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Principal caches on three nodes joined by a stand-in for the cache invalidation channel:
+ * a delete on one node reaches the listeners of the others, never its own.
+ */
+class PrincipalCacheTest {
+
+    private final Map<CacheService, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+    private final List<String> deleted = new ArrayList<>();
+    private PrincipalCache[] nodes;
+
+    @BeforeEach
+    void setUp() {
+        nodes = new PrincipalCache[]{node(), node(), node()};
+        for (PrincipalCache node : nodes) {
+            node.put(user(7L, "alice", "USER"));
+            node.put(user(8L, "bob", "USER"));
+        }
+    }
+
+    @Test
+    void roleChangeOnOneNodeEvictsEveryNode() {
+        nodes[0].invalidateUserId(7L);
+
+        for (PrincipalCache node : nodes) {
+            assertThat(node.get("alice")).isNull();
+            assertThat(node.get("bob")).isNotNull();
+        }
+        assertThat(deleted).containsExactly("auth:principal:id:7");
+    }
+
+    @Test
+    void passwordResetOnOneNodeEvictsEveryNode() {
+        nodes[2].invalidate("bob");
+
+        for (PrincipalCache node : nodes) {
+            assertThat(node.get("bob")).isNull();
+            assertThat(node.get("alice")).isNotNull();
+        }
+    }
+
+    @Test
+    void reloadAfterInvalidationSeesTheNewRole() {
+        nodes[1].invalidateUserId(7L);
+        nodes[0].put(user(7L, "alice", "ADMIN"));
+
+        assertThat(nodes[0].get("alice").getAuthorities()).extracting(Object::toString).containsExactly("ROLE_ADMIN");
+        assertThat(nodes[2].get("alice")).isNull();
+    }
+
+    @Test
+    void unrelatedKeysAreIgnored() {
+        for (Consumer<String> listener : listeners.values().iterator().next()) {
+            listener.accept("auth:principal:id:not-a-number");
+            listener.accept("auth:principal:other");
+        }
+
+        assertThat(nodes[0].size() + nodes[1].size() + nodes[2].size()).isEqualTo(6);
+    }
+
+    @Test
+    void expiredEntriesAreMisses() {
+        PrincipalCache node = node();
+        ReflectionTestUtils.setField(node, "ttlMillis", -1L);
+        node.put(user(9L, "carol", "USER"));
+
+        assertThat(node.get("carol")).isNull();
+        assertThat(node.size()).isZero();
+    }
+
+    // --- helpers ---
+
+    private PrincipalCache node() {
+        CacheService cacheService = mock(CacheService.class);
+        doAnswer(inv -> {
+            listeners.computeIfAbsent(cacheService, k -> new ArrayList<>()).add(inv.getArgument(1));
+            return null;
+        }).when(cacheService).addInvalidationListener(eq("auth:principal:"), any());
+        doAnswer(inv -> {
+            String key = inv.getArgument(0);
+            deleted.add(key);
+            listeners.forEach((other, list) -> {
+                if (other != cacheService) {
+                    list.forEach(l -> l.accept(key));
+                }
+            });
+            return null;
+        }).when(cacheService).delete(anyString());
+
+        PrincipalCache cache = new PrincipalCache();
+        ReflectionTestUtils.setField(cache, "cacheService", cacheService);
+        ReflectionTestUtils.setField(cache, "maxSize", 100);
+        ReflectionTestUtils.setField(cache, "ttlMillis", 300_000L);
+        cache.init();
+        return cache;
+    }
+
+    private static AuthenticatedUser user(long id, String username, String role) {
+        return new AuthenticatedUser(id, username, "{noop}secret", List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+    }
+}
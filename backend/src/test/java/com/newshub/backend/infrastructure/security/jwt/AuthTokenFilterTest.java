@@ -0,0 +1,315 @@
+package com.newshub.backend.infrastructure.security.jwt;
+
+import com.newshub.backend.application.service.CacheService;
+import com.newshub.backend.application.service.FavoriteService;
+import com.newshub.backend.application.service.UserDetailsServiceImpl;
+import com.newshub.backend.domain.model.User;
+import com.newshub.backend.infrastructure.persistence.FavoriteMapper;
+import com.newshub.backend.infrastructure.persistence.UserMapper;
+import com.newshub.backend.infrastructure.security.AuthenticatedUser;
+import com.newshub.backend.infrastructure.security.PrincipalCache;
+import com.newshub.backend.infrastructure.utils.JwtUtils;
+import com.newshub.backend.interfaces.rest.FavoriteController;
+import com.zaxxer.hikari.HikariDataSource;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.security.Key;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The JWT filter path against an H2 database (MySQL mode) with 10k users, each with a few
+ * favorites. Stands in for a JMH benchmark and an HTTP load test, neither of which the build
+ * can pull in: throughput is measured on the filter alone and on GET /api/favorites through
+ * MockMvc, with and without the principal cache.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AuthTokenFilterTest {
+
+    private static final String SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+    private static final int USERS = 10_000;
+    private static final int THREADS = 8;
+
+    private HikariDataSource dataSource;
+    private UserMapper userMapper;
+    private FavoriteMapper favoriteMapper;
+    private final JwtUtils jwtUtils = new JwtUtils();
+    private String[] tokens;
+
+    @BeforeAll
+    void createDatabase() throws SQLException {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:auth;MODE=MySQL;DATABASE_TO_LOWER=TRUE;OPTIMIZE_REUSE_RESULTS=FALSE");
+        dataSource.setMaximumPoolSize(THREADS);
+        try (Connection c = dataSource.getConnection()) {
+            try (Statement st = c.createStatement()) {
+                st.execute("CREATE TABLE users (id BIGINT AUTO_INCREMENT PRIMARY KEY, username VARCHAR(50) NOT NULL UNIQUE, " +
+                        "password VARCHAR(100) NOT NULL, email VARCHAR(100) UNIQUE, role VARCHAR(20) DEFAULT 'USER', " +
+                        "avatar VARCHAR(255), created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+                st.execute("CREATE TABLE articles (id BIGINT AUTO_INCREMENT PRIMARY KEY, title VARCHAR(255), summary TEXT, " +
+                        "cover_image VARCHAR(255), category_id BIGINT, source_name VARCHAR(100), publish_time TIMESTAMP, views INT DEFAULT 0)");
+                st.execute("CREATE TABLE favorites (id BIGINT AUTO_INCREMENT PRIMARY KEY, user_id BIGINT NOT NULL, article_id BIGINT NOT NULL, " +
+                        "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, UNIQUE (user_id, article_id))");
+            }
+            c.setAutoCommit(false);
+            try (PreparedStatement ps = c.prepareStatement("INSERT INTO users (username, password, email) VALUES (?, 'x', ?)")) {
+                for (int i = 1; i <= USERS; i++) {
+                    ps.setString(1, "user" + i);
+                    ps.setString(2, "user" + i + "@example.com");
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            try (PreparedStatement ps = c.prepareStatement("INSERT INTO articles (title, summary, publish_time) VALUES (?, 'Summary', CURRENT_TIMESTAMP)")) {
+                for (int i = 1; i <= 100; i++) {
+                    ps.setString(1, "Article " + i);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            try (PreparedStatement ps = c.prepareStatement("INSERT INTO favorites (user_id, article_id) VALUES (?, ?)")) {
+                for (int i = 1; i <= USERS; i++) {
+                    for (int j = 0; j < 5; j++) {
+                        ps.setLong(1, i);
+                        ps.setLong(2, (i * 7L + j * 13L) % 100 + 1);
+                        ps.addBatch();
+                    }
+                }
+                ps.executeBatch();
+            }
+            c.commit();
+        }
+
+        Configuration configuration = new Configuration(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.addMapper(UserMapper.class);
+        configuration.addMapper(FavoriteMapper.class);
+        SqlSessionFactory factory = new SqlSessionFactoryBuilder().build(configuration);
+        SqlSessionTemplate template = new SqlSessionTemplate(factory);
+        userMapper = template.getMapper(UserMapper.class);
+        favoriteMapper = template.getMapper(FavoriteMapper.class);
+
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3_600_000);
+        jwtUtils.init();
+        // The 200 most active users
+        tokens = new String[200];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = jwtUtils.generateJwtToken(userMapper.findByUsername("user" + (i + 1)));
+        }
+    }
+
+    @AfterAll
+    void dropDatabase() {
+        dataSource.close();
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatesFromTheTokenAndCachesThePrincipal() throws Exception {
+        AuthTokenFilter filter = filter(true);
+        User user = userMapper.findByUsername("user42");
+
+        Authentication authentication = authenticate(filter, jwtUtils.generateJwtToken(user));
+        assertThat(authentication.getPrincipal()).isInstanceOfSatisfying(AuthenticatedUser.class,
+                principal -> assertThat(principal.getId()).isEqualTo(user.getId()));
+        assertThat(cacheOf(filter).get("user42")).isNotNull();
+    }
+
+    @Test
+    void tokenOfARecreatedAccountIsRejected() throws Exception {
+        AuthTokenFilter filter = filter(true);
+        User other = new User();
+        other.setId(-1L);
+        other.setUsername("user42");
+        other.setRole("USER");
+
+        assertThat(authenticate(filter, jwtUtils.generateJwtToken(other))).isNull();
+    }
+
+    @Test
+    void invalidTokenLeavesTheRequestAnonymous() throws Exception {
+        assertThat(authenticate(filter(true), tokens[0] + "x")).isNull();
+    }
+
+    /**
+     * The filter alone. Before: the token parsed twice with a freshly built key and parser, then
+     * the OR lookup on users. After: one parse with the prebuilt parser, the user from the
+     * UNION ALL lookup (no cache) or from the principal cache.
+     */
+    @Test
+    void filterPathPerSecond() throws Exception {
+        Key[] unused = new Key[1];
+        double before = perSecond(2_000 / THREADS, i -> {
+            String token = tokens[i % tokens.length];
+            for (int parse = 0; parse < 2; parse++) {
+                unused[0] = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+                Jwts.parserBuilder().setSigningKey(unused[0]).build().parseClaimsJws(token).getBody().getSubject();
+            }
+            String username = jwtUtils.parseValidClaims(token).getSubject();
+            try (Connection c = dataSource.getConnection();
+                 PreparedStatement ps = c.prepareStatement("SELECT * FROM users WHERE username = ? OR email = ?")) {
+                ps.setString(1, username);
+                ps.setString(2, username);
+                try (ResultSet rs = ps.executeQuery()) {
+                    assertThat(rs.next()).isTrue();
+                }
+            }
+        });
+        AuthTokenFilter uncached = filter(false);
+        double noCache = perSecond(10_000 / THREADS, i -> authenticate(uncached, tokens[i % tokens.length]));
+        AuthTokenFilter cached = filter(true);
+        double withCache = perSecond(100_000 / THREADS, i -> authenticate(cached, tokens[i % tokens.length]));
+
+        System.out.printf("JWT filter, %d threads: %.0f/s two parses and OR lookup, %.0f/s one parse and UNION lookup, %.0f/s principal cache%n",
+                THREADS, before, noCache, withCache);
+        assertThat(noCache).isGreaterThan(before);
+        assertThat(withCache).isGreaterThan(noCache * 2);
+    }
+
+    /**
+     * GET /api/favorites through the filter and controller; the favorites query itself is the
+     * same either way, so the gap is the per-request users lookup.
+     */
+    @Test
+    void favoritesRequestsPerSecond() throws Exception {
+        MockMvc noCache = favorites(filter(false));
+        MockMvc withCache = favorites(filter(true));
+        double uncached = perSecond(2_000 / THREADS, i -> favoritesRequest(noCache, i));
+        double cached = perSecond(2_000 / THREADS, i -> favoritesRequest(withCache, i));
+
+        System.out.printf("GET /api/favorites, %d threads: %.0f req/s without the principal cache, %.0f req/s with it%n",
+                THREADS, uncached, cached);
+        assertThat(cached).isGreaterThan(uncached);
+    }
+
+    // --- helpers ---
+
+    private interface Call {
+        void run(int i) throws Exception;
+    }
+
+    private static double perSecond(int callsPerThread, Call call) throws InterruptedException {
+        // Warm up on one thread first
+        for (int i = 0; i < Math.min(callsPerThread, 200); i++) {
+            try {
+                call.run(i);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong errors = new AtomicLong();
+        Thread[] workers = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            int offset = t * callsPerThread;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < callsPerThread; i++) {
+                        call.run(offset + i);
+                        SecurityContextHolder.clearContext();
+                    }
+                } catch (Exception e) {
+                    errors.incrementAndGet();
+                }
+            });
+            workers[t].start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        assertThat(errors.get()).isZero();
+        return THREADS * (double) callsPerThread / seconds;
+    }
+
+    private Authentication authenticate(AuthTokenFilter filter, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/favorites");
+        request.addHeader("Authorization", "Bearer " + token);
+        Authentication[] seen = new Authentication[1];
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest req, jakarta.servlet.ServletResponse res) {
+                seen[0] = SecurityContextHolder.getContext().getAuthentication();
+            }
+        });
+        SecurityContextHolder.clearContext();
+        return seen[0];
+    }
+
+    private void favoritesRequest(MockMvc mvc, int i) throws Exception {
+        mvc.perform(get("/api/favorites").header("Authorization", "Bearer " + tokens[i % tokens.length]))
+                .andExpect(status().isOk());
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockMvc favorites(AuthTokenFilter filter) {
+        FavoriteService favoriteService = new FavoriteService();
+        ReflectionTestUtils.setField(favoriteService, "favoriteMapper", favoriteMapper);
+        FavoriteController controller = new FavoriteController();
+        ReflectionTestUtils.setField(controller, "favoriteService", favoriteService);
+        ReflectionTestUtils.setField(controller, "userMapper", userMapper);
+        return MockMvcBuilders.standaloneSetup(controller).addFilters(filter).build();
+    }
+
+    // cached=false gives entries a negative TTL, so every request loads the user
+    private AuthTokenFilter filter(boolean cached) {
+        PrincipalCache principalCache = new PrincipalCache();
+        ReflectionTestUtils.setField(principalCache, "cacheService", mock(CacheService.class));
+        ReflectionTestUtils.setField(principalCache, "maxSize", 10_000);
+        ReflectionTestUtils.setField(principalCache, "ttlMillis", cached ? 300_000L : -1L);
+        principalCache.init();
+
+        UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl();
+        ReflectionTestUtils.setField(userDetailsService, "userMapper", userMapper);
+        ReflectionTestUtils.setField(userDetailsService, "principalCache", principalCache);
+
+        AuthTokenFilter filter = new AuthTokenFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        return filter;
+    }
+
+    private static PrincipalCache cacheOf(AuthTokenFilter filter) {
+        Object userDetailsService = ReflectionTestUtils.getField(filter, "userDetailsService");
+        return (PrincipalCache) ReflectionTestUtils.getField(userDetailsService, "principalCache");
+    }
+}
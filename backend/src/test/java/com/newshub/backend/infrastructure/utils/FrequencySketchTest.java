@@ -0,0 +1,51 @@
+package com.newshub.backend.infrastructure.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FrequencySketchTest {
+
+    @Test
+    void countsIncrementsUpToFifteen() {
+        FrequencySketch sketch = new FrequencySketch(1024);
+        long key = Hashing.hash64("key");
+        assertThat(sketch.frequency(key)).isZero();
+        for (int i = 0; i < 5; i++) {
+            sketch.increment(key);
+        }
+        assertThat(sketch.frequency(key)).isEqualTo(5);
+        for (int i = 0; i < 100; i++) {
+            sketch.increment(key);
+        }
+        assertThat(sketch.frequency(key)).isEqualTo(15);
+    }
+
+    @Test
+    void neverUndercounts() {
+        FrequencySketch sketch = new FrequencySketch(4096);
+        for (int k = 0; k < 2000; k++) {
+            for (int i = 0; i < k % 7; i++) {
+                sketch.increment(Hashing.hash64("key:" + k));
+            }
+        }
+        for (int k = 0; k < 2000; k++) {
+            assertThat(sketch.frequency(Hashing.hash64("key:" + k))).isGreaterThanOrEqualTo(k % 7);
+        }
+    }
+
+    @Test
+    void agesCountsAfterSamplePeriod() {
+        int capacity = 1024;
+        FrequencySketch sketch = new FrequencySketch(capacity);
+        long hot = Hashing.hash64("hot");
+        for (int i = 0; i < 12; i++) {
+            sketch.increment(hot);
+        }
+        // Enough distinct increments to trigger the halving reset
+        for (int i = 0; i < 10 * capacity + 10; i++) {
+            sketch.increment(Hashing.hash64("noise:" + i));
+        }
+        assertThat(sketch.frequency(hot)).isBetween(5, 7);
+    }
+}
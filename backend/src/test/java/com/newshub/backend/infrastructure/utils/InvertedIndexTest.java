@@ -0,0 +1,167 @@
+package com.newshub.backend.infrastructure.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Conjunctive queries are checked against a brute-force scan of the same documents, through
+ * replacements, removals, compaction and a snapshot round trip. The vocabulary is skewed so the
+ * common terms run to thousands of postings and intersections go through the skip entries.
+ */
+class InvertedIndexTest {
+
+    private static final int TITLE_WEIGHT = 2;
+
+    private record Doc(Set<String> title, Set<String> summary, long time, boolean published) {
+    }
+
+    @Test
+    void matchesBruteForceThroughChangesCompactionAndSnapshot() throws Exception {
+        Random random = new Random(42);
+        InvertedIndex index = new InvertedIndex(TITLE_WEIGHT, 16);
+        Map<Long, Doc> docs = new HashMap<>();
+        long[] clock = {1_000_000};
+
+        for (long id = 1; id <= 4000; id++) {
+            put(index, docs, id, random, clock);
+        }
+        assertMatches(index, docs, random);
+
+        for (int i = 0; i < 800; i++) {
+            put(index, docs, 1 + random.nextInt(4000), random, clock);
+        }
+        for (int i = 0; i < 600; i++) {
+            long id = 1 + random.nextInt(4000);
+            assertThat(index.remove(id)).isEqualTo(docs.remove(id) != null);
+        }
+        assertThat(index.size()).isEqualTo(docs.size());
+        assertThat(index.tombstones()).isPositive();
+        assertMatches(index, docs, random);
+
+        index.compact();
+        assertThat(index.tombstones()).isZero();
+        assertThat(index.size()).isEqualTo(docs.size());
+        assertMatches(index, docs, random);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.writeTo(new DataOutputStream(bytes));
+        InvertedIndex restored = InvertedIndex.readFrom(ByteBuffer.wrap(bytes.toByteArray()), TITLE_WEIGHT);
+        assertThat(restored.size()).isEqualTo(docs.size());
+        assertMatches(restored, docs, random);
+
+        assertThat(restored.removeBelow(2001)).isEqualTo((int) docs.keySet().stream().filter(id -> id < 2001).count());
+        docs.keySet().removeIf(id -> id < 2001);
+        assertThat(restored.contains(2000)).isFalse();
+        assertMatches(restored, docs, random);
+    }
+
+    @Test
+    void titleHitsOutrankSummaryHits() {
+        InvertedIndex index = new InvertedIndex(TITLE_WEIGHT, 16);
+        index.add(1, "quiet harbour", "storm warning issued", 1, true);
+        index.add(2, "storm warning", "quiet harbour", 2, true);
+        index.add(3, "market report", "prices steady", 3, true);
+
+        InvertedIndex.Hits hits = index.search(query(List.of("storm"), false, false, InvertedIndex.Order.RELEVANCE), 0, 10);
+        assertThat(hits.total()).isEqualTo(2);
+        assertThat(hits.ids()).containsExactly(2, 1);
+    }
+
+    @Test
+    void cjkTextIsFoundByBigrams() {
+        InvertedIndex index = new InvertedIndex(TITLE_WEIGHT, 16);
+        index.add(1, "北京今天天气晴朗", null, 1, true);
+        index.add(2, "上海天气", null, 2, true);
+
+        assertThat(index.search(query(SearchTokenizer.tokenize("天气"), false, false, InvertedIndex.Order.NEWEST), 0, 10).ids())
+                .containsExactly(2, 1);
+        assertThat(index.search(query(SearchTokenizer.tokenize("北京今天"), false, false, InvertedIndex.Order.NEWEST), 0, 10).ids())
+                .containsExactly(1);
+    }
+
+    @Test
+    void snapshotWithAnotherTitleWeightIsRejected() throws Exception {
+        InvertedIndex index = new InvertedIndex(TITLE_WEIGHT, 16);
+        index.add(1, "title", "summary", 1, true);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.writeTo(new DataOutputStream(bytes));
+
+        assertThatThrownBy(() -> InvertedIndex.readFrom(ByteBuffer.wrap(bytes.toByteArray()), TITLE_WEIGHT + 1))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    // --- helpers ---
+
+    private static void put(InvertedIndex index, Map<Long, Doc> docs, long id, Random random, long[] clock) {
+        List<String> title = words(random, 1 + random.nextInt(5));
+        List<String> summary = words(random, random.nextInt(12));
+        long time = clock[0]++;
+        boolean published = random.nextInt(10) > 0;
+        index.add(id, String.join(" ", title), String.join(" ", summary), time, published);
+        docs.put(id, new Doc(new HashSet<>(title), new HashSet<>(summary), time, published));
+    }
+
+    // Term k is drawn with probability log((k + 2) / (k + 1)) / log(60), so the first few are in most documents
+    private static List<String> words(Random random, int n) {
+        List<String> words = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int k = (int) Math.floor(Math.pow(60, random.nextDouble())) - 1;
+            words.add("w" + k);
+        }
+        return words;
+    }
+
+    private static void assertMatches(InvertedIndex index, Map<Long, Doc> docs, Random random) {
+        for (int q = 0; q < 300; q++) {
+            List<String> terms = words(random, 1 + random.nextInt(3));
+            boolean publishedOnly = random.nextBoolean();
+            boolean titleOnly = random.nextInt(4) == 0;
+            boolean oldest = random.nextBoolean();
+            long from = random.nextBoolean() ? Long.MIN_VALUE : 1_000_000 + random.nextInt(2500);
+            long to = from == Long.MIN_VALUE || random.nextBoolean() ? Long.MAX_VALUE : from + random.nextInt(3000);
+            InvertedIndex.Query query = new InvertedIndex.Query(terms, publishedOnly, titleOnly, from, to,
+                    oldest ? InvertedIndex.Order.OLDEST : InvertedIndex.Order.NEWEST);
+            int offset = random.nextInt(3) == 0 ? random.nextInt(50) : 0;
+            int limit = 1 + random.nextInt(40);
+
+            List<Map.Entry<Long, Doc>> expected = new ArrayList<>();
+            for (Map.Entry<Long, Doc> e : docs.entrySet()) {
+                Doc d = e.getValue();
+                boolean match = (!publishedOnly || d.published()) && d.time() >= from && d.time() <= to;
+                for (String t : terms) {
+                    match &= d.title().contains(t) || !titleOnly && d.summary().contains(t);
+                }
+                if (match) {
+                    expected.add(e);
+                }
+            }
+            Comparator<Map.Entry<Long, Doc>> byTime = Comparator.comparingLong(e -> e.getValue().time());
+            expected.sort(oldest ? byTime : byTime.reversed());
+            long[] page = expected.subList(Math.min(offset, expected.size()), Math.min(offset + limit, expected.size()))
+                    .stream().mapToLong(Map.Entry::getKey).toArray();
+
+            InvertedIndex.Hits hits = index.search(query, offset, limit);
+            assertThat(hits.total()).as("total for %s", query).isEqualTo(expected.size());
+            assertThat(hits.ids()).as("page for %s", query).containsExactly(page);
+        }
+    }
+
+    private static InvertedIndex.Query query(List<String> terms, boolean publishedOnly, boolean titleOnly,
+                                             InvertedIndex.Order order) {
+        return new InvertedIndex.Query(terms, publishedOnly, titleOnly, Long.MIN_VALUE, Long.MAX_VALUE, order);
+    }
+}
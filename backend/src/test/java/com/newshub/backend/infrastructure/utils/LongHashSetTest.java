@@ -0,0 +1,58 @@
+package com.newshub.backend.infrastructure.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongHashSetTest {
+
+    @Test
+    void zeroIsAnOrdinaryValue() {
+        LongHashSet set = new LongHashSet(4);
+        assertThat(set.contains(0)).isFalse();
+        assertThat(set.add(0)).isTrue();
+        assertThat(set.add(0)).isFalse();
+        assertThat(set.contains(0)).isTrue();
+        assertThat(set.size()).isEqualTo(1);
+        assertThat(set.remove(0)).isTrue();
+        assertThat(set.contains(0)).isFalse();
+        assertThat(set.size()).isZero();
+    }
+
+    @Test
+    void growsPastExpectedSize() {
+        LongHashSet set = new LongHashSet(16);
+        for (long v = 1; v <= 100_000; v++) {
+            set.add(v * 31);
+        }
+        assertThat(set.size()).isEqualTo(100_000);
+        for (long v = 1; v <= 100_000; v++) {
+            assertThat(set.contains(v * 31)).isTrue();
+        }
+        assertThat(set.contains(32)).isFalse();
+    }
+
+    @Test
+    void matchesHashSetUnderRandomAddsAndRemoves() {
+        // A narrow key range keeps probe chains long, so backward-shift deletion is exercised
+        Random random = new Random(42);
+        LongHashSet set = new LongHashSet(64);
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 200_000; i++) {
+            long v = random.nextInt(5_000) - 100;
+            if (random.nextBoolean()) {
+                assertThat(set.add(v)).isEqualTo(expected.add(v));
+            } else {
+                assertThat(set.remove(v)).isEqualTo(expected.remove(v));
+            }
+        }
+        assertThat(set.size()).isEqualTo(expected.size());
+        for (long v = -100; v < 4_900; v++) {
+            assertThat(set.contains(v)).as("contains %d", v).isEqualTo(expected.contains(v));
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.newshub.backend.infrastructure.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Lookups are checked against a scan that applies the same banding rule to every document:
+ * with no candidate cap the index must return exactly the documents sharing a band, ranked by
+ * equal slots and then by recency, through replacements, removals and compaction.
+ */
+class MinHashIndexTest {
+
+    private static final int BANDS = 16;
+    private static final int ROWS = 4;
+
+    private record Doc(int[] signature, long time, long seq) {
+    }
+
+    @Test
+    void similarMatchesBandingScan() {
+        Random random = new Random(11);
+        MinHashIndex index = new MinHashIndex(BANDS, ROWS, 16);
+        Map<Long, Doc> docs = new HashMap<>();
+        long[] seq = {0};
+
+        for (long id = 1; id <= 2000; id++) {
+            put(index, docs, id, random, seq);
+        }
+        assertMatches(index, docs, random);
+
+        for (int i = 0; i < 300; i++) {
+            put(index, docs, 1 + random.nextInt(2000), random, seq);
+        }
+        for (int i = 0; i < 300; i++) {
+            long id = 1 + random.nextInt(2000);
+            assertThat(index.remove(id)).isEqualTo(docs.remove(id) != null);
+        }
+        assertThat(index.size()).isEqualTo(docs.size());
+        assertMatches(index, docs, random);
+
+        index.compact();
+        assertThat(index.tombstones()).isZero();
+        assertMatches(index, docs, random);
+
+        long cutoff = 1000;
+        int expired = (int) docs.values().stream().filter(d -> d.time() < cutoff).count();
+        assertThat(index.removePublishedBefore(cutoff)).isEqualTo(expired);
+        docs.values().removeIf(d -> d.time() < cutoff);
+        assertMatches(index, docs, random);
+    }
+
+    @Test
+    void estimateTracksJaccardSimilarity() {
+        MinHashIndex index = new MinHashIndex(BANDS, ROWS, 16);
+        List<String> base = words("t", 0, 100);
+        int[] baseSignature = index.signature(base);
+        index.add(1000, baseSignature, 0);
+        // Document k shares 100 - k of the base terms and has k of its own: Jaccard (100 - k) / (100 + k)
+        for (int k = 0; k <= 60; k += 5) {
+            List<String> terms = new ArrayList<>(base.subList(k, 100));
+            terms.addAll(words("u" + k + "-", 0, k));
+            int[] signature = index.signature(terms);
+            double jaccard = (100.0 - k) / (100 + k);
+            assertThat((double) same(baseSignature, signature) / (BANDS * ROWS)).as("Jaccard %.2f", jaccard)
+                    .isCloseTo(jaccard, within(0.15));
+            index.add(k + 1, signature, 0);
+        }
+        // From 0.82 up, sharing one of 16 bands of 4 is all but certain
+        for (int k = 0; k <= 10; k += 5) {
+            assertThat(index.similar(1000, 100, 0.6, 1, 10_000)).contains(k + 1L);
+        }
+        assertThat(index.similar(1000, 1, 0, 1, 10_000)).containsExactly(1L);
+    }
+
+    @Test
+    void emptyAndUnknownDocuments() {
+        MinHashIndex index = new MinHashIndex(BANDS, ROWS, 16);
+        index.add(1, index.signature(List.of()), 0);
+        assertThat(index.contains(1)).isFalse();
+        assertThat(index.similar(1, 10, 0, 1, 100)).isEmpty();
+        assertThat(index.similar(99, 10, 0, 1, 100)).isEmpty();
+        assertThatThrownBy(() -> index.add(2, new int[3], 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // --- helpers ---
+
+    // Documents cluster around 40 topics, so many of them share bands
+    private static void put(MinHashIndex index, Map<Long, Doc> docs, long id, Random random, long[] seq) {
+        int topic = random.nextInt(40);
+        Set<String> terms = new HashSet<>();
+        for (String w : words("topic" + topic + "-", 0, 30)) {
+            if (random.nextInt(3) > 0) {
+                terms.add(w);
+            }
+        }
+        for (int i = random.nextInt(10); i > 0; i--) {
+            terms.add("noise" + random.nextInt(5000));
+        }
+        int[] signature = index.signature(terms);
+        long time = random.nextInt(5000);
+        index.add(id, signature, time);
+        docs.put(id, new Doc(signature, time, seq[0]++));
+    }
+
+    private static List<String> words(String prefix, int from, int to) {
+        List<String> words = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            words.add(prefix + i);
+        }
+        return words;
+    }
+
+    private static void assertMatches(MinHashIndex index, Map<Long, Doc> docs, Random random) {
+        List<Long> ids = new ArrayList<>(docs.keySet());
+        for (int q = 0; q < 200; q++) {
+            long id = ids.get(random.nextInt(ids.size()));
+            Doc self = docs.get(id);
+            double min = random.nextInt(3) * 0.2;
+            double max = random.nextInt(4) == 0 ? 0.9 : 1.0;
+            int limit = 1 + random.nextInt(20);
+
+            List<Map.Entry<Long, Doc>> expected = new ArrayList<>();
+            for (Map.Entry<Long, Doc> e : docs.entrySet()) {
+                if (e.getKey() == id || !shareBand(self.signature(), e.getValue().signature())) {
+                    continue;
+                }
+                double similarity = (double) same(self.signature(), e.getValue().signature()) / (BANDS * ROWS);
+                if (similarity >= min && similarity <= max) {
+                    expected.add(e);
+                }
+            }
+            expected.sort(Comparator.comparingInt((Map.Entry<Long, Doc> e) -> same(self.signature(), e.getValue().signature()))
+                    .thenComparingLong(e -> e.getValue().seq())
+                    .reversed());
+            long[] top = expected.stream().limit(limit).mapToLong(Map.Entry::getKey).toArray();
+
+            assertThat(index.similar(id, limit, min, max, Integer.MAX_VALUE)).as("similar to %d", id).containsExactly(top);
+        }
+    }
+
+    private static boolean shareBand(int[] a, int[] b) {
+        for (int band = 0; band < BANDS; band++) {
+            int from = band * ROWS;
+            if (Arrays.equals(a, from, from + ROWS, b, from, from + ROWS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int same(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                same++;
+            }
+        }
+        return same;
+    }
+}
@@ -0,0 +1,103 @@
+package com.newshub.backend.infrastructure.utils;
+
+import com.newshub.backend.domain.model.ArticleSummary;
+import com.newshub.backend.domain.model.Comment;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NearCacheTest {
+
+    @Test
+    void weighsWrappedFeedsByContent() {
+        List<ArticleSummary> feed = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ArticleSummary s = new ArticleSummary();
+            s.setTitle("Title of story number " + i);
+            s.setSummary("x".repeat(240));
+            s.setSourceName("NewsHub");
+            feed.add(s);
+        }
+        int bare = NearCache.estimateWeight(feed);
+        int wrapped = NearCache.estimateWeight(new CachedValue(feed, 0, 0));
+
+        assertThat(bare).isGreaterThan(20 * 2 * 240);
+        assertThat(wrapped).isGreaterThan(bare).isLessThan(bare + 64);
+    }
+
+    @Test
+    void weighsNestedCommentReplies() {
+        Comment top = comment("top level comment");
+        int alone = NearCache.estimateWeight(top);
+        List<Comment> replies = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            replies.add(comment("y".repeat(500)));
+        }
+        top.setReplies(replies);
+
+        assertThat(NearCache.estimateWeight(top)).isGreaterThan(alone + 5 * 2 * 500);
+    }
+
+    @Test
+    void expiresEntriesAfterTtl() throws InterruptedException {
+        NearCache cache = new NearCache(1 << 20);
+        cache.put("a", "value", 30);
+        assertThat(cache.get("a")).isEqualTo("value");
+        Thread.sleep(50);
+        assertThat(cache.get("a")).isNull();
+    }
+
+    @Test
+    void staysWithinMaxWeight() {
+        long maxWeight = 256 * 1024;
+        NearCache cache = new NearCache(maxWeight);
+        for (int i = 0; i < 10_000; i++) {
+            cache.put("key:" + i, "v".repeat(100), 60_000);
+        }
+        assertThat((long) cache.getStats().get("weightBytes")).isLessThanOrEqualTo(maxWeight);
+        assertThat(cache.size()).isLessThan(10_000);
+    }
+
+    @Test
+    void rejectsValueLargerThanHalfTheCache() {
+        NearCache cache = new NearCache(64 * 1024);
+        cache.put("big", "z".repeat(20_000), 60_000);
+        assertThat(cache.get("big")).isNull();
+    }
+
+    @Test
+    void frequentKeysSurviveAScan() {
+        NearCache cache = new NearCache(512 * 1024);
+        String value = "v".repeat(1000);
+        for (int i = 0; i < 50; i++) {
+            cache.put("hot:" + i, value, 60_000);
+        }
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 50; i++) {
+                cache.get("hot:" + i);
+            }
+        }
+        // A one-off scan several times the cache size
+        for (int i = 0; i < 2_000; i++) {
+            cache.put("scan:" + i, value, 60_000);
+        }
+        int hotLeft = 0;
+        for (int i = 0; i < 50; i++) {
+            if (cache.get("hot:" + i) != null) {
+                hotLeft++;
+            }
+        }
+        assertThat(hotLeft).isGreaterThanOrEqualTo(45);
+    }
+
+    private static Comment comment(String content) {
+        Comment c = new Comment();
+        c.setContent(content);
+        c.setUsername("reader");
+        c.setAvatar("https://example.com/avatar.png");
+        return c;
+    }
+}
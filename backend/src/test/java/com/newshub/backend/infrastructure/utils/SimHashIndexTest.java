@@ -0,0 +1,144 @@
+package com.newshub.backend.infrastructure.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lookups are checked against a scan of every fingerprint for each supported radius: the index
+ * must return the closest document within maxDistance bits, the most recently added one on a
+ * tie, through replacements, removals, compaction and expiry. Fingerprints are near copies of
+ * a few hundred bases, so buckets overflow into chained chunks and ties are common.
+ */
+class SimHashIndexTest {
+
+    private record Doc(long fingerprint, long time, long seq) {
+    }
+
+    @Test
+    void nearestMatchesScan() {
+        for (int maxDistance : new int[]{3, 7, 11}) {
+            Random random = new Random(maxDistance);
+            long[] bases = new long[300];
+            for (int i = 0; i < bases.length; i++) {
+                bases[i] = random.nextLong();
+            }
+            SimHashIndex index = new SimHashIndex(maxDistance, 16);
+            Map<Long, Doc> docs = new HashMap<>();
+            long[] seq = {0};
+
+            for (long id = 1; id <= 5000; id++) {
+                put(index, docs, id, bases, random, seq);
+            }
+            assertMatches(index, docs, bases, random);
+
+            for (int i = 0; i < 1000; i++) {
+                put(index, docs, 1 + random.nextInt(5000), bases, random, seq);
+            }
+            for (int i = 0; i < 1500; i++) {
+                long id = 1 + random.nextInt(5000);
+                assertThat(index.remove(id)).isEqualTo(docs.remove(id) != null);
+            }
+            assertThat(index.size()).isEqualTo(docs.size());
+            assertThat(index.tombstones()).isPositive();
+            assertMatches(index, docs, bases, random);
+
+            index.compact();
+            assertThat(index.tombstones()).isZero();
+            assertThat(index.size()).isEqualTo(docs.size());
+            assertMatches(index, docs, bases, random);
+
+            // Adds after a compaction go in front of the single-chunk buckets
+            for (int i = 0; i < 500; i++) {
+                put(index, docs, 5001 + i, bases, random, seq);
+            }
+            assertMatches(index, docs, bases, random);
+
+            long cutoff = 50_000;
+            int expired = (int) docs.values().stream().filter(d -> d.time() < cutoff).count();
+            assertThat(index.removeOlderThan(cutoff)).isEqualTo(expired);
+            docs.values().removeIf(d -> d.time() < cutoff);
+            assertThat(index.size()).isEqualTo(docs.size());
+            assertMatches(index, docs, bases, random);
+        }
+    }
+
+    @Test
+    void maxDistanceIsClamped() {
+        assertThat(new SimHashIndex(0, 16).maxDistance()).isEqualTo(1);
+        assertThat(new SimHashIndex(64, 16).maxDistance()).isEqualTo(SimHashIndex.MAX_DISTANCE);
+    }
+
+    @Test
+    void sharedFeaturesGiveCloseFingerprints() {
+        Map<String, Integer> base = new HashMap<>();
+        for (int i = 0; i < 200; i++) {
+            base.put("w" + i, 1 + i % 3);
+        }
+        Map<String, Integer> edited = new HashMap<>(base);
+        edited.remove("w0");
+        edited.put("x0", 1);
+        Map<String, Integer> other = new HashMap<>();
+        for (int i = 0; i < 200; i++) {
+            other.put("v" + i, 1 + i % 3);
+        }
+
+        long fingerprint = SimHashIndex.fingerprint(base);
+        assertThat(SimHashIndex.fingerprint(new HashMap<>(base))).isEqualTo(fingerprint);
+        assertThat(SimHashIndex.distance(fingerprint, SimHashIndex.fingerprint(edited))).isLessThanOrEqualTo(3);
+        assertThat(SimHashIndex.distance(fingerprint, SimHashIndex.fingerprint(other))).isGreaterThan(SimHashIndex.MAX_DISTANCE);
+        assertThat(SimHashIndex.fingerprint(Map.of())).isZero();
+
+        SimHashIndex index = new SimHashIndex(3, 16);
+        index.add(1, fingerprint, 0);
+        assertThat(index.nearest(SimHashIndex.fingerprint(edited))).isEqualTo(1);
+        assertThat(index.nearest(SimHashIndex.fingerprint(other))).isEqualTo(-1);
+        assertThat(index.contains(1)).isTrue();
+        assertThat(index.remove(1)).isTrue();
+        assertThat(index.remove(1)).isFalse();
+        assertThat(index.nearest(fingerprint)).isEqualTo(-1);
+    }
+
+    // --- helpers ---
+
+    private static void put(SimHashIndex index, Map<Long, Doc> docs, long id, long[] bases, Random random, long[] seq) {
+        long fingerprint = near(bases, random);
+        long time = random.nextInt(100_000);
+        index.add(id, fingerprint, time);
+        docs.put(id, new Doc(fingerprint, time, seq[0]++));
+    }
+
+    // A base with up to 14 random bits flipped; a quarter of them are exact copies
+    private static long near(long[] bases, Random random) {
+        long fingerprint = bases[random.nextInt(bases.length)];
+        if (random.nextInt(4) > 0) {
+            for (int n = random.nextInt(15); n > 0; n--) {
+                fingerprint ^= 1L << random.nextInt(64);
+            }
+        }
+        return fingerprint;
+    }
+
+    private static void assertMatches(SimHashIndex index, Map<Long, Doc> docs, long[] bases, Random random) {
+        for (int q = 0; q < 500; q++) {
+            long query = q % 10 == 0 ? random.nextLong() : near(bases, random);
+            long expected = -1;
+            int bestDistance = Integer.MAX_VALUE;
+            long bestSeq = -1;
+            for (Map.Entry<Long, Doc> e : docs.entrySet()) {
+                int d = SimHashIndex.distance(query, e.getValue().fingerprint());
+                if (d <= index.maxDistance()
+                        && (d < bestDistance || d == bestDistance && e.getValue().seq() > bestSeq)) {
+                    expected = e.getKey();
+                    bestDistance = d;
+                    bestSeq = e.getValue().seq();
+                }
+            }
+            assertThat(index.nearest(query)).as("nearest to %016x", query).isEqualTo(expected);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.newshub.backend.infrastructure.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The cached top K of every node is checked against a scan of all entries, under puts that
+ * split labels, replacements, increments, removals and rescaling. Keys come from a three-letter
+ * alphabet so they share long prefixes.
+ */
+class SuggestTrieTest {
+
+    private static final int TOP_K = 5;
+
+    private record Item(double score, List<String> keys) {
+    }
+
+    @Test
+    void topMatchesScanUnderRandomChanges() {
+        Random random = new Random(7);
+        SuggestTrie<String> trie = new SuggestTrie<>(TOP_K);
+        Map<String, Item> items = new HashMap<>();
+
+        for (int step = 0; step < 20_000; step++) {
+            String id = "e" + random.nextInt(400);
+            int op = random.nextInt(10);
+            if (op < 5) {
+                List<String> keys = new ArrayList<>();
+                for (int k = 1 + random.nextInt(3); k > 0; k--) {
+                    keys.add(key(random));
+                }
+                double score = random.nextDouble() * 100;
+                trie.put(id, id, score, keys);
+                items.put(id, new Item(score, keys));
+            } else if (op < 8) {
+                double delta = random.nextDouble() * 20;
+                Item item = items.get(id);
+                assertThat(trie.increment(id, delta)).isEqualTo(item != null);
+                if (item != null) {
+                    items.put(id, new Item(item.score() + delta, item.keys()));
+                }
+            } else {
+                assertThat(trie.remove(id)).isEqualTo(items.remove(id) != null);
+            }
+            if (step % 1000 == 999) {
+                trie.scale(0.5);
+                items.replaceAll((k, item) -> new Item(item.score() * 0.5, item.keys()));
+            }
+            if (step % 100 == 0) {
+                assertMatches(trie, items, random);
+            }
+        }
+        assertThat(trie.size()).isEqualTo(items.size());
+        assertMatches(trie, items, random);
+    }
+
+    @Test
+    void entryUnderSeveralKeysIsListedOnce() {
+        SuggestTrie<String> trie = new SuggestTrie<>(TOP_K);
+        trie.put("a", "apple unveils iphone", 3, List.of("apple unveils iphone", "unveils iphone", "iphone"));
+        trie.put("b", "iphone sales", 2, List.of("iphone sales", "sales"));
+
+        assertThat(trie.top("iphone", 10)).containsExactly("apple unveils iphone", "iphone sales");
+        assertThat(trie.top("", 10)).containsExactly("apple unveils iphone", "iphone sales");
+        assertThat(trie.top("unv", 10)).containsExactly("apple unveils iphone");
+        assertThat(trie.top("x", 10)).isEmpty();
+    }
+
+    @Test
+    void replacingAnEntryCanLowerItsScore() {
+        SuggestTrie<String> trie = new SuggestTrie<>(TOP_K);
+        trie.put("a", "alpha", 10, List.of("alpha"));
+        trie.put("b", "alps", 5, List.of("alps"));
+        trie.put("a", "alpha", 1, List.of("alpha"));
+
+        assertThat(trie.top("al", 10)).containsExactly("alps", "alpha");
+        assertThat(trie.score("a")).isEqualTo(1);
+        assertThat(trie.score("missing")).isNaN();
+    }
+
+    // --- helpers ---
+
+    private static String key(Random random) {
+        StringBuilder sb = new StringBuilder();
+        for (int n = 1 + random.nextInt(8); n > 0; n--) {
+            sb.append("ab ".charAt(random.nextInt(3)));
+        }
+        return sb.toString();
+    }
+
+    private static void assertMatches(SuggestTrie<String> trie, Map<String, Item> items, Random random) {
+        List<String> prefixes = new ArrayList<>(List.of(""));
+        for (int i = 0; i < 40; i++) {
+            String k = key(random);
+            prefixes.add(k.substring(0, 1 + random.nextInt(k.length())));
+        }
+        for (String prefix : prefixes) {
+            List<String> expected = items.entrySet().stream()
+                    .filter(e -> e.getValue().keys().stream().anyMatch(k -> k.startsWith(prefix)))
+                    .sorted(Comparator.comparingDouble((Map.Entry<String, Item> e) -> e.getValue().score()).reversed())
+                    .limit(TOP_K)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            assertThat(trie.top(prefix, 10)).as("top of '%s'", prefix).containsExactlyElementsOf(expected);
+        }
+    }
+}
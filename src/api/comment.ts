@@ -13,20 +13,38 @@ export interface Comment {
   date?: string; // Formatted date
   likes?: number;
   replies?: Comment[];
+  replyCount?: number;
 }
 
-export const getComments = async (articleId: number | string) => {
+export interface CommentPage {
+  items: Comment[];
+  nextCursor: string | null;
+}
+
+// Top-level comments newest first, each with its first replies already attached
+export const getComments = async (articleId: number | string, cursor?: string): Promise<CommentPage> => {
   try {
-    const res = await request.get(`/comments/article/${articleId}`) as any;
-    if (Array.isArray(res)) {
-        // Backend returns flat list, frontend can organize into tree if needed
-        // But for simplicity, we might want backend to return tree or sort it here
+    const res = await request.get(`/comments/article/${articleId}`, { params: { cursor } }) as any;
+    if (res && Array.isArray(res.items)) {
         return res;
     }
-    return [];
+    return { items: [], nextCursor: null };
   } catch (error) {
     console.error(`Error fetching comments for article ${articleId}:`, error);
-    return [];
+    return { items: [], nextCursor: null };
+  }
+};
+
+export const getReplies = async (commentId: number, cursor?: string): Promise<CommentPage> => {
+  try {
+    const res = await request.get(`/comments/${commentId}/replies`, { params: { cursor } }) as any;
+    if (res && Array.isArray(res.items)) {
+        return res;
+    }
+    return { items: [], nextCursor: null };
+  } catch (error) {
+    console.error(`Error fetching replies for comment ${commentId}:`, error);
+    return { items: [], nextCursor: null };
   }
 };
 
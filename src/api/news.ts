@@ -20,6 +20,9 @@ export interface NewsItem {
   date: string;
   author?: string;
   image?: string;
+  // Search results: server-escaped HTML with <em> around matched terms
+  titleHtml?: string;
+  excerptHtml?: string;
 }
 
 export interface ArticleDetail extends NewsItem {
@@ -133,6 +136,24 @@ export const getLatestNews = async (page: number = 1, pageSize: number = 10) =>
   }
 };
 
+// Live feed: the server pushes newly published articles (newest first, at most once per second)
+export const subscribeLatestNews = (onArticles: (items: NewsItem[]) => void, categoryId?: number) => {
+  const base = import.meta.env.VITE_API_BASE_URL || '/api';
+  const source = new EventSource(`${base}/news/stream${categoryId ? `?categoryId=${categoryId}` : ''}`);
+  source.addEventListener('articles', (event: MessageEvent) => {
+    const items = JSON.parse(event.data) as any[];
+    onArticles(items.map((item: any) => ({
+        id: item.id,
+        title: item.title,
+        category: getCategoryName(item.categoryId),
+        categoryId: item.categoryId,
+        date: formatDate(item.publishTime),
+        author: 'NewsHub'
+    })) as NewsItem[]);
+  });
+  return () => source.close();
+};
+
 export const getLatestNewsCount = async () => {
   try {
     const res = await request.get('/news/latest/count') as number;
@@ -165,25 +186,44 @@ export const getArticleDetail = async (id: number | string) => {
   }
 };
 
-export const searchNews = async (keyword: string) => {
+export const searchNews = async (keyword: string, page = 1, size = 9) => {
   try {
-    const res = await request.get(`/news/search?q=${encodeURIComponent(keyword)}`) as any;
-    if (Array.isArray(res)) {
-      return res.map((item: any) => ({
+    const res = await request.get('/news/search', { params: { q: keyword, page, size } }) as any;
+    if (res && Array.isArray(res.items)) {
+      const items = res.items.map((item: any) => ({
           id: item.id,
           title: item.title,
           excerpt: item.summary,
+          titleHtml: item.titleHighlight,
+          excerptHtml: item.summaryHighlight,
           category: getCategoryName(item.categoryId),
           categoryId: item.categoryId,
           date: formatDate(item.publishTime),
           author: item.sourceName || 'NewsHub',
           image: item.coverImage
       })) as NewsItem[];
+      return { items, total: res.total as number };
     }
-    return [];
+    return { items: [] as NewsItem[], total: 0 };
   } catch (error) {
     console.error(`Error searching news:`, error);
-    return [];
+    return { items: [] as NewsItem[], total: 0 };
+  }
+};
+
+export interface Suggestion {
+  text: string;
+  type: 'query' | 'article' | 'category';
+  id: number | null;
+}
+
+export const suggestNews = async (prefix: string, limit = 8) => {
+  try {
+    const res = await request.get('/news/suggest', { params: { q: prefix, limit } }) as any;
+    return Array.isArray(res) ? res as Suggestion[] : [];
+  } catch (error) {
+    console.error(`Error fetching suggestions:`, error);
+    return [] as Suggestion[];
   }
 };
 